@@ -1,5 +1,6 @@
 package de.app.fivegla;
 
+import de.app.fivegla.config.HttpClientKeepAliveInitializer;
 import io.swagger.v3.oas.annotations.OpenAPIDefinition;
 import io.swagger.v3.oas.annotations.info.Contact;
 import io.swagger.v3.oas.annotations.info.Info;
@@ -56,7 +57,9 @@ import org.springframework.web.servlet.config.annotation.EnableWebMvc;
 public class Application {
 
     public static void main(String[] args) {
-        SpringApplication.run(Application.class, args);
+        var application = new SpringApplication(Application.class);
+        application.addListeners(new HttpClientKeepAliveInitializer());
+        application.run(args);
     }
 
 }
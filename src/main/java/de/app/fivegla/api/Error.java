@@ -53,7 +53,10 @@ public enum Error {
     ORTHOPHOTO_COULD_NOT_TRIGGER_CALCULATION(errorOf(43)),
     COULD_NOT_IMPORT_DATA_FROM_OPEN_WEATHER(errorOf(44)),
     TRANSACTION_ALREADY_PROCESSED(errorOf(45)),
-    TRANSACTION_DOES_NOT_EXIST(errorOf(46));
+    TRANSACTION_DOES_NOT_EXIST(errorOf(46)),
+    FIWARE_CONTEXT_BROKER_UNAVAILABLE(errorOf(47)),
+    IMPORT_INTERRUPTED(errorOf(48)),
+    IMPORT_NOT_DELIVERED(errorOf(49));
 
     private static String errorOf(int i) {
         return ERR_ + String.format("%05d", i);
@@ -9,7 +9,8 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Component;
 
-import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * This class represents the subscription status of a service or application.
@@ -27,7 +28,7 @@ public class SubscriptionStatus {
     @Value("${app.fiware.subscriptions.enabled}")
     private boolean subscriptionsEnabled;
 
-    private final HashMap<String, Boolean> subscriptionsSent = new HashMap<>();
+    private final Map<String, Boolean> subscriptionsSent = new ConcurrentHashMap<>();
 
     @PostConstruct
     public void init() {
@@ -42,16 +43,16 @@ public class SubscriptionStatus {
 
     /**
      * Checks if subscriptions are enabled and if subscriptions have not been sent yet.
+     * Tenants created after the start of the application have not been sent subscriptions yet.
      *
      * @return true if subscriptions are enabled and subscriptions have not been sent yet, false otherwise
      */
     public boolean sendOutSubscriptions(String tenantId) {
         if (subscriptionsSent.get(tenantId) == null) {
-            log.warn("Tenant with ID {} not yet found.", tenantId);
-            return false;
-        } else {
-            return subscriptionsEnabled && !subscriptionsSent.get(tenantId);
+            log.info("Tenant with ID {} was created after the start, subscriptions have not been sent yet.", tenantId);
+            subscriptionsSent.put(tenantId, false);
         }
+        return subscriptionsEnabled && !subscriptionsSent.get(tenantId);
     }
 
     /**
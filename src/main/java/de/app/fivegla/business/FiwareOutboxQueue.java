@@ -0,0 +1,113 @@
+package de.app.fivegla.business;
+
+import de.app.fivegla.persistence.FiwareOutboxRepository;
+import de.app.fivegla.persistence.entity.FiwareOutboxEntry;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Queue of the outbox entries, stored within the database and shared by all instances of the application. Every
+ * instance leases the entries it delivers, the rows are locked using <code>SELECT ... FOR UPDATE SKIP LOCKED</code>, so
+ * an entry is only delivered by a single instance at the same time. The entry is leased by another instance once the
+ * lease has expired, e.g. because the instance delivering the entry crashed.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FiwareOutboxQueue {
+
+    private final FiwareOutboxRepository fiwareOutboxRepository;
+
+    @Value("${app.fiware.outbox.lease-duration}")
+    private Duration leaseDuration;
+
+    /**
+     * Adds a batch update request to the queue, it is due for delivery immediately.
+     *
+     * @param tenantId         The id of the tenant, used as FIWARE service.
+     * @param servicePath      The FIWARE service path.
+     * @param payload          The serialized request.
+     * @param numberOfEntities The number of entities within the request.
+     */
+    public void enqueue(String tenantId, String servicePath, byte[] payload, int numberOfEntities) {
+        var entry = new FiwareOutboxEntry();
+        entry.setTenantId(tenantId);
+        entry.setServicePath(servicePath);
+        entry.setPayload(payload);
+        entry.setNumberOfEntities(numberOfEntities);
+        entry.setAttempts(0);
+        entry.setNextAttempt(new Date());
+        fiwareOutboxRepository.save(entry);
+    }
+
+    /**
+     * Leases the oldest entries that are due for delivery.
+     *
+     * @param leasedBy The instance leasing the entries.
+     * @param limit    The maximum number of entries.
+     * @return The leased entries.
+     */
+    @Transactional
+    public List<FiwareOutboxEntry> lease(String leasedBy, int limit) {
+        var now = Instant.now();
+        var entries = fiwareOutboxRepository.lockDeliverableEntries(Date.from(now), limit);
+        for (var entry : entries) {
+            if (null != entry.getLeasedBy()) {
+                log.warn("The lease of {} on outbox entry {} expired, leasing it again.", entry.getLeasedBy(), entry.getId());
+            }
+            entry.setLeasedBy(leasedBy);
+            entry.setLeasedUntil(Date.from(now.plus(leaseDuration)));
+        }
+        return fiwareOutboxRepository.saveAll(entries);
+    }
+
+    /**
+     * Removes the delivered entry from the queue.
+     *
+     * @param id       The id of the entry.
+     * @param leasedBy The instance holding the lease.
+     * @return False if the lease expired and the entry has been leased by another instance in the meantime.
+     */
+    @Transactional
+    public boolean complete(long id, String leasedBy) {
+        return fiwareOutboxRepository.deleteLeasedEntry(id, leasedBy) > 0;
+    }
+
+    /**
+     * Puts the entry back into the queue after a failed delivery.
+     *
+     * @param id          The id of the entry.
+     * @param leasedBy    The instance holding the lease.
+     * @param attempts    The number of failed attempts.
+     * @param nextAttempt The earliest time for the next attempt.
+     * @param lastError   The error of the failed attempt.
+     * @return False if the lease expired and the entry has been leased by another instance in the meantime.
+     */
+    @Transactional
+    public boolean retry(long id, String leasedBy, int attempts, Instant nextAttempt, String lastError) {
+        return fiwareOutboxRepository.releaseLeasedEntry(id, leasedBy, attempts, Date.from(nextAttempt), lastError) > 0;
+    }
+
+    /**
+     * Gives up the delivery of the entry, it is kept as dead entry.
+     *
+     * @param id        The id of the entry.
+     * @param leasedBy  The instance holding the lease.
+     * @param attempts  The number of failed attempts.
+     * @param lastError The error of the last failed attempt.
+     * @return False if the lease expired and the entry has been leased by another instance in the meantime.
+     */
+    @Transactional
+    public boolean markDead(long id, String leasedBy, int attempts, String lastError) {
+        return fiwareOutboxRepository.markLeasedEntryDead(id, leasedBy, attempts, lastError) > 0;
+    }
+
+}
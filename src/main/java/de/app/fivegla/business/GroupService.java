@@ -4,6 +4,7 @@ package de.app.fivegla.business;
 import de.app.fivegla.api.Error;
 import de.app.fivegla.api.ErrorMessage;
 import de.app.fivegla.api.exceptions.BusinessException;
+import de.app.fivegla.business.cache.SensorGroupCache;
 import de.app.fivegla.integration.fiware.api.FiwareEntityChecker;
 import de.app.fivegla.persistence.GroupRepository;
 import de.app.fivegla.persistence.ImageRepository;
@@ -26,6 +27,7 @@ public class GroupService {
 
     private final GroupRepository groupRepository;
     private final ImageRepository imageRepository;
+    private final SensorGroupCache sensorGroupCache;
 
     /**
      * Adds a group to the application.
@@ -39,6 +41,7 @@ public class GroupService {
         group.setOid(this.generateGroupId());
         group.setTenant(tenant);
         log.info("Adding group with name: {} and description: {}", group.getName(), group.getDescription());
+        sensorGroupCache.invalidate(tenant.getTenantId());
         return groupRepository.save(group);
     }
 
@@ -70,6 +73,7 @@ public class GroupService {
                     .message("Could not update group, since the group is from another tenant.")
                     .build());
         }
+        sensorGroupCache.invalidate(tenant.getTenantId());
         return groupRepository.save(newGroupData);
     }
 
@@ -122,6 +126,7 @@ public class GroupService {
             imagesForThisGroup.forEach(image -> image.setGroup(defaultGroup));
             imageRepository.saveAll(imagesForThisGroup);
             groupRepository.deleteByOid(oid);
+            sensorGroupCache.invalidate(tenant.getTenantId());
         }
     }
 
@@ -134,6 +139,7 @@ public class GroupService {
             group.setDescription("The default group for the tenant.");
             group.setDefaultGroupForTenant(true);
             groupRepository.save(group);
+            sensorGroupCache.invalidate(tenant.getTenantId());
         } else {
             log.info("Default group already exists for tenant with ID: {}", tenant.getTenantId());
         }
@@ -184,20 +190,29 @@ public class GroupService {
                 .message("Could not assign sensor to group, since the group was not found.")
                 .build()));
         group.getSensorIdsAssignedToGroup().add(sensorId);
+        sensorGroupCache.invalidate(tenant.getTenantId());
         return groupRepository.save(group);
     }
 
     /**
-     * Finds a group by tenant and sensor ID.
+     * Finds a group by tenant and sensor ID. The groups of the tenant are cached, since the group is resolved for
+     * every measurement imported, see {@link SensorGroupCache}.
      *
      * @param tenant   The tenant object to filter by.
      * @param sensorId The sensor ID to filter by.
      * @return The group found based on the given tenant and sensor ID,
      * or the default group for the tenant if no group is found.
+     * @throws BusinessException If the sensor is not assigned to a group and the default group for the tenant cannot be found.
      */
+    @Transactional(Transactional.TxType.SUPPORTS)
     public Group findGroupByTenantAndSensorId(Tenant tenant, String sensorId) {
-        return groupRepository.findByTenantAndSensorIdsAssignedToGroupContaining(tenant, sensorId)
-                .orElse(getDefaultGroupForTenant(tenant));
+        var sensorGroups = sensorGroupCache.get(tenant.getTenantId(), () -> groupRepository.findAllByTenant(tenant));
+        return sensorGroups.findBySensorId(sensorId)
+                .or(sensorGroups::getDefaultGroup)
+                .orElseThrow(() -> new BusinessException(ErrorMessage.builder()
+                        .error(Error.DEFAULT_GROUP_FOR_TENANT_NOT_FOUND)
+                        .message("Could not find the default group for the tenant.")
+                        .build()));
     }
 
     /**
@@ -217,6 +232,7 @@ public class GroupService {
                 .message("Could not unassign sensor from group, since the group was not found.")
                 .build()));
         group.getSensorIdsAssignedToGroup().remove(sensorId);
+        sensorGroupCache.invalidate(tenant.getTenantId());
         return groupRepository.save(group);
     }
 
@@ -237,6 +253,7 @@ public class GroupService {
                 .message("Could not reassign sensor to group, since the group was not found.")
                 .build()));
         group.getSensorIdsAssignedToGroup().add(sensorId);
+        sensorGroupCache.invalidate(tenant.getTenantId());
         return groupRepository.save(group);
     }
 }
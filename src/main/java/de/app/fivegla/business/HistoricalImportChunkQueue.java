@@ -0,0 +1,152 @@
+package de.app.fivegla.business;
+
+import de.app.fivegla.persistence.HistoricalImportChunkRepository;
+import de.app.fivegla.persistence.HistoricalImportRepository;
+import de.app.fivegla.persistence.entity.HistoricalImportChunk;
+import de.app.fivegla.persistence.entity.enums.HistoricalImportChunkStatus;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Queue of the chunks of the historical imports, stored within the database and shared by all instances of the
+ * application. Every instance leases the chunks it imports, the historical imports are locked using
+ * <code>SELECT ... FOR UPDATE SKIP LOCKED</code> while their chunks are leased, so the number of running chunks per
+ * historical import is limited across all instances. Leases are renewed while the chunk is running, a chunk whose lease
+ * has expired, e.g. because the instance importing it crashed, counts as failed attempt and is imported again.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class HistoricalImportChunkQueue {
+
+    private final HistoricalImportRepository historicalImportRepository;
+    private final HistoricalImportChunkRepository historicalImportChunkRepository;
+
+    @Value("${app.imports.historical.lease-duration}")
+    private Duration leaseDuration;
+
+    @Value("${app.imports.historical.max-attempts}")
+    private int maxAttempts;
+
+    /**
+     * Leases the pending chunks as long as the number of running chunks of their historical import is below the limit,
+     * the oldest historical import and chunk first.
+     *
+     * @param leasedBy    The instance leasing the chunks.
+     * @param parallelism The maximum number of running chunks per historical import.
+     * @return The leased chunks.
+     */
+    @Transactional
+    public List<HistoricalImportChunk> lease(String leasedBy, int parallelism) {
+        var now = Instant.now();
+        var leasedChunks = new ArrayList<HistoricalImportChunk>();
+        for (var historicalImport : historicalImportRepository.lockOpenImports()) {
+            var chunks = historicalImportChunkRepository.findAllByHistoricalImportIdAndStatusIn(historicalImport.getId(),
+                    List.of(HistoricalImportChunkStatus.PENDING, HistoricalImportChunkStatus.RUNNING));
+            var running = 0;
+            for (var chunk : chunks) {
+                if (chunk.getStatus() != HistoricalImportChunkStatus.RUNNING) {
+                    continue;
+                }
+                if (null != chunk.getLeasedUntil() && chunk.getLeasedUntil().toInstant().isAfter(now)) {
+                    running++;
+                } else {
+                    log.warn("The lease of {} on chunk {} of historical import {} expired.", chunk.getLeasedBy(), chunk.getId(), historicalImport.getId());
+                    fail(chunk, now);
+                }
+            }
+            var pending = chunks.stream()
+                    .filter(chunk -> chunk.getStatus() == HistoricalImportChunkStatus.PENDING)
+                    .sorted(Comparator.comparing(HistoricalImportChunk::getChunkStart))
+                    .limit(Math.max(0, parallelism - running))
+                    .toList();
+            for (var chunk : pending) {
+                chunk.setStatus(HistoricalImportChunkStatus.RUNNING);
+                chunk.setAttempts(chunk.getAttempts() + 1);
+                chunk.setStartedAt(Date.from(now));
+                chunk.setLeasedBy(leasedBy);
+                chunk.setLeasedUntil(Date.from(now.plus(leaseDuration)));
+                leasedChunks.add(chunk);
+            }
+            historicalImportChunkRepository.saveAll(chunks);
+        }
+        return leasedChunks;
+    }
+
+    /**
+     * Extends the leases of the chunks still running.
+     *
+     * @param ids      The ids of the chunks.
+     * @param leasedBy The instance holding the leases.
+     * @return The number of leases extended.
+     */
+    @Transactional
+    public int renew(Collection<Long> ids, String leasedBy) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return historicalImportChunkRepository.renewLeases(ids, leasedBy, Date.from(Instant.now().plus(leaseDuration)));
+    }
+
+    /**
+     * Marks the chunk as finished. Failed chunks are imported again until the maximum number of attempts is reached.
+     *
+     * @param id         The id of the chunk.
+     * @param leasedBy   The instance holding the lease.
+     * @param successful Whether the chunk was imported successfully.
+     * @return False if the lease expired and the chunk has been leased by another instance in the meantime.
+     */
+    @Transactional
+    public boolean finish(long id, String leasedBy, boolean successful) {
+        var chunk = historicalImportChunkRepository.findById(id).orElse(null);
+        if (null == chunk || !leasedBy.equals(chunk.getLeasedBy())) {
+            return false;
+        }
+        if (successful) {
+            log.debug("Chunk {} of historical import {} finished.", id, chunk.getHistoricalImportId());
+            return historicalImportChunkRepository.finishLeasedChunk(id, leasedBy, HistoricalImportChunkStatus.DONE, new Date()) > 0;
+        } else if (chunk.getAttempts() >= maxAttempts) {
+            log.error("Chunk {} of historical import {} failed {} times, giving up.", id, chunk.getHistoricalImportId(), chunk.getAttempts());
+            return historicalImportChunkRepository.finishLeasedChunk(id, leasedBy, HistoricalImportChunkStatus.FAILED, new Date()) > 0;
+        } else {
+            log.warn("Chunk {} of historical import {} failed, it will be retried.", id, chunk.getHistoricalImportId());
+            return historicalImportChunkRepository.finishLeasedChunk(id, leasedBy, HistoricalImportChunkStatus.PENDING, null) > 0;
+        }
+    }
+
+    /**
+     * Puts the chunk back into the queue without counting the attempt.
+     *
+     * @param id       The id of the chunk.
+     * @param leasedBy The instance holding the lease.
+     * @return False if the lease expired and the chunk has been leased by another instance in the meantime.
+     */
+    @Transactional
+    public boolean release(long id, String leasedBy) {
+        return historicalImportChunkRepository.releaseLeasedChunk(id, leasedBy) > 0;
+    }
+
+    private void fail(HistoricalImportChunk chunk, Instant now) {
+        chunk.setLeasedBy(null);
+        chunk.setLeasedUntil(null);
+        if (chunk.getAttempts() >= maxAttempts) {
+            log.error("Chunk {} of historical import {} failed {} times, giving up.", chunk.getId(), chunk.getHistoricalImportId(), chunk.getAttempts());
+            chunk.setStatus(HistoricalImportChunkStatus.FAILED);
+            chunk.setFinishedAt(Date.from(now));
+        } else {
+            chunk.setStatus(HistoricalImportChunkStatus.PENDING);
+        }
+    }
+
+}
@@ -0,0 +1,253 @@
+package de.app.fivegla.business;
+
+import de.app.fivegla.api.Manufacturer;
+import de.app.fivegla.config.InstanceId;
+import de.app.fivegla.event.events.HistoricalDataImportEvent;
+import de.app.fivegla.persistence.HistoricalImportChunkRepository;
+import de.app.fivegla.persistence.HistoricalImportRepository;
+import de.app.fivegla.persistence.ThirdPartyApiConfigurationRepository;
+import de.app.fivegla.persistence.entity.HistoricalImport;
+import de.app.fivegla.persistence.entity.HistoricalImportChunk;
+import de.app.fivegla.persistence.entity.ThirdPartyApiConfiguration;
+import de.app.fivegla.persistence.entity.enums.HistoricalImportChunkStatus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Service for the imports of historical data. The time range of a historical import is split into chunks, which are
+ * imported in parallel, the number of chunks running at the same time is limited per historical import. The chunks are
+ * leased from the {@link HistoricalImportChunkQueue}, so they are coordinated across all instances of the application
+ * and a historical import continues with the remaining chunks after a restart.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class HistoricalImportService {
+
+    /**
+     * Manufacturers whose API does not support limiting the end of the time range, the time range is imported at once.
+     */
+    private static final Set<Manufacturer> WITHOUT_END_OF_TIME_RANGE = EnumSet.of(Manufacturer.AGVOLUTION);
+
+    private final HistoricalImportRepository historicalImportRepository;
+    private final HistoricalImportChunkRepository historicalImportChunkRepository;
+    private final HistoricalImportChunkQueue historicalImportChunkQueue;
+    private final ThirdPartyApiConfigurationRepository thirdPartyApiConfigurationRepository;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final InstanceId instanceId;
+
+    /**
+     * The chunks leased by this instance and the point in time they were started.
+     */
+    private final Map<Long, Instant> runningChunks = new ConcurrentHashMap<>();
+
+    @Value("${app.imports.historical.chunk-size}")
+    private Duration chunkSize;
+
+    @Value("${app.imports.historical.parallelism}")
+    private int parallelism;
+
+    @Value("${app.imports.historical.timeout}")
+    private Duration timeout;
+
+    /**
+     * Triggers the import of historical data for a given tenant and UUID starting from a specific date.
+     *
+     * @param tenantId           the ID of the tenant for which the import will be triggered
+     * @param uuid               the UUID associated with the tenant
+     * @param startDateInThePast the start date from which the import will begin, in the past
+     */
+    public void triggerImport(String tenantId, String uuid, LocalDate startDateInThePast) {
+        var start = startDateInThePast.atStartOfDay(ZoneId.systemDefault()).toInstant();
+        var end = Instant.now();
+        thirdPartyApiConfigurationRepository.findAllByTenantTenantIdAndUuid(tenantId, uuid)
+                .forEach(thirdPartyApiConfiguration -> createHistoricalImport(thirdPartyApiConfiguration, start, end));
+        dispatch();
+    }
+
+    private void createHistoricalImport(ThirdPartyApiConfiguration thirdPartyApiConfiguration, Instant start, Instant end) {
+        var historicalImport = new HistoricalImport();
+        historicalImport.setThirdPartyApiConfigurationId(thirdPartyApiConfiguration.getId());
+        historicalImport.setStartDate(Date.from(start));
+        historicalImport.setEndDate(Date.from(end));
+        historicalImport.setCreatedAt(Date.from(end));
+        historicalImport = historicalImportRepository.save(historicalImport);
+
+        var chunks = new ArrayList<HistoricalImportChunk>();
+        var chunkStart = start;
+        while (chunkStart.isBefore(end)) {
+            var chunkEnd = chunkStart.plus(chunkSize);
+            if (WITHOUT_END_OF_TIME_RANGE.contains(thirdPartyApiConfiguration.getManufacturer()) || chunkEnd.isAfter(end)) {
+                chunkEnd = end;
+            }
+            var chunk = new HistoricalImportChunk();
+            chunk.setHistoricalImportId(historicalImport.getId());
+            chunk.setChunkStart(Date.from(chunkStart));
+            chunk.setChunkEnd(Date.from(chunkEnd));
+            chunk.setStatus(HistoricalImportChunkStatus.PENDING);
+            chunks.add(chunk);
+            chunkStart = chunkEnd;
+        }
+        historicalImportChunkRepository.saveAll(chunks);
+        log.info("Created historical import from {} to {} with {} chunks for manufacturer {}.", start, end, chunks.size(), thirdPartyApiConfiguration.getManufacturer());
+    }
+
+    /**
+     * Leases pending chunks as long as the number of running chunks of their historical import is below the limit and
+     * starts them. Running chunks whose lease has expired are considered lost, e.g. because the instance importing them
+     * crashed or the import exceeded the timeout, and count as failed attempt.
+     */
+    @Scheduled(initialDelayString = "${app.imports.historical.dispatch-interval}", fixedDelayString = "${app.imports.historical.dispatch-interval}")
+    public void dispatch() {
+        for (var chunk : historicalImportChunkQueue.lease(instanceId.getValue(), parallelism)) {
+            runningChunks.put(chunk.getId(), Instant.now());
+            try {
+                var historicalImport = historicalImportRepository.findById(chunk.getHistoricalImportId()).orElseThrow();
+                log.debug("Starting chunk {} of historical import {}, attempt {}.", chunk.getId(), historicalImport.getId(), chunk.getAttempts());
+                applicationEventPublisher.publishEvent(new HistoricalDataImportEvent(this, historicalImport.getThirdPartyApiConfigurationId(),
+                        chunk.getChunkStart().toInstant(), chunk.getChunkEnd().toInstant(), chunk.getId()));
+            } catch (RuntimeException e) {
+                log.error("Could not start chunk {} of historical import {}.", chunk.getId(), chunk.getHistoricalImportId(), e);
+                runningChunks.remove(chunk.getId());
+                historicalImportChunkQueue.finish(chunk.getId(), instanceId.getValue(), false);
+            }
+        }
+    }
+
+    /**
+     * Marks the chunk as finished and starts the next pending chunks.
+     *
+     * @param chunkId    the id of the chunk
+     * @param successful whether the chunk was imported successfully, failed chunks are retried until the maximum number
+     *                   of attempts is reached
+     */
+    public void chunkFinished(long chunkId, boolean successful) {
+        runningChunks.remove(chunkId);
+        if (!historicalImportChunkQueue.finish(chunkId, instanceId.getValue(), successful)) {
+            log.warn("The lease on chunk {} expired before it was finished, the chunk is imported again.", chunkId);
+        }
+        dispatch();
+    }
+
+    /**
+     * Puts the chunk back into the queue without counting the attempt, it is started again with the next dispatch.
+     *
+     * @param chunkId the id of the chunk
+     */
+    public void chunkRejected(long chunkId) {
+        runningChunks.remove(chunkId);
+        historicalImportChunkQueue.release(chunkId, instanceId.getValue());
+    }
+
+    /**
+     * Renews the leases of the chunks running on this instance. Chunks running longer than the timeout are considered
+     * lost, e.g. because the import hangs or its outcome was never reported, their leases are not renewed anymore, so
+     * the chunks are imported again once the leases have expired.
+     */
+    @Scheduled(initialDelayString = "${app.imports.historical.renew-interval}", fixedDelayString = "${app.imports.historical.renew-interval}")
+    public void renewLeases() {
+        var deadline = Instant.now().minus(timeout);
+        runningChunks.entrySet().removeIf(runningChunk -> {
+            if (runningChunk.getValue().isBefore(deadline)) {
+                log.warn("Chunk {} exceeded the timeout, its lease is not renewed anymore.", runningChunk.getKey());
+                return true;
+            }
+            return false;
+        });
+        var chunks = List.copyOf(runningChunks.keySet());
+        var renewed = historicalImportChunkQueue.renew(chunks, instanceId.getValue());
+        if (renewed < chunks.size()) {
+            log.warn("Could only renew {} of {} leases on chunks, the other chunks have been finished or leased by another instance.", renewed, chunks.size());
+        }
+    }
+
+    /**
+     * Resumes the historical imports interrupted by a shutdown. Chunks that were running on a stopped instance are not
+     * started right away, they might still be imported by another instance, they are imported again once their lease
+     * has expired.
+     */
+    public void resumeInterruptedImports() {
+        dispatch();
+    }
+
+    /**
+     * Returns the progress of the historical imports of a given tenant and UUID, the latest first.
+     *
+     * @param tenantId the ID of the tenant
+     * @param uuid     the UUID of the third-party API configuration
+     * @return the progress of the historical imports
+     */
+    public List<HistoricalImportProgress> getProgress(String tenantId, String uuid) {
+        var now = Instant.now();
+        return thirdPartyApiConfigurationRepository.findAllByTenantTenantIdAndUuid(tenantId, uuid).stream()
+                .flatMap(thirdPartyApiConfiguration -> historicalImportRepository.findAllByThirdPartyApiConfigurationIdOrderByCreatedAtDesc(thirdPartyApiConfiguration.getId()).stream()
+                        .map(historicalImport -> progress(thirdPartyApiConfiguration, historicalImport, now)))
+                .toList();
+    }
+
+    private HistoricalImportProgress progress(ThirdPartyApiConfiguration thirdPartyApiConfiguration, HistoricalImport historicalImport, Instant now) {
+        var chunksByStatus = historicalImportChunkRepository.findAllByHistoricalImportId(historicalImport.getId()).stream()
+                .collect(Collectors.groupingBy(HistoricalImportChunk::getStatus, () -> new EnumMap<>(HistoricalImportChunkStatus.class), Collectors.counting()));
+        var done = chunksByStatus.getOrDefault(HistoricalImportChunkStatus.DONE, 0L).intValue();
+        var running = chunksByStatus.getOrDefault(HistoricalImportChunkStatus.RUNNING, 0L).intValue();
+        var pending = chunksByStatus.getOrDefault(HistoricalImportChunkStatus.PENDING, 0L).intValue();
+        var failed = chunksByStatus.getOrDefault(HistoricalImportChunkStatus.FAILED, 0L).intValue();
+        Instant estimatedCompletion = null;
+        if (running + pending == 0) {
+            estimatedCompletion = now;
+        } else if (done > 0) {
+            // Assumes the remaining chunks are imported at the same rate as the finished ones.
+            var elapsed = Duration.between(historicalImport.getCreatedAt().toInstant(), now);
+            estimatedCompletion = now.plus(elapsed.multipliedBy(running + pending).dividedBy(done));
+        }
+        return new HistoricalImportProgress(thirdPartyApiConfiguration.getManufacturer(),
+                historicalImport.getStartDate().toInstant(),
+                historicalImport.getEndDate().toInstant(),
+                historicalImport.getCreatedAt().toInstant(),
+                done + running + pending + failed,
+                done,
+                running,
+                pending,
+                failed,
+                estimatedCompletion);
+    }
+
+    /**
+     * Progress of a historical import.
+     *
+     * @param manufacturer        the manufacturer of the third-party API configuration
+     * @param startDate           the start of the time range
+     * @param endDate             the end of the time range
+     * @param createdAt           the point in time the import was triggered
+     * @param chunks              the total number of chunks
+     * @param done                the number of chunks imported successfully
+     * @param running             the number of chunks currently imported
+     * @param pending             the number of chunks waiting to be imported
+     * @param failed              the number of chunks that could not be imported
+     * @param estimatedCompletion the estimated completion, null if it can not be estimated yet
+     */
+    public record HistoricalImportProgress(Manufacturer manufacturer,
+                                           Instant startDate,
+                                           Instant endDate,
+                                           Instant createdAt,
+                                           int chunks,
+                                           int done,
+                                           int running,
+                                           int pending,
+                                           int failed,
+                                           Instant estimatedCompletion) {
+    }
+
+}
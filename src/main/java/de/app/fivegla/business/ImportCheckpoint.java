@@ -0,0 +1,118 @@
+package de.app.fivegla.business;
+
+import de.app.fivegla.api.Error;
+import de.app.fivegla.api.ErrorMessage;
+import de.app.fivegla.api.exceptions.BusinessException;
+import de.app.fivegla.integration.fiware.FiwareEntityBatchWriter;
+import de.app.fivegla.persistence.entity.ThirdPartyApiConfiguration;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tracks the progress of a single import run. Devices are marked as delivered once their data has been handed to the
+ * context broker integration, their watermarks are advanced to the start of the run after the data has actually
+ * been delivered. This happens every time the checkpoint interval is reached and when the import is finished.
+ * The watermarks are only advanced after the flush of the scope of the import run succeeded, which covers the batches
+ * sent after the maximum delay as well. If the flush fails, the watermarks of the devices are not advanced and the
+ * import fails once it is finished, so the last run is not updated either.
+ * Checkpoints of historical imports only wait for the data to be delivered, they do not advance any watermarks.
+ * <p>
+ * {@link #from(Object)} may be called concurrently, all other methods must be called by the thread running the import.
+ * </p>
+ */
+public class ImportCheckpoint {
+
+    private final ImportWatermarkService importWatermarkService;
+    @Getter
+    private final FiwareEntityBatchWriter.Scope scope;
+    private final ThirdPartyApiConfiguration thirdPartyApiConfiguration;
+    private final Map<String, Instant> watermarks;
+    private final Instant fallback;
+    private final int checkpointInterval;
+    private final boolean advanceWatermarks;
+    private final Instant startOfRun = Instant.now();
+    private final List<String> deliveredDevices = new ArrayList<>();
+    private int undeliveredDevices;
+
+    ImportCheckpoint(ImportWatermarkService importWatermarkService,
+                     FiwareEntityBatchWriter.Scope scope,
+                     ThirdPartyApiConfiguration thirdPartyApiConfiguration,
+                     Map<String, Instant> watermarks,
+                     Instant fallback,
+                     int checkpointInterval,
+                     boolean advanceWatermarks) {
+        this.importWatermarkService = importWatermarkService;
+        this.scope = scope;
+        this.thirdPartyApiConfiguration = thirdPartyApiConfiguration;
+        this.watermarks = watermarks;
+        this.fallback = fallback;
+        this.checkpointInterval = checkpointInterval;
+        this.advanceWatermarks = advanceWatermarks;
+    }
+
+    /**
+     * Returns the point in time the import of the device should start at.
+     *
+     * @param deviceId the id of the device within the third-party API
+     * @return the watermark of the device or the fallback if the device has no watermark yet
+     */
+    public Instant from(Object deviceId) {
+        return watermarks.getOrDefault(String.valueOf(deviceId), fallback);
+    }
+
+    /**
+     * Marks the data of the device as handed to the context broker integration.
+     *
+     * @param deviceId the id of the device within the third-party API
+     */
+    public void delivered(Object deviceId) {
+        if (!advanceWatermarks) {
+            return;
+        }
+        deliveredDevices.add(String.valueOf(deviceId));
+        if (deliveredDevices.size() >= checkpointInterval) {
+            commit();
+        }
+    }
+
+    /**
+     * Waits until the data of all devices marked as delivered has been delivered and advances their watermarks. If the
+     * data could not be delivered, the devices are dropped from the checkpoint without advancing their watermarks.
+     *
+     * @throws java.util.concurrent.CompletionException if the data could not be delivered
+     */
+    public void commit() {
+        try {
+            importWatermarkService.commit(scope, thirdPartyApiConfiguration, deliveredDevices, startOfRun);
+        } catch (RuntimeException e) {
+            undeliveredDevices += deliveredDevices.size();
+            throw e;
+        } finally {
+            deliveredDevices.clear();
+        }
+    }
+
+    /**
+     * Commits the remaining devices and updates the last run of the third-party API configuration. Must only be called
+     * if the import was successful.
+     *
+     * @throws BusinessException if the data of some devices could not be delivered, the last run is not updated
+     */
+    public void finish() {
+        commit();
+        if (undeliveredDevices > 0) {
+            throw new BusinessException(ErrorMessage.builder()
+                    .error(Error.IMPORT_NOT_DELIVERED)
+                    .message("The data of " + undeliveredDevices + " devices could not be delivered, their watermarks were not advanced.")
+                    .build());
+        }
+        if (advanceWatermarks) {
+            importWatermarkService.finish(thirdPartyApiConfiguration, startOfRun);
+        }
+    }
+
+}
@@ -0,0 +1,155 @@
+package de.app.fivegla.business;
+
+import de.app.fivegla.persistence.ImportJobRepository;
+import de.app.fivegla.persistence.entity.ImportJob;
+import de.app.fivegla.persistence.entity.RegisteredDevice;
+import de.app.fivegla.persistence.entity.ThirdPartyApiConfiguration;
+import de.app.fivegla.persistence.entity.enums.ImportJobType;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Queue of the import jobs, stored within the database and shared by all instances of the application. Every instance
+ * leases the jobs it runs, the rows are locked using <code>SELECT ... FOR UPDATE SKIP LOCKED</code>, so a job is only
+ * leased by a single instance at the same time. Leases are renewed while the job is running, the job is leased by
+ * another instance once the lease has expired, e.g. because the instance running the job crashed.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ImportJobQueue {
+
+    private final ImportJobRepository importJobRepository;
+
+    @Value("${app.imports.jobs.lease-duration}")
+    private Duration leaseDuration;
+
+    @Value("${app.imports.jobs.max-attempts}")
+    private int maxAttempts;
+
+    /**
+     * Adds a data import for the third-party API configuration to the queue.
+     *
+     * @param thirdPartyApiConfiguration The third-party API configuration.
+     * @return True if the job has been added, false if there is already an open job for the configuration.
+     */
+    public boolean enqueueDataImport(ThirdPartyApiConfiguration thirdPartyApiConfiguration) {
+        return enqueue(ImportJobType.DATA_IMPORT + ":" + thirdPartyApiConfiguration.getId(),
+                ImportJobType.DATA_IMPORT, thirdPartyApiConfiguration.getId(), null);
+    }
+
+    /**
+     * Adds an import of the weather data at the location of a registered device to the queue.
+     *
+     * @param thirdPartyApiConfiguration The third-party API configuration of OpenWeather.
+     * @param registeredDevice           The registered device.
+     * @return True if the job has been added, false if there is already an open job for the device.
+     */
+    public boolean enqueueOpenWeatherImport(ThirdPartyApiConfiguration thirdPartyApiConfiguration, RegisteredDevice registeredDevice) {
+        return enqueue(ImportJobType.OPEN_WEATHER_IMPORT + ":" + thirdPartyApiConfiguration.getId() + ":" + registeredDevice.getId(),
+                ImportJobType.OPEN_WEATHER_IMPORT, thirdPartyApiConfiguration.getId(), registeredDevice.getId());
+    }
+
+    private boolean enqueue(String jobKey, ImportJobType jobType, long thirdPartyApiConfigurationId, Long registeredDeviceId) {
+        if (importJobRepository.existsByJobKey(jobKey)) {
+            log.debug("There is already an open import job {}, skipping.", jobKey);
+            return false;
+        }
+        var now = new Date();
+        var importJob = new ImportJob();
+        importJob.setJobKey(jobKey);
+        importJob.setJobType(jobType);
+        importJob.setThirdPartyApiConfigurationId(thirdPartyApiConfigurationId);
+        importJob.setRegisteredDeviceId(registeredDeviceId);
+        importJob.setAvailableAt(now);
+        importJob.setCreatedAt(now);
+        try {
+            importJobRepository.save(importJob);
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            // Another instance added the same job in the meantime.
+            log.debug("The import job {} has been added by another instance, skipping.", jobKey);
+            return false;
+        }
+    }
+
+    /**
+     * Leases the oldest available jobs. Jobs whose lease expired too often are considered to crash the instances
+     * running them and are removed.
+     *
+     * @param leasedBy The instance leasing the jobs.
+     * @param limit    The maximum number of jobs.
+     * @return The leased jobs.
+     */
+    @Transactional
+    public List<ImportJob> lease(String leasedBy, int limit) {
+        var now = Instant.now();
+        var leasedJobs = new ArrayList<ImportJob>();
+        for (var importJob : importJobRepository.lockLeasableJobs(Date.from(now), limit)) {
+            if (importJob.getAttempts() >= maxAttempts) {
+                log.error("The import job {} has been leased {} times without being finished, removing it.", importJob.getJobKey(), importJob.getAttempts());
+                importJobRepository.delete(importJob);
+                continue;
+            }
+            if (null != importJob.getLeasedBy()) {
+                log.warn("The lease of {} on import job {} expired, leasing it again.", importJob.getLeasedBy(), importJob.getJobKey());
+            }
+            importJob.setLeasedBy(leasedBy);
+            importJob.setLeasedUntil(Date.from(now.plus(leaseDuration)));
+            importJob.setAttempts(importJob.getAttempts() + 1);
+            leasedJobs.add(importJob);
+        }
+        return importJobRepository.saveAll(leasedJobs);
+    }
+
+    /**
+     * Extends the leases of the jobs still running.
+     *
+     * @param ids      The ids of the jobs.
+     * @param leasedBy The instance holding the leases.
+     * @return The number of leases extended.
+     */
+    @Transactional
+    public int renew(Collection<Long> ids, String leasedBy) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return importJobRepository.renewLeases(ids, leasedBy, Date.from(Instant.now().plus(leaseDuration)));
+    }
+
+    /**
+     * Puts the job back into the queue without counting the attempt.
+     *
+     * @param id       The id of the job.
+     * @param leasedBy The instance holding the lease.
+     * @param delay    The delay before the job may be leased again.
+     */
+    @Transactional
+    public void release(long id, String leasedBy, Duration delay) {
+        importJobRepository.releaseLease(id, leasedBy, Date.from(Instant.now().plus(delay)));
+    }
+
+    /**
+     * Removes the finished job from the queue.
+     *
+     * @param id       The id of the job.
+     * @param leasedBy The instance holding the lease.
+     * @return False if the lease expired and the job has been leased by another instance in the meantime.
+     */
+    @Transactional
+    public boolean complete(long id, String leasedBy) {
+        return importJobRepository.deleteLeasedJob(id, leasedBy) > 0;
+    }
+
+}
@@ -0,0 +1,142 @@
+package de.app.fivegla.business;
+
+import de.app.fivegla.api.Manufacturer;
+import de.app.fivegla.config.ManufacturerSettings;
+import de.app.fivegla.persistence.ImportScheduleRepository;
+import de.app.fivegla.persistence.entity.ImportSchedule;
+import de.app.fivegla.persistence.entity.ThirdPartyApiConfiguration;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Adapts the polling interval of every third-party API configuration to the cadence of its data. The cadence is
+ * learned from the time between imports that received new measurements, the configuration is polled twice per
+ * cadence, so new data is picked up at most half a cadence late. Imports without new data (or failing imports) back
+ * off until the maximum interval is reached. The next run is shifted by a random jitter, so the imports of the tenants
+ * do not hit the third-party APIs and the context broker at the same time.
+ * <p>
+ * The limits can be overridden per manufacturer, e.g. using <code>app.imports.polling.weenat.min-interval</code>.
+ * </p>
+ */
+@Slf4j
+@Service
+public class ImportScheduleService {
+
+    private static final String PROPERTY_PREFIX = "app.imports.polling.";
+
+    private final ImportScheduleRepository importScheduleRepository;
+    private final ManufacturerSettings manufacturerSettings;
+    private final Duration initialInterval;
+    private final double backOffFactor;
+    private final double smoothing;
+    private final double jitter;
+
+    public ImportScheduleService(ImportScheduleRepository importScheduleRepository, Environment environment, ManufacturerSettings manufacturerSettings) {
+        this.importScheduleRepository = importScheduleRepository;
+        this.manufacturerSettings = manufacturerSettings;
+        this.initialInterval = environment.getRequiredProperty(PROPERTY_PREFIX + "initial-interval", Duration.class);
+        this.backOffFactor = environment.getRequiredProperty(PROPERTY_PREFIX + "back-off-factor", Double.class);
+        this.smoothing = environment.getRequiredProperty(PROPERTY_PREFIX + "smoothing", Double.class);
+        this.jitter = environment.getRequiredProperty(PROPERTY_PREFIX + "jitter", Double.class);
+    }
+
+    /**
+     * Returns the third-party API configurations whose next import is due. Configurations without a schedule are
+     * scheduled first, their first import is spread over the initial interval.
+     *
+     * @param thirdPartyApiConfigurations the enabled third-party API configurations
+     * @return the configurations to import now
+     */
+    public List<ThirdPartyApiConfiguration> findDue(Collection<ThirdPartyApiConfiguration> thirdPartyApiConfigurations) {
+        var now = Instant.now();
+        var schedules = importScheduleRepository.findAll().stream()
+                .collect(Collectors.toMap(ImportSchedule::getThirdPartyApiConfigurationId, Function.identity()));
+        return thirdPartyApiConfigurations.stream()
+                .filter(thirdPartyApiConfiguration -> {
+                    var importSchedule = schedules.get(thirdPartyApiConfiguration.getId());
+                    if (null == importSchedule) {
+                        createSchedule(thirdPartyApiConfiguration, now);
+                        return false;
+                    }
+                    return !importSchedule.getNextRun().toInstant().isAfter(now);
+                })
+                .toList();
+    }
+
+    private void createSchedule(ThirdPartyApiConfiguration thirdPartyApiConfiguration, Instant now) {
+        var importSchedule = new ImportSchedule();
+        importSchedule.setThirdPartyApiConfigurationId(thirdPartyApiConfiguration.getId());
+        importSchedule.setPollInterval(clamp(thirdPartyApiConfiguration.getManufacturer(), initialInterval).toSeconds());
+        var delay = (long) (ThreadLocalRandom.current().nextDouble() * importSchedule.getPollInterval());
+        importSchedule.setNextRun(Date.from(now.plusSeconds(delay)));
+        try {
+            importScheduleRepository.save(importSchedule);
+            log.debug("Scheduled the first import of third-party API configuration {} in {} seconds.", thirdPartyApiConfiguration.getId(), delay);
+        } catch (DataIntegrityViolationException e) {
+            // Another instance created the schedule in the meantime.
+            log.debug("The schedule of third-party API configuration {} has been created by another instance.", thirdPartyApiConfiguration.getId());
+        }
+    }
+
+    /**
+     * Adapts the polling interval to the outcome of an import and schedules the next import.
+     *
+     * @param thirdPartyApiConfiguration the third-party API configuration
+     * @param nrOfMeasurements           the number of measurements received, 0 if the import failed
+     */
+    public void importFinished(ThirdPartyApiConfiguration thirdPartyApiConfiguration, int nrOfMeasurements) {
+        var now = Instant.now();
+        var importSchedule = importScheduleRepository.findByThirdPartyApiConfigurationId(thirdPartyApiConfiguration.getId())
+                .orElseGet(() -> {
+                    var newSchedule = new ImportSchedule();
+                    newSchedule.setThirdPartyApiConfigurationId(thirdPartyApiConfiguration.getId());
+                    newSchedule.setPollInterval(initialInterval.toSeconds());
+                    return newSchedule;
+                });
+        var interval = Duration.ofSeconds(importSchedule.getPollInterval());
+        if (nrOfMeasurements > 0) {
+            if (null != importSchedule.getLastDataAt()) {
+                var gap = Duration.between(importSchedule.getLastDataAt().toInstant(), now).toSeconds();
+                var cadence = null == importSchedule.getDataCadence() ? gap : Math.round(smoothing * gap + (1 - smoothing) * importSchedule.getDataCadence());
+                importSchedule.setDataCadence(cadence);
+                interval = Duration.ofSeconds(cadence / 2);
+            }
+            importSchedule.setLastDataAt(Date.from(now));
+            importSchedule.setEmptyPolls(0);
+        } else {
+            importSchedule.setEmptyPolls(importSchedule.getEmptyPolls() + 1);
+            interval = Duration.ofSeconds(Math.round(interval.toSeconds() * backOffFactor));
+        }
+        interval = clamp(thirdPartyApiConfiguration.getManufacturer(), interval);
+        var deviation = (long) (interval.toSeconds() * jitter * (2 * ThreadLocalRandom.current().nextDouble() - 1));
+        importSchedule.setPollInterval(interval.toSeconds());
+        importSchedule.setNextRun(Date.from(now.plus(interval).plusSeconds(deviation)));
+        importScheduleRepository.save(importSchedule);
+        log.debug("Received {} measurements for third-party API configuration {}, polling every {}.", nrOfMeasurements, thirdPartyApiConfiguration.getId(), interval);
+    }
+
+    private Duration clamp(Manufacturer manufacturer, Duration interval) {
+        var minInterval = setting(manufacturer, "min-interval");
+        var maxInterval = setting(manufacturer, "max-interval");
+        if (interval.compareTo(minInterval) < 0) {
+            return minInterval;
+        }
+        return interval.compareTo(maxInterval) > 0 ? maxInterval : interval;
+    }
+
+    private Duration setting(Manufacturer manufacturer, String key) {
+        return manufacturerSettings.get(PROPERTY_PREFIX, manufacturer, key, Duration.class);
+    }
+
+}
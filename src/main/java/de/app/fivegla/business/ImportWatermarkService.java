@@ -0,0 +1,103 @@
+package de.app.fivegla.business;
+
+import de.app.fivegla.integration.fiware.FiwareEntityBatchWriter;
+import de.app.fivegla.persistence.ImportWatermarkRepository;
+import de.app.fivegla.persistence.entity.ImportWatermark;
+import de.app.fivegla.persistence.entity.Tenant;
+import de.app.fivegla.persistence.entity.ThirdPartyApiConfiguration;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Date;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Service for the watermarks of the imports. A watermark is stored per third-party API configuration and device, it is
+ * only advanced once the data of the device has been delivered to the context broker (or stored within the outbox).
+ * Imports resume every device from its watermark, so no data is lost if an import fails or the application restarts.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ImportWatermarkService {
+
+    private final ImportWatermarkRepository importWatermarkRepository;
+    private final ThirdPartyApiConfigurationService thirdPartyApiConfigurationService;
+    private final FiwareEntityBatchWriter fiwareEntityBatchWriter;
+
+    @Value("${app.imports.watermarks.checkpoint-interval}")
+    private int checkpointInterval;
+
+    /**
+     * Starts an import that resumes every device from its watermark.
+     *
+     * @param tenant                     The tenant.
+     * @param thirdPartyApiConfiguration The third-party API configuration.
+     * @param fallback                   The start of the import for devices without a watermark.
+     * @return The checkpoint of the import.
+     */
+    public ImportCheckpoint resume(Tenant tenant, ThirdPartyApiConfiguration thirdPartyApiConfiguration, Instant fallback) {
+        var watermarks = importWatermarkRepository.findAllByThirdPartyApiConfigurationId(thirdPartyApiConfiguration.getId()).stream()
+                .collect(Collectors.toUnmodifiableMap(ImportWatermark::getDeviceId, importWatermark -> importWatermark.getWatermark().toInstant()));
+        log.debug("Resuming import for {} devices of third-party API configuration {}.", watermarks.size(), thirdPartyApiConfiguration.getId());
+        return new ImportCheckpoint(this, fiwareEntityBatchWriter.openScope(tenant), thirdPartyApiConfiguration, watermarks, fallback, checkpointInterval, true);
+    }
+
+    /**
+     * Starts an import of all devices at a fixed point in time, used for the chunks of historical imports. A chunk does
+     * not necessarily reach up to now, so neither the watermarks nor the last run are changed by the import.
+     *
+     * @param tenant                     The tenant.
+     * @param thirdPartyApiConfiguration The third-party API configuration.
+     * @param start                      The start of the import for all devices.
+     * @return The checkpoint of the import.
+     */
+    public ImportCheckpoint startAt(Tenant tenant, ThirdPartyApiConfiguration thirdPartyApiConfiguration, Instant start) {
+        return new ImportCheckpoint(this, fiwareEntityBatchWriter.openScope(tenant), thirdPartyApiConfiguration, Map.of(), start, checkpointInterval, false);
+    }
+
+    /**
+     * Waits until all entities of the import run have been delivered and advances the watermarks of the devices.
+     */
+    void commit(FiwareEntityBatchWriter.Scope scope, ThirdPartyApiConfiguration thirdPartyApiConfiguration, Collection<String> deviceIds, Instant watermark) {
+        fiwareEntityBatchWriter.flush(scope).join();
+        if (deviceIds.isEmpty()) {
+            return;
+        }
+        var existingWatermarks = importWatermarkRepository.findAllByThirdPartyApiConfigurationId(thirdPartyApiConfiguration.getId()).stream()
+                .collect(Collectors.toMap(ImportWatermark::getDeviceId, Function.identity()));
+        var updatedWatermarks = deviceIds.stream()
+                .distinct()
+                .map(deviceId -> {
+                    var importWatermark = existingWatermarks.get(deviceId);
+                    if (null == importWatermark) {
+                        importWatermark = new ImportWatermark();
+                        importWatermark.setThirdPartyApiConfigurationId(thirdPartyApiConfiguration.getId());
+                        importWatermark.setDeviceId(deviceId);
+                    } else if (!importWatermark.getWatermark().toInstant().isBefore(watermark)) {
+                        return null;
+                    }
+                    importWatermark.setWatermark(Date.from(watermark));
+                    return importWatermark;
+                })
+                .filter(Objects::nonNull)
+                .toList();
+        importWatermarkRepository.saveAll(updatedWatermarks);
+        log.debug("Advanced the watermarks of {} devices of third-party API configuration {} to {}.", updatedWatermarks.size(), thirdPartyApiConfiguration.getId(), watermark);
+    }
+
+    /**
+     * Marks the import as finished by updating the last run of the third-party API configuration.
+     */
+    void finish(ThirdPartyApiConfiguration thirdPartyApiConfiguration, Instant lastRun) {
+        thirdPartyApiConfigurationService.updateLastRun(thirdPartyApiConfiguration, lastRun);
+    }
+
+}
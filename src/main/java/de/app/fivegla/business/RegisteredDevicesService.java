@@ -54,4 +54,14 @@ public class RegisteredDevicesService {
         log.info("Finding registered device for tenant {} and sensor ID {}.", tenant, sensorId);
         return registeredDeviceRepository.findByTenantAndOid(tenant, sensorId);
     }
+
+    /**
+     * Finds a registered device by its ID.
+     *
+     * @param id The ID of the registered device.
+     * @return The registered device.
+     */
+    public Optional<RegisteredDevice> findById(long id) {
+        return registeredDeviceRepository.findById(id);
+    }
 }
@@ -4,9 +4,13 @@ package de.app.fivegla.business;
 import de.app.fivegla.api.Error;
 import de.app.fivegla.api.ErrorMessage;
 import de.app.fivegla.api.exceptions.BusinessException;
+import de.app.fivegla.business.cache.SensorGroupCache;
+import de.app.fivegla.business.cache.TenantCache;
 import de.app.fivegla.config.security.TenantCredentials;
+import de.app.fivegla.config.security.TenantCredentialsCache;
 import de.app.fivegla.event.events.CreateDefaultGroupForTenantEvent;
 import de.app.fivegla.event.events.ResendSubscriptionsEvent;
+import de.app.fivegla.persistence.FiwareOutboxRepository;
 import de.app.fivegla.persistence.GroupRepository;
 import de.app.fivegla.persistence.ImageRepository;
 import de.app.fivegla.persistence.TenantRepository;
@@ -38,6 +42,10 @@ public class TenantService implements UserDetailsService {
     private final GroupRepository groupRepository;
     private final ImageRepository imageRepository;
     private final ThirdPartyApiConfigurationRepository thirdPartyApiConfigurationRepository;
+    private final FiwareOutboxRepository fiwareOutboxRepository;
+    private final SensorGroupCache sensorGroupCache;
+    private final TenantCredentialsCache tenantCredentialsCache;
+    private final TenantCache tenantCache;
 
     /**
      * Creates a new tenant with the provided name and description.
@@ -59,7 +67,7 @@ public class TenantService implements UserDetailsService {
         var encodedAccessToken = new BCryptPasswordEncoder().encode(accessToken);
         tenant.setAccessToken(encodedAccessToken);
         var tenantAndAccessToken = new TenantAndAccessToken(tenantRepository.save(tenant), accessToken);
-        applicationEventPublisher.publishEvent(new ResendSubscriptionsEvent(this));
+        applicationEventPublisher.publishEvent(new ResendSubscriptionsEvent(this, tenant));
         applicationEventPublisher.publishEvent(new CreateDefaultGroupForTenantEvent(this, tenant));
         return tenantAndAccessToken;
     }
@@ -91,7 +99,7 @@ public class TenantService implements UserDetailsService {
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        var optionalTenant = tenantRepository.findByTenantId(username);
+        var optionalTenant = findByTenantId(username);
         if (optionalTenant.isEmpty()) {
             throw new BusinessException(ErrorMessage.builder()
                     .error(Error.TENANT_NOT_FOUND)
@@ -129,17 +137,19 @@ public class TenantService implements UserDetailsService {
         tenant.setName(name);
         tenant.setDescription(description);
         tenantRepository.save(tenant);
+        tenantCache.invalidate(tenantId);
+        tenantCredentialsCache.invalidate(tenantId);
         return tenant;
     }
 
     /**
-     * Fine a tenant by its tenantId.
+     * Fine a tenant by its tenantId. The tenants are cached, see {@link TenantCache}.
      *
      * @param tenantId The tenantId of the tenant to find.
      * @return An Optional containing the tenant if it exists, or an empty Optional if the tenant doesn't exist.
      */
     public Optional<Tenant> findByTenantId(String tenantId) {
-        return tenantRepository.findByTenantId(tenantId);
+        return tenantCache.get(tenantId, () -> tenantRepository.findByTenantId(tenantId));
     }
 
     /**
@@ -150,9 +160,13 @@ public class TenantService implements UserDetailsService {
     @Transactional
     public void delete(String tenantId) {
         groupRepository.deleteByTenantTenantId(tenantId);
+        sensorGroupCache.invalidate(tenantId);
         imageRepository.deleteByTenantTenantId(tenantId);
         thirdPartyApiConfigurationRepository.deleteByTenantTenantId(tenantId);
+        fiwareOutboxRepository.deleteByTenantId(tenantId);
         tenantRepository.deleteByTenantId(tenantId);
+        tenantCache.invalidate(tenantId);
+        tenantCredentialsCache.invalidate(tenantId);
     }
 
     /**
@@ -1,19 +1,20 @@
 package de.app.fivegla.business;
 
+import de.app.fivegla.api.Error;
+import de.app.fivegla.api.ErrorMessage;
 import de.app.fivegla.api.Manufacturer;
-import de.app.fivegla.event.events.HistoricalDataImportEvent;
+import de.app.fivegla.api.exceptions.BusinessException;
+import de.app.fivegla.integration.VendorTokenCache;
+import de.app.fivegla.integration.VendorTopologyCache;
 import de.app.fivegla.persistence.ThirdPartyApiConfigurationRepository;
 import de.app.fivegla.persistence.entity.Tenant;
 import de.app.fivegla.persistence.entity.ThirdPartyApiConfiguration;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
-import java.time.LocalDate;
-import java.time.ZoneId;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
@@ -24,7 +25,8 @@ import java.util.Optional;
 public class ThirdPartyApiConfigurationService {
 
     private final ThirdPartyApiConfigurationRepository thirdPartyApiConfigurationRepository;
-    private final ApplicationEventPublisher applicationEventPublisher;
+    private final VendorTokenCache vendorTokenCache;
+    private final VendorTopologyCache vendorTopologyCache;
 
     /**
      * Creates a third-party API configuration and adds it to the system.
@@ -59,9 +61,38 @@ public class ThirdPartyApiConfigurationService {
     @Transactional
     public void deleteThirdPartyApiConfiguration(String tenantId, String uuid) {
         log.info("Deleting third-party API configuration.");
+        thirdPartyApiConfigurationRepository.findAllByTenantTenantIdAndUuid(tenantId, uuid)
+                .forEach(configuration -> {
+                    vendorTokenCache.invalidate(configuration.getId());
+                    vendorTopologyCache.invalidate(configuration.getId());
+                });
         thirdPartyApiConfigurationRepository.deleteByTenantTenantIdAndUuid(tenantId, uuid);
     }
 
+    /**
+     * Removes the cached topology, e.g. the loggers, plots or devices, of a third-party API configuration, so it is
+     * fetched again on the next import. The topology version is incremented, so the other instances of the application
+     * fetch the topology again as well.
+     *
+     * @param tenantId The tenantId of the third-party API configuration.
+     * @param uuid     The uuid of the third-party API configuration.
+     */
+    @Transactional
+    public void invalidateTopology(String tenantId, String uuid) {
+        var thirdPartyApiConfigurations = thirdPartyApiConfigurationRepository.findAllByTenantTenantIdAndUuid(tenantId, uuid);
+        if (thirdPartyApiConfigurations.isEmpty()) {
+            throw new BusinessException(ErrorMessage.builder()
+                    .error(Error.THIRD_PARTY_API_CONFIGURATION_NOT_FOUND)
+                    .message("Third party API configuration not found.")
+                    .build());
+        }
+        log.info("Invalidating the topology of third-party API configuration {}.", uuid);
+        thirdPartyApiConfigurations.forEach(configuration -> {
+            thirdPartyApiConfigurationRepository.incrementTopologyVersion(configuration.getId());
+            vendorTopologyCache.invalidate(configuration.getId());
+        });
+    }
+
     /**
      * Gets all third-party API configurations.
      *
@@ -73,14 +104,18 @@ public class ThirdPartyApiConfigurationService {
     }
 
     /**
-     * Updates the last run of a third-party API configuration.
+     * Updates the last run of a third-party API configuration. Called once an import has been finished successfully.
      *
      * @param thirdPartyApiConfiguration The third-party API configuration to be updated.
+     * @param lastRun                    The start of the import.
      */
     @Transactional
-    public void updateLastRun(ThirdPartyApiConfiguration thirdPartyApiConfiguration) {
-        thirdPartyApiConfiguration.setLastRun(Date.from(Instant.now()));
-        thirdPartyApiConfigurationRepository.save(thirdPartyApiConfiguration);
+    public void updateLastRun(ThirdPartyApiConfiguration thirdPartyApiConfiguration, Instant lastRun) {
+        thirdPartyApiConfiguration.setLastRun(Date.from(lastRun));
+        thirdPartyApiConfigurationRepository.findById(thirdPartyApiConfiguration.getId()).ifPresent(current -> {
+            current.setLastRun(Date.from(lastRun));
+            thirdPartyApiConfigurationRepository.save(current);
+        });
     }
 
     /**
@@ -93,18 +128,6 @@ public class ThirdPartyApiConfigurationService {
         return thirdPartyApiConfigurationRepository.findById(id);
     }
 
-    /**
-     * Triggers the import of historical data for a given tenant and UUID starting from a specific date.
-     *
-     * @param tenantId           the ID of the tenant for which the import will be triggered
-     * @param uuid               the UUID associated with the tenant
-     * @param startDateInThePast the start date from which the import will begin, in the past
-     */
-    public void triggerImport(String tenantId, String uuid, LocalDate startDateInThePast) {
-        getThirdPartyApiConfigurations(tenantId, uuid).forEach(thirdPartyApiConfiguration -> applicationEventPublisher.publishEvent(new HistoricalDataImportEvent(this, thirdPartyApiConfiguration.getId(),
-                startDateInThePast.atStartOfDay(ZoneId.systemDefault()).toInstant())));
-    }
-
     /**
      * Finds all third-party API configurations for a given tenant and manufacturer.
      *
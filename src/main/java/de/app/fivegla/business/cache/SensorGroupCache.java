@@ -0,0 +1,128 @@
+package de.app.fivegla.business.cache;
+
+import de.app.fivegla.persistence.entity.Group;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Caches the groups of every tenant, indexed by the sensor ids assigned to them. The imports resolve the group of
+ * every measurement, the index replaces two queries per measurement by a single query per tenant. The index is
+ * invalidated whenever a group of the tenant changes, the time to live bounds the staleness of changes made by other
+ * instances of the application.
+ */
+@Slf4j
+@Component
+public class SensorGroupCache {
+
+    private final Map<String, SensorGroups> cache = new ConcurrentHashMap<>();
+    private final AtomicLong invalidations = new AtomicLong();
+    private final Duration timeToLive;
+
+    public SensorGroupCache(@Value("${app.caches.sensor-groups.time-to-live}") Duration timeToLive) {
+        this.timeToLive = timeToLive;
+    }
+
+    /**
+     * Get the groups of the tenant, loads them if they are not cached or expired.
+     *
+     * @param tenantId the tenant id
+     * @param loader   loads all groups of the tenant
+     * @return the groups of the tenant
+     */
+    public SensorGroups get(String tenantId, Supplier<List<Group>> loader) {
+        var sensorGroups = cache.get(tenantId);
+        if (null != sensorGroups && sensorGroups.isValid()) {
+            return sensorGroups;
+        }
+        var invalidationsBeforeLoading = invalidations.get();
+        sensorGroups = new SensorGroups(loader.get(), Instant.now().plus(timeToLive));
+        if (invalidations.get() == invalidationsBeforeLoading) {
+            // Groups changed while loading are not cached, they may already be outdated.
+            cache.put(tenantId, sensorGroups);
+        }
+        log.debug("Loaded the groups of tenant {}, {} sensors are assigned to a group.", tenantId, sensorGroups.groupsBySensorId.size());
+        return sensorGroups;
+    }
+
+    /**
+     * Removes the groups of the tenant from the cache. If called within a transaction, the groups are removed again
+     * once the transaction is committed, so the cache is not filled with the state before the commit.
+     *
+     * @param tenantId the tenant id
+     */
+    public void invalidate(String tenantId) {
+        remove(tenantId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    remove(tenantId);
+                }
+            });
+        }
+    }
+
+    private void remove(String tenantId) {
+        invalidations.incrementAndGet();
+        cache.remove(tenantId);
+    }
+
+    /**
+     * The groups of a tenant, indexed by the sensor ids assigned to them.
+     */
+    public static class SensorGroups {
+        private final Map<String, Group> groupsBySensorId = new HashMap<>();
+        private final Group defaultGroup;
+        private final Instant expiresAt;
+
+        private SensorGroups(List<Group> groups, Instant expiresAt) {
+            Group defaultGroupForTenant = null;
+            for (var group : groups) {
+                if (group.isDefaultGroupForTenant()) {
+                    defaultGroupForTenant = group;
+                }
+                if (null != group.getSensorIdsAssignedToGroup()) {
+                    group.getSensorIdsAssignedToGroup().forEach(sensorId -> groupsBySensorId.putIfAbsent(sensorId, group));
+                }
+            }
+            this.defaultGroup = defaultGroupForTenant;
+            this.expiresAt = expiresAt;
+        }
+
+        /**
+         * Finds the group the sensor is assigned to.
+         *
+         * @param sensorId the sensor id
+         * @return the group, empty if the sensor is not assigned to a group
+         */
+        public Optional<Group> findBySensorId(String sensorId) {
+            return Optional.ofNullable(groupsBySensorId.get(sensorId));
+        }
+
+        /**
+         * Get the default group of the tenant.
+         *
+         * @return the default group, empty if the tenant has no default group
+         */
+        public Optional<Group> getDefaultGroup() {
+            return Optional.ofNullable(defaultGroup);
+        }
+
+        private boolean isValid() {
+            return expiresAt.isAfter(Instant.now());
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package de.app.fivegla.business.cache;
+
+import de.app.fivegla.persistence.entity.Tenant;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Caches the tenants by their tenant id, the least recently used tenants are evicted once the maximum size is reached.
+ * The tenants are invalidated whenever they are updated or deleted, the time to live bounds the staleness of changes
+ * made by other instances of the application. Unknown tenants are not cached.
+ */
+@Slf4j
+@Component
+public class TenantCache {
+
+    private final Map<String, TenantCacheEntry> cache;
+    private final AtomicLong invalidations = new AtomicLong();
+    private final Duration timeToLive;
+
+    public TenantCache(@Value("${app.caches.tenants.time-to-live}") Duration timeToLive,
+                       @Value("${app.caches.tenants.max-size}") int maxSize) {
+        this.timeToLive = timeToLive;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, TenantCacheEntry> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Get the tenant, loads it if it is not cached or expired.
+     *
+     * @param tenantId the tenant id
+     * @param loader   loads the tenant
+     * @return the tenant, empty if the tenant does not exist
+     */
+    public Optional<Tenant> get(String tenantId, Supplier<Optional<Tenant>> loader) {
+        synchronized (cache) {
+            var tenantCacheEntry = cache.get(tenantId);
+            if (null != tenantCacheEntry && tenantCacheEntry.isValid()) {
+                return Optional.of(tenantCacheEntry.tenant());
+            }
+        }
+        var invalidationsBeforeLoading = invalidations.get();
+        var optionalTenant = loader.get();
+        optionalTenant.ifPresent(tenant -> {
+            synchronized (cache) {
+                if (invalidations.get() == invalidationsBeforeLoading) {
+                    // Tenants changed while loading are not cached, they may already be outdated.
+                    cache.put(tenantId, new TenantCacheEntry(tenant, Instant.now().plus(timeToLive)));
+                }
+            }
+        });
+        return optionalTenant;
+    }
+
+    /**
+     * Removes the tenant from the cache. If called within a transaction, the tenant is removed again once the
+     * transaction is completed, so the cache is not filled with the state before the commit.
+     *
+     * @param tenantId the tenant id
+     */
+    public void invalidate(String tenantId) {
+        remove(tenantId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    remove(tenantId);
+                }
+            });
+        }
+    }
+
+    private void remove(String tenantId) {
+        synchronized (cache) {
+            invalidations.incrementAndGet();
+            cache.remove(tenantId);
+        }
+        log.debug("Removed tenant {} from the cache.", tenantId);
+    }
+
+    private record TenantCacheEntry(Tenant tenant, Instant expiresAt) {
+        private boolean isValid() {
+            return expiresAt.isAfter(Instant.now());
+        }
+    }
+}
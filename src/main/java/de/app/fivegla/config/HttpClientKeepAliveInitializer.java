@@ -0,0 +1,37 @@
+package de.app.fivegla.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationEnvironmentPreparedEvent;
+import org.springframework.context.ApplicationListener;
+
+import java.time.Duration;
+
+/**
+ * Sets how long the JDK HTTP client used for the context broker keeps idle connections in the pool.
+ * <p>
+ * The timeout is a JVM-wide system property, the JDK reads it only once when the connection pool of the first HTTP
+ * client is created. The property is therefore set as soon as the environment is prepared, before any bean is created.
+ * A value passed as JVM argument (<code>-Djdk.httpclient.keepalive.timeout</code>) takes precedence, without both the
+ * JDK default of the keep alive cache is used.
+ * </p>
+ */
+@Slf4j
+public class HttpClientKeepAliveInitializer implements ApplicationListener<ApplicationEnvironmentPreparedEvent> {
+
+    private static final String KEEP_ALIVE_TIMEOUT_PROPERTY = "jdk.httpclient.keepalive.timeout";
+    private static final String KEEP_ALIVE_KEY = "app.fiware.http.keep-alive";
+
+    @Override
+    public void onApplicationEvent(ApplicationEnvironmentPreparedEvent event) {
+        var configured = System.getProperty(KEEP_ALIVE_TIMEOUT_PROPERTY);
+        if (null != configured) {
+            log.info("Keep alive timeout of the HTTP client is set to {} seconds by JVM argument.", configured);
+            return;
+        }
+        var keepAlive = event.getEnvironment().getProperty(KEEP_ALIVE_KEY, Duration.class);
+        if (null != keepAlive) {
+            log.debug("Setting keep alive timeout of the HTTP client to {}.", keepAlive);
+            System.setProperty(KEEP_ALIVE_TIMEOUT_PROPERTY, String.valueOf(keepAlive.toSeconds()));
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package de.app.fivegla.config;
+
+import de.app.fivegla.api.Manufacturer;
+import de.app.fivegla.monitoring.Metrics;
+import io.prometheus.client.CollectorRegistry;
+import io.prometheus.client.Counter;
+import io.prometheus.client.Gauge;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.task.ThreadPoolTaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Dedicated executors for the imports of the manufacturers, so an import with many sensors can not starve the imports
+ * of the other manufacturers. Every executor has its own pool size and queue capacity, the defaults can be overridden
+ * per manufacturer, e.g. using <code>app.imports.executor.sentek.pool-size</code>.
+ * The imports select their executor using {@link org.springframework.scheduling.annotation.Async#value()}.
+ * Imports that do not fit into the queue are always rejected with an exception, so the caller reports the import as
+ * rejected and it is retried later. Discarding the import would leave the future of the import incomplete forever,
+ * running it within the caller would block the thread publishing the imports.
+ * <p>
+ * The executors can optionally use virtual threads, this requires Java 21 at runtime.
+ * </p>
+ */
+@Slf4j
+@Configuration
+public class ImportExecutorConfiguration {
+
+    public static final String SOILSCOUT = "soilscoutImportExecutor";
+    public static final String AGRANIMO = "agranimoImportExecutor";
+    public static final String FARM21 = "farm21ImportExecutor";
+    public static final String AGVOLUTION = "agvolutionImportExecutor";
+    public static final String SENSOTERRA = "sensoterraImportExecutor";
+    public static final String SENTEK = "sentekImportExecutor";
+    public static final String WEENAT = "weenatImportExecutor";
+    public static final String OPEN_WEATHER = "openWeatherImportExecutor";
+
+    private static final String PROPERTY_PREFIX = "app.imports.executor.";
+
+    private final Environment environment;
+    private final ManufacturerSettings manufacturerSettings;
+    private final Gauge queuedTasks;
+    private final Gauge activeTasks;
+    private final Counter rejectedTasks;
+
+    public ImportExecutorConfiguration(Environment environment, ManufacturerSettings manufacturerSettings, CollectorRegistry registry) {
+        this.environment = environment;
+        this.manufacturerSettings = manufacturerSettings;
+        this.queuedTasks = Gauge.build(Metrics.IMPORT_EXECUTOR_PREFIX + "queued_tasks",
+                        "Number of imports waiting for a thread of the executor of the manufacturer")
+                .labelNames("manufacturer")
+                .register(registry);
+        this.activeTasks = Gauge.build(Metrics.IMPORT_EXECUTOR_PREFIX + "active_tasks",
+                        "Number of imports running on the executor of the manufacturer")
+                .labelNames("manufacturer")
+                .register(registry);
+        this.rejectedTasks = Counter.build(Metrics.IMPORT_EXECUTOR_PREFIX + "rejected_tasks",
+                        "Number of imports rejected by the executor of the manufacturer")
+                .labelNames("manufacturer")
+                .register(registry);
+    }
+
+    /**
+     * Dependency injection for the default executor used for @Async. Defining the executors of the imports
+     * disables the executor Spring Boot would create otherwise, so it is defined here using the same settings.
+     *
+     * @return -
+     */
+    @Bean(name = {"taskExecutor", "applicationTaskExecutor"})
+    public ThreadPoolTaskExecutor taskExecutor(ThreadPoolTaskExecutorBuilder threadPoolTaskExecutorBuilder) {
+        return threadPoolTaskExecutorBuilder.build();
+    }
+
+    @Bean(SOILSCOUT)
+    public ThreadPoolTaskExecutor soilScoutImportExecutor() {
+        return importExecutor(Manufacturer.SOILSCOUT);
+    }
+
+    @Bean(AGRANIMO)
+    public ThreadPoolTaskExecutor agranimoImportExecutor() {
+        return importExecutor(Manufacturer.AGRANIMO);
+    }
+
+    @Bean(FARM21)
+    public ThreadPoolTaskExecutor farm21ImportExecutor() {
+        return importExecutor(Manufacturer.FARM21);
+    }
+
+    @Bean(AGVOLUTION)
+    public ThreadPoolTaskExecutor agvolutionImportExecutor() {
+        return importExecutor(Manufacturer.AGVOLUTION);
+    }
+
+    @Bean(SENSOTERRA)
+    public ThreadPoolTaskExecutor sensoterraImportExecutor() {
+        return importExecutor(Manufacturer.SENSOTERRA);
+    }
+
+    @Bean(SENTEK)
+    public ThreadPoolTaskExecutor sentekImportExecutor() {
+        return importExecutor(Manufacturer.SENTEK);
+    }
+
+    @Bean(WEENAT)
+    public ThreadPoolTaskExecutor weenatImportExecutor() {
+        return importExecutor(Manufacturer.WEENAT);
+    }
+
+    @Bean(OPEN_WEATHER)
+    public ThreadPoolTaskExecutor openWeatherImportExecutor() {
+        return importExecutor(Manufacturer.OPEN_WEATHER);
+    }
+
+    private ThreadPoolTaskExecutor importExecutor(Manufacturer manufacturer) {
+        var name = manufacturer.name().toLowerCase();
+        var poolSize = manufacturerSettings.get(PROPERTY_PREFIX, manufacturer, "pool-size", Integer.class);
+        var queueCapacity = manufacturerSettings.get(PROPERTY_PREFIX, manufacturer, "queue-capacity", Integer.class);
+        var virtualThreads = environment.getRequiredProperty("app.imports.virtual-threads", Boolean.class);
+        log.info("Creating import executor for {} with {} {} threads and a queue capacity of {}.",
+                manufacturer, poolSize, virtualThreads ? "virtual" : "platform", queueCapacity);
+
+        var statistics = new TaskStatistics();
+        queuedTasks.setChild(new Gauge.Child() {
+            @Override
+            public double get() {
+                return statistics.queued.get();
+            }
+        }, name);
+        activeTasks.setChild(new Gauge.Child() {
+            @Override
+            public double get() {
+                return statistics.active.get();
+            }
+        }, name);
+
+        var executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix(name + "-import-");
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setVirtualThreads(virtualThreads);
+        executor.setTaskDecorator(statistics);
+        executor.setRejectedExecutionHandler(rejectedExecutionHandler(manufacturer, statistics));
+        return executor;
+    }
+
+    private RejectedExecutionHandler rejectedExecutionHandler(Manufacturer manufacturer, TaskStatistics statistics) {
+        var rejected = rejectedTasks.labels(manufacturer.name().toLowerCase());
+        return (runnable, threadPoolExecutor) -> {
+            rejected.inc();
+            log.warn("The import executor for {} is exhausted, rejecting the import.", manufacturer);
+            statistics.discard(runnable);
+            throw new RejectedExecutionException("The import executor for " + manufacturer + " is exhausted.");
+        };
+    }
+
+    /**
+     * Counts the queued and running tasks of an executor.
+     */
+    private static final class TaskStatistics implements TaskDecorator {
+        private final AtomicInteger queued = new AtomicInteger();
+        private final AtomicInteger active = new AtomicInteger();
+
+        @Override
+        public Runnable decorate(Runnable runnable) {
+            queued.incrementAndGet();
+            return new InstrumentedRunnable(this, runnable);
+        }
+
+        private void discard(Runnable runnable) {
+            if (runnable instanceof InstrumentedRunnable instrumentedRunnable && instrumentedRunnable.statistics == this) {
+                queued.decrementAndGet();
+            }
+        }
+    }
+
+    private record InstrumentedRunnable(TaskStatistics statistics, Runnable delegate) implements Runnable {
+        @Override
+        public void run() {
+            statistics.queued.decrementAndGet();
+            statistics.active.incrementAndGet();
+            try {
+                delegate.run();
+            } finally {
+                statistics.active.decrementAndGet();
+            }
+        }
+    }
+
+}
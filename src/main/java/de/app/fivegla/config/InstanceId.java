@@ -0,0 +1,24 @@
+package de.app.fivegla.config;
+
+import lombok.Getter;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Identifies this instance of the application as holder of the leases, e.g. of the import jobs, the chunks of the
+ * historical imports and the outbox entries. The id consists of the host name and a random suffix, so an instance
+ * restarted on the same host does not take over the leases of its predecessor.
+ */
+@Getter
+@Component
+public class InstanceId {
+
+    private final String value = System.getenv().getOrDefault("HOSTNAME", "instance") + "-" + UUID.randomUUID().toString().substring(0, 8);
+
+    @Override
+    public String toString() {
+        return value;
+    }
+
+}
@@ -1,16 +1,34 @@
 package de.app.fivegla.config;
 
+import de.app.fivegla.business.FiwareOutboxQueue;
+import de.app.fivegla.integration.VendorClientRequestObservationConvention;
+import de.app.fivegla.integration.VendorHttpClients;
+import de.app.fivegla.integration.VendorRateLimiter;
+import de.app.fivegla.integration.fiware.AbstractIntegrationService;
+import de.app.fivegla.integration.fiware.ContextBrokerLimiter;
+import de.app.fivegla.integration.fiware.DeliveredMeasurementIndex;
+import de.app.fivegla.integration.fiware.FiwareEntityBatchWriter;
 import de.app.fivegla.integration.fiware.FiwareEntityIntegrationService;
+import de.app.fivegla.integration.fiware.FiwareOutbox;
 import de.app.fivegla.integration.fiware.StatusIntegrationService;
 import de.app.fivegla.integration.fiware.SubscriptionIntegrationService;
+import io.micrometer.observation.ObservationRegistry;
+import io.prometheus.client.CollectorRegistry;
+import jakarta.annotation.PreDestroy;
 import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.InjectionPoint;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Scope;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
 
+import java.net.http.HttpClient;
+import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * The main class of the application.
@@ -24,6 +42,80 @@ public class InternalBeanConfiguration {
     @Value("${app.fiware.subscriptions.notificationUrls}")
     private String[] notificationUrls;
 
+    @Value("${app.fiware.http.version}")
+    private HttpClient.Version httpVersion;
+
+    @Value("${app.fiware.http.connect-timeout}")
+    private Duration connectTimeout;
+
+    @Value("${app.fiware.http.request-timeout}")
+    private Duration requestTimeout;
+
+    @Value("${app.fiware.http.executor-threads}")
+    private int executorThreads;
+
+    @Value("${app.fiware.http.max-in-flight-requests-per-tenant}")
+    private int maxInFlightRequestsPerTenant;
+
+    @Value("${app.fiware.batch.max-entities}")
+    private int batchMaxEntities;
+
+    @Value("${app.fiware.batch.max-bytes}")
+    private int batchMaxBytes;
+
+    @Value("${app.fiware.batch.max-delay}")
+    private Duration batchMaxDelay;
+
+    @Value("${app.fiware.outbox.enabled}")
+    private boolean outboxEnabled;
+
+    @Value("${app.fiware.outbox.batch-size}")
+    private int outboxBatchSize;
+
+    @Value("${app.fiware.outbox.initial-backoff}")
+    private Duration outboxInitialBackoff;
+
+    @Value("${app.fiware.outbox.max-backoff}")
+    private Duration outboxMaxBackoff;
+
+    @Value("${app.fiware.outbox.max-attempts}")
+    private int outboxMaxAttempts;
+
+    @Value("${app.fiware.limiter.initial-limit}")
+    private int limiterInitialLimit;
+
+    @Value("${app.fiware.limiter.min-limit}")
+    private int limiterMinLimit;
+
+    @Value("${app.fiware.limiter.max-limit}")
+    private int limiterMaxLimit;
+
+    @Value("${app.fiware.limiter.backoff-ratio}")
+    private double limiterBackoffRatio;
+
+    @Value("${app.fiware.limiter.latency-tolerance}")
+    private double limiterLatencyTolerance;
+
+    @Value("${app.fiware.limiter.max-wait}")
+    private Duration limiterMaxWait;
+
+    @Value("${app.fiware.circuit-breaker.sliding-window-size}")
+    private int circuitBreakerSlidingWindowSize;
+
+    @Value("${app.fiware.circuit-breaker.failure-rate-threshold}")
+    private double circuitBreakerFailureRateThreshold;
+
+    @Value("${app.fiware.circuit-breaker.open-duration}")
+    private Duration circuitBreakerOpenDuration;
+
+    @Value("${app.fiware.deduplication.enabled}")
+    private boolean deduplicationEnabled;
+
+    @Value("${app.fiware.deduplication.capacity}")
+    private int deduplicationCapacity;
+
+    private ExecutorService fiwareHttpClientExecutor;
+
     /**
      * Dependency injection for the model mapper.
      *
@@ -34,14 +126,55 @@ public class InternalBeanConfiguration {
         return new ModelMapper();
     }
 
+    /**
+     * Dependency injection for the HTTP client shared by all context broker integration services.
+     * The executor of the client is not exposed as a bean, otherwise it would replace the executor used for @Async.
+     *
+     * @return -
+     */
+    @Bean
+    public HttpClient fiwareHttpClient() {
+        fiwareHttpClientExecutor = Executors.newFixedThreadPool(executorThreads, new CustomizableThreadFactory("fiware-http-"));
+        return AbstractIntegrationService.createHttpClient(httpVersion, connectTimeout, fiwareHttpClientExecutor);
+    }
+
+    /**
+     * Shuts down the executor of the context broker HTTP client.
+     */
+    @PreDestroy
+    public void shutdownFiwareHttpClientExecutor() {
+        if (null != fiwareHttpClientExecutor) {
+            fiwareHttpClientExecutor.shutdown();
+        }
+    }
+
+    /**
+     * Dependency injection for the concurrency limiter and circuit breaker shared by all context broker integration services.
+     *
+     * @return -
+     */
+    @Bean
+    public ContextBrokerLimiter contextBrokerLimiter(CollectorRegistry collectorRegistry) {
+        return new ContextBrokerLimiter(collectorRegistry,
+                limiterInitialLimit,
+                limiterMinLimit,
+                limiterMaxLimit,
+                limiterBackoffRatio,
+                limiterLatencyTolerance,
+                limiterMaxWait,
+                circuitBreakerSlidingWindowSize,
+                circuitBreakerFailureRateThreshold,
+                circuitBreakerOpenDuration);
+    }
+
     /**
      * Dependency injection for the status service.
      *
      * @return -
      */
     @Bean
-    public StatusIntegrationService statusService() {
-        return new StatusIntegrationService(contextBrokerUrl);
+    public StatusIntegrationService statusService(HttpClient fiwareHttpClient, ContextBrokerLimiter contextBrokerLimiter) {
+        return new StatusIntegrationService(contextBrokerUrl, fiwareHttpClient, contextBrokerLimiter, requestTimeout);
     }
 
     /**
@@ -50,8 +183,44 @@ public class InternalBeanConfiguration {
      * @return -
      */
     @Bean
-    public FiwareEntityIntegrationService fiwareEntityIntegrationService() {
-        return new FiwareEntityIntegrationService(contextBrokerUrl);
+    public FiwareEntityIntegrationService fiwareEntityIntegrationService(HttpClient fiwareHttpClient, ContextBrokerLimiter contextBrokerLimiter) {
+        return new FiwareEntityIntegrationService(contextBrokerUrl, fiwareHttpClient, contextBrokerLimiter, requestTimeout, maxInFlightRequestsPerTenant);
+    }
+
+    /**
+     * Dependency injection for the outbox of the context broker, the deliveries run on the executor of the HTTP client.
+     *
+     * @return -
+     */
+    @Bean
+    public FiwareOutbox fiwareOutbox(FiwareOutboxQueue fiwareOutboxQueue,
+                                     FiwareEntityIntegrationService fiwareEntityIntegrationService,
+                                     HttpClient fiwareHttpClient,
+                                     InstanceId instanceId,
+                                     CollectorRegistry collectorRegistry) {
+        return new FiwareOutbox(fiwareOutboxQueue, fiwareEntityIntegrationService, fiwareHttpClient.executor().orElseThrow(), instanceId, collectorRegistry, outboxEnabled, outboxBatchSize, outboxInitialBackoff, outboxMaxBackoff, outboxMaxAttempts);
+    }
+
+    /**
+     * Dependency injection for the index of measurements already delivered to the context broker.
+     *
+     * @return -
+     */
+    @Bean
+    public DeliveredMeasurementIndex deliveredMeasurementIndex(CollectorRegistry collectorRegistry) {
+        return new DeliveredMeasurementIndex(collectorRegistry, deduplicationEnabled, deduplicationCapacity);
+    }
+
+    /**
+     * Dependency injection for the batch writer used by the imports.
+     *
+     * @return -
+     */
+    @Bean
+    public FiwareEntityBatchWriter fiwareEntityBatchWriter(FiwareEntityIntegrationService fiwareEntityIntegrationService,
+                                                           FiwareOutbox fiwareOutbox,
+                                                           DeliveredMeasurementIndex deliveredMeasurementIndex) {
+        return new FiwareEntityBatchWriter(fiwareEntityIntegrationService, fiwareOutbox, deliveredMeasurementIndex, batchMaxEntities, batchMaxBytes, batchMaxDelay);
     }
 
     /**
@@ -60,18 +229,29 @@ public class InternalBeanConfiguration {
      * @return The SubscriptionService instance.
      */
     @Bean
-    public SubscriptionIntegrationService subscriptionIntegrationService() {
-        return new SubscriptionIntegrationService(contextBrokerUrl, List.of(notificationUrls));
+    public SubscriptionIntegrationService subscriptionIntegrationService(HttpClient fiwareHttpClient, ContextBrokerLimiter contextBrokerLimiter) {
+        return new SubscriptionIntegrationService(contextBrokerUrl, fiwareHttpClient, contextBrokerLimiter, requestTimeout, List.of(notificationUrls));
     }
 
     /**
-     * Dependency injection for the rest template.
+     * Dependency injection for the rest template. Rest templates injected into the integration of a manufacturer share
+     * the connection pool of the manufacturer and are limited by the rate limit of its API. The requests are observed
+     * per manufacturer, URI template and status.
      *
      * @return -
      */
     @Bean
     @Scope("prototype")
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(InjectionPoint injectionPoint,
+                                     VendorRateLimiter vendorRateLimiter,
+                                     VendorHttpClients vendorHttpClients,
+                                     ObservationRegistry observationRegistry) {
+        var manufacturer = VendorRateLimiter.manufacturerOf(injectionPoint.getMember().getDeclaringClass());
+        var restTemplate = new RestTemplate(manufacturer.map(vendorHttpClients::requestFactory)
+                .orElseGet(vendorHttpClients::defaultRequestFactory));
+        restTemplate.setObservationRegistry(observationRegistry);
+        restTemplate.setObservationConvention(new VendorClientRequestObservationConvention(manufacturer.orElse(null)));
+        manufacturer.ifPresent(value -> restTemplate.getInterceptors().add(vendorRateLimiter.interceptor(value)));
+        return restTemplate;
     }
 }
@@ -0,0 +1,39 @@
+package de.app.fivegla.config;
+
+import de.app.fivegla.api.Manufacturer;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reads settings that can be overridden per manufacturer. The setting of the manufacturer, e.g.
+ * <code>app.imports.fetch.sentek.parallelism</code>, takes precedence over the global setting, e.g.
+ * <code>app.imports.fetch.parallelism</code>, which is required.
+ */
+@Component
+public class ManufacturerSettings {
+
+    private final Environment environment;
+
+    public ManufacturerSettings(Environment environment) {
+        this.environment = environment;
+    }
+
+    /**
+     * Get the setting of the manufacturer, or the global setting if the manufacturer does not override it.
+     *
+     * @param prefix       the prefix of the settings, including the trailing dot, e.g. <code>app.imports.fetch.</code>
+     * @param manufacturer the manufacturer, <code>null</code> to read the global setting only
+     * @param key          the key of the setting, e.g. <code>parallelism</code>
+     * @param type         the type of the setting
+     * @return the setting
+     */
+    public <T> T get(String prefix, Manufacturer manufacturer, String key, Class<T> type) {
+        var value = null != manufacturer ? environment.getProperty(prefix + propertyName(manufacturer) + "." + key, type) : null;
+        return null != value ? value : environment.getRequiredProperty(prefix + key, type);
+    }
+
+    private static String propertyName(Manufacturer manufacturer) {
+        return manufacturer.name().toLowerCase().replace('_', '-');
+    }
+
+}
@@ -0,0 +1,43 @@
+package de.app.fivegla.config.security;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+
+/**
+ * Authenticates the tenants using their Basic credentials. The credentials are verified by the delegate once and
+ * cached afterwards, see {@link TenantCredentialsCache}.
+ */
+@RequiredArgsConstructor
+public class CachingTenantAuthenticationProvider implements AuthenticationProvider {
+
+    private final AuthenticationProvider delegate;
+    private final TenantCredentialsCache tenantCredentialsCache;
+
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        var username = authentication.getName();
+        if (null == username || !(authentication.getCredentials() instanceof String password)) {
+            return delegate.authenticate(authentication);
+        }
+        var cachedTenantCredentials = tenantCredentialsCache.get(username, password);
+        if (cachedTenantCredentials.isPresent()) {
+            var tenantCredentials = cachedTenantCredentials.get();
+            var result = UsernamePasswordAuthenticationToken.authenticated(tenantCredentials, null, tenantCredentials.getAuthorities());
+            result.setDetails(authentication.getDetails());
+            return result;
+        }
+        var result = delegate.authenticate(authentication);
+        if (null != result && result.isAuthenticated() && result.getPrincipal() instanceof TenantCredentials tenantCredentials) {
+            tenantCredentialsCache.put(username, password, tenantCredentials);
+        }
+        return result;
+    }
+
+    @Override
+    public boolean supports(Class<?> authentication) {
+        return UsernamePasswordAuthenticationToken.class.isAssignableFrom(authentication);
+    }
+}
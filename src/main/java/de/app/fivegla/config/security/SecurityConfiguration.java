@@ -7,6 +7,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
@@ -28,13 +29,17 @@ public class SecurityConfiguration {
 
     private final CustomAuthenticationEntryPoint customAuthenticationEntryPoint;
     private final TenantService tenantService;
+    private final TenantCredentialsCache tenantCredentialsCache;
 
     @Value("${app.cors.allowed-origins}")
     private String[] allowedOrigins;
 
     @Autowired
-    public void configureGlobal(AuthenticationManagerBuilder auth) throws Exception {
-        auth.userDetailsService(tenantService);
+    public void configureGlobal(AuthenticationManagerBuilder auth) {
+        var daoAuthenticationProvider = new DaoAuthenticationProvider();
+        daoAuthenticationProvider.setUserDetailsService(tenantService);
+        daoAuthenticationProvider.setPasswordEncoder(passwordEncoder());
+        auth.authenticationProvider(new CachingTenantAuthenticationProvider(daoAuthenticationProvider, tenantCredentialsCache));
     }
 
     @Bean
@@ -1,6 +1,7 @@
 package de.app.fivegla.config.security;
 
 import de.app.fivegla.persistence.entity.Tenant;
+import lombok.Getter;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
@@ -9,6 +10,10 @@ import java.util.List;
 
 public class TenantCredentials implements UserDetails {
 
+    /**
+     * The authenticated tenant.
+     */
+    @Getter
     private final Tenant tenant;
 
     public TenantCredentials(Tenant tenant) {
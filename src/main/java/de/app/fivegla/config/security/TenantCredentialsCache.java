@@ -0,0 +1,120 @@
+package de.app.fivegla.config.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caches successfully verified credentials of the tenants, so the access token is not verified using BCrypt on every
+ * request. The credentials are never stored in plain text, the cache is keyed by an HMAC of the credentials, using a
+ * random key generated on startup. Failed verifications are not cached.
+ * <p>
+ * Entries are removed once the tenant is updated or deleted, the time to live bounds the staleness of changes made by
+ * other instances of the application.
+ * </p>
+ */
+@Slf4j
+@Component
+public class TenantCredentialsCache {
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final Map<String, CredentialsCacheEntry> cache = new ConcurrentHashMap<>();
+    private final SecretKeySpec secretKey;
+    private final Duration timeToLive;
+
+    public TenantCredentialsCache(@Value("${app.caches.tenant-credentials.time-to-live}") Duration timeToLive) {
+        var key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        this.secretKey = new SecretKeySpec(key, ALGORITHM);
+        this.timeToLive = timeToLive;
+    }
+
+    /**
+     * Get the tenant that has been verified using the credentials before.
+     *
+     * @param username the tenant id
+     * @param password the access token
+     * @return the tenant, empty if the credentials have not been verified or the entry expired
+     */
+    public Optional<TenantCredentials> get(String username, String password) {
+        var key = key(username, password);
+        var credentialsCacheEntry = cache.get(key);
+        if (null == credentialsCacheEntry) {
+            return Optional.empty();
+        }
+        if (!credentialsCacheEntry.isValid()) {
+            cache.remove(key, credentialsCacheEntry);
+            return Optional.empty();
+        }
+        return Optional.of(credentialsCacheEntry.tenantCredentials());
+    }
+
+    /**
+     * Adds credentials that have been verified successfully.
+     *
+     * @param username          the tenant id
+     * @param password          the access token
+     * @param tenantCredentials the tenant
+     */
+    public void put(String username, String password, TenantCredentials tenantCredentials) {
+        cache.values().removeIf(credentialsCacheEntry -> !credentialsCacheEntry.isValid());
+        cache.put(key(username, password), new CredentialsCacheEntry(tenantCredentials, Instant.now().plus(timeToLive)));
+    }
+
+    /**
+     * Removes all credentials of the tenant. If called within a transaction, the credentials are removed again once
+     * the transaction is completed, so credentials verified in the meantime are not kept.
+     *
+     * @param tenantId the tenant id
+     */
+    public void invalidate(String tenantId) {
+        remove(tenantId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    remove(tenantId);
+                }
+            });
+        }
+    }
+
+    private void remove(String tenantId) {
+        if (cache.values().removeIf(credentialsCacheEntry -> credentialsCacheEntry.tenantCredentials().getUsername().equals(tenantId))) {
+            log.debug("Removed the cached credentials of tenant {}.", tenantId);
+        }
+    }
+
+    private String key(String username, String password) {
+        try {
+            var mac = Mac.getInstance(ALGORITHM);
+            mac.init(secretKey);
+            mac.update(username.getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) 0);
+            return Base64.getEncoder().encodeToString(mac.doFinal(password.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Could not calculate the key of the credentials.", e);
+        }
+    }
+
+    private record CredentialsCacheEntry(TenantCredentials tenantCredentials, Instant expiresAt) {
+        private boolean isValid() {
+            return expiresAt.isAfter(Instant.now());
+        }
+    }
+}
@@ -4,11 +4,13 @@ import de.app.fivegla.api.Error;
 import de.app.fivegla.api.ErrorMessage;
 import de.app.fivegla.api.exceptions.BusinessException;
 import de.app.fivegla.business.TenantService;
+import de.app.fivegla.config.security.TenantCredentials;
 import de.app.fivegla.persistence.entity.Tenant;
 import io.swagger.v3.oas.annotations.enums.SecuritySchemeIn;
 import io.swagger.v3.oas.annotations.enums.SecuritySchemeType;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.security.SecurityScheme;
+import org.springframework.security.core.Authentication;
 
 import java.security.Principal;
 
@@ -21,7 +23,18 @@ import java.security.Principal;
 @SecurityRequirement(name = "Authorization")
 public interface TenantCredentialApiAccess {
 
+    /**
+     * Returns the tenant authenticated by Spring Security, the tenant is only looked up if the principal does not
+     * carry it.
+     *
+     * @param tenantService the tenant service
+     * @param principal     the principal of the request
+     * @return the authenticated tenant
+     */
     default Tenant validateTenant(TenantService tenantService, Principal principal) {
+        if (principal instanceof Authentication authentication && authentication.getPrincipal() instanceof TenantCredentials tenantCredentials) {
+            return tenantCredentials.getTenant();
+        }
         var optionalTenant = tenantService.findByTenantId(principal.getName());
         if (optionalTenant.isEmpty()) {
             throw new BusinessException(ErrorMessage.builder().error(Error.TENANT_NOT_FOUND).message("The tenant was not found.").build());
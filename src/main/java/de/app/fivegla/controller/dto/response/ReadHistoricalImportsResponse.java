@@ -0,0 +1,27 @@
+package de.app.fivegla.controller.dto.response;
+
+import de.app.fivegla.api.Response;
+import de.app.fivegla.controller.dto.response.inner.HistoricalImport;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Represents the response for reading the progress of the historical imports.
+ */
+@Getter
+@Setter
+@Builder
+@Schema(name = "Response for reading the progress of the historical imports.")
+public class ReadHistoricalImportsResponse extends Response {
+
+    /**
+     * The historical imports, the latest first.
+     */
+    @Schema(description = "The historical imports, the latest first.")
+    private List<HistoricalImport> historicalImports;
+
+}
@@ -0,0 +1,82 @@
+package de.app.fivegla.controller.dto.response.inner;
+
+import de.app.fivegla.api.Manufacturer;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+
+@Getter
+@Setter
+@Builder
+@Schema(name = "Progress of a historical import.")
+public class HistoricalImport {
+
+    /**
+     * Represents the manufacturer.
+     */
+    @Schema(description = "The manufacturer.")
+    private Manufacturer manufacturer;
+
+    /**
+     * The start of the time range.
+     */
+    @Schema(description = "The start of the time range.")
+    private Instant startDate;
+
+    /**
+     * The end of the time range.
+     */
+    @Schema(description = "The end of the time range.")
+    private Instant endDate;
+
+    /**
+     * The point in time the import was triggered.
+     */
+    @Schema(description = "The point in time the import was triggered.")
+    private Instant createdAt;
+
+    /**
+     * The total number of chunks.
+     */
+    @Schema(description = "The total number of chunks the time range is split into.")
+    private int chunks;
+
+    /**
+     * The number of chunks imported successfully.
+     */
+    @Schema(description = "The number of chunks imported successfully.")
+    private int done;
+
+    /**
+     * The number of chunks currently imported.
+     */
+    @Schema(description = "The number of chunks currently imported.")
+    private int running;
+
+    /**
+     * The number of chunks waiting to be imported.
+     */
+    @Schema(description = "The number of chunks waiting to be imported.")
+    private int pending;
+
+    /**
+     * The number of chunks that could not be imported.
+     */
+    @Schema(description = "The number of chunks that could not be imported after several attempts.")
+    private int failed;
+
+    /**
+     * The progress in percent.
+     */
+    @Schema(description = "The progress in percent.")
+    private double progress;
+
+    /**
+     * The estimated completion.
+     */
+    @Schema(description = "The estimated completion, not set if it can not be estimated yet.")
+    private Instant estimatedCompletion;
+}
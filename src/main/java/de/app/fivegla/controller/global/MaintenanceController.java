@@ -51,7 +51,7 @@ public class MaintenanceController implements ApiKeyApiAccess {
     )
     @PostMapping(value = "/run", produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<? extends Response> runAllImports() {
-        dataImportScheduler.scheduleDataImport();
+        dataImportScheduler.scheduleDataImportForAll();
         return ResponseEntity.ok(new Response());
     }
 }
@@ -1,15 +1,18 @@
 package de.app.fivegla.controller.tenant;
 
 import de.app.fivegla.api.Response;
+import de.app.fivegla.business.HistoricalImportService;
+import de.app.fivegla.business.ImportJobQueue;
 import de.app.fivegla.business.TenantService;
 import de.app.fivegla.business.ThirdPartyApiConfigurationService;
 import de.app.fivegla.config.security.marker.TenantCredentialApiAccess;
 import de.app.fivegla.controller.api.BaseMappings;
 import de.app.fivegla.controller.dto.request.CreateThirdPartyApiConfigurationRequest;
 import de.app.fivegla.controller.dto.response.CreateThirdPartyApiConfigurationResponse;
+import de.app.fivegla.controller.dto.response.ReadHistoricalImportsResponse;
 import de.app.fivegla.controller.dto.response.ReadThirdPartyApiConfigurationsResponse;
+import de.app.fivegla.controller.dto.response.inner.HistoricalImport;
 import de.app.fivegla.controller.dto.response.inner.ThirdPartyApiConfiguration;
-import de.app.fivegla.event.events.DataImportEvent;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -17,7 +20,6 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -35,8 +37,9 @@ import java.time.LocalDate;
 @RequestMapping(BaseMappings.THIRD_PARTY_API_CONFIGURATION)
 public class ThirdPartyApiConfigurationController implements TenantCredentialApiAccess {
 
-    private final ApplicationEventPublisher applicationEventPublisher;
+    private final ImportJobQueue importJobQueue;
     private final ThirdPartyApiConfigurationService thirdPartyApiConfigurationService;
+    private final HistoricalImportService historicalImportService;
     private final TenantService tenantService;
 
     /**
@@ -72,7 +75,7 @@ public class ThirdPartyApiConfigurationController implements TenantCredentialApi
         var thirdPartyApiConfiguration = request.toEntity();
         thirdPartyApiConfiguration.setTenant(tenant);
         var thirdPartyApiConfigurationCreated = thirdPartyApiConfigurationService.createThirdPartyApiConfiguration(thirdPartyApiConfiguration);
-        applicationEventPublisher.publishEvent(new DataImportEvent(this, thirdPartyApiConfigurationCreated.getId()));
+        importJobQueue.enqueueDataImport(thirdPartyApiConfigurationCreated);
         var response = CreateThirdPartyApiConfigurationResponse.builder()
                 .thirdPartyApiConfiguration(ThirdPartyApiConfiguration.builder()
                         .tenantId(thirdPartyApiConfigurationCreated.getTenant().getTenantId())
@@ -211,6 +214,41 @@ public class ThirdPartyApiConfigurationController implements TenantCredentialApi
         return ResponseEntity.ok(new Response());
     }
 
+    /**
+     * Invalidates the cached topology of a third-party API configuration.
+     *
+     * @param uuid      The uuid of the third-party API configuration.
+     * @param principal The principal object representing the user.
+     * @return A ResponseEntity object with no body and an HTTP status code of 200 (OK) if the topology is invalidated successfully.
+     */
+    @Operation(
+            summary = "Invalidates the cached topology of a third-party API configuration.",
+            description = "Invalidates the cached topology, e.g. the loggers, plots or devices, of a third-party API configuration, so it is fetched again on the next import.",
+            tags = BaseMappings.THIRD_PARTY_API_CONFIGURATION
+    )
+    @ApiResponse(
+            responseCode = "200",
+            description = "The topology of the third-party API configuration was invalidated successfully.",
+            content = @Content(
+                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    schema = @Schema(implementation = Response.class)
+            )
+    )
+    @ApiResponse(
+            responseCode = "400",
+            description = "The request is invalid.",
+            content = @Content(
+                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    schema = @Schema(implementation = Response.class)
+            )
+    )
+    @DeleteMapping(value = "/{uuid}/topology", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<? extends Response> invalidateTopology(@PathVariable(value = "uuid") String uuid, Principal principal) {
+        var tenant = validateTenant(tenantService, principal);
+        thirdPartyApiConfigurationService.invalidateTopology(tenant.getTenantId(), uuid);
+        return ResponseEntity.ok(new Response());
+    }
+
     @Operation(
             summary = "Triggers a third-party API configuration to fulfill an import in the past.",
             description = "Triggers a third-party API configuration to fulfill an import in the past.",
@@ -235,8 +273,57 @@ public class ThirdPartyApiConfigurationController implements TenantCredentialApi
     @PostMapping(value = "/{uuid}/trigger/{startDateInThePast}", produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<? extends Response> triggerThirdPartyApiConfigurationInThePast(@PathVariable(value = "uuid") String uuid, @PathVariable(value = "startDateInThePast") @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate startDateInThePast, Principal principal) {
         var tenant = validateTenant(tenantService, principal);
-        thirdPartyApiConfigurationService.triggerImport(tenant.getTenantId(), uuid, startDateInThePast);
+        historicalImportService.triggerImport(tenant.getTenantId(), uuid, startDateInThePast);
         return ResponseEntity.ok(new Response());
     }
 
+    /**
+     * Gets the progress of the historical imports of a third-party API configuration.
+     *
+     * @param principal The principal object representing the user.
+     * @return A ResponseEntity object containing the progress of the historical imports.
+     */
+    @Operation(
+            summary = "Gets the progress of the historical imports of a third-party API configuration.",
+            description = "Gets the progress and the estimated completion of the historical imports of a third-party API configuration.",
+            tags = BaseMappings.THIRD_PARTY_API_CONFIGURATION
+    )
+    @ApiResponse(
+            responseCode = "200",
+            description = "The progress of the historical imports was retrieved successfully.",
+            content = @Content(
+                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    schema = @Schema(implementation = ReadHistoricalImportsResponse.class)
+            )
+    )
+    @ApiResponse(
+            responseCode = "400",
+            description = "The request is invalid.",
+            content = @Content(
+                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    schema = @Schema(implementation = Response.class)
+            )
+    )
+    @GetMapping(value = "/{uuid}/imports", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<? extends Response> getHistoricalImports(@PathVariable(value = "uuid") String uuid, Principal principal) {
+        var tenant = validateTenant(tenantService, principal);
+        return ResponseEntity.ok(ReadHistoricalImportsResponse.builder()
+                .historicalImports(historicalImportService.getProgress(tenant.getTenantId(), uuid)
+                        .stream()
+                        .map(progress -> HistoricalImport.builder()
+                                .manufacturer(progress.manufacturer())
+                                .startDate(progress.startDate())
+                                .endDate(progress.endDate())
+                                .createdAt(progress.createdAt())
+                                .chunks(progress.chunks())
+                                .done(progress.done())
+                                .running(progress.running())
+                                .pending(progress.pending())
+                                .failed(progress.failed())
+                                .progress(progress.chunks() == 0 ? 100.0 : 100.0 * (progress.done() + progress.failed()) / progress.chunks())
+                                .estimatedCompletion(progress.estimatedCompletion())
+                                .build()).toList())
+                .build());
+    }
+
 }
@@ -4,16 +4,26 @@ import de.app.fivegla.api.SubscriptionStatus;
 import de.app.fivegla.api.enums.EntityType;
 import de.app.fivegla.api.exceptions.BusinessException;
 import de.app.fivegla.business.GroupService;
+import de.app.fivegla.business.HistoricalImportService;
 import de.app.fivegla.business.TenantService;
 import de.app.fivegla.event.events.ResendSubscriptionsEvent;
 import de.app.fivegla.integration.fiware.SubscriptionIntegrationService;
 import de.app.fivegla.persistence.entity.Tenant;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 @Slf4j
 @Component
 @RequiredArgsConstructor
@@ -23,19 +33,74 @@ public class ApplicationStartEventHandler {
     private final SubscriptionIntegrationService subscriptionService;
     private final TenantService tenantService;
     private final GroupService groupService;
+    private final HistoricalImportService historicalImportService;
+
+    @Value("${app.fiware.subscriptions.parallelism}")
+    private int parallelism;
+
+    private ExecutorService subscriptionExecutor;
+
+    @PostConstruct
+    public void init() {
+        subscriptionExecutor = Executors.newFixedThreadPool(parallelism, new CustomizableThreadFactory("fiware-subscriptions-"));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscriptionExecutor.shutdown();
+    }
 
-    @EventListener(classes = {ApplicationReadyEvent.class, ResendSubscriptionsEvent.class})
+    /**
+     * Sends out the subscriptions for all tenants in the background, so the start of the application is not delayed
+     * by the context broker.
+     */
+    @EventListener(ApplicationReadyEvent.class)
     public void triggerSubscriptionsForAllTenants() {
         log.debug("Triggering subscriptions for all tenants to ensure that they are subscribed to device measurement notifications and other entities.");
         var allTenants = tenantService.findAll();
         if (null == allTenants || allTenants.isEmpty()) {
             log.error("There are no tenants, it is not necessary to send out subscriptions");
         } else {
-            allTenants.forEach(this::triggerSubscriptionsForTenant);
             allTenants.forEach(this.groupService::createDefaultGroup);
+            triggerSubscriptionsInBackground(allTenants);
+        }
+    }
+
+    /**
+     * Resumes the historical imports interrupted by the last shutdown.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeHistoricalImports() {
+        historicalImportService.resumeInterruptedImports();
+    }
+
+    /**
+     * Sends out the subscriptions for the tenant of the event, or for all tenants if the event has no tenant.
+     *
+     * @param resendSubscriptionsEvent the event
+     */
+    @EventListener(ResendSubscriptionsEvent.class)
+    public void resendSubscriptions(ResendSubscriptionsEvent resendSubscriptionsEvent) {
+        if (null == resendSubscriptionsEvent.getTenant()) {
+            triggerSubscriptionsForAllTenants();
+        } else {
+            triggerSubscriptionsInBackground(List.of(resendSubscriptionsEvent.getTenant()));
         }
     }
 
+    private void triggerSubscriptionsInBackground(List<Tenant> tenants) {
+        var subscriptions = tenants.stream()
+                .map(tenant -> CompletableFuture.runAsync(() -> triggerSubscriptionsForTenant(tenant), subscriptionExecutor))
+                .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(subscriptions).whenComplete((result, throwable) -> {
+            if (null != throwable) {
+                log.error("Could not send out subscriptions for all of the {} tenants.", tenants.size(), throwable);
+            } else {
+                log.info("Sent out subscriptions for {} tenants.", tenants.size());
+            }
+        });
+    }
+
     private void triggerSubscriptionsForTenant(Tenant tenant) {
         var tenantId = tenant.getTenantId();
         if (subscriptionStatus.sendOutSubscriptions(tenantId)) {
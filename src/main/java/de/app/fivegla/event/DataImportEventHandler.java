@@ -3,6 +3,8 @@ package de.app.fivegla.event;
 import de.app.fivegla.api.Error;
 import de.app.fivegla.api.ErrorMessage;
 import de.app.fivegla.api.exceptions.BusinessException;
+import de.app.fivegla.business.HistoricalImportService;
+import de.app.fivegla.business.ImportScheduleService;
 import de.app.fivegla.business.TenantService;
 import de.app.fivegla.business.ThirdPartyApiConfigurationService;
 import de.app.fivegla.event.events.DataImportEvent;
@@ -14,13 +16,20 @@ import de.app.fivegla.integration.sensoterra.SensoterraMeasurementImport;
 import de.app.fivegla.integration.sentek.SentekMeasurementImport;
 import de.app.fivegla.integration.soilscout.SoilScoutMeasurementImport;
 import de.app.fivegla.integration.weenat.WeenatMeasurementImport;
+import de.app.fivegla.scheduled.ImportJobWorker;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.stereotype.Component;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
- * Event handler for data import events.
+ * Event handler for data import events. The imports run asynchronously and update the last run of the third-party API
+ * configuration themselves once they have been finished successfully. Scheduled imports report the outcome of every
+ * job to the {@link ImportJobWorker}, historical imports report the outcome of every chunk to the
+ * {@link HistoricalImportService}.
  */
 @Slf4j
 @Component
@@ -36,9 +45,17 @@ public class DataImportEventHandler {
     private final WeenatMeasurementImport weenatMeasurementImport;
     private final TenantService tenantService;
     private final ThirdPartyApiConfigurationService thirdPartyApiConfigurationService;
+    private final HistoricalImportService historicalImportService;
+    private final ImportJobWorker importJobWorker;
+    private final ImportScheduleService importScheduleService;
 
+    /**
+     * Runs the import of an import job and reports the outcome to the import job worker once the import is finished.
+     * The number of measurements received is used to adapt the schedule of the third-party API configuration.
+     */
     @EventListener(DataImportEvent.class)
     public void handleDataImportEvent(DataImportEvent dataImportEvent) {
+        var importJobId = dataImportEvent.getImportJobId();
         var thirdPartyApiConfiguration = thirdPartyApiConfigurationService.findById(dataImportEvent.getThirdPartyApiConfigurationId())
                 .orElseThrow(() -> new BusinessException(ErrorMessage.builder()
                         .error(Error.THIRD_PARTY_API_CONFIGURATION_NOT_FOUND)
@@ -50,56 +67,74 @@ public class DataImportEventHandler {
         var optionalTenant = tenantService.findByTenantId(tenantId);
         if (optionalTenant.isEmpty()) {
             log.error("Tenant with id {} not found, not able to handle data import event", tenantId);
+            importJobWorker.jobFinished(importJobId, false);
         } else {
             var tenant = optionalTenant.get();
-            switch (manufacturer) {
-                case SOILSCOUT -> soilScoutScheduledMeasurementImport.run(tenant, thirdPartyApiConfiguration);
-                case AGVOLUTION -> agvolutionMeasurementImport.run(tenant, thirdPartyApiConfiguration);
-                case AGRANIMO -> agranimoMeasurementImport.run(tenant, thirdPartyApiConfiguration);
-                case FARM21 -> farm21MeasurementImport.run(tenant, thirdPartyApiConfiguration);
-                case SENSOTERRA -> sensoterraMeasurementImport.run(tenant, thirdPartyApiConfiguration);
-                case SENTEK -> sentekMeasurementImport.run(tenant, thirdPartyApiConfiguration);
-                case WEENAT -> weenatMeasurementImport.run(tenant, thirdPartyApiConfiguration);
-                default -> throw new IllegalArgumentException("Unknown manufacturer: " + manufacturer);
+            try {
+                CompletableFuture<Integer> result = switch (manufacturer) {
+                    case SOILSCOUT -> soilScoutScheduledMeasurementImport.run(tenant, thirdPartyApiConfiguration);
+                    case AGVOLUTION -> agvolutionMeasurementImport.run(tenant, thirdPartyApiConfiguration);
+                    case AGRANIMO -> agranimoMeasurementImport.run(tenant, thirdPartyApiConfiguration);
+                    case FARM21 -> farm21MeasurementImport.run(tenant, thirdPartyApiConfiguration);
+                    case SENSOTERRA -> sensoterraMeasurementImport.run(tenant, thirdPartyApiConfiguration);
+                    case SENTEK -> sentekMeasurementImport.run(tenant, thirdPartyApiConfiguration);
+                    case WEENAT -> weenatMeasurementImport.run(tenant, thirdPartyApiConfiguration);
+                    default -> throw new IllegalArgumentException("Unknown manufacturer: " + manufacturer);
+                };
+                result.whenComplete((nrOfMeasurements, throwable) -> {
+                    try {
+                        importScheduleService.importFinished(thirdPartyApiConfiguration, null == throwable ? nrOfMeasurements : 0);
+                    } finally {
+                        importJobWorker.jobFinished(importJobId, null == throwable);
+                    }
+                });
+            } catch (TaskRejectedException e) {
+                log.warn("The import for tenant {} and manufacturer {} was rejected, it will be retried.", tenantId, manufacturer);
+                importJobWorker.jobRejected(importJobId);
             }
         }
-        thirdPartyApiConfigurationService.updateLastRun(thirdPartyApiConfiguration);
     }
 
+    /**
+     * Runs the import of a single chunk of a historical import and reports the outcome to the historical import
+     * service once the import is finished.
+     */
     @EventListener(HistoricalDataImportEvent.class)
     public void handleHistoricalDataImportEvent(HistoricalDataImportEvent historicalDataImportEvent) {
+        var chunkId = historicalDataImportEvent.getHistoricalImportChunkId();
         var thirdPartyApiConfiguration = thirdPartyApiConfigurationService.findById(historicalDataImportEvent.getThirdPartyApiConfigurationId())
                 .orElseThrow(() -> new BusinessException(ErrorMessage.builder()
                         .error(Error.THIRD_PARTY_API_CONFIGURATION_NOT_FOUND)
                         .message("Third party API configuration not found.")
                         .build()));
-        log.info("Handling data import event for tenant {} and manufacturer {}.", thirdPartyApiConfiguration.getTenant().getTenantId(), thirdPartyApiConfiguration.getManufacturer());
+        log.info("Handling historical data import event for tenant {} and manufacturer {}.", thirdPartyApiConfiguration.getTenant().getTenantId(), thirdPartyApiConfiguration.getManufacturer());
         var manufacturer = thirdPartyApiConfiguration.getManufacturer();
         var tenantId = thirdPartyApiConfiguration.getTenant().getTenantId();
         var optionalTenant = tenantService.findByTenantId(tenantId);
         if (optionalTenant.isEmpty()) {
             log.error("Tenant with id {} not found, not able to handle data import event", tenantId);
+            historicalImportService.chunkFinished(chunkId, false);
         } else {
             var tenant = optionalTenant.get();
-            switch (manufacturer) {
-                case SOILSCOUT ->
-                        soilScoutScheduledMeasurementImport.run(tenant, thirdPartyApiConfiguration, historicalDataImportEvent.getStartDate());
-                case AGVOLUTION ->
-                        agvolutionMeasurementImport.run(tenant, thirdPartyApiConfiguration, historicalDataImportEvent.getStartDate());
-                case AGRANIMO ->
-                        agranimoMeasurementImport.run(tenant, thirdPartyApiConfiguration, historicalDataImportEvent.getStartDate());
-                case FARM21 ->
-                        farm21MeasurementImport.run(tenant, thirdPartyApiConfiguration, historicalDataImportEvent.getStartDate());
-                case SENSOTERRA ->
-                        sensoterraMeasurementImport.run(tenant, thirdPartyApiConfiguration, historicalDataImportEvent.getStartDate());
-                case SENTEK ->
-                        sentekMeasurementImport.run(tenant, thirdPartyApiConfiguration, historicalDataImportEvent.getStartDate());
-                case WEENAT ->
-                        weenatMeasurementImport.run(tenant, thirdPartyApiConfiguration, historicalDataImportEvent.getStartDate());
-                default -> throw new IllegalArgumentException("Unknown manufacturer: " + manufacturer);
+            var start = historicalDataImportEvent.getStartDate();
+            var end = historicalDataImportEvent.getEndDate();
+            try {
+                CompletableFuture<Void> result = switch (manufacturer) {
+                    case SOILSCOUT -> soilScoutScheduledMeasurementImport.run(tenant, thirdPartyApiConfiguration, start, end);
+                    case AGVOLUTION -> agvolutionMeasurementImport.run(tenant, thirdPartyApiConfiguration, start);
+                    case AGRANIMO -> agranimoMeasurementImport.run(tenant, thirdPartyApiConfiguration, start, end);
+                    case FARM21 -> farm21MeasurementImport.run(tenant, thirdPartyApiConfiguration, start, end);
+                    case SENSOTERRA -> sensoterraMeasurementImport.run(tenant, thirdPartyApiConfiguration, start, end);
+                    case SENTEK -> sentekMeasurementImport.run(tenant, thirdPartyApiConfiguration, start, end);
+                    case WEENAT -> weenatMeasurementImport.run(tenant, thirdPartyApiConfiguration, start, end);
+                    default -> throw new IllegalArgumentException("Unknown manufacturer: " + manufacturer);
+                };
+                result.whenComplete((ignored, throwable) -> historicalImportService.chunkFinished(chunkId, null == throwable));
+            } catch (TaskRejectedException e) {
+                log.warn("The historical import for tenant {} and manufacturer {} was rejected, it will be retried.", tenantId, manufacturer);
+                historicalImportService.chunkRejected(chunkId);
             }
         }
-        thirdPartyApiConfigurationService.updateLastRun(thirdPartyApiConfiguration);
     }
 
 }
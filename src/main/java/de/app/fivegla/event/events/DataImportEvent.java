@@ -4,15 +4,17 @@ import lombok.Getter;
 import org.springframework.context.ApplicationEvent;
 
 /**
- * Event for data import.
+ * Event for data import, published for every import job leased by the instance.
  */
 @Getter
 public class DataImportEvent extends ApplicationEvent {
 
     private final Long thirdPartyApiConfigurationId;
+    private final long importJobId;
 
-    public DataImportEvent(Object source, Long thirdPartyApiConfigurationId) {
+    public DataImportEvent(Object source, Long thirdPartyApiConfigurationId, long importJobId) {
         super(source);
         this.thirdPartyApiConfigurationId = thirdPartyApiConfigurationId;
+        this.importJobId = importJobId;
     }
 }
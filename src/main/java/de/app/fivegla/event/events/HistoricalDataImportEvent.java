@@ -6,23 +6,29 @@ import org.springframework.context.ApplicationEvent;
 import java.time.Instant;
 
 /**
- * Event for data import.
+ * Event for the import of a single chunk of a historical data import.
  */
 @Getter
 public class HistoricalDataImportEvent extends ApplicationEvent {
 
     private final Long thirdPartyApiConfigurationId;
     private final Instant startDate;
+    private final Instant endDate;
+    private final long historicalImportChunkId;
 
     /**
      * Constructor.
      *
      * @param thirdPartyApiConfigurationId The ID of the third party API configuration.
      * @param startDate                    The start date of the data import.
+     * @param endDate                      The end date of the data import.
+     * @param historicalImportChunkId      The ID of the chunk of the historical import.
      */
-    public HistoricalDataImportEvent(Object source, Long thirdPartyApiConfigurationId, Instant startDate) {
+    public HistoricalDataImportEvent(Object source, Long thirdPartyApiConfigurationId, Instant startDate, Instant endDate, long historicalImportChunkId) {
         super(source);
         this.thirdPartyApiConfigurationId = thirdPartyApiConfigurationId;
         this.startDate = startDate;
+        this.endDate = endDate;
+        this.historicalImportChunkId = historicalImportChunkId;
     }
 }
@@ -15,13 +15,15 @@ public class OpenWeatherImportEvent extends ApplicationEvent {
     private final ThirdPartyApiConfiguration thirdPartyApiConfiguration;
     private final double longitude;
     private final double latitude;
+    private final long importJobId;
 
-    public OpenWeatherImportEvent(Object source, Group group, ThirdPartyApiConfiguration thirdPartyApiConfiguration, double longitude, double latitude) {
+    public OpenWeatherImportEvent(Object source, Group group, ThirdPartyApiConfiguration thirdPartyApiConfiguration, double longitude, double latitude, long importJobId) {
         super(source);
         this.group = group;
         this.thirdPartyApiConfiguration = thirdPartyApiConfiguration;
         this.longitude = longitude;
         this.latitude = latitude;
+        this.importJobId = importJobId;
 
     }
 }
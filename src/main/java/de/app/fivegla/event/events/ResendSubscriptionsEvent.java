@@ -1,14 +1,26 @@
 package de.app.fivegla.event.events;
 
+import de.app.fivegla.persistence.entity.Tenant;
+import lombok.Getter;
 import org.springframework.context.ApplicationEvent;
 
 /**
  * This class represents an event triggered when subscriptions need to be resent.
  * It is a subclass of the Spring Framework's ApplicationEvent class.
- * The event source is passed as an object to the constructor.
+ * The event source is passed as an object to the constructor, the subscriptions are resent for the given tenant
+ * or for all tenants if no tenant is given.
  */
+@Getter
 public class ResendSubscriptionsEvent extends ApplicationEvent {
+
+    private final Tenant tenant;
+
     public ResendSubscriptionsEvent(Object source) {
+        this(source, null);
+    }
+
+    public ResendSubscriptionsEvent(Object source, Tenant tenant) {
         super(source);
+        this.tenant = tenant;
     }
 }
@@ -0,0 +1,254 @@
+package de.app.fivegla.integration;
+
+import de.app.fivegla.api.Error;
+import de.app.fivegla.api.ErrorMessage;
+import de.app.fivegla.api.Manufacturer;
+import de.app.fivegla.api.exceptions.BusinessException;
+import de.app.fivegla.config.ManufacturerSettings;
+import de.app.fivegla.persistence.entity.ThirdPartyApiConfiguration;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Fetches the data of multiple devices of a third-party API concurrently. The number of concurrent requests is limited
+ * per third-party API configuration, the limit can be overridden per manufacturer, e.g. using
+ * <code>app.imports.fetch.sentek.parallelism</code>.
+ * The requests run on virtual threads if they are enabled and supported by the Java runtime.
+ * <p>
+ * The fetched data is handed over to the caller using a bounded queue, so the next devices are fetched while the data
+ * of the previous ones is processed. If the caller falls behind, the requests wait until there is space in the queue
+ * again. At most the data of <code>parallelism + queue-capacity</code> devices is held in memory at the same time.
+ * </p>
+ */
+@Slf4j
+@Component
+public class DeviceFetchExecutor {
+
+    private static final String PROPERTY_PREFIX = "app.imports.fetch.";
+
+    private final ManufacturerSettings manufacturerSettings;
+    private final ExecutorService executorService;
+    private final int queueCapacity;
+    private final Map<Long, Semaphore> concurrentRequests = new ConcurrentHashMap<>();
+
+    public DeviceFetchExecutor(Environment environment, ManufacturerSettings manufacturerSettings) {
+        this.manufacturerSettings = manufacturerSettings;
+        this.executorService = createExecutorService(environment.getRequiredProperty("app.imports.virtual-threads", Boolean.class));
+        this.queueCapacity = environment.getRequiredProperty(PROPERTY_PREFIX + "queue-capacity", Integer.class);
+    }
+
+    /**
+     * Fetches the data for all devices concurrently and waits until all requests are finished.
+     * Fails with the first exception thrown by one of the requests, no further requests are started after a failure.
+     *
+     * @param manufacturer               the manufacturer, used to determine the number of concurrent requests
+     * @param thirdPartyApiConfiguration the configuration of the third-party API
+     * @param devices                    the devices to fetch the data for
+     * @param fetch                      the function fetching the data for a single device, may return null if there
+     *                                   is no data for the device
+     * @param <T>                        the type of the devices
+     * @param <R>                        the type of the data
+     * @return a thread-safe map of the devices with their data, devices without data are not contained
+     */
+    public <T, R> Map<T, R> fetchAll(Manufacturer manufacturer,
+                                     ThirdPartyApiConfiguration thirdPartyApiConfiguration,
+                                     Collection<T> devices,
+                                     Function<T, R> fetch) {
+        var results = new ConcurrentHashMap<T, R>();
+        fetchAll(manufacturer, thirdPartyApiConfiguration, devices, fetch, results::put);
+        return results;
+    }
+
+    /**
+     * Fetches the data for all devices concurrently and passes the data of every device to the consumer as soon as it
+     * is available. The consumer is called within the calling thread, one device after the other.
+     * Fails with the first exception thrown by one of the requests or by the consumer, no further requests are started
+     * after a failure. The data of the devices fetched before the failure has already been passed to the consumer.
+     *
+     * @param manufacturer               the manufacturer, used to determine the number of concurrent requests
+     * @param thirdPartyApiConfiguration the configuration of the third-party API
+     * @param devices                    the devices to fetch the data for
+     * @param fetch                      the function fetching the data for a single device, may return null if there
+     *                                   is no data for the device
+     * @param consumer                   the consumer processing the data of a single device
+     * @param <T>                        the type of the devices
+     * @param <R>                        the type of the data
+     * @return the number of devices passed to the consumer
+     */
+    public <T, R> int fetchAll(Manufacturer manufacturer,
+                               ThirdPartyApiConfiguration thirdPartyApiConfiguration,
+                               Collection<T> devices,
+                               Function<T, R> fetch,
+                               BiConsumer<T, R> consumer) {
+        var permits = concurrentRequests.computeIfAbsent(thirdPartyApiConfiguration.getId(), key -> new Semaphore(parallelism(manufacturer)));
+        var pipeline = new Pipeline<T, R>(permits, fetch);
+        var producer = executorService.submit(() -> pipeline.produce(devices));
+        try {
+            var consumed = pipeline.consume(producer, consumer);
+            log.debug("Fetched the data of {} devices from {}.", consumed, manufacturer);
+            return consumed;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException(ErrorMessage.builder()
+                    .error(Error.IMPORT_INTERRUPTED)
+                    .message("The import was interrupted while fetching the data of the devices.")
+                    .build());
+        } finally {
+            // Stops the remaining requests if the consumer failed, does nothing if all requests are finished.
+            pipeline.cancel();
+            producer.cancel(true);
+        }
+    }
+
+    private int parallelism(Manufacturer manufacturer) {
+        return manufacturerSettings.get(PROPERTY_PREFIX, manufacturer, "parallelism", Integer.class);
+    }
+
+    private static ExecutorService createExecutorService(boolean virtualThreads) {
+        if (virtualThreads) {
+            try {
+                // Looked up using reflection, since the application is compiled for Java 17.
+                var executorService = (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+                log.info("Fetching the data of devices using virtual threads.");
+                return executorService;
+            } catch (ReflectiveOperationException e) {
+                log.warn("Virtual threads are not supported by the Java runtime, fetching the data of devices using platform threads.");
+            }
+        }
+        return Executors.newCachedThreadPool(new CustomizableThreadFactory("device-fetch-"));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executorService.shutdownNow();
+    }
+
+    /**
+     * Data of a single device, handed over from the requests to the consumer.
+     */
+    private record Fetched<T, R>(T device, R data) {
+    }
+
+    /**
+     * State of a single call, the producer starts the requests and the calling thread consumes their results.
+     */
+    private final class Pipeline<T, R> {
+        private final Fetched<T, R> end = new Fetched<>(null, null);
+        private final BlockingQueue<Fetched<T, R>> queue = new ArrayBlockingQueue<>(queueCapacity);
+        private final Queue<Future<?>> requests = new ConcurrentLinkedQueue<>();
+        private final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        private volatile boolean cancelled;
+        private final Semaphore permits;
+        private final Function<T, R> fetch;
+
+        private Pipeline(Semaphore permits, Function<T, R> fetch) {
+            this.permits = permits;
+            this.fetch = fetch;
+        }
+
+        private void produce(Collection<T> devices) {
+            try {
+                for (var device : devices) {
+                    permits.acquire();
+                    if (null != failure.get() || cancelled) {
+                        permits.release();
+                        break;
+                    }
+                    requests.add(submit(device));
+                }
+                for (var request : requests) {
+                    request.get();
+                }
+                handOver(end);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException | CancellationException e) {
+                // Failures are recorded within the requests, see below.
+                log.debug("Fetching the data of a device failed.", e);
+            } catch (RuntimeException e) {
+                failure.compareAndSet(null, e);
+            }
+        }
+
+        private Future<?> submit(T device) {
+            try {
+                return executorService.submit(() -> {
+                    try {
+                        var data = fetch.apply(device);
+                        if (null != data) {
+                            handOver(new Fetched<>(device, data));
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } catch (RuntimeException e) {
+                        failure.compareAndSet(null, e);
+                    } finally {
+                        permits.release();
+                    }
+                });
+            } catch (RuntimeException e) {
+                permits.release();
+                throw e;
+            }
+        }
+
+        private int consume(Future<?> producer, BiConsumer<T, R> consumer) throws InterruptedException {
+            var consumed = 0;
+            while (true) {
+                var fetched = queue.poll(1, TimeUnit.SECONDS);
+                if (fetched == end || (null == fetched && producer.isDone() && queue.isEmpty())) {
+                    break;
+                }
+                if (null != fetched) {
+                    consumer.accept(fetched.device(), fetched.data());
+                    consumed++;
+                }
+            }
+            if (null != failure.get()) {
+                throw failure.get();
+            }
+            return consumed;
+        }
+
+        /**
+         * Waits until there is space in the queue, gives up if the consumer is gone.
+         */
+        private void handOver(Fetched<T, R> fetched) throws InterruptedException {
+            while (!queue.offer(fetched, 1, TimeUnit.SECONDS)) {
+                if (cancelled) {
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Stops the pipeline, requests already running are finished, but their data is discarded. The requests are
+         * not interrupted, so every request releases its permit.
+         */
+        private void cancel() {
+            cancelled = true;
+        }
+    }
+
+}
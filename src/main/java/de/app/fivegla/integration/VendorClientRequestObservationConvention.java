@@ -0,0 +1,38 @@
+package de.app.fivegla.integration;
+
+import de.app.fivegla.api.Manufacturer;
+import de.app.fivegla.monitoring.Metrics;
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import org.springframework.http.client.observation.ClientRequestObservationContext;
+import org.springframework.http.client.observation.DefaultClientRequestObservationConvention;
+
+/**
+ * Observes the requests sent to the APIs of the manufacturers. Besides the method, the URI template and the status
+ * of the request, the manufacturer is added to the timer, so the time spent per API and endpoint can be compared.
+ * <p>
+ * The URI template is only known if the request has been sent using a template and URI variables, URLs concatenated
+ * with the values are recorded as <code>none</code>.
+ * </p>
+ */
+public class VendorClientRequestObservationConvention extends DefaultClientRequestObservationConvention {
+
+    private static final String MANUFACTURER = "manufacturer";
+
+    private final KeyValue manufacturer;
+
+    /**
+     * Creates the convention for the requests of a manufacturer.
+     *
+     * @param manufacturer the manufacturer, null if the requests do not belong to a manufacturer
+     */
+    public VendorClientRequestObservationConvention(Manufacturer manufacturer) {
+        super(Metrics.VENDOR_HTTP_REQUESTS);
+        this.manufacturer = KeyValue.of(MANUFACTURER, null != manufacturer ? manufacturer.name() : KeyValue.NONE_VALUE);
+    }
+
+    @Override
+    public KeyValues getLowCardinalityKeyValues(ClientRequestObservationContext context) {
+        return super.getLowCardinalityKeyValues(context).and(manufacturer);
+    }
+}
@@ -0,0 +1,114 @@
+package de.app.fivegla.integration;
+
+import de.app.fivegla.api.Manufacturer;
+import de.app.fivegla.config.ManufacturerSettings;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Provides the pooled HTTP clients used by the rest templates of the integrations. Every manufacturer has its own
+ * connection pool, shared by all of its integration services, so a slow API can not use up the connections of the
+ * others. Integrations that do not belong to a manufacturer share a default pool.
+ * <p>
+ * The connections are kept alive between the requests and limited per host. Responses are requested using gzip and
+ * decompressed transparently. The settings can be overridden per manufacturer.
+ * </p>
+ */
+@Slf4j
+@Component
+public class VendorHttpClients {
+
+    private static final String PROPERTY_PREFIX = "app.imports.http.";
+
+    private final Map<Manufacturer, HttpComponentsClientHttpRequestFactory> requestFactories = new ConcurrentHashMap<>();
+    private final ManufacturerSettings manufacturerSettings;
+    private final HttpComponentsClientHttpRequestFactory defaultRequestFactory;
+
+    public VendorHttpClients(ManufacturerSettings manufacturerSettings) {
+        this.manufacturerSettings = manufacturerSettings;
+        this.defaultRequestFactory = createRequestFactory(null);
+    }
+
+    /**
+     * Get the request factory of the manufacturer, the connection pool is created on first use.
+     *
+     * @param manufacturer the manufacturer
+     * @return the request factory
+     */
+    public ClientHttpRequestFactory requestFactory(Manufacturer manufacturer) {
+        return requestFactories.computeIfAbsent(manufacturer, this::createRequestFactory);
+    }
+
+    /**
+     * Get the request factory of the integrations that do not belong to a manufacturer.
+     *
+     * @return the request factory
+     */
+    public ClientHttpRequestFactory defaultRequestFactory() {
+        return defaultRequestFactory;
+    }
+
+    /**
+     * Closes the connection pools.
+     */
+    @PreDestroy
+    public void close() throws Exception {
+        for (var requestFactory : requestFactories.values()) {
+            requestFactory.destroy();
+        }
+        defaultRequestFactory.destroy();
+    }
+
+    private HttpComponentsClientHttpRequestFactory createRequestFactory(Manufacturer manufacturer) {
+        var maxConnections = setting(manufacturer, "max-connections", Integer.class);
+        var maxConnectionsPerHost = setting(manufacturer, "max-connections-per-host", Integer.class);
+        var connectTimeout = setting(manufacturer, "connect-timeout", Duration.class);
+        var readTimeout = setting(manufacturer, "read-timeout", Duration.class);
+        var connectionRequestTimeout = setting(manufacturer, "connection-request-timeout", Duration.class);
+        var keepAlive = setting(manufacturer, "keep-alive", Duration.class);
+        var idleTimeout = setting(manufacturer, "idle-timeout", Duration.class);
+        var compression = setting(manufacturer, "compression", Boolean.class);
+        log.info("Creating HTTP client for {} with at most {} connections, {} per host, a connect timeout of {} and a read timeout of {}.",
+                null != manufacturer ? manufacturer : "integrations without manufacturer", maxConnections, maxConnectionsPerHost, connectTimeout, readTimeout);
+
+        var connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnectionsPerHost)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeout.toMillis()))
+                        .setSocketTimeout(Timeout.ofMilliseconds(readTimeout.toMillis()))
+                        .build())
+                .build();
+        var httpClientBuilder = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(connectionRequestTimeout.toMillis()))
+                        .setResponseTimeout(Timeout.ofMilliseconds(readTimeout.toMillis()))
+                        // Used if the API does not send a Keep-Alive header.
+                        .setConnectionKeepAlive(TimeValue.ofMilliseconds(keepAlive.toMillis()))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofMilliseconds(idleTimeout.toMillis()));
+        if (!compression) {
+            httpClientBuilder.disableContentCompression();
+        }
+        return new HttpComponentsClientHttpRequestFactory(httpClientBuilder.build());
+    }
+
+    private <T> T setting(Manufacturer manufacturer, String key, Class<T> type) {
+        return manufacturerSettings.get(PROPERTY_PREFIX, manufacturer, key, type);
+    }
+}
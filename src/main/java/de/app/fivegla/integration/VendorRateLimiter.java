@@ -0,0 +1,283 @@
+package de.app.fivegla.integration;
+
+import de.app.fivegla.api.Manufacturer;
+import de.app.fivegla.config.ManufacturerSettings;
+import de.app.fivegla.monitoring.Metrics;
+import io.prometheus.client.CollectorRegistry;
+import io.prometheus.client.Counter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rate limiter for the requests to the APIs of the manufacturers. Every combination of manufacturer, base URL and
+ * credentials has its own token bucket, so all imports using the same account share its limit. The limits can be
+ * overridden per manufacturer, e.g. using <code>app.imports.rate-limit.weenat.requests-per-second</code>.
+ * <p>
+ * If the API answers with 429 (Too Many Requests) or 503 (Service Unavailable), the bucket is paused for the time
+ * requested by the <code>Retry-After</code> header, or using an exponential backoff if there is none. GET and HEAD
+ * requests are retried afterwards, other requests are not retried since they might not be idempotent.
+ * </p>
+ */
+@Slf4j
+@Component
+public class VendorRateLimiter {
+
+    private static final String PROPERTY_PREFIX = "app.imports.rate-limit.";
+    private static final String INTEGRATION_PACKAGE = VendorRateLimiter.class.getPackageName() + ".";
+    private static final List<String> CREDENTIAL_HEADERS = List.of(HttpHeaders.AUTHORIZATION, "api_key", "X-Api-Key");
+    private static final List<String> CREDENTIAL_QUERY_PARAMETERS = List.of("key", "apikey", "api_key", "appid", "token");
+    private static final Duration IDLE_TIMEOUT = Duration.ofHours(1);
+
+    private final ManufacturerSettings manufacturerSettings;
+    private final Map<BucketKey, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final Counter requests;
+    private final Counter throttledRequests;
+    private final Counter retriedRequests;
+    private final Counter waitingTime;
+
+    public VendorRateLimiter(ManufacturerSettings manufacturerSettings, CollectorRegistry registry) {
+        this.manufacturerSettings = manufacturerSettings;
+        this.requests = Counter.build(Metrics.VENDOR_RATE_LIMIT_PREFIX + "requests",
+                        "Number of requests sent to the API of the manufacturer")
+                .labelNames("manufacturer")
+                .register(registry);
+        this.throttledRequests = Counter.build(Metrics.VENDOR_RATE_LIMIT_PREFIX + "throttled_requests",
+                        "Number of requests answered with 429 or 503 by the API of the manufacturer")
+                .labelNames("manufacturer")
+                .register(registry);
+        this.retriedRequests = Counter.build(Metrics.VENDOR_RATE_LIMIT_PREFIX + "retried_requests",
+                        "Number of requests retried after being throttled by the API of the manufacturer")
+                .labelNames("manufacturer")
+                .register(registry);
+        this.waitingTime = Counter.build(Metrics.VENDOR_RATE_LIMIT_PREFIX + "waiting_seconds",
+                        "Time spent waiting for the rate limit of the API of the manufacturer")
+                .labelNames("manufacturer")
+                .register(registry);
+    }
+
+    /**
+     * Determines the manufacturer of an integration service using its package, e.g. all classes within
+     * <code>de.app.fivegla.integration.weenat</code> belong to {@link Manufacturer#WEENAT}.
+     *
+     * @param type the integration service
+     * @return the manufacturer or empty if the class does not belong to the integration of a manufacturer
+     */
+    public static Optional<Manufacturer> manufacturerOf(Class<?> type) {
+        var packageName = type.getPackageName();
+        if (!packageName.startsWith(INTEGRATION_PACKAGE)) {
+            return Optional.empty();
+        }
+        var integration = packageName.substring(INTEGRATION_PACKAGE.length()).split("\\.")[0];
+        return Arrays.stream(Manufacturer.values())
+                .filter(manufacturer -> manufacturer.name().replace("_", "").equalsIgnoreCase(integration))
+                .findFirst();
+    }
+
+    /**
+     * Creates the interceptor limiting the requests of a rest template to the API of the manufacturer.
+     *
+     * @param manufacturer the manufacturer
+     * @return the interceptor
+     */
+    public ClientHttpRequestInterceptor interceptor(Manufacturer manufacturer) {
+        return new RateLimitingInterceptor(manufacturer,
+                setting(manufacturer, "requests-per-second", Double.class),
+                setting(manufacturer, "burst", Integer.class),
+                setting(manufacturer, "max-retries", Integer.class),
+                setting(manufacturer, "initial-backoff", Duration.class),
+                setting(manufacturer, "max-backoff", Duration.class));
+    }
+
+    private <T> T setting(Manufacturer manufacturer, String key, Class<T> type) {
+        return manufacturerSettings.get(PROPERTY_PREFIX, manufacturer, key, type);
+    }
+
+    private TokenBucket bucket(BucketKey key, double requestsPerSecond, int burst) {
+        var bucket = buckets.get(key);
+        if (null == bucket) {
+            // Access tokens are rotated, so buckets of expired tokens are removed once new buckets are created.
+            var idleSince = System.nanoTime() - IDLE_TIMEOUT.toNanos();
+            buckets.values().removeIf(existing -> existing.isIdleSince(idleSince));
+            bucket = buckets.computeIfAbsent(key, ignored -> new TokenBucket(requestsPerSecond, burst));
+        }
+        return bucket;
+    }
+
+    private static String baseUrl(URI uri) {
+        return uri.getScheme() + "://" + uri.getAuthority();
+    }
+
+    /**
+     * Fingerprint of the credentials sent with the request, the credentials themselves are not kept.
+     */
+    private static int credentials(HttpRequest request) {
+        var credentials = CREDENTIAL_HEADERS.stream()
+                .map(header -> request.getHeaders().getFirst(header))
+                .filter(Objects::nonNull)
+                .findFirst();
+        if (credentials.isEmpty()) {
+            var queryParameters = UriComponentsBuilder.fromUri(request.getURI()).build().getQueryParams();
+            credentials = CREDENTIAL_QUERY_PARAMETERS.stream()
+                    .map(queryParameters::getFirst)
+                    .filter(Objects::nonNull)
+                    .findFirst();
+        }
+        return credentials.map(String::hashCode).orElse(0);
+    }
+
+    /**
+     * Reads the Retry-After header, which is either a number of seconds or an HTTP date.
+     */
+    static Optional<Duration> retryAfter(HttpHeaders headers) {
+        var retryAfter = headers.getFirst(HttpHeaders.RETRY_AFTER);
+        if (null == retryAfter || retryAfter.isBlank()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(Duration.ofSeconds(Math.max(0, Long.parseLong(retryAfter.trim()))));
+        } catch (NumberFormatException e) {
+            try {
+                ZonedDateTime date = headers.getFirstZonedDateTime(HttpHeaders.RETRY_AFTER);
+                var duration = null != date ? Duration.between(Instant.now(), date.toInstant()) : Duration.ZERO;
+                return Optional.of(duration.isNegative() ? Duration.ZERO : duration);
+            } catch (IllegalArgumentException ignored) {
+                log.warn("Could not parse the Retry-After header '{}'.", retryAfter);
+                return Optional.empty();
+            }
+        }
+    }
+
+    private record BucketKey(Manufacturer manufacturer, String baseUrl, int credentials) {
+    }
+
+    /**
+     * Token bucket, refilled continuously with the configured rate up to the burst size. Requests reserve a token
+     * and wait until it is available, so waiting requests are served in the order of their arrival.
+     */
+    private static final class TokenBucket {
+        private final double intervalNanos;
+        private final double burst;
+        private double storedTokens;
+        private long nextFreeNanos;
+
+        private TokenBucket(double requestsPerSecond, int burst) {
+            this.intervalNanos = TimeUnit.SECONDS.toNanos(1) / requestsPerSecond;
+            this.burst = burst;
+            this.storedTokens = burst;
+            this.nextFreeNanos = System.nanoTime();
+        }
+
+        /**
+         * Reserves a token.
+         *
+         * @return the time to wait for the token in nanoseconds
+         */
+        private synchronized long reserve(long nowNanos) {
+            if (nowNanos > nextFreeNanos) {
+                storedTokens = Math.min(burst, storedTokens + (nowNanos - nextFreeNanos) / intervalNanos);
+                nextFreeNanos = nowNanos;
+            }
+            var waitNanos = nextFreeNanos - nowNanos;
+            var tokensFromStore = Math.min(1.0, storedTokens);
+            storedTokens -= tokensFromStore;
+            nextFreeNanos += (long) ((1.0 - tokensFromStore) * intervalNanos);
+            return waitNanos;
+        }
+
+        /**
+         * Pauses the bucket, no tokens are handed out before the given point in time.
+         */
+        private synchronized void pauseUntil(long untilNanos) {
+            storedTokens = 0;
+            if (untilNanos > nextFreeNanos) {
+                nextFreeNanos = untilNanos;
+            }
+        }
+
+        private synchronized boolean isIdleSince(long nanos) {
+            return nextFreeNanos < nanos;
+        }
+    }
+
+    private final class RateLimitingInterceptor implements ClientHttpRequestInterceptor {
+        private final Manufacturer manufacturer;
+        private final String label;
+        private final double requestsPerSecond;
+        private final int burst;
+        private final int maxRetries;
+        private final Duration initialBackoff;
+        private final Duration maxBackoff;
+
+        private RateLimitingInterceptor(Manufacturer manufacturer, double requestsPerSecond, int burst, int maxRetries, Duration initialBackoff, Duration maxBackoff) {
+            this.manufacturer = manufacturer;
+            this.label = manufacturer.name().toLowerCase();
+            this.requestsPerSecond = requestsPerSecond;
+            this.burst = burst;
+            this.maxRetries = maxRetries;
+            this.initialBackoff = initialBackoff;
+            this.maxBackoff = maxBackoff;
+        }
+
+        @Override
+        public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+            var bucket = bucket(new BucketKey(manufacturer, baseUrl(request.getURI()), credentials(request)), requestsPerSecond, burst);
+            var retryable = request.getMethod() == HttpMethod.GET || request.getMethod() == HttpMethod.HEAD;
+            for (var attempt = 0; ; attempt++) {
+                awaitToken(bucket);
+                requests.labels(label).inc();
+                var response = execution.execute(request, body);
+                var statusCode = response.getStatusCode();
+                if (statusCode.value() != HttpStatus.TOO_MANY_REQUESTS.value() && statusCode.value() != HttpStatus.SERVICE_UNAVAILABLE.value()) {
+                    return response;
+                }
+                throttledRequests.labels(label).inc();
+                var backoff = retryAfter(response.getHeaders())
+                        .orElse(initialBackoff.multipliedBy(1L << Math.min(attempt, 20)));
+                bucket.pauseUntil(System.nanoTime() + Math.min(backoff.toNanos(), maxBackoff.toNanos()));
+                if (!retryable || attempt >= maxRetries || backoff.compareTo(maxBackoff) > 0) {
+                    log.warn("The API of {} answered with {}, giving up after {} attempts.", manufacturer, statusCode.value(), attempt + 1);
+                    return response;
+                }
+                log.info("The API of {} answered with {}, retrying after {}.", manufacturer, statusCode.value(), backoff);
+                response.close();
+                retriedRequests.labels(label).inc();
+            }
+        }
+
+        private void awaitToken(TokenBucket bucket) throws InterruptedIOException {
+            var waitNanos = bucket.reserve(System.nanoTime());
+            if (waitNanos > 0) {
+                waitingTime.labels(label).inc(waitNanos / 1e9);
+                try {
+                    TimeUnit.NANOSECONDS.sleep(waitNanos);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted while waiting for the rate limit of " + manufacturer + ".");
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,189 @@
+package de.app.fivegla.integration;
+
+import de.app.fivegla.monitoring.Metrics;
+import de.app.fivegla.persistence.entity.ThirdPartyApiConfiguration;
+import io.prometheus.client.CollectorRegistry;
+import io.prometheus.client.Counter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Cache for the access tokens of the APIs of the manufacturers, keyed by the third-party API configuration, so the
+ * tenants using different accounts of the same manufacturer do not evict each other's tokens.
+ * <p>
+ * Tokens are refreshed shortly before they expire. Only one caller per configuration logs in at the same time, the
+ * other callers keep using the token while it is still valid or wait for the login and share its result. The token is
+ * fetched again once the credentials of the configuration change.
+ * </p>
+ */
+@Slf4j
+@Component
+public class VendorTokenCache {
+
+    private final Map<Long, Slot> slots = new ConcurrentHashMap<>();
+    private final Duration refreshAhead;
+    private final Counter hits;
+    private final Counter refreshes;
+    private final Counter failedRefreshes;
+
+    public VendorTokenCache(@Value("${app.imports.tokens.refresh-ahead}") Duration refreshAhead, CollectorRegistry registry) {
+        this.refreshAhead = refreshAhead;
+        this.hits = Counter.build(Metrics.VENDOR_TOKEN_CACHE_PREFIX + "hits",
+                        "Number of requests for an access token answered from the cache")
+                .labelNames("manufacturer")
+                .register(registry);
+        this.refreshes = Counter.build(Metrics.VENDOR_TOKEN_CACHE_PREFIX + "refreshes",
+                        "Number of access tokens fetched from the API of the manufacturer")
+                .labelNames("manufacturer")
+                .register(registry);
+        this.failedRefreshes = Counter.build(Metrics.VENDOR_TOKEN_CACHE_PREFIX + "failed_refreshes",
+                        "Number of access tokens that could not be fetched from the API of the manufacturer")
+                .labelNames("manufacturer")
+                .register(registry);
+    }
+
+    /**
+     * Get the token of the third-party API configuration, fetches a new token if there is none or the token is about
+     * to expire.
+     *
+     * @param thirdPartyApiConfiguration the third-party API configuration
+     * @param loader                     fetches a new token from the API
+     * @param <T>                        the type of the token
+     * @return the token
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(ThirdPartyApiConfiguration thirdPartyApiConfiguration, TokenLoader<T> loader) {
+        var manufacturer = thirdPartyApiConfiguration.getManufacturer().name();
+        var fingerprint = fingerprint(thirdPartyApiConfiguration);
+        var slot = slots.computeIfAbsent(thirdPartyApiConfiguration.getId(), id -> new Slot());
+        var entry = slot.entry;
+        var now = Instant.now();
+        var validToken = null != entry && entry.fingerprint() == fingerprint && entry.token().expiresAt().isAfter(now);
+        if (validToken && !isRefreshDue(entry.token(), now)) {
+            hits.labels(manufacturer).inc();
+            return (T) entry.token().value();
+        }
+        var refresh = new CompletableFuture<Token<?>>();
+        var inFlight = slot.refresh.compareAndExchange(null, refresh);
+        if (null != inFlight) {
+            if (validToken) {
+                // Another caller is already refreshing the token, which is still valid.
+                hits.labels(manufacturer).inc();
+                return (T) entry.token().value();
+            }
+            return (T) await(inFlight).value();
+        }
+        try {
+            var current = slot.entry;
+            if (null != current && current.fingerprint() == fingerprint && !isRefreshDue(current.token(), Instant.now())) {
+                // The token has been refreshed in the meantime.
+                refresh.complete(current.token());
+                hits.labels(manufacturer).inc();
+                return (T) current.token().value();
+            }
+            var previous = null != current && current.fingerprint() == fingerprint ? (Token<T>) current.token() : null;
+            var token = Objects.requireNonNull(loader.load(previous), "The loader must return a token.");
+            slot.entry = new Entry(fingerprint, token);
+            refreshes.labels(manufacturer).inc();
+            log.debug("Fetched a new access token for third-party API configuration {}, valid until {}.", thirdPartyApiConfiguration.getId(), token.expiresAt());
+            refresh.complete(token);
+            return token.value();
+        } catch (RuntimeException e) {
+            failedRefreshes.labels(manufacturer).inc();
+            refresh.completeExceptionally(e);
+            throw e;
+        } finally {
+            slot.refresh.set(null);
+        }
+    }
+
+    /**
+     * Removes the token of the third-party API configuration.
+     *
+     * @param thirdPartyApiConfigurationId the id of the third-party API configuration
+     */
+    public void invalidate(long thirdPartyApiConfigurationId) {
+        slots.remove(thirdPartyApiConfigurationId);
+    }
+
+    private boolean isRefreshDue(Token<?> token, Instant now) {
+        var lifetime = Duration.between(token.issuedAt(), token.expiresAt());
+        var ahead = refreshAhead.compareTo(lifetime.dividedBy(2)) < 0 ? refreshAhead : lifetime.dividedBy(2);
+        return !token.expiresAt().minus(ahead).isAfter(now);
+    }
+
+    private static Token<?> await(CompletableFuture<Token<?>> inFlight) {
+        try {
+            return inFlight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+
+    private static int fingerprint(ThirdPartyApiConfiguration thirdPartyApiConfiguration) {
+        return Objects.hash(thirdPartyApiConfiguration.getUrl(), thirdPartyApiConfiguration.getUsername(),
+                thirdPartyApiConfiguration.getPassword(), thirdPartyApiConfiguration.getApiToken());
+    }
+
+    /**
+     * A token and its validity.
+     *
+     * @param value     the token
+     * @param issuedAt  the point in time the token has been fetched
+     * @param expiresAt the point in time the token expires
+     * @param <T>       the type of the token
+     */
+    public record Token<T>(T value, Instant issuedAt, Instant expiresAt) {
+
+        /**
+         * Creates a token fetched right now.
+         *
+         * @param value    the token
+         * @param validity the time the token is valid
+         * @param <T>      the type of the token
+         * @return the token
+         */
+        public static <T> Token<T> of(T value, Duration validity) {
+            var now = Instant.now();
+            return new Token<>(value, now, now.plus(validity));
+        }
+    }
+
+    /**
+     * Fetches a new token from the API.
+     *
+     * @param <T> the type of the token
+     */
+    @FunctionalInterface
+    public interface TokenLoader<T> {
+
+        /**
+         * Fetches a new token from the API.
+         *
+         * @param previous the previous token of the configuration, e.g. to use its refresh token, null if there is none
+         * @return the new token
+         */
+        Token<T> load(Token<T> previous);
+    }
+
+    private record Entry(int fingerprint, Token<?> token) {
+    }
+
+    private static class Slot {
+        private volatile Entry entry;
+        private final AtomicReference<CompletableFuture<Token<?>>> refresh = new AtomicReference<>();
+    }
+}
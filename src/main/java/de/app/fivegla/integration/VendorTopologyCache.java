@@ -0,0 +1,204 @@
+package de.app.fivegla.integration;
+
+import de.app.fivegla.api.Manufacturer;
+import de.app.fivegla.config.ManufacturerSettings;
+import de.app.fivegla.monitoring.Metrics;
+import de.app.fivegla.persistence.entity.ThirdPartyApiConfiguration;
+import io.prometheus.client.CollectorRegistry;
+import io.prometheus.client.Counter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache for the topology of the manufacturers, e.g. the loggers, plots, zones or devices, keyed by the third-party API
+ * configuration, so the imports only have to fetch the data of the devices every run.
+ * <p>
+ * The topology is fetched again once its time to live expired. If the API sent an ETag or Last-Modified header with
+ * the topology, the request is sent conditionally and an answer with 304 (Not Modified) keeps the cached topology for
+ * another time to live. The topology is fetched again once the credentials or the topology version of the configuration
+ * change. The cache is kept per instance, invalidating the topology on demand increments the topology version, so it
+ * is fetched again by all instances.
+ * </p>
+ */
+@Slf4j
+@Component
+public class VendorTopologyCache {
+
+    private static final String PROPERTY_PREFIX = "app.imports.topology.";
+
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong invalidations = new AtomicLong();
+    private final ManufacturerSettings manufacturerSettings;
+    private final Counter hits;
+    private final Counter refreshes;
+    private final Counter notModified;
+
+    public VendorTopologyCache(ManufacturerSettings manufacturerSettings, CollectorRegistry registry) {
+        this.manufacturerSettings = manufacturerSettings;
+        this.hits = Counter.build(Metrics.VENDOR_TOPOLOGY_CACHE_PREFIX + "hits",
+                        "Number of requests for the topology answered from the cache")
+                .labelNames("manufacturer")
+                .register(registry);
+        this.refreshes = Counter.build(Metrics.VENDOR_TOPOLOGY_CACHE_PREFIX + "refreshes",
+                        "Number of topologies fetched from the API of the manufacturer")
+                .labelNames("manufacturer")
+                .register(registry);
+        this.notModified = Counter.build(Metrics.VENDOR_TOPOLOGY_CACHE_PREFIX + "not_modified",
+                        "Number of cached topologies confirmed by the API of the manufacturer as not modified")
+                .labelNames("manufacturer")
+                .register(registry);
+    }
+
+    /**
+     * Get the topology of the third-party API configuration, fetches the topology if there is none or its time to
+     * live expired.
+     *
+     * @param thirdPartyApiConfiguration the third-party API configuration
+     * @param name                       the name of the topology, e.g. the resource, unique per manufacturer
+     * @param loader                     fetches the topology from the API
+     * @param <T>                        the type of the topology
+     * @return the topology
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(ThirdPartyApiConfiguration thirdPartyApiConfiguration, String name, TopologyLoader<T> loader) {
+        var manufacturer = thirdPartyApiConfiguration.getManufacturer();
+        var key = new Key(thirdPartyApiConfiguration.getId(), name);
+        var fingerprint = fingerprint(thirdPartyApiConfiguration);
+        var entry = entries.get(key);
+        if (null != entry && entry.fingerprint() != fingerprint) {
+            entry = null;
+        }
+        if (null != entry && entry.expiresAt().isAfter(Instant.now())) {
+            hits.labels(manufacturer.name()).inc();
+            return (T) entry.topology().value();
+        }
+        var conditionalHeaders = new HttpHeaders();
+        if (null != entry && null != entry.topology().eTag()) {
+            conditionalHeaders.setIfNoneMatch(entry.topology().eTag());
+        }
+        if (null != entry && null != entry.topology().lastModified()) {
+            conditionalHeaders.set(HttpHeaders.IF_MODIFIED_SINCE, entry.topology().lastModified());
+        }
+        var invalidationsBeforeLoading = invalidations.get();
+        var topology = Objects.requireNonNull(loader.load(conditionalHeaders), "The loader must return a topology.");
+        if (!topology.modified()) {
+            if (null == entry) {
+                throw new IllegalStateException("The API answered an unconditional request with 304 (Not Modified).");
+            }
+            notModified.labels(manufacturer.name()).inc();
+            topology = (Topology<T>) entry.topology();
+        } else {
+            refreshes.labels(manufacturer.name()).inc();
+            log.debug("Fetched the {} of third-party API configuration {}.", name, thirdPartyApiConfiguration.getId());
+        }
+        var expiresAt = Instant.now().plus(timeToLive(manufacturer));
+        synchronized (entries) {
+            if (invalidations.get() == invalidationsBeforeLoading) {
+                // Topologies invalidated while loading are not cached, they may already be outdated.
+                entries.put(key, new Entry(fingerprint, topology, expiresAt));
+            }
+        }
+        return topology.value();
+    }
+
+    /**
+     * Removes the topology of the third-party API configuration, it is fetched again on the next import.
+     *
+     * @param thirdPartyApiConfigurationId the id of the third-party API configuration
+     */
+    public void invalidate(long thirdPartyApiConfigurationId) {
+        synchronized (entries) {
+            invalidations.incrementAndGet();
+            entries.keySet().removeIf(key -> key.thirdPartyApiConfigurationId() == thirdPartyApiConfigurationId);
+        }
+        log.debug("Removed the topology of third-party API configuration {} from the cache.", thirdPartyApiConfigurationId);
+    }
+
+    private Duration timeToLive(Manufacturer manufacturer) {
+        return manufacturerSettings.get(PROPERTY_PREFIX, manufacturer, "time-to-live", Duration.class);
+    }
+
+    private static int fingerprint(ThirdPartyApiConfiguration thirdPartyApiConfiguration) {
+        return Objects.hash(thirdPartyApiConfiguration.getUrl(), thirdPartyApiConfiguration.getUsername(),
+                thirdPartyApiConfiguration.getPassword(), thirdPartyApiConfiguration.getApiToken(),
+                thirdPartyApiConfiguration.getTopologyVersion());
+    }
+
+    /**
+     * The topology fetched from the API.
+     *
+     * @param value        the topology, null if not modified
+     * @param modified     false if the API answered with 304 (Not Modified)
+     * @param eTag         the ETag sent by the API, null if there is none
+     * @param lastModified the Last-Modified header sent by the API, null if there is none
+     * @param <T>          the type of the topology
+     */
+    public record Topology<T>(T value, boolean modified, String eTag, String lastModified) {
+
+        /**
+         * Creates a topology of an API that does not support conditional requests.
+         *
+         * @param value the topology
+         * @param <T>   the type of the topology
+         * @return the topology
+         */
+        public static <T> Topology<T> of(T value) {
+            return new Topology<>(value, true, null, null);
+        }
+
+        /**
+         * Creates a topology, keeps the ETag and Last-Modified header of the response to send the next request
+         * conditionally.
+         *
+         * @param value   the topology
+         * @param headers the headers of the response
+         * @param <T>     the type of the topology
+         * @return the topology
+         */
+        public static <T> Topology<T> of(T value, HttpHeaders headers) {
+            return new Topology<>(value, true, headers.getETag(), headers.getFirst(HttpHeaders.LAST_MODIFIED));
+        }
+
+        /**
+         * Creates the answer of the API to a conditional request, if the topology has not been modified.
+         *
+         * @param <T> the type of the topology
+         * @return the cached topology is kept
+         */
+        public static <T> Topology<T> notModified() {
+            return new Topology<>(null, false, null, null);
+        }
+    }
+
+    /**
+     * Fetches the topology from the API.
+     *
+     * @param <T> the type of the topology
+     */
+    @FunctionalInterface
+    public interface TopologyLoader<T> {
+
+        /**
+         * Fetches the topology from the API.
+         *
+         * @param conditionalHeaders the If-None-Match and If-Modified-Since headers to add to the request, empty if
+         *                           there is no cached topology or the API does not support conditional requests
+         * @return the topology
+         */
+        Topology<T> load(HttpHeaders conditionalHeaders);
+    }
+
+    private record Key(long thirdPartyApiConfigurationId, String name) {
+    }
+
+    private record Entry(int fingerprint, Topology<?> topology, Instant expiresAt) {
+    }
+}
@@ -5,13 +5,12 @@ import de.app.fivegla.api.enums.EntityType;
 import de.app.fivegla.business.GroupService;
 import de.app.fivegla.integration.agranimo.model.SoilMoisture;
 import de.app.fivegla.integration.agranimo.model.Zone;
-import de.app.fivegla.integration.fiware.FiwareEntityIntegrationService;
+import de.app.fivegla.integration.fiware.FiwareEntityBatchWriter;
 import de.app.fivegla.integration.fiware.model.DeviceMeasurement;
 import de.app.fivegla.integration.fiware.model.internal.EmptyAttribute;
 import de.app.fivegla.integration.fiware.model.internal.InstantAttribute;
 import de.app.fivegla.integration.fiware.model.internal.NumberAttribute;
 import de.app.fivegla.integration.fiware.model.internal.TextAttribute;
-import de.app.fivegla.persistence.entity.Tenant;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -24,7 +23,7 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class AgranimoFiwareIntegrationServiceWrapper {
 
-    private final FiwareEntityIntegrationService fiwareEntityIntegrationService;
+    private final FiwareEntityBatchWriter fiwareEntityBatchWriter;
     private final GroupService groupService;
 
     /**
@@ -33,7 +32,8 @@ public class AgranimoFiwareIntegrationServiceWrapper {
      * @param zone         the group associated with the soil moisture measurement
      * @param soilMoisture the soil moisture measurement to persist
      */
-    public void persist(Tenant tenant, Zone zone, SoilMoisture soilMoisture) {
+    public void persist(FiwareEntityBatchWriter.Scope scope, Zone zone, SoilMoisture soilMoisture) {
+        var tenant = scope.getTenant();
         var group = groupService.findGroupByTenantAndSensorId(tenant, soilMoisture.getDeviceId());
         if (group.isDefaultGroupForTenant()) {
             log.warn("Looks like the group for the sensor with id {} is not set. We are using the default group for the tenant.", soilMoisture.getDeviceId());
@@ -48,7 +48,7 @@ public class AgranimoFiwareIntegrationServiceWrapper {
                 new EmptyAttribute(),
                 zone.getData().getPoint().getCoordinates()[0],
                 zone.getData().getPoint().getCoordinates()[1]);
-        fiwareEntityIntegrationService.persist(tenant, group, smo1);
+        fiwareEntityBatchWriter.add(scope, group, smo1);
 
         var smo2 = new DeviceMeasurement(
                 tenant.getFiwarePrefix() + soilMoisture.getDeviceId(),
@@ -60,7 +60,7 @@ public class AgranimoFiwareIntegrationServiceWrapper {
                 new EmptyAttribute(),
                 zone.getData().getPoint().getCoordinates()[0],
                 zone.getData().getPoint().getCoordinates()[1]);
-        fiwareEntityIntegrationService.persist(tenant, group, smo2);
+        fiwareEntityBatchWriter.add(scope, group, smo2);
 
         var smo3 = new DeviceMeasurement(
                 tenant.getFiwarePrefix() + soilMoisture.getDeviceId(),
@@ -72,7 +72,7 @@ public class AgranimoFiwareIntegrationServiceWrapper {
                 new EmptyAttribute(),
                 zone.getData().getPoint().getCoordinates()[0],
                 zone.getData().getPoint().getCoordinates()[1]);
-        fiwareEntityIntegrationService.persist(tenant, group, smo3);
+        fiwareEntityBatchWriter.add(scope, group, smo3);
 
         var smo4 = new DeviceMeasurement(
                 tenant.getFiwarePrefix() + soilMoisture.getDeviceId(),
@@ -84,7 +84,7 @@ public class AgranimoFiwareIntegrationServiceWrapper {
                 new EmptyAttribute(),
                 zone.getData().getPoint().getCoordinates()[0],
                 zone.getData().getPoint().getCoordinates()[1]);
-        fiwareEntityIntegrationService.persist(tenant, group, smo4);
+        fiwareEntityBatchWriter.add(scope, group, smo4);
     }
 
 }
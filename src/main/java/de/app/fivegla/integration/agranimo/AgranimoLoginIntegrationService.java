@@ -3,7 +3,7 @@ package de.app.fivegla.integration.agranimo;
 import de.app.fivegla.api.Error;
 import de.app.fivegla.api.ErrorMessage;
 import de.app.fivegla.api.exceptions.BusinessException;
-import de.app.fivegla.integration.agranimo.cache.UserDataCache;
+import de.app.fivegla.integration.VendorTokenCache;
 import de.app.fivegla.integration.agranimo.dto.request.LoginRequest;
 import de.app.fivegla.integration.agranimo.model.Credentials;
 import de.app.fivegla.persistence.entity.ThirdPartyApiConfiguration;
@@ -13,6 +13,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
+
 /**
  * Service for login against the API.
  */
@@ -21,18 +23,16 @@ import org.springframework.web.client.RestTemplate;
 @RequiredArgsConstructor
 public class AgranimoLoginIntegrationService {
 
-    private final UserDataCache userDataCache;
+    private static final Duration ACCESS_TOKEN_VALIDITY = Duration.ofMinutes(60);
+
+    private final VendorTokenCache vendorTokenCache;
     private final RestTemplate restTemplate;
 
     /**
-     * Fetch the access token from the API.
+     * Fetch the access token from the API, the access token is cached per third-party API configuration.
      */
     public String fetchAccessToken(ThirdPartyApiConfiguration thirdPartyApiConfiguration) {
-        if (userDataCache.isExpired()) {
-            return getAccessTokenFromApi(thirdPartyApiConfiguration);
-        } else {
-            return userDataCache.getAccessToken();
-        }
+        return vendorTokenCache.get(thirdPartyApiConfiguration, previous -> getAccessTokenFromApi(thirdPartyApiConfiguration));
     }
 
     /**
@@ -41,7 +41,7 @@ public class AgranimoLoginIntegrationService {
      * @return The access token retrieved from the API.
      * @throws BusinessException If an error occurs while logging in against the API.
      */
-    private String getAccessTokenFromApi(ThirdPartyApiConfiguration thirdPartyApiConfiguration) {
+    private VendorTokenCache.Token<String> getAccessTokenFromApi(ThirdPartyApiConfiguration thirdPartyApiConfiguration) {
         var url = thirdPartyApiConfiguration.getUrl();
         var username = thirdPartyApiConfiguration.getUsername();
         var password = thirdPartyApiConfiguration.getPassword();
@@ -63,8 +63,7 @@ public class AgranimoLoginIntegrationService {
                             .build());
                 } else {
                     log.info("Access token found after successful: {}", credentials.getAccessToken());
-                    userDataCache.setCredentials(credentials);
-                    return credentials.getAccessToken();
+                    return VendorTokenCache.Token.of(credentials.getAccessToken(), ACCESS_TOKEN_VALIDITY);
                 }
             }
         } catch (Exception e) {
@@ -1,8 +1,11 @@
 package de.app.fivegla.integration.agranimo;
 
 import de.app.fivegla.api.Manufacturer;
+import de.app.fivegla.business.ThirdPartyApiConfigurationService;
+import de.app.fivegla.config.ImportExecutorConfiguration;
 import de.app.fivegla.integration.agranimo.model.SoilMoisture;
 import de.app.fivegla.integration.agranimo.model.Zone;
+import de.app.fivegla.integration.fiware.FiwareEntityBatchWriter;
 import de.app.fivegla.monitoring.JobMonitor;
 import de.app.fivegla.persistence.entity.Tenant;
 import de.app.fivegla.persistence.entity.ThirdPartyApiConfiguration;
@@ -14,6 +17,8 @@ import org.springframework.stereotype.Service;
 
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Scheduled data import from Soil Scout API.
@@ -26,42 +31,52 @@ public class AgranimoMeasurementImport {
     private final AgranimoFiwareIntegrationServiceWrapper fiwareIntegrationServiceWrapper;
     private final AgranimoSoilMoistureIntegrationService agranimoSoilMoistureIntegrationService;
     private final AgranimoZoneService agranimoZoneService;
+    private final FiwareEntityBatchWriter fiwareEntityBatchWriter;
+    private final ThirdPartyApiConfigurationService thirdPartyApiConfigurationService;
     private final JobMonitor jobMonitor;
 
     @Value("${app.scheduled.daysInThePastForInitialImport}")
     private int daysInThePastForInitialImport;
 
-    @Async
-    public void run(Tenant tenant, ThirdPartyApiConfiguration thirdPartyApiConfiguration) {
+    @Async(ImportExecutorConfiguration.AGRANIMO)
+    public CompletableFuture<Integer> run(Tenant tenant, ThirdPartyApiConfiguration thirdPartyApiConfiguration) {
         var begin = Instant.now();
+        var scope = fiwareEntityBatchWriter.openScope(tenant);
+        var nrOfMeasurements = new AtomicInteger();
         try {
             if (null != thirdPartyApiConfiguration.getLastRun()) {
                 log.info("Running scheduled data import from Agranimo API");
                 agranimoZoneService.fetchZones(thirdPartyApiConfiguration).forEach(zone -> {
-                    var waterContent = agranimoSoilMoistureIntegrationService.fetchWaterContent(thirdPartyApiConfiguration, zone, thirdPartyApiConfiguration.getLastRun().toInstant());
+                    var waterContent = agranimoSoilMoistureIntegrationService.fetchWaterContent(thirdPartyApiConfiguration, zone, thirdPartyApiConfiguration.getLastRun().toInstant(), begin);
                     jobMonitor.logNrOfEntitiesFetched(Manufacturer.AGRANIMO, waterContent.size());
+                    nrOfMeasurements.addAndGet(waterContent.size());
                     log.info("Found {} water content entries", waterContent.size());
                     log.info("Persisting {} water content entries", waterContent.size());
                     waterContent.forEach(
-                            soilMoisture -> persistDataWithinFiware(tenant, zone, soilMoisture)
+                            soilMoisture -> persistDataWithinFiware(scope, zone, soilMoisture)
                     );
                 });
 
             } else {
                 log.info("Running scheduled data import from Agranimo API");
                 agranimoZoneService.fetchZones(thirdPartyApiConfiguration).forEach(zone -> {
-                    var waterContent = agranimoSoilMoistureIntegrationService.fetchWaterContent(thirdPartyApiConfiguration, zone, Instant.now().minus(daysInThePastForInitialImport, ChronoUnit.DAYS));
+                    var waterContent = agranimoSoilMoistureIntegrationService.fetchWaterContent(thirdPartyApiConfiguration, zone, Instant.now().minus(daysInThePastForInitialImport, ChronoUnit.DAYS), begin);
                     jobMonitor.logNrOfEntitiesFetched(Manufacturer.AGRANIMO, waterContent.size());
+                    nrOfMeasurements.addAndGet(waterContent.size());
                     log.info("Found {} water content entries", waterContent.size());
                     log.info("Persisting {} water content entries", waterContent.size());
                     waterContent.forEach(
-                            soilMoisture -> persistDataWithinFiware(tenant, zone, soilMoisture)
+                            soilMoisture -> persistDataWithinFiware(scope, zone, soilMoisture)
                     );
                 });
             }
+            fiwareEntityBatchWriter.flush(scope).join();
+            thirdPartyApiConfigurationService.updateLastRun(thirdPartyApiConfiguration, begin);
+            return CompletableFuture.completedFuture(nrOfMeasurements.get());
         } catch (Exception e) {
             log.error("Error while running scheduled data import from Agranimo API", e);
             jobMonitor.logErrorDuringExecution(Manufacturer.AGRANIMO);
+            return CompletableFuture.failedFuture(e);
         } finally {
             log.info("Finished scheduled data import from Agranimo API");
             var end = Instant.now();
@@ -70,38 +85,45 @@ public class AgranimoMeasurementImport {
     }
 
     /**
-     * Asynchronously runs the scheduled data import from Agranimo API.
+     * Asynchronously runs the historical data import from Agranimo API for a single chunk of the time range, the last
+     * run is not changed.
      *
      * @param tenant                     The tenant to import data for.
      * @param thirdPartyApiConfiguration The configuration for the third-party API.
      * @param start                      The start time for fetching water content data.
+     * @param end                        The end time for fetching water content data.
+     * @return A future completed once the data has been delivered, completed exceptionally if the import failed.
      */
-    @Async
-    public void run(Tenant tenant, ThirdPartyApiConfiguration thirdPartyApiConfiguration, Instant start) {
+    @Async(ImportExecutorConfiguration.AGRANIMO)
+    public CompletableFuture<Void> run(Tenant tenant, ThirdPartyApiConfiguration thirdPartyApiConfiguration, Instant start, Instant end) {
         var begin = Instant.now();
+        var scope = fiwareEntityBatchWriter.openScope(tenant);
         try {
+            log.info("Running historical data import from Agranimo API from {} to {}", start, end);
             agranimoZoneService.fetchZones(thirdPartyApiConfiguration).forEach(zone -> {
-                var waterContent = agranimoSoilMoistureIntegrationService.fetchWaterContent(thirdPartyApiConfiguration, zone, start);
+                var waterContent = agranimoSoilMoistureIntegrationService.fetchWaterContent(thirdPartyApiConfiguration, zone, start, end);
                 jobMonitor.logNrOfEntitiesFetched(Manufacturer.AGRANIMO, waterContent.size());
                 log.info("Found {} water content entries", waterContent.size());
                 log.info("Persisting {} water content entries", waterContent.size());
                 waterContent.forEach(
-                        soilMoisture -> persistDataWithinFiware(tenant, zone, soilMoisture)
+                        soilMoisture -> persistDataWithinFiware(scope, zone, soilMoisture)
                 );
             });
+            fiwareEntityBatchWriter.flush(scope).join();
+            return CompletableFuture.completedFuture(null);
         } catch (Exception e) {
-            log.error("Error while running scheduled data import from Agranimo API", e);
+            log.error("Error while running historical data import from Agranimo API", e);
             jobMonitor.logErrorDuringExecution(Manufacturer.AGRANIMO);
+            return CompletableFuture.failedFuture(e);
         } finally {
-            log.info("Finished scheduled data import from Agranimo API");
-            var end = Instant.now();
-            jobMonitor.logJobExecutionTime(Manufacturer.AGRANIMO, begin.until(end, ChronoUnit.SECONDS));
+            log.info("Finished historical data import from Agranimo API");
+            jobMonitor.logJobExecutionTime(Manufacturer.AGRANIMO, begin.until(Instant.now(), ChronoUnit.SECONDS));
         }
     }
 
-    private void persistDataWithinFiware(Tenant tenant, Zone zone, SoilMoisture soilMoisture) {
+    private void persistDataWithinFiware(FiwareEntityBatchWriter.Scope scope, Zone zone, SoilMoisture soilMoisture) {
         try {
-            fiwareIntegrationServiceWrapper.persist(tenant, zone, soilMoisture);
+            fiwareIntegrationServiceWrapper.persist(scope, zone, soilMoisture);
         } catch (Exception e) {
             log.error("Error while running scheduled data import from Agranimo API", e);
             jobMonitor.logErrorDuringExecution(Manufacturer.AGRANIMO);
@@ -36,17 +36,17 @@ public class AgranimoSoilMoistureIntegrationService {
      * @param thirdPartyApiConfiguration The configuration for the third party API.
      * @param zone                       The group to fetch the data for.
      * @param since                      The date since to fetch the data.
+     * @param until                      The date until to fetch the data.
      * @return The water content.
      */
-    public List<SoilMoisture> fetchWaterContent(ThirdPartyApiConfiguration thirdPartyApiConfiguration, Zone zone, Instant since) {
-        return fetchAll(thirdPartyApiConfiguration, zone, since);
+    public List<SoilMoisture> fetchWaterContent(ThirdPartyApiConfiguration thirdPartyApiConfiguration, Zone zone, Instant since, Instant until) {
+        return fetchAll(thirdPartyApiConfiguration, zone, since, until);
     }
 
     /**
      * Fetch the soil moisture from the API.
      */
-    private List<SoilMoisture> fetchAll(ThirdPartyApiConfiguration thirdPartyApiConfiguration, Zone zone, Instant since) {
-        var until = Instant.now();
+    private List<SoilMoisture> fetchAll(ThirdPartyApiConfiguration thirdPartyApiConfiguration, Zone zone, Instant since, Instant until) {
         log.info("Fetching soil moisture data for group {}.", zone.getName());
         log.debug("Fetching soil moisture data for group {} from {} to {}.", zone.getId(), since, until);
         try {
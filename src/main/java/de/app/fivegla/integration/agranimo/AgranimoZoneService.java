@@ -3,7 +3,7 @@ package de.app.fivegla.integration.agranimo;
 import de.app.fivegla.api.Error;
 import de.app.fivegla.api.ErrorMessage;
 import de.app.fivegla.api.exceptions.BusinessException;
-import de.app.fivegla.integration.agranimo.cache.UserDataCache;
+import de.app.fivegla.integration.VendorTopologyCache;
 import de.app.fivegla.integration.agranimo.model.Zone;
 import de.app.fivegla.persistence.entity.ThirdPartyApiConfiguration;
 import lombok.RequiredArgsConstructor;
@@ -25,24 +25,27 @@ import java.util.List;
 public class AgranimoZoneService {
 
     private final AgranimoLoginIntegrationService loginService;
-    private final UserDataCache userDataCache;
+    private final VendorTopologyCache vendorTopologyCache;
     private final RestTemplate restTemplate;
 
     /**
-     * Login against the API.
+     * Fetches the zones from the API, the zones are cached by the {@link VendorTopologyCache}.
      */
     public List<Zone> fetchZones(ThirdPartyApiConfiguration thirdPartyApiConfiguration) {
-        if (userDataCache.isExpired()) {
-            try {
+        try {
+            return vendorTopologyCache.get(thirdPartyApiConfiguration, "zones", conditionalHeaders -> {
                 var headers = new HttpHeaders();
                 headers.setAccept(Collections.singletonList(MediaType.APPLICATION_JSON));
                 headers.setBearerAuth(loginService.fetchAccessToken(thirdPartyApiConfiguration));
+                headers.addAll(conditionalHeaders);
                 var httpEntity = new HttpEntity<>(headers);
                 var uri = UriComponentsBuilder.fromHttpUrl(thirdPartyApiConfiguration.getUrl() + "/group")
                         .toUriString();
                 var response = restTemplate.exchange(uri, HttpMethod.GET, httpEntity, Zone[].class);
 
-                if (response.getStatusCode() != HttpStatus.OK) {
+                if (response.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+                    return VendorTopologyCache.Topology.notModified();
+                } else if (response.getStatusCode() != HttpStatus.OK) {
                     log.error("Error while fetching zones from the API. Status code: {}", response.getStatusCode());
                     throw new BusinessException(ErrorMessage.builder()
                             .error(Error.AGRANIMO_COULD_NOT_FETCH_ZONES)
@@ -57,19 +60,16 @@ public class AgranimoZoneService {
                                 .build());
                     } else {
                         log.info("Successfully fetched zones from the API.");
-                        userDataCache.setZones(List.of(zones));
-                        return List.of(zones);
+                        return VendorTopologyCache.Topology.of(List.of(zones), response.getHeaders());
                     }
                 }
-            } catch (Exception e) {
-                log.error("Error while fetching the zones.", e);
-                throw new BusinessException(ErrorMessage.builder()
-                        .error(Error.AGRANIMO_COULD_NOT_FETCH_ZONES)
-                        .message("Could not fetch zones.")
-                        .build());
-            }
-        } else {
-            return userDataCache.getZones();
+            });
+        } catch (Exception e) {
+            log.error("Error while fetching the zones.", e);
+            throw new BusinessException(ErrorMessage.builder()
+                    .error(Error.AGRANIMO_COULD_NOT_FETCH_ZONES)
+                    .message("Could not fetch zones.")
+                    .build());
         }
     }
 
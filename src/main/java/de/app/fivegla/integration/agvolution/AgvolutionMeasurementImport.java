@@ -1,7 +1,10 @@
 package de.app.fivegla.integration.agvolution;
 
 import de.app.fivegla.api.Manufacturer;
+import de.app.fivegla.business.ThirdPartyApiConfigurationService;
+import de.app.fivegla.config.ImportExecutorConfiguration;
 import de.app.fivegla.integration.agvolution.model.SeriesEntry;
+import de.app.fivegla.integration.fiware.FiwareEntityBatchWriter;
 import de.app.fivegla.monitoring.JobMonitor;
 import de.app.fivegla.persistence.entity.Tenant;
 import de.app.fivegla.persistence.entity.ThirdPartyApiConfiguration;
@@ -13,6 +16,7 @@ import org.springframework.stereotype.Service;
 
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Scheduled data import from Agvolution API.
@@ -24,6 +28,8 @@ public class AgvolutionMeasurementImport {
 
     private final AgvolutionSensorDataIntegrationService agvolutionSensorDataIntegrationService;
     private final AgvolutionFiwareIntegrationServiceWrapper agvolutionFiwareIntegrationServiceWrapper;
+    private final FiwareEntityBatchWriter fiwareEntityBatchWriter;
+    private final ThirdPartyApiConfigurationService thirdPartyApiConfigurationService;
     private final JobMonitor jobMonitor;
 
     @Value("${app.scheduled.daysInThePastForInitialImport}")
@@ -31,29 +37,39 @@ public class AgvolutionMeasurementImport {
 
     /**
      * Run scheduled data import.
+     *
+     * @return a future completed with the number of measurements received, completed exceptionally if the import failed
      */
-    @Async
-    public void run(Tenant tenant, ThirdPartyApiConfiguration thirdPartyApiConfiguration) {
+    @Async(ImportExecutorConfiguration.AGVOLUTION)
+    public CompletableFuture<Integer> run(Tenant tenant, ThirdPartyApiConfiguration thirdPartyApiConfiguration) {
         var begin = Instant.now();
+        var scope = fiwareEntityBatchWriter.openScope(tenant);
         try {
+            int nrOfMeasurements;
             if (null != thirdPartyApiConfiguration.getLastRun()) {
                 log.info("Running scheduled data import from Agvolution API");
                 var seriesEntries = agvolutionSensorDataIntegrationService.fetchAll(thirdPartyApiConfiguration, thirdPartyApiConfiguration.getLastRun().toInstant());
                 jobMonitor.logNrOfEntitiesFetched(Manufacturer.AGVOLUTION, seriesEntries.size());
                 log.info("Found {} seriesEntries", seriesEntries.size());
                 log.info("Persisting {} seriesEntries", seriesEntries.size());
-                seriesEntries.forEach(seriesEntry -> persistDataWithinFiware(tenant, seriesEntry));
+                seriesEntries.forEach(seriesEntry -> persistDataWithinFiware(scope, seriesEntry));
+                nrOfMeasurements = seriesEntries.size();
             } else {
                 log.info("Running initial data import from Agvolution API, this may take a while");
                 var seriesEntries = agvolutionSensorDataIntegrationService.fetchAll(thirdPartyApiConfiguration, Instant.now().minus(daysInThePastForInitialImport, ChronoUnit.DAYS));
                 log.info("Found {} seriesEntries", seriesEntries.size());
                 log.info("Persisting {} seriesEntries", seriesEntries.size());
                 jobMonitor.logNrOfEntitiesFetched(Manufacturer.AGVOLUTION, seriesEntries.size());
-                seriesEntries.forEach(seriesEntry -> persistDataWithinFiware(tenant, seriesEntry));
+                seriesEntries.forEach(seriesEntry -> persistDataWithinFiware(scope, seriesEntry));
+                nrOfMeasurements = seriesEntries.size();
             }
+            fiwareEntityBatchWriter.flush(scope).join();
+            thirdPartyApiConfigurationService.updateLastRun(thirdPartyApiConfiguration, begin);
+            return CompletableFuture.completedFuture(nrOfMeasurements);
         } catch (Exception e) {
             log.error("Error while running scheduled data import from Agvolution API", e);
             jobMonitor.logErrorDuringExecution(Manufacturer.AGVOLUTION);
+            return CompletableFuture.failedFuture(e);
         } finally {
             log.info("Finished scheduled data import from Agvolution API");
             var end = Instant.now();
@@ -62,31 +78,37 @@ public class AgvolutionMeasurementImport {
     }
 
     /**
-     * Run historical data import.
+     * Run historical data import, the last run is not changed. The API does not support limiting the end of the time
+     * range, so the data is always imported up to now.
+     *
+     * @return a future completed once the data has been delivered, completed exceptionally if the import failed
      */
-    @Async
-    public void run(Tenant tenant, ThirdPartyApiConfiguration thirdPartyApiConfiguration, Instant start) {
+    @Async(ImportExecutorConfiguration.AGVOLUTION)
+    public CompletableFuture<Void> run(Tenant tenant, ThirdPartyApiConfiguration thirdPartyApiConfiguration, Instant start) {
         var begin = Instant.now();
+        var scope = fiwareEntityBatchWriter.openScope(tenant);
         try {
             log.info("Running historical data import from Agvolution API, this may take a while");
             var seriesEntries = agvolutionSensorDataIntegrationService.fetchAll(thirdPartyApiConfiguration, start);
             log.info("Found {} seriesEntries", seriesEntries.size());
             log.info("Persisting {} seriesEntries", seriesEntries.size());
             jobMonitor.logNrOfEntitiesFetched(Manufacturer.AGVOLUTION, seriesEntries.size());
-            seriesEntries.forEach(seriesEntry -> persistDataWithinFiware(tenant, seriesEntry));
+            seriesEntries.forEach(seriesEntry -> persistDataWithinFiware(scope, seriesEntry));
+            fiwareEntityBatchWriter.flush(scope).join();
+            return CompletableFuture.completedFuture(null);
         } catch (Exception e) {
-            log.error("Error while running scheduled data import from Agvolution API", e);
+            log.error("Error while running historical data import from Agvolution API", e);
             jobMonitor.logErrorDuringExecution(Manufacturer.AGVOLUTION);
+            return CompletableFuture.failedFuture(e);
         } finally {
-            log.info("Finished scheduled data import from Agvolution API");
-            var end = Instant.now();
-            jobMonitor.logJobExecutionTime(Manufacturer.AGVOLUTION, begin.until(end, ChronoUnit.SECONDS));
+            log.info("Finished historical data import from Agvolution API");
+            jobMonitor.logJobExecutionTime(Manufacturer.AGVOLUTION, begin.until(Instant.now(), ChronoUnit.SECONDS));
         }
     }
 
-    private void persistDataWithinFiware(Tenant tenant, SeriesEntry seriesEntry) {
+    private void persistDataWithinFiware(FiwareEntityBatchWriter.Scope scope, SeriesEntry seriesEntry) {
         try {
-            agvolutionFiwareIntegrationServiceWrapper.persist(tenant, seriesEntry);
+            agvolutionFiwareIntegrationServiceWrapper.persist(scope, seriesEntry);
         } catch (Exception e) {
             log.error("Error while running scheduled data import from Agvolution API", e);
             jobMonitor.logErrorDuringExecution(Manufacturer.AGVOLUTION);
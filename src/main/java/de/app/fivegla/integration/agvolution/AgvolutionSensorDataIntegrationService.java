@@ -3,7 +3,9 @@ package de.app.fivegla.integration.agvolution;
 import de.app.fivegla.api.Error;
 import de.app.fivegla.api.ErrorMessage;
 import de.app.fivegla.api.Format;
+import de.app.fivegla.api.Manufacturer;
 import de.app.fivegla.api.exceptions.BusinessException;
+import de.app.fivegla.integration.DeviceFetchExecutor;
 import de.app.fivegla.integration.agvolution.dto.request.QueryRequest;
 import de.app.fivegla.integration.agvolution.dto.response.DeviceTimeseriesDataResponse;
 import de.app.fivegla.integration.agvolution.dto.response.inner.DeviceTimeSeriesEntry;
@@ -22,6 +24,7 @@ import org.springframework.web.client.RestTemplate;
 import java.time.Instant;
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 /**
@@ -59,6 +62,7 @@ public class AgvolutionSensorDataIntegrationService {
     private final AgvolutionSensorIntegrationService agvolutionSensorIntegrationService;
     private final AccessTokenIntegrationService accessTokenIntegrationService;
     private final RestTemplate restTemplate;
+    private final DeviceFetchExecutor deviceFetchExecutor;
 
     /**
      * Fetches all series from the SoilScout API.
@@ -68,8 +72,12 @@ public class AgvolutionSensorDataIntegrationService {
      */
     public List<SeriesEntry> fetchAll(ThirdPartyApiConfiguration thirdPartyApiConfiguration, Instant begin) {
         List<Device> allDevices = agvolutionSensorIntegrationService.fetchAll(thirdPartyApiConfiguration);
+        var accessToken = accessTokenIntegrationService.fetchAccessToken(thirdPartyApiConfiguration);
+        var seriesEntries = deviceFetchExecutor.fetchAll(Manufacturer.AGVOLUTION, thirdPartyApiConfiguration, allDevices,
+                device -> fetchAll(thirdPartyApiConfiguration, accessToken, device, begin));
         return allDevices.stream()
-                .map(device -> fetchAll(thirdPartyApiConfiguration, device, begin))
+                .map(seriesEntries::get)
+                .filter(Objects::nonNull)
                 .flatMap(List::stream)
                 .collect(Collectors.toList());
     }
@@ -80,12 +88,12 @@ public class AgvolutionSensorDataIntegrationService {
      *
      * @return List of sensors.
      */
-    List<SeriesEntry> fetchAll(ThirdPartyApiConfiguration thirdPartyApiConfiguration, Device device, Instant begin) {
+    List<SeriesEntry> fetchAll(ThirdPartyApiConfiguration thirdPartyApiConfiguration, String accessToken, Device device, Instant begin) {
         try {
             var headers = new HttpHeaders();
             headers.setAccept(Collections.singletonList(MediaType.APPLICATION_JSON));
             headers.setContentType(MediaType.APPLICATION_JSON);
-            headers.setBearerAuth(accessTokenIntegrationService.fetchAccessToken(thirdPartyApiConfiguration));
+            headers.setBearerAuth(accessToken);
 
             var httpEntity = new HttpEntity<>(new QueryRequest(String.format(QUERY, device.getId(), Format.format(begin))), headers);
             var response = restTemplate.postForEntity(thirdPartyApiConfiguration.getUrl() + "/devices", httpEntity, DeviceTimeseriesDataResponse.class);
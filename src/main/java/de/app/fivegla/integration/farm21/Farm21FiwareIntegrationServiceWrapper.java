@@ -5,13 +5,8 @@ import de.app.fivegla.api.enums.EntityType;
 import de.app.fivegla.business.GroupService;
 import de.app.fivegla.integration.farm21.model.Sensor;
 import de.app.fivegla.integration.farm21.model.SensorData;
-import de.app.fivegla.integration.fiware.FiwareEntityIntegrationService;
-import de.app.fivegla.integration.fiware.model.DeviceMeasurement;
-import de.app.fivegla.integration.fiware.model.internal.EmptyAttribute;
-import de.app.fivegla.integration.fiware.model.internal.InstantAttribute;
-import de.app.fivegla.integration.fiware.model.internal.NumberAttribute;
-import de.app.fivegla.integration.fiware.model.internal.TextAttribute;
-import de.app.fivegla.persistence.entity.Tenant;
+import de.app.fivegla.integration.fiware.FiwareEntityBatchWriter;
+import de.app.fivegla.integration.fiware.model.MeasurementSeries;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -25,7 +20,14 @@ import java.util.List;
 @Service
 @RequiredArgsConstructor
 public class Farm21FiwareIntegrationServiceWrapper {
-    private final FiwareEntityIntegrationService fiwareEntityIntegrationService;
+
+    /**
+     * The properties of the sensor data, in the order of the columns of the {@link MeasurementSeries}.
+     */
+    static final String[] SENSOR_DATA_PROPERTIES = {"soilMoisture10", "soilMoisture20", "soilMoisture30", "tempNeg10",
+            "humidity", "tempPos10", "battery", "soilTemperature", "airTemperature"};
+
+    private final FiwareEntityBatchWriter fiwareEntityBatchWriter;
     private final GroupService groupService;
 
     /**
@@ -34,120 +36,38 @@ public class Farm21FiwareIntegrationServiceWrapper {
      * @param sensor     the sensor
      * @param sensorData the sensor data to create
      */
-    public void persist(Tenant tenant, Sensor sensor, List<SensorData> sensorData) {
+    public void persist(FiwareEntityBatchWriter.Scope scope, Sensor sensor, List<SensorData> sensorData) {
+        var tenant = scope.getTenant();
         var group = groupService.findGroupByTenantAndSensorId(tenant, String.valueOf(sensor.getId()));
         if (group.isDefaultGroupForTenant()) {
             log.warn("Looks like the group for the sensor with id {} is not set. We are using the default group for the tenant.", sensor.getId());
         }
-        sensorData.forEach(sd -> {
-            var soilMoisture10 = new DeviceMeasurement(
-                    tenant.getFiwarePrefix() + sensor.getId(),
-                    EntityType.FARM21_SENSOR.getKey(),
-                    new TextAttribute(group.getOid()),
-                    new TextAttribute("soilMoisture10"),
-                    new NumberAttribute(sd.getSoilMoisture10()),
-                    new InstantAttribute(sd.getMeasuredAt()),
-                    new EmptyAttribute(),
-                    sd.getLatitude(),
-                    sd.getLongitude());
-            fiwareEntityIntegrationService.persist(tenant, group, soilMoisture10);
-
-            var soilMoisture20 = new DeviceMeasurement(
-                    tenant.getFiwarePrefix() + sensor.getId(),
-                    EntityType.FARM21_SENSOR.getKey(),
-                    new TextAttribute(group.getOid()),
-                    new TextAttribute("soilMoisture20"),
-                    new NumberAttribute(sd.getSoilMoisture20()),
-                    new InstantAttribute(sd.getMeasuredAt()),
-                    new EmptyAttribute(),
-                    sd.getLatitude(),
-                    sd.getLongitude());
-            fiwareEntityIntegrationService.persist(tenant, group, soilMoisture20);
-
-            var soilMoisture30 = new DeviceMeasurement(
-                    tenant.getFiwarePrefix() + sensor.getId(),
-                    EntityType.FARM21_SENSOR.getKey(),
-                    new TextAttribute(group.getOid()),
-                    new TextAttribute("soilMoisture30"),
-                    new NumberAttribute(sd.getSoilMoisture30()),
-                    new InstantAttribute(sd.getMeasuredAt()),
-                    new EmptyAttribute(),
-                    sd.getLatitude(),
-                    sd.getLongitude());
-            fiwareEntityIntegrationService.persist(tenant, group, soilMoisture30);
-
-            var tempNeg10 = new DeviceMeasurement(
-                    tenant.getFiwarePrefix() + sensor.getId(),
-                    EntityType.FARM21_SENSOR.getKey(),
-                    new TextAttribute(group.getOid()),
-                    new TextAttribute("tempNeg10"),
-                    new NumberAttribute(sd.getTempNeg10()),
-                    new InstantAttribute(sd.getMeasuredAt()),
-                    new EmptyAttribute(),
-                    sd.getLatitude(),
-                    sd.getLongitude());
-            fiwareEntityIntegrationService.persist(tenant, group, tempNeg10);
-
-            var humidity = new DeviceMeasurement(
-                    tenant.getFiwarePrefix() + sensor.getId(),
-                    EntityType.FARM21_SENSOR.getKey(),
-                    new TextAttribute(group.getOid()),
-                    new TextAttribute("humidity"),
-                    new NumberAttribute(sd.getHumidity()),
-                    new InstantAttribute(sd.getMeasuredAt()),
-                    new EmptyAttribute(),
-                    sd.getLatitude(),
-                    sd.getLongitude());
-            fiwareEntityIntegrationService.persist(tenant, group, humidity);
-
-            var tempPos10 = new DeviceMeasurement(
-                    tenant.getFiwarePrefix() + sensor.getId(),
-                    EntityType.FARM21_SENSOR.getKey(),
-                    new TextAttribute(group.getOid()),
-                    new TextAttribute("tempPos10"),
-                    new NumberAttribute(sd.getTempPos10()),
-                    new InstantAttribute(sd.getMeasuredAt()),
-                    new EmptyAttribute(),
-                    sd.getLatitude(),
-                    sd.getLongitude());
-            fiwareEntityIntegrationService.persist(tenant, group, tempPos10);
-
-            var battery = new DeviceMeasurement(
-                    tenant.getFiwarePrefix() + sensor.getId(),
-                    EntityType.FARM21_SENSOR.getKey(),
-                    new TextAttribute(group.getOid()),
-                    new TextAttribute("battery"),
-                    new NumberAttribute(sd.getBattery()),
-                    new InstantAttribute(sd.getMeasuredAt()),
-                    new EmptyAttribute(),
-                    sd.getLatitude(),
-                    sd.getLongitude());
-            fiwareEntityIntegrationService.persist(tenant, group, battery);
-
-            var soilTemperature = new DeviceMeasurement(
-                    tenant.getFiwarePrefix() + sensor.getId(),
-                    EntityType.FARM21_SENSOR.getKey(),
-                    new TextAttribute(group.getOid()),
-                    new TextAttribute("soilTemperature"),
-                    new NumberAttribute(sd.getSoilTemperature()),
-                    new InstantAttribute(sd.getMeasuredAt()),
-                    new EmptyAttribute(),
-                    sd.getLatitude(),
-                    sd.getLongitude());
-            fiwareEntityIntegrationService.persist(tenant, group, soilTemperature);
+        fiwareEntityBatchWriter.add(
+                scope,
+                group,
+                tenant.getFiwarePrefix() + sensor.getId(),
+                EntityType.FARM21_SENSOR.getKey(),
+                0.0,
+                0.0,
+                toSeries(sensorData));
+    }
 
-            var airTemperature = new DeviceMeasurement(
-                    tenant.getFiwarePrefix() + sensor.getId(),
-                    EntityType.FARM21_SENSOR.getKey(),
-                    new TextAttribute(group.getOid()),
-                    new TextAttribute("airTemperature"),
-                    new NumberAttribute(sd.getAirTemperature()),
-                    new InstantAttribute(sd.getMeasuredAt()),
-                    new EmptyAttribute(),
-                    sd.getLatitude(),
-                    sd.getLongitude());
-            fiwareEntityIntegrationService.persist(tenant, group, airTemperature);
+    private static MeasurementSeries toSeries(List<SensorData> sensorData) {
+        var series = new MeasurementSeries(SENSOR_DATA_PROPERTIES);
+        sensorData.forEach(sd -> {
+            // The location is part of every measurement.
+            var row = series.addRow(sd.getMeasuredAt().toEpochMilli(), sd.getLatitude(), sd.getLongitude());
+            series.set(row, 0, sd.getSoilMoisture10());
+            series.set(row, 1, sd.getSoilMoisture20());
+            series.set(row, 2, sd.getSoilMoisture30());
+            series.set(row, 3, sd.getTempNeg10());
+            series.set(row, 4, sd.getHumidity());
+            series.set(row, 5, sd.getTempPos10());
+            series.set(row, 6, sd.getBattery());
+            series.set(row, 7, sd.getSoilTemperature());
+            series.set(row, 8, sd.getAirTemperature());
         });
+        return series;
     }
 
 }
@@ -1,6 +1,9 @@
 package de.app.fivegla.integration.farm21;
 
 import de.app.fivegla.api.Manufacturer;
+import de.app.fivegla.business.ImportCheckpoint;
+import de.app.fivegla.business.ImportWatermarkService;
+import de.app.fivegla.config.ImportExecutorConfiguration;
 import de.app.fivegla.integration.farm21.model.Sensor;
 import de.app.fivegla.integration.farm21.model.SensorData;
 import de.app.fivegla.monitoring.JobMonitor;
@@ -15,7 +18,8 @@ import org.springframework.stereotype.Service;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Scheduled data import from Farm21 API.
@@ -27,36 +31,35 @@ public class Farm21MeasurementImport {
 
     private final Farm21SensorDataIntegrationService farm21SensorDataIntegrationService;
     private final Farm21FiwareIntegrationServiceWrapper farm21FiwareIntegrationServiceWrapper;
+    private final ImportWatermarkService importWatermarkService;
     private final JobMonitor jobMonitor;
 
     @Value("${app.scheduled.daysInThePastForInitialImport}")
     private int daysInThePastForInitialImport;
 
     /**
-     * Run scheduled data import.
+     * Run scheduled data import. Every device is imported starting at its watermark.
+     *
+     * @return a future completed with the number of measurements received, completed exceptionally if the import failed
      */
-    @Async
-    public void run(Tenant tenant, ThirdPartyApiConfiguration thirdPartyApiConfiguration) {
+    @Async(ImportExecutorConfiguration.FARM21)
+    public CompletableFuture<Integer> run(Tenant tenant, ThirdPartyApiConfiguration thirdPartyApiConfiguration) {
         var begin = Instant.now();
         try {
+            Instant fallback;
             if (null != thirdPartyApiConfiguration.getLastRun()) {
                 log.info("Running scheduled data import from Farm21 API");
-                var measurements = farm21SensorDataIntegrationService.fetchAll(thirdPartyApiConfiguration, thirdPartyApiConfiguration.getLastRun().toInstant(), Instant.now());
-                jobMonitor.logNrOfEntitiesFetched(Manufacturer.FARM21, measurements.size());
-                log.info("Found {} measurements", measurements.size());
-                log.info("Persisting {} measurements", measurements.size());
-                measurements.entrySet().forEach(sensorListEntry -> persistDataWithinFiware(tenant, sensorListEntry));
+                fallback = thirdPartyApiConfiguration.getLastRun().toInstant();
             } else {
                 log.info("Running initial data import from Farm21 API, this may take a while");
-                var measurements = farm21SensorDataIntegrationService.fetchAll(thirdPartyApiConfiguration, Instant.now().minus(daysInThePastForInitialImport, ChronoUnit.DAYS), Instant.now());
-                log.info("Found {} measurements", measurements.size());
-                log.info("Persisting {} measurements", measurements.size());
-                jobMonitor.logNrOfEntitiesFetched(Manufacturer.FARM21, measurements.size());
-                measurements.entrySet().forEach(sensorListEntry -> persistDataWithinFiware(tenant, sensorListEntry));
+                fallback = Instant.now().minus(daysInThePastForInitialImport, ChronoUnit.DAYS);
             }
+            var nrOfMeasurements = runImport(thirdPartyApiConfiguration, importWatermarkService.resume(tenant, thirdPartyApiConfiguration, fallback), Instant.now());
+            return CompletableFuture.completedFuture(nrOfMeasurements);
         } catch (Exception e) {
             log.error("Error while running scheduled data import from Farm21 API", e);
             jobMonitor.logErrorDuringExecution(Manufacturer.FARM21);
+            return CompletableFuture.failedFuture(e);
         } finally {
             log.info("Finished scheduled data import from Farm21 API");
             var end = Instant.now();
@@ -65,33 +68,44 @@ public class Farm21MeasurementImport {
     }
 
     /**
-     * Run historical data import.
+     * Run historical data import for a single chunk of the time range, the watermarks and the last run are not changed.
+     *
+     * @return a future completed once the data has been delivered, completed exceptionally if the import failed
      */
-    @Async
-    public void run(Tenant tenant, ThirdPartyApiConfiguration thirdPartyApiConfiguration, Instant start) {
+    @Async(ImportExecutorConfiguration.FARM21)
+    public CompletableFuture<Void> run(Tenant tenant, ThirdPartyApiConfiguration thirdPartyApiConfiguration, Instant start, Instant end) {
         var begin = Instant.now();
         try {
-            log.info("Running historical data import from Farm21 API, this may take a while");
-            var measurements = farm21SensorDataIntegrationService.fetchAll(thirdPartyApiConfiguration, start, Instant.now());
-            log.info("Found {} measurements", measurements.size());
-            log.info("Persisting {} measurements", measurements.size());
-            jobMonitor.logNrOfEntitiesFetched(Manufacturer.FARM21, measurements.size());
-            measurements.entrySet().forEach(sensorListEntry -> persistDataWithinFiware(tenant, sensorListEntry));
+            log.info("Running historical data import from Farm21 API from {} to {}", start, end);
+            runImport(thirdPartyApiConfiguration, importWatermarkService.startAt(tenant, thirdPartyApiConfiguration, start), end);
+            return CompletableFuture.completedFuture(null);
         } catch (Exception e) {
-            log.error("Error while running scheduled data import from Farm21 API", e);
+            log.error("Error while running historical data import from Farm21 API", e);
             jobMonitor.logErrorDuringExecution(Manufacturer.FARM21);
+            return CompletableFuture.failedFuture(e);
         } finally {
-            log.info("Finished scheduled data import from Farm21 API");
-            var end = Instant.now();
-            jobMonitor.logJobExecutionTime(Manufacturer.FARM21, begin.until(end, ChronoUnit.SECONDS));
+            log.info("Finished historical data import from Farm21 API");
+            jobMonitor.logJobExecutionTime(Manufacturer.FARM21, begin.until(Instant.now(), ChronoUnit.SECONDS));
         }
     }
 
-    private void persistDataWithinFiware(Tenant tenant, Map.Entry<Sensor, List<SensorData>> entry) {
+    private int runImport(ThirdPartyApiConfiguration thirdPartyApiConfiguration, ImportCheckpoint importCheckpoint, Instant end) {
+        var nrOfMeasurements = new AtomicInteger();
+        var nrOfSensors = farm21SensorDataIntegrationService.fetchAll(thirdPartyApiConfiguration, sensor -> importCheckpoint.from(sensor.getId()), end,
+                (sensor, sensorData) -> {
+                    nrOfMeasurements.addAndGet(sensorData.size());
+                    persistDataWithinFiware(importCheckpoint, sensor, sensorData);
+                });
+        jobMonitor.logNrOfEntitiesFetched(Manufacturer.FARM21, nrOfSensors);
+        log.info("Persisted the data of {} sensors", nrOfSensors);
+        importCheckpoint.finish();
+        return nrOfMeasurements.get();
+    }
+
+    private void persistDataWithinFiware(ImportCheckpoint importCheckpoint, Sensor sensor, List<SensorData> sensorData) {
         try {
-            Sensor key = entry.getKey();
-            List<SensorData> value = entry.getValue();
-            farm21FiwareIntegrationServiceWrapper.persist(tenant, key, value);
+            farm21FiwareIntegrationServiceWrapper.persist(importCheckpoint.getScope(), sensor, sensorData);
+            importCheckpoint.delivered(sensor.getId());
         } catch (Exception e) {
             log.error("Error while running scheduled data import from Farm21 API", e);
             jobMonitor.logErrorDuringExecution(Manufacturer.FARM21);
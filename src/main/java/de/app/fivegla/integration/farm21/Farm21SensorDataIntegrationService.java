@@ -3,7 +3,9 @@ package de.app.fivegla.integration.farm21;
 import de.app.fivegla.api.Error;
 import de.app.fivegla.api.ErrorMessage;
 import de.app.fivegla.api.Format;
+import de.app.fivegla.api.Manufacturer;
 import de.app.fivegla.api.exceptions.BusinessException;
+import de.app.fivegla.integration.DeviceFetchExecutor;
 import de.app.fivegla.integration.farm21.dto.response.SensorDataResponse;
 import de.app.fivegla.integration.farm21.model.Sensor;
 import de.app.fivegla.integration.farm21.model.SensorData;
@@ -21,6 +23,9 @@ import org.springframework.web.util.UriComponentsBuilder;
 
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 
 /**
  * Service to read the sensor data from the API.
@@ -32,37 +37,42 @@ public class Farm21SensorDataIntegrationService {
 
     private final Farm21SensorIntegrationService farm21SensorIntegrationService;
     private final RestTemplate restTemplate;
+    private final DeviceFetchExecutor deviceFetchExecutor;
 
     /**
-     * Fetches all sensor data for all sensors from the Farm21 API.
+     * Fetches all sensor data for all sensors from the Farm21 API. The sensor data of each sensor is passed to the
+     * consumer as soon as it is fetched, while the sensor data of the next sensors is still being fetched.
      *
      * @param thirdPartyApiConfiguration Configuration for the third party API.
-     * @param since                      Start date.
+     * @param since                      Start date, per sensor.
      * @param until                      End date.
-     * @return Map of sensors with sensor data.
+     * @param consumer                   Consumer for the sensor and its sensor data.
+     * @return Number of sensors passed to the consumer.
      */
-    public Map<Sensor, List<SensorData>> fetchAll(ThirdPartyApiConfiguration thirdPartyApiConfiguration, Instant since, Instant until) {
+    public int fetchAll(ThirdPartyApiConfiguration thirdPartyApiConfiguration, Function<Sensor, Instant> since, Instant until, BiConsumer<Sensor, List<SensorData>> consumer) {
+        var processedSensors = new AtomicInteger();
         try {
             var sensors = farm21SensorIntegrationService.fetchAll(thirdPartyApiConfiguration);
             log.debug("Found {} sensors", sensors.size());
-            Map<Sensor, List<SensorData>> sensorsWithSensorData = new HashMap<>();
-            sensors.forEach(sensor -> {
+            return deviceFetchExecutor.fetchAll(Manufacturer.FARM21, thirdPartyApiConfiguration, sensors, sensor -> {
                 log.debug("Processing sensor {}", sensor.getId());
-                var sensorData = fetchAllForSensor(thirdPartyApiConfiguration, sensor.getId(), since, until);
+                var sensorData = fetchAllForSensor(thirdPartyApiConfiguration, sensor.getId(), since.apply(sensor), until);
                 log.debug("Found {} sensor data for sensor {}", sensorData.size(), sensor.getId());
-                if (!sensorData.isEmpty()) {
-                    sensorsWithSensorData.put(sensor, sensorData);
-                } else {
+                if (sensorData.isEmpty()) {
                     log.warn("No sensor data found for sensor {}", sensor.getId());
+                    return null;
                 }
+                return sensorData;
+            }, (sensor, sensorData) -> {
+                consumer.accept(sensor, sensorData);
+                processedSensors.incrementAndGet();
             });
-            return sensorsWithSensorData;
         } catch (RuntimeException e) {
             var errorMessage = ErrorMessage.builder().error(Error.FARM21_COULD_NOT_FETCH_DEVICE_DATA).message("Could not fetch devices for Farm21 API.").build();
             log.error(errorMessage.asDetail());
         }
-        log.warn("Could not fetch devices for Farm21 API, therefore returning empty map of device data.");
-        return Collections.emptyMap();
+        log.warn("Could not fetch all devices for Farm21 API, the sensor data of {} sensors has been processed.", processedSensors.get());
+        return processedSensors.get();
     }
 
     private List<SensorData> fetchAllForSensor(ThirdPartyApiConfiguration thirdPartyApiConfiguration, int sensorId, Instant since, Instant until) {
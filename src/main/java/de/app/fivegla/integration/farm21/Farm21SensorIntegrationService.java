@@ -2,6 +2,7 @@ package de.app.fivegla.integration.farm21;
 
 import de.app.fivegla.api.Error;
 import de.app.fivegla.api.ErrorMessage;
+import de.app.fivegla.integration.VendorTopologyCache;
 import de.app.fivegla.integration.farm21.model.Sensor;
 import de.app.fivegla.persistence.entity.ThirdPartyApiConfiguration;
 import lombok.RequiredArgsConstructor;
@@ -9,6 +10,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
@@ -26,9 +28,10 @@ import java.util.Objects;
 public class Farm21SensorIntegrationService {
 
     private final RestTemplate restTemplate;
+    private final VendorTopologyCache vendorTopologyCache;
 
     /**
-     * Fetches all sensors from the SoilScout API.
+     * Fetches all sensors from the Farm21 API, the sensors are cached by the {@link VendorTopologyCache}.
      *
      * @return List of sensors.
      */
@@ -36,14 +39,21 @@ public class Farm21SensorIntegrationService {
         var url = thirdPartyApiConfiguration.getUrl();
         var accessToken = thirdPartyApiConfiguration.getApiToken();
         try {
-            var headers = new HttpHeaders();
-            headers.setAccept(Collections.singletonList(MediaType.APPLICATION_JSON));
-            headers.setBearerAuth(accessToken);
-            var httpEntity = new HttpEntity<String>(headers);
-            var response = restTemplate.exchange(url + "/organisation/sensors", HttpMethod.GET, httpEntity, Sensor[].class);
-            if (response.getStatusCode().is2xxSuccessful()) {
-                return List.of(Objects.requireNonNull(response.getBody()));
-            }
+            // The empty list returned on errors is not cached, the sensors are fetched again on the next import.
+            return vendorTopologyCache.get(thirdPartyApiConfiguration, "sensors", conditionalHeaders -> {
+                var headers = new HttpHeaders();
+                headers.setAccept(Collections.singletonList(MediaType.APPLICATION_JSON));
+                headers.setBearerAuth(accessToken);
+                headers.addAll(conditionalHeaders);
+                var httpEntity = new HttpEntity<String>(headers);
+                var response = restTemplate.exchange(url + "/organisation/sensors", HttpMethod.GET, httpEntity, Sensor[].class);
+                if (response.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+                    return VendorTopologyCache.Topology.notModified();
+                } else if (response.getStatusCode().is2xxSuccessful()) {
+                    return VendorTopologyCache.Topology.of(List.of(Objects.requireNonNull(response.getBody())), response.getHeaders());
+                }
+                throw new IllegalStateException("Unexpected status code " + response.getStatusCode() + " while fetching the sensors.");
+            });
         } catch (RuntimeException e) {
             var errorMessage = ErrorMessage.builder().error(Error.FARM21_COULD_NOT_FETCH_DEVICES).message("Could not fetch devices for Farm21 API.").build();
             log.error(errorMessage.asDetail());
@@ -2,15 +2,52 @@ package de.app.fivegla.integration.fiware;
 
 import lombok.extern.slf4j.Slf4j;
 
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
 /**
  * Abstract integration service.
  */
 @Slf4j
 public abstract class AbstractIntegrationService {
+
     private final String contextBrokerUrl;
+    private final HttpClient httpClient;
+    private final ContextBrokerLimiter contextBrokerLimiter;
+    private final Duration requestTimeout;
 
-    public AbstractIntegrationService(String contextBrokerUrl) {
+    public AbstractIntegrationService(String contextBrokerUrl, HttpClient httpClient, ContextBrokerLimiter contextBrokerLimiter, Duration requestTimeout) {
         this.contextBrokerUrl = contextBrokerUrl;
+        this.httpClient = httpClient;
+        this.contextBrokerLimiter = contextBrokerLimiter;
+        this.requestTimeout = requestTimeout;
+    }
+
+    /**
+     * Creates the long-lived HTTP client shared by all services talking to the context broker.
+     * The client keeps connections alive between requests and uses HTTP/2 multiplexing in case the
+     * context broker supports it, otherwise the client falls back to HTTP/1.1.
+     * How long idle connections are kept in the pool is a JVM-wide setting of the JDK, it is set once at startup by
+     * the {@link de.app.fivegla.config.HttpClientKeepAliveInitializer}.
+     *
+     * @param version        the preferred HTTP version
+     * @param connectTimeout the timeout for establishing a connection
+     * @param executor       the executor used for the asynchronous tasks of the client
+     * @return the HTTP client
+     */
+    public static HttpClient createHttpClient(HttpClient.Version version, Duration connectTimeout, Executor executor) {
+        return HttpClient.newBuilder()
+                .version(version)
+                .connectTimeout(connectTimeout)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .executor(executor)
+                .build();
     }
 
     /**
@@ -31,5 +68,107 @@ public abstract class AbstractIntegrationService {
         return contextBrokerUrl + "/v2";
     }
 
+    /**
+     * Sends the request using the shared HTTP client, the request is subject to the concurrency limit and the
+     * circuit breaker of the context broker.
+     *
+     * @param httpRequest the request
+     * @return the response
+     * @throws IOException          if the request could not be sent or the response could not be received
+     * @throws InterruptedException if the thread was interrupted while waiting for the response
+     */
+    HttpResponse<String> execute(HttpRequest httpRequest) throws IOException, InterruptedException {
+        var permit = contextBrokerLimiter.acquire();
+        try {
+            var response = httpClient.send(httpRequest, HttpResponse.BodyHandlers.ofString());
+            permit.onResponse(response.statusCode());
+            return response;
+        } catch (InterruptedException e) {
+            permit.onIgnore();
+            throw e;
+        } catch (IOException | RuntimeException e) {
+            permit.onError();
+            throw e;
+        }
+    }
+
+    /**
+     * Sends the request asynchronously using the shared HTTP client. Blocks until the concurrency limit of the
+     * context broker allows the request.
+     *
+     * @param httpRequest the request
+     * @return a future that completes with the response
+     */
+    CompletableFuture<HttpResponse<String>> executeAsync(HttpRequest httpRequest) {
+        return executeAsync(httpRequest, contextBrokerLimiter.acquire());
+    }
+
+    /**
+     * Sends the request asynchronously using the shared HTTP client, if the concurrency limit of the context broker
+     * allows the request right away. Does not block.
+     *
+     * @param httpRequest the request
+     * @return a future that completes with the response, null if no request slot is free
+     */
+    CompletableFuture<HttpResponse<String>> tryExecuteAsync(HttpRequest httpRequest) {
+        var permit = contextBrokerLimiter.tryAcquire();
+        return null != permit ? executeAsync(httpRequest, permit) : null;
+    }
+
+    private CompletableFuture<HttpResponse<String>> executeAsync(HttpRequest httpRequest, ContextBrokerLimiter.Permit permit) {
+        try {
+            return httpClient.sendAsync(httpRequest, HttpResponse.BodyHandlers.ofString())
+                    .whenComplete((response, throwable) -> {
+                        if (null != throwable) {
+                            permit.onError();
+                        } else {
+                            permit.onResponse(response.statusCode());
+                        }
+                    });
+        } catch (RuntimeException e) {
+            permit.onError();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the maximum time to wait for a request slot of the context broker.
+     *
+     * @return the maximum wait time
+     */
+    Duration maxWait() {
+        return contextBrokerLimiter.getMaxWait();
+    }
+
+    /**
+     * Returns whether the circuit breaker of the context broker currently lets requests through.
+     *
+     * @return true if requests are permitted
+     */
+    boolean isContextBrokerAvailable() {
+        return contextBrokerLimiter.isCallPermitted();
+    }
+
+    /**
+     * Returns whether the circuit breaker of the context broker is closed, otherwise only a single probe request is let
+     * through.
+     *
+     * @return true if the circuit breaker is closed
+     */
+    boolean isContextBrokerHealthy() {
+        return contextBrokerLimiter.isClosed();
+    }
+
+    /**
+     * Creates a new request builder for the given URI with the configured request timeout.
+     *
+     * @param uri the URI of the request
+     * @return the request builder
+     */
+    HttpRequest.Builder newRequestBuilder(String uri) {
+        return HttpRequest.newBuilder()
+                .uri(URI.create(uri))
+                .timeout(requestTimeout);
+    }
 
 }
@@ -0,0 +1,397 @@
+package de.app.fivegla.integration.fiware;
+
+import de.app.fivegla.api.Error;
+import de.app.fivegla.api.ErrorMessage;
+import de.app.fivegla.api.exceptions.BusinessException;
+import de.app.fivegla.monitoring.Metrics;
+import io.prometheus.client.CollectorRegistry;
+import io.prometheus.client.Counter;
+import io.prometheus.client.Gauge;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Adaptive concurrency limiter and circuit breaker for all requests to the context broker.
+ * <p>
+ * The limit grows additively as long as the latency stays close to the long-term average latency and
+ * shrinks multiplicatively (AIMD) if the latency climbs above the tolerated ratio or the context broker answers
+ * with a server error or not at all. Callers wait until a request slot is free, at most for the maximum wait time.
+ * </p>
+ * <p>
+ * The circuit breaker opens if the failure rate within the sliding window of the last requests exceeds the
+ * threshold. While open, all requests are rejected immediately. After the open duration the next call of
+ * {@link #acquire()} gets the permit of a single probe request, only the outcome of the probe closes the circuit again
+ * or keeps it open. Requests that were already in flight when the circuit opened do not change its state.
+ * </p>
+ */
+@Slf4j
+public class ContextBrokerLimiter {
+
+    /**
+     * Weight of a new latency sample within the long-term average latency.
+     */
+    private static final double LONG_TERM_LATENCY_WEIGHT = 0.05;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final double latencyTolerance;
+    private final Duration maxWait;
+    private final double failureRateThreshold;
+    private final Duration openDuration;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition slotAvailable = lock.newCondition();
+    private final boolean[] outcomes;
+    private double limit;
+    private int inFlight;
+    private double longTermLatencyNanos;
+    private int recordedOutcomes;
+    private int failures;
+    private int nextOutcome;
+    private State state = State.CLOSED;
+    private long openedAtNanos;
+    private boolean probeInFlight;
+
+    private final Gauge limitGauge;
+    private final Gauge inFlightGauge;
+    private final Gauge stateGauge;
+    private final Counter rejectedRequests;
+
+    public ContextBrokerLimiter(CollectorRegistry registry,
+                                int initialLimit,
+                                int minLimit,
+                                int maxLimit,
+                                double backoffRatio,
+                                double latencyTolerance,
+                                Duration maxWait,
+                                int slidingWindowSize,
+                                double failureRateThreshold,
+                                Duration openDuration) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.latencyTolerance = latencyTolerance;
+        this.maxWait = maxWait;
+        this.failureRateThreshold = failureRateThreshold;
+        this.openDuration = openDuration;
+        this.outcomes = new boolean[slidingWindowSize];
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.limitGauge = Gauge.build(Metrics.FIWARE_LIMITER_PREFIX + "limit",
+                        "Number of concurrent requests currently allowed for the context broker")
+                .register(registry);
+        this.inFlightGauge = Gauge.build(Metrics.FIWARE_LIMITER_PREFIX + "in_flight",
+                        "Number of requests to the context broker in flight")
+                .register(registry);
+        this.stateGauge = Gauge.build(Metrics.FIWARE_LIMITER_PREFIX + "circuit_state",
+                        "State of the circuit breaker for the context broker, 0 = closed, 1 = open, 2 = half open")
+                .register(registry);
+        this.rejectedRequests = Counter.build(Metrics.FIWARE_LIMITER_PREFIX + "rejected_requests",
+                        "Number of requests to the context broker rejected by the limiter")
+                .labelNames("reason")
+                .register(registry);
+        limitGauge.set(limit);
+    }
+
+    /**
+     * Acquires a request slot, waits until a slot is free or the maximum wait time has elapsed. Once the open duration
+     * of the circuit has elapsed, the first caller gets the permit of the probe request and the circuit is half open
+     * until the probe is released.
+     *
+     * @return the permit, must be released once the request is finished
+     * @throws BusinessException if the circuit is open or no slot is free within the maximum wait time
+     */
+    public Permit acquire() {
+        return acquire(maxWait.toNanos(), true);
+    }
+
+    /**
+     * Acquires a request slot without waiting, see {@link #acquire()}.
+     *
+     * @return the permit, must be released once the request is finished, null if no slot is free
+     * @throws BusinessException if the circuit is open
+     */
+    public Permit tryAcquire() {
+        return acquire(0, false);
+    }
+
+    private Permit acquire(long maxWaitNanos, boolean rejectIfNoSlotIsFree) {
+        lock.lock();
+        try {
+            var probe = false;
+            if (state != State.CLOSED) {
+                if (!isProbeDue()) {
+                    reject("circuit_open", "The context broker is currently unavailable, the circuit breaker is open.");
+                }
+                log.info("Circuit breaker for the context broker is half open, sending probe request.");
+                transitionTo(State.HALF_OPEN);
+                probeInFlight = true;
+                probe = true;
+            } else {
+                var remainingNanos = maxWaitNanos;
+                while (inFlight >= (int) limit) {
+                    if (remainingNanos <= 0) {
+                        if (!rejectIfNoSlotIsFree) {
+                            return null;
+                        }
+                        reject("limit_exceeded", "Too many requests to the context broker, no request slot available.");
+                    }
+                    remainingNanos = slotAvailable.awaitNanos(remainingNanos);
+                    if (state != State.CLOSED) {
+                        reject("circuit_open", "The context broker is currently unavailable, the circuit breaker is open.");
+                    }
+                }
+            }
+            inFlight++;
+            inFlightGauge.set(inFlight);
+            return new Permit(inFlight, System.nanoTime(), probe);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException(ErrorMessage.builder()
+                    .message("Interrupted while waiting for a request slot for the context broker.")
+                    .error(Error.FIWARE_CONTEXT_BROKER_UNAVAILABLE)
+                    .build());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns whether the circuit breaker currently lets requests through, i.e. it is closed or the probe request is
+     * due. Does not block and does not change the state of the circuit breaker.
+     *
+     * @return true if requests are permitted
+     */
+    public boolean isCallPermitted() {
+        lock.lock();
+        try {
+            return state == State.CLOSED || isProbeDue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns whether the circuit breaker is closed, i.e. requests are not limited to a single probe request.
+     *
+     * @return true if the circuit breaker is closed
+     */
+    public boolean isClosed() {
+        lock.lock();
+        try {
+            return state == State.CLOSED;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean isProbeDue() {
+        return switch (state) {
+            case CLOSED -> false;
+            case OPEN -> System.nanoTime() - openedAtNanos >= openDuration.toNanos();
+            case HALF_OPEN -> !probeInFlight;
+        };
+    }
+
+    /**
+     * Returns the maximum time callers wait for a request slot.
+     *
+     * @return the maximum wait time
+     */
+    public Duration getMaxWait() {
+        return maxWait;
+    }
+
+    /**
+     * Returns the current concurrency limit.
+     *
+     * @return the current limit
+     */
+    public int getLimit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void reject(String reason, String message) {
+        rejectedRequests.labels(reason).inc();
+        log.warn(message);
+        throw new BusinessException(ErrorMessage.builder()
+                .message(message)
+                .error(Error.FIWARE_CONTEXT_BROKER_UNAVAILABLE)
+                .build());
+    }
+
+    private void release(Permit permit, Outcome outcome) {
+        var latencyNanos = System.nanoTime() - permit.startNanos;
+        lock.lock();
+        try {
+            inFlight--;
+            inFlightGauge.set(inFlight);
+            switch (outcome) {
+                case SUCCESS -> onSuccess(permit, latencyNanos);
+                case DROPPED -> onDropped(permit);
+                case IGNORED -> {
+                    if (permit.probe && state == State.HALF_OPEN) {
+                        probeInFlight = false;
+                    }
+                }
+            }
+            slotAvailable.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void onSuccess(Permit permit, long latencyNanos) {
+        if (longTermLatencyNanos == 0) {
+            longTermLatencyNanos = latencyNanos;
+        }
+        if (latencyNanos > longTermLatencyNanos * latencyTolerance) {
+            decreaseLimit();
+        } else if (permit.inFlight * 2 >= limit) {
+            // Only grow if the limit was actually used, otherwise an idle limiter would grow without bounds.
+            updateLimit(limit + 1 / limit);
+        }
+        longTermLatencyNanos += (latencyNanos - longTermLatencyNanos) * LONG_TERM_LATENCY_WEIGHT;
+        if (permit.probe) {
+            if (state == State.HALF_OPEN) {
+                log.info("Probe request to the context broker succeeded, closing circuit breaker.");
+                resetOutcomes();
+                transitionTo(State.CLOSED);
+            }
+        } else if (state == State.CLOSED) {
+            recordOutcome(false);
+        }
+    }
+
+    private void onDropped(Permit permit) {
+        decreaseLimit();
+        if (permit.probe) {
+            if (state == State.HALF_OPEN) {
+                log.warn("Probe request to the context broker failed, opening circuit breaker again.");
+                open();
+            }
+        } else if (state == State.CLOSED) {
+            recordOutcome(true);
+            if (recordedOutcomes == outcomes.length && failures >= failureRateThreshold * outcomes.length) {
+                log.error("{} of the last {} requests to the context broker failed, opening circuit breaker for {}.", failures, outcomes.length, openDuration);
+                open();
+            }
+        }
+    }
+
+    private void decreaseLimit() {
+        updateLimit(limit * backoffRatio);
+    }
+
+    private void updateLimit(double newLimit) {
+        var oldLimit = (int) limit;
+        limit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+        if (oldLimit != (int) limit) {
+            log.debug("Concurrency limit for the context broker changed from {} to {}.", oldLimit, (int) limit);
+        }
+        limitGauge.set(limit);
+    }
+
+    private void recordOutcome(boolean failure) {
+        if (recordedOutcomes == outcomes.length) {
+            if (outcomes[nextOutcome]) {
+                failures--;
+            }
+        } else {
+            recordedOutcomes++;
+        }
+        outcomes[nextOutcome] = failure;
+        if (failure) {
+            failures++;
+        }
+        nextOutcome = (nextOutcome + 1) % outcomes.length;
+    }
+
+    private void resetOutcomes() {
+        recordedOutcomes = 0;
+        failures = 0;
+        nextOutcome = 0;
+    }
+
+    private void open() {
+        openedAtNanos = System.nanoTime();
+        resetOutcomes();
+        transitionTo(State.OPEN);
+        slotAvailable.signalAll();
+    }
+
+    private void transitionTo(State newState) {
+        state = newState;
+        probeInFlight = false;
+        stateGauge.set(newState.ordinal());
+    }
+
+    private enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private enum Outcome {
+        SUCCESS,
+        DROPPED,
+        IGNORED
+    }
+
+    /**
+     * Request slot, released exactly once when the request is finished.
+     */
+    public final class Permit {
+        private final int inFlight;
+        private final long startNanos;
+        private final boolean probe;
+        private boolean released;
+
+        private Permit(int inFlight, long startNanos, boolean probe) {
+            this.inFlight = inFlight;
+            this.startNanos = startNanos;
+            this.probe = probe;
+        }
+
+        /**
+         * Releases the slot after the context broker answered. Server errors and 429 count as overload of the
+         * context broker, all other status codes as success since they are caused by the request itself.
+         *
+         * @param statusCode the status code of the response
+         */
+        public void onResponse(int statusCode) {
+            complete(statusCode >= 500 || statusCode == 429 ? Outcome.DROPPED : Outcome.SUCCESS);
+        }
+
+        /**
+         * Releases the slot after the request failed without a response, e.g. due to a timeout.
+         */
+        public void onError() {
+            complete(Outcome.DROPPED);
+        }
+
+        /**
+         * Releases the slot without affecting the limit, e.g. if the request was interrupted.
+         */
+        public void onIgnore() {
+            complete(Outcome.IGNORED);
+        }
+
+        private synchronized void complete(Outcome outcome) {
+            if (!released) {
+                released = true;
+                release(this, outcome);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,233 @@
+package de.app.fivegla.integration.fiware;
+
+import de.app.fivegla.integration.fiware.model.DeviceMeasurement;
+import de.app.fivegla.integration.fiware.model.MeasurementSeries;
+import de.app.fivegla.integration.fiware.model.api.FiwareEntity;
+import de.app.fivegla.integration.fiware.model.internal.Attribute;
+import de.app.fivegla.integration.fiware.model.internal.DateAttribute;
+import de.app.fivegla.integration.fiware.model.internal.EmptyAttribute;
+import de.app.fivegla.integration.fiware.model.internal.InstantAttribute;
+import de.app.fivegla.integration.fiware.model.internal.NumberAttribute;
+import de.app.fivegla.integration.fiware.model.internal.TextAttribute;
+import de.app.fivegla.monitoring.Metrics;
+import io.prometheus.client.CollectorRegistry;
+import io.prometheus.client.Counter;
+import io.prometheus.client.Gauge;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory index of the device measurements that were already delivered to the context broker, used to skip
+ * measurements that are imported again due to overlapping import windows.
+ * <p>
+ * A measurement is identified by a 64-bit fingerprint of the tenant, the entity id, the measured property,
+ * the date of the measurement and the measured value. The fingerprints are stored within two generations of
+ * primitive hash sets, once the current generation is full the older one is discarded. The memory used is therefore
+ * bounded by twice the capacity, the index forgets the oldest measurements first.
+ * </p>
+ */
+@Slf4j
+public class DeliveredMeasurementIndex {
+
+    private static final long EMPTY = 0L;
+    private static final long GOLDEN_RATIO = 0x9E3779B97F4A7C15L;
+
+    private final boolean enabled;
+    private final int capacity;
+    private LongHashSet current;
+    private LongHashSet previous;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Gauge size;
+
+    public DeliveredMeasurementIndex(CollectorRegistry registry, boolean enabled, int capacity) {
+        this.enabled = enabled;
+        this.capacity = capacity;
+        this.current = new LongHashSet(enabled ? capacity : 0);
+        this.previous = new LongHashSet(0);
+        this.hits = Counter.build(Metrics.FIWARE_DEDUPLICATION_PREFIX + "hits",
+                        "Number of measurements skipped because they were already delivered to the context broker")
+                .register(registry);
+        this.misses = Counter.build(Metrics.FIWARE_DEDUPLICATION_PREFIX + "misses",
+                        "Number of measurements not yet delivered to the context broker")
+                .register(registry);
+        this.size = Gauge.build(Metrics.FIWARE_DEDUPLICATION_PREFIX + "size",
+                        "Number of fingerprints within the index of delivered measurements")
+                .register(registry);
+    }
+
+    /**
+     * Calculates the fingerprint of the entity, if the entity can be deduplicated.
+     *
+     * @param tenantId the id of the tenant
+     * @param entity   the entity
+     * @return the fingerprint or 0 if the entity is not deduplicated
+     */
+    public long fingerprint(String tenantId, FiwareEntity entity) {
+        if (!enabled) {
+            return EMPTY;
+        }
+        if (entity instanceof DeviceMeasurement measurement) {
+            return fingerprint(tenantId, measurement.id(), measurement.type(), hash(measurement.group()), hash(measurement.name()),
+                    hash(measurement.controlledProperty()), hash(measurement.dateCreated()), hash(measurement.externalDataReference()),
+                    measurement.latitude(), measurement.longitude());
+        } else if (entity instanceof MeasurementSeries.Cursor cursor) {
+            // Same fingerprint as for the device measurement the cursor points to, without creating it.
+            var timestamp = cursor.timestamp();
+            return fingerprint(tenantId, cursor.getId(), cursor.getType(), hash(cursor.group()), hash(cursor.name()),
+                    Double.doubleToLongBits(cursor.value()),
+                    mix(Math.floorDiv(timestamp, 1000L), Math.floorMod(timestamp, 1000L) * 1_000_000L),
+                    EMPTY, cursor.latitude(), cursor.longitude());
+        }
+        return EMPTY;
+    }
+
+    private static long fingerprint(String tenantId, String id, String type, long group, long name, long value,
+                                    long dateCreated, long externalDataReference, double latitude, double longitude) {
+        var hash = mix(GOLDEN_RATIO, hash(tenantId));
+        hash = mix(hash, hash(id));
+        hash = mix(hash, hash(type));
+        hash = mix(hash, group);
+        hash = mix(hash, name);
+        hash = mix(hash, value);
+        hash = mix(hash, dateCreated);
+        hash = mix(hash, externalDataReference);
+        hash = mix(hash, Double.doubleToLongBits(latitude));
+        hash = mix(hash, Double.doubleToLongBits(longitude));
+        hash = fmix64(hash);
+        return hash == EMPTY ? 1L : hash;
+    }
+
+    /**
+     * Checks whether the measurement with the given fingerprint was already delivered.
+     *
+     * @param fingerprint the fingerprint, see {@link #fingerprint(String, FiwareEntity)}
+     * @return true if the measurement was already delivered
+     */
+    public synchronized boolean isDelivered(long fingerprint) {
+        if (fingerprint == EMPTY) {
+            return false;
+        }
+        if (current.contains(fingerprint) || previous.contains(fingerprint)) {
+            hits.inc();
+            return true;
+        }
+        misses.inc();
+        return false;
+    }
+
+    /**
+     * Marks the measurements with the given fingerprints as delivered.
+     *
+     * @param fingerprints the fingerprints
+     * @param count        the number of valid fingerprints within the array
+     */
+    public synchronized void markDelivered(long[] fingerprints, int count) {
+        if (!enabled) {
+            return;
+        }
+        for (int i = 0; i < count; i++) {
+            var fingerprint = fingerprints[i];
+            if (fingerprint == EMPTY || previous.contains(fingerprint)) {
+                continue;
+            }
+            if (current.size() >= capacity) {
+                log.debug("Index of delivered measurements is full, discarding the oldest {} fingerprints.", previous.size());
+                previous = current;
+                current = new LongHashSet(capacity);
+            }
+            current.add(fingerprint);
+        }
+        size.set(current.size() + previous.size());
+    }
+
+    private static long hash(Attribute attribute) {
+        if (attribute instanceof NumberAttribute number) {
+            return Double.doubleToLongBits(number.value());
+        } else if (attribute instanceof TextAttribute text) {
+            return hash(text.value());
+        } else if (attribute instanceof InstantAttribute instant) {
+            return null == instant.value() ? EMPTY : mix(instant.value().getEpochSecond(), instant.value().getNano());
+        } else if (attribute instanceof DateAttribute date) {
+            return null == date.value() ? EMPTY : date.value().getTime();
+        } else if (attribute instanceof EmptyAttribute || null == attribute) {
+            return EMPTY;
+        }
+        return hash(attribute.asJson());
+    }
+
+    /**
+     * 64-bit FNV-1a hash of the characters.
+     */
+    private static long hash(String value) {
+        if (null == value) {
+            return EMPTY;
+        }
+        var hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001B3L;
+        }
+        return hash;
+    }
+
+    private static long mix(long hash, long value) {
+        return (hash ^ fmix64(value)) * GOLDEN_RATIO;
+    }
+
+    /**
+     * Finalization step of MurmurHash3, spreads the bits of the value.
+     */
+    private static long fmix64(long value) {
+        value ^= value >>> 33;
+        value *= 0xFF51AFD7ED558CCDL;
+        value ^= value >>> 33;
+        value *= 0xC4CEB9FE1A85EC53L;
+        value ^= value >>> 33;
+        return value;
+    }
+
+    /**
+     * Open addressing hash set of primitive longs with linear probing, 0 marks an empty slot.
+     */
+    private static final class LongHashSet {
+        private final long[] slots;
+        private final int mask;
+        private int size;
+
+        private LongHashSet(int capacity) {
+            // Keep the load factor at or below 0.5, so probe sequences stay short.
+            var length = Integer.highestOneBit(Math.max(2, capacity) * 2 - 1) << 1;
+            this.slots = new long[length];
+            this.mask = length - 1;
+        }
+
+        private boolean contains(long value) {
+            var index = (int) value & mask;
+            while (slots[index] != EMPTY) {
+                if (slots[index] == value) {
+                    return true;
+                }
+                index = (index + 1) & mask;
+            }
+            return false;
+        }
+
+        private void add(long value) {
+            var index = (int) value & mask;
+            while (slots[index] != EMPTY) {
+                if (slots[index] == value) {
+                    return;
+                }
+                index = (index + 1) & mask;
+            }
+            slots[index] = value;
+            size++;
+        }
+
+        private int size() {
+            return size;
+        }
+    }
+
+}
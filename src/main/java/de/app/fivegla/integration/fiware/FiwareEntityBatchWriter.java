@@ -0,0 +1,309 @@
+package de.app.fivegla.integration.fiware;
+
+import de.app.fivegla.integration.fiware.api.FiwareEntityChecker;
+import de.app.fivegla.integration.fiware.api.FiwareJsonWriter;
+import de.app.fivegla.integration.fiware.model.MeasurementSeries;
+import de.app.fivegla.integration.fiware.model.api.FiwareEntity;
+import de.app.fivegla.integration.fiware.request.UpdateOrCreateFiwareEntitiesRequest;
+import de.app.fivegla.persistence.entity.Group;
+import de.app.fivegla.persistence.entity.Tenant;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Collects entities for the context broker and sends them using batch update operations.
+ * Every import adds its entities within its own {@link Scope}, entities are grouped by scope and service path. A batch
+ * is sent as soon as it reaches the maximum number of entities or the maximum (approximate) size in bytes. Batches that
+ * are not full are sent after the maximum delay or when the import calls {@link #flush(Scope)}, which waits for all
+ * requests of the scope, but not for the requests of other imports of the same tenant.
+ * Batches are stored within the {@link FiwareOutbox} if it is enabled, otherwise they are sent asynchronously and the
+ * number of requests in flight is limited per tenant by the {@link FiwareEntityIntegrationService}.
+ * Measurements that were already delivered are skipped using the {@link DeliveredMeasurementIndex}, they are marked as
+ * delivered once the batch is stored within the outbox or accepted by the context broker.
+ */
+@Slf4j
+public class FiwareEntityBatchWriter {
+
+    private static final int MAX_POOLED_WRITERS = 32;
+    private static final int INITIAL_WRITER_CAPACITY = 64 * 1024;
+
+    private final FiwareEntityIntegrationService fiwareEntityIntegrationService;
+    private final FiwareOutbox fiwareOutbox;
+    private final DeliveredMeasurementIndex deliveredMeasurementIndex;
+    private final int maxEntities;
+    private final int maxBytes;
+    private final Duration maxDelay;
+    private final Map<BatchKey, Batch> batches = new ConcurrentHashMap<>();
+    private final Queue<FiwareJsonWriter> writers = new ArrayBlockingQueue<>(MAX_POOLED_WRITERS);
+
+    public FiwareEntityBatchWriter(FiwareEntityIntegrationService fiwareEntityIntegrationService,
+                                   FiwareOutbox fiwareOutbox,
+                                   DeliveredMeasurementIndex deliveredMeasurementIndex,
+                                   int maxEntities,
+                                   int maxBytes,
+                                   Duration maxDelay) {
+        this.fiwareEntityIntegrationService = fiwareEntityIntegrationService;
+        this.fiwareOutbox = fiwareOutbox;
+        this.deliveredMeasurementIndex = deliveredMeasurementIndex;
+        this.maxEntities = maxEntities;
+        this.maxBytes = maxBytes;
+        this.maxDelay = maxDelay;
+    }
+
+    /**
+     * Opens the scope for a single import run of the tenant, the entities of the import are added and flushed within
+     * the scope.
+     *
+     * @param tenant the tenant
+     * @return the scope of the import run
+     */
+    public Scope openScope(Tenant tenant) {
+        return new Scope(tenant);
+    }
+
+    /**
+     * Adds an entity to the batch of the scope and group. Sends the batch if it is full.
+     * Measurements that were already delivered are skipped.
+     *
+     * @param scope  the scope of the import run
+     * @param group  the group of the entity, used as service path
+     * @param entity the entity to create or update
+     */
+    public void add(Scope scope, Group group, FiwareEntity entity) {
+        FiwareEntityChecker.check(entity);
+        var tenantId = scope.getTenant().getTenantId();
+        var fingerprint = deliveredMeasurementIndex.fingerprint(tenantId, entity);
+        if (deliveredMeasurementIndex.isDelivered(fingerprint)) {
+            log.debug("Skipping entity {}, it was already delivered.", entity.getId());
+            return;
+        }
+        var key = new BatchKey(scope, tenantId, FiwareEntityIntegrationService.servicePath(group));
+        var fullBatch = new ArrayList<Batch>(1);
+        batches.compute(key, (k, batch) -> {
+            if (null == batch) {
+                batch = new Batch(k, Instant.now(), acquireWriter(), acquireWriter());
+            }
+            batch.add(entity, fingerprint);
+            if (batch.size >= maxEntities || batch.bytes() >= maxBytes) {
+                fullBatch.add(batch);
+                return null;
+            }
+            return batch;
+        });
+        fullBatch.forEach(batch -> scope.track(send(batch)));
+    }
+
+    /**
+     * Adds all measurements of the series to the batch of the scope and group, see {@link #add(Scope, Group, FiwareEntity)}.
+     * The measurements are serialized straight from the series, without creating an entity per value.
+     *
+     * @param scope     the scope of the import run
+     * @param group     the group of the device, used as service path
+     * @param id        the id of the entity
+     * @param type      the type of the entity
+     * @param latitude  the latitude of the device
+     * @param longitude the longitude of the device
+     * @param series    the measurements of the device
+     */
+    public void add(Scope scope, Group group, String id, String type, double latitude, double longitude, MeasurementSeries series) {
+        series.forEach(id, type, group.getOid(), latitude, longitude, measurement -> add(scope, group, measurement));
+    }
+
+    /**
+     * Sends all pending batches of the scope. Should be called at the end of every import.
+     *
+     * @param scope the scope of the import run
+     * @return a future that completes once all requests of the scope that were sent since the last flush have been
+     * answered by the context broker, including batches sent after the maximum delay, completes exceptionally if one
+     * of them failed
+     */
+    public CompletableFuture<Void> flush(Scope scope) {
+        synchronized (scope) {
+            var keys = batches.keySet().stream()
+                    .filter(key -> key.scope() == scope)
+                    .toList();
+            for (var key : keys) {
+                var batch = batches.remove(key);
+                if (null != batch) {
+                    scope.track(send(batch));
+                }
+            }
+            return scope.drain();
+        }
+    }
+
+    /**
+     * Sends all batches that are pending for longer than the maximum delay. The requests are tracked within the scope
+     * of the batch, so the next flush of the scope waits for them.
+     */
+    @Scheduled(fixedDelayString = "${app.fiware.batch.max-delay}")
+    public void flushExpired() {
+        var expiredBefore = Instant.now().minus(maxDelay);
+        batches.forEach((key, batch) -> {
+            if (batch.createdAt.isBefore(expiredBefore)) {
+                // Removing and tracking the batch must not interleave with a flush of the scope, the flush would
+                // neither send the batch nor wait for it.
+                synchronized (key.scope()) {
+                    if (batches.remove(key, batch)) {
+                        key.scope().track(send(batch));
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Stores the batch within the outbox or sends it to the context broker. Does not throw, a batch that could not be
+     * stored or sent, e.g. because the limiter of the context broker rejected the request, is returned as failed
+     * future. The batch has already been removed from the pending batches, so the failed future is the only trace of
+     * it and the flush of the scope must fail.
+     */
+    private CompletableFuture<Void> send(Batch batch) {
+        log.debug("Sending batch of {} entities for tenant {} and service path {}.", batch.size, batch.key.tenantId(), batch.key.servicePath());
+        var json = batch.finish();
+        releaseWriter(batch.smartModelJson);
+        if (fiwareOutbox.isEnabled()) {
+            try {
+                fiwareOutbox.append(batch.key.tenantId(), batch.key.servicePath(), json, batch.size);
+                batch.markDelivered(deliveredMeasurementIndex);
+                return CompletableFuture.completedFuture(null);
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            } finally {
+                releaseWriter(json);
+            }
+        }
+        try {
+            return fiwareEntityIntegrationService.sendAsync(batch.key.tenantId(), batch.key.servicePath(), json)
+                    .whenComplete((result, throwable) -> {
+                        releaseWriter(json);
+                        if (null == throwable) {
+                            batch.markDelivered(deliveredMeasurementIndex);
+                        }
+                    });
+        } catch (RuntimeException e) {
+            log.error("Could not send batch of {} entities for tenant {} and service path {}.", batch.size, batch.key.tenantId(), batch.key.servicePath(), e);
+            releaseWriter(json);
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private FiwareJsonWriter acquireWriter() {
+        var writer = writers.poll();
+        return null != writer ? writer : new FiwareJsonWriter(INITIAL_WRITER_CAPACITY);
+    }
+
+    private void releaseWriter(FiwareJsonWriter writer) {
+        if (writer.buffer().length <= 2 * maxBytes) {
+            writer.reset();
+            writers.offer(writer);
+        }
+    }
+
+    /**
+     * The scope of a single import run. Batches and requests are tracked per scope, so the flush of an import does
+     * not wait for, and does not consume, the requests of other imports of the same tenant.
+     */
+    public static final class Scope {
+        @Getter
+        private final Tenant tenant;
+        private final Queue<CompletableFuture<Void>> pendingRequests = new ConcurrentLinkedQueue<>();
+
+        private Scope(Tenant tenant) {
+            this.tenant = tenant;
+        }
+
+        private void track(CompletableFuture<Void> future) {
+            pendingRequests.add(future);
+        }
+
+        private CompletableFuture<Void> drain() {
+            var futures = new ArrayList<CompletableFuture<Void>>();
+            CompletableFuture<Void> future;
+            while (null != (future = pendingRequests.poll())) {
+                futures.add(future);
+            }
+            return CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new));
+        }
+    }
+
+    private record BatchKey(Scope scope, String tenantId, String servicePath) {
+    }
+
+    /**
+     * Pending entities, already serialized. Only modified while holding the lock of the map entry.
+     */
+    private static final class Batch {
+        private final BatchKey key;
+        private final Instant createdAt;
+        private final FiwareJsonWriter json;
+        private final FiwareJsonWriter smartModelJson;
+        private long[] fingerprints = new long[64];
+        private int numberOfFingerprints;
+        private int size;
+
+        private Batch(BatchKey key, Instant createdAt, FiwareJsonWriter json, FiwareJsonWriter smartModelJson) {
+            this.key = key;
+            this.createdAt = createdAt;
+            this.json = json;
+            this.smartModelJson = smartModelJson;
+            UpdateOrCreateFiwareEntitiesRequest.writeStart(json);
+        }
+
+        private void add(FiwareEntity entity, long fingerprint) {
+            var jsonMark = json.size();
+            var smartModelJsonMark = smartModelJson.size();
+            try {
+                if (size > 0) {
+                    json.raw(',');
+                }
+                if (entity.shouldCreateSmartModelEntity()) {
+                    if (smartModelJson.size() > 0) {
+                        smartModelJson.raw(',');
+                    }
+                    entity.writeJson(json, smartModelJson);
+                    size += 2;
+                } else {
+                    entity.writeJson(json, null);
+                    size++;
+                }
+                if (fingerprint != 0L) {
+                    if (numberOfFingerprints == fingerprints.length) {
+                        fingerprints = Arrays.copyOf(fingerprints, numberOfFingerprints << 1);
+                    }
+                    fingerprints[numberOfFingerprints++] = fingerprint;
+                }
+            } catch (RuntimeException e) {
+                json.truncate(jsonMark);
+                smartModelJson.truncate(smartModelJsonMark);
+                throw e;
+            }
+        }
+
+        private void markDelivered(DeliveredMeasurementIndex deliveredMeasurementIndex) {
+            deliveredMeasurementIndex.markDelivered(fingerprints, numberOfFingerprints);
+        }
+
+        private int bytes() {
+            return json.size() + smartModelJson.size();
+        }
+
+        private FiwareJsonWriter finish() {
+            UpdateOrCreateFiwareEntitiesRequest.writeEnd(json, smartModelJson);
+            return json;
+        }
+    }
+
+}
@@ -5,17 +5,23 @@ import de.app.fivegla.api.ErrorMessage;
 import de.app.fivegla.api.exceptions.BusinessException;
 import de.app.fivegla.integration.fiware.api.CustomHeader;
 import de.app.fivegla.integration.fiware.api.FiwareEntityChecker;
+import de.app.fivegla.integration.fiware.api.FiwareJsonWriter;
 import de.app.fivegla.integration.fiware.model.api.FiwareEntity;
 import de.app.fivegla.integration.fiware.request.UpdateOrCreateFiwareEntitiesRequest;
 import de.app.fivegla.persistence.entity.Group;
 import de.app.fivegla.persistence.entity.Tenant;
 import lombok.extern.slf4j.Slf4j;
 
-import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Integration service for FIWARE to send requests to the context broker.
@@ -23,8 +29,12 @@ import java.util.List;
 @Slf4j
 public class FiwareEntityIntegrationService extends AbstractIntegrationService {
 
-    public FiwareEntityIntegrationService(String contextBrokerUrl) {
-        super(contextBrokerUrl);
+    private final int maxInFlightRequestsPerTenant;
+    private final Map<String, Semaphore> inFlightRequests = new ConcurrentHashMap<>();
+
+    public FiwareEntityIntegrationService(String contextBrokerUrl, HttpClient httpClient, ContextBrokerLimiter contextBrokerLimiter, Duration requestTimeout, int maxInFlightRequestsPerTenant) {
+        super(contextBrokerUrl, httpClient, contextBrokerLimiter, requestTimeout);
+        this.maxInFlightRequestsPerTenant = maxInFlightRequestsPerTenant;
     }
 
     /**
@@ -33,33 +43,48 @@ public class FiwareEntityIntegrationService extends AbstractIntegrationService {
      * @param entity the device to create
      */
     public void persist(Tenant tenant, Group group, FiwareEntity entity) {
-        FiwareEntityChecker.check(entity);
-        var updateOrCreateEntityRequest = UpdateOrCreateFiwareEntitiesRequest.builder()
-                .entities(List.of(entity))
-                .build();
-        var httpClient = HttpClient.newHttpClient();
-        var requestBody = HttpRequest.BodyPublishers.ofString(updateOrCreateEntityRequest.asJson());
-        log.debug("Request: {}", updateOrCreateEntityRequest.asJson());
-        var httpRequest = HttpRequest.newBuilder()
-                .uri(URI.create(contextBrokerUrlForCommands() + "/op/update"))
-                .header("Content-Type", "application/json")
-                .header(CustomHeader.FIWARE_SERVICE, tenant.getTenantId())
-                .header(CustomHeader.FIWARE_SERVICE_PATH, "/" + group.getName())
-                .POST(requestBody).build();
+        persist(tenant, group, List.of(entity));
+    }
+
+    /**
+     * Creates or updates multiple entities in the context broker using a single batch operation.
+     *
+     * @param tenant   the tenant
+     * @param group    the group of the entities, used as service path
+     * @param entities the entities to create or update
+     */
+    public void persist(Tenant tenant, Group group, List<FiwareEntity> entities) {
+        send(tenant.getTenantId(), servicePath(group), asJson(entities));
+    }
+
+    /**
+     * Creates or updates multiple entities in the context broker without blocking until the context broker answers.
+     * The number of requests in flight is limited per tenant, if the limit is reached the calling thread waits
+     * until one of the requests of the tenant is finished, at most for the maximum wait time of the limiter.
+     *
+     * @param tenant   the tenant
+     * @param group    the group of the entities, used as service path
+     * @param entities the entities to create or update
+     * @return a future that completes once the context broker has answered, completes exceptionally with a
+     * {@link BusinessException} in case of an error
+     */
+    public CompletableFuture<Void> persistAsync(Tenant tenant, Group group, List<FiwareEntity> entities) {
+        return sendAsync(tenant.getTenantId(), servicePath(group), asJson(entities));
+    }
+
+    /**
+     * Sends an already serialized batch update request to the context broker.
+     *
+     * @param tenantId    the id of the tenant, used as FIWARE service
+     * @param servicePath the FIWARE service path
+     * @param requestJson the serialized request
+     */
+    void send(String tenantId, String servicePath, FiwareJsonWriter requestJson) {
+        log.debug("Request: {}", requestJson);
+        var httpRequest = createUpdateRequest(tenantId, servicePath, requestJson);
         try {
-            var response = httpClient.send(httpRequest, HttpResponse.BodyHandlers.ofString());
-            if (response.statusCode() != 204) {
-                log.error("Could not create entity. Response: {}", response.body());
-                log.debug("Request: {}", updateOrCreateEntityRequest.asJson());
-                log.debug("Response: {}", response.body());
-                throw new BusinessException(ErrorMessage.builder()
-                        .message("Could not create entity, there was an error from FIWARE.")
-                        .error(Error.FIWARE_INTEGRATION_LAYER_ERROR)
-                        .build());
-
-            } else {
-                log.info("Device created/updated successfully.");
-            }
+            var response = execute(httpRequest);
+            checkResponse(response, requestJson);
         } catch (Exception e) {
             log.error("Could not create entity.", e);
             throw new BusinessException(ErrorMessage.builder()
@@ -69,4 +94,133 @@ public class FiwareEntityIntegrationService extends AbstractIntegrationService {
         }
     }
 
+    /**
+     * Sends an already serialized batch update request to the context broker without waiting for the response.
+     * Waits in case the maximum number of requests in flight for the tenant or the overall concurrency limit of
+     * the context broker is reached, each at most for the maximum wait time of the limiter.
+     *
+     * @param tenantId    the id of the tenant, used as FIWARE service
+     * @param servicePath the FIWARE service path
+     * @param requestJson the serialized request
+     * @return a future that completes once the context broker has answered, completes exceptionally if no request
+     * slot was free within the maximum wait time or the circuit breaker is open
+     */
+    CompletableFuture<Void> sendAsync(String tenantId, String servicePath, FiwareJsonWriter requestJson) {
+        log.debug("Request: {}", requestJson);
+        var window = window(tenantId);
+        try {
+            if (!window.tryAcquire(maxWait().toNanos(), TimeUnit.NANOSECONDS)) {
+                log.warn("Too many requests to FIWARE in flight for tenant {}, no request slot available.", tenantId);
+                return CompletableFuture.failedFuture(new BusinessException(ErrorMessage.builder()
+                        .message("Too many requests to FIWARE in flight for the tenant.")
+                        .error(Error.FIWARE_CONTEXT_BROKER_UNAVAILABLE)
+                        .build()));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.failedFuture(new BusinessException(ErrorMessage.builder()
+                    .message("Interrupted while waiting for requests to FIWARE to finish.")
+                    .error(Error.FIWARE_INTEGRATION_LAYER_ERROR)
+                    .build()));
+        }
+        try {
+            var response = executeAsync(createUpdateRequest(tenantId, servicePath, requestJson));
+            return handleResponse(response, window, requestJson);
+        } catch (RuntimeException e) {
+            window.release();
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Sends an already serialized batch update request to the context broker, if neither the maximum number of
+     * requests in flight for the tenant nor the overall concurrency limit of the context broker is reached. Does not
+     * block.
+     *
+     * @param tenantId    the id of the tenant, used as FIWARE service
+     * @param servicePath the FIWARE service path
+     * @param requestJson the serialized request
+     * @return a future that completes once the context broker has answered, null if no request slot is free
+     */
+    CompletableFuture<Void> trySendAsync(String tenantId, String servicePath, FiwareJsonWriter requestJson) {
+        log.debug("Request: {}", requestJson);
+        var window = window(tenantId);
+        if (!window.tryAcquire()) {
+            return null;
+        }
+        try {
+            var response = tryExecuteAsync(createUpdateRequest(tenantId, servicePath, requestJson));
+            if (null == response) {
+                window.release();
+                return null;
+            }
+            return handleResponse(response, window, requestJson);
+        } catch (RuntimeException e) {
+            window.release();
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private Semaphore window(String tenantId) {
+        return inFlightRequests.computeIfAbsent(tenantId, key -> new Semaphore(maxInFlightRequestsPerTenant));
+    }
+
+    private CompletableFuture<Void> handleResponse(CompletableFuture<HttpResponse<String>> response, Semaphore window, FiwareJsonWriter requestJson) {
+        return response
+                .whenComplete((result, throwable) -> window.release())
+                .handle((result, throwable) -> {
+                    if (null != throwable) {
+                        log.error("Could not create entity.", throwable);
+                        throw new BusinessException(ErrorMessage.builder()
+                                .message("Could not create entity in FIWARE.")
+                                .error(Error.FIWARE_INTEGRATION_LAYER_ERROR)
+                                .build());
+                    }
+                    checkResponse(result, requestJson);
+                    return null;
+                });
+    }
+
+    private FiwareJsonWriter asJson(List<FiwareEntity> entities) {
+        entities.forEach(FiwareEntityChecker::check);
+        var updateOrCreateEntityRequest = UpdateOrCreateFiwareEntitiesRequest.builder()
+                .entities(entities)
+                .build();
+        var json = new FiwareJsonWriter();
+        updateOrCreateEntityRequest.writeJson(json);
+        return json;
+    }
+
+    private HttpRequest createUpdateRequest(String tenantId, String servicePath, FiwareJsonWriter requestJson) {
+        return newRequestBuilder(contextBrokerUrlForCommands() + "/op/update")
+                .header("Content-Type", "application/json")
+                .header(CustomHeader.FIWARE_SERVICE, tenantId)
+                .header(CustomHeader.FIWARE_SERVICE_PATH, servicePath)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(requestJson.buffer(), 0, requestJson.size())).build();
+    }
+
+    private void checkResponse(HttpResponse<String> response, FiwareJsonWriter requestJson) {
+        if (response.statusCode() != 204) {
+            log.error("Could not create entity. Response: {}", response.body());
+            log.debug("Request: {}", requestJson);
+            log.debug("Response: {}", response.body());
+            throw new BusinessException(ErrorMessage.builder()
+                    .message("Could not create entity, there was an error from FIWARE.")
+                    .error(Error.FIWARE_INTEGRATION_LAYER_ERROR)
+                    .build());
+        } else {
+            log.info("Device created/updated successfully.");
+        }
+    }
+
+    /**
+     * Returns the FIWARE service path for the given group.
+     *
+     * @param group the group
+     * @return the service path
+     */
+    static String servicePath(Group group) {
+        return "/" + group.getName();
+    }
+
 }
@@ -0,0 +1,203 @@
+package de.app.fivegla.integration.fiware;
+
+import de.app.fivegla.business.FiwareOutboxQueue;
+import de.app.fivegla.config.InstanceId;
+import de.app.fivegla.integration.fiware.api.FiwareJsonWriter;
+import de.app.fivegla.monitoring.Metrics;
+import de.app.fivegla.persistence.entity.FiwareOutboxEntry;
+import io.prometheus.client.CollectorRegistry;
+import io.prometheus.client.Counter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Durable outbox for batch update requests. The imports store their requests within the database and the outbox
+ * delivers them to the context broker in the background, failed deliveries are retried with exponential backoff.
+ * Delivery is at-least-once, the context broker handles repeated updates of the same entity using the append action.
+ * Every instance of the application drains the outbox, the entries are leased using the {@link FiwareOutboxQueue}, so
+ * an entry is only delivered by a single instance at the same time. Entries that could not be delivered within the
+ * maximum number of attempts are kept as dead entries and counted by a metric.
+ * <p>
+ * The deliveries run on the executor of the HTTP client and never wait for a request slot, so the scheduler thread is
+ * never blocked by a slow context broker. Entries for which no request slot is free are put back into the queue
+ * without counting the attempt.
+ * </p>
+ */
+@Slf4j
+public class FiwareOutbox {
+
+    private static final int MAX_ERROR_LENGTH = 1024;
+
+    private final FiwareOutboxQueue fiwareOutboxQueue;
+    private final FiwareEntityIntegrationService fiwareEntityIntegrationService;
+    private final Executor executor;
+    private final String instanceId;
+    private final Counter deadEntries;
+    private final AtomicInteger deliveriesInFlight = new AtomicInteger();
+    private final boolean enabled;
+    private final int batchSize;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final int maxAttempts;
+
+    public FiwareOutbox(FiwareOutboxQueue fiwareOutboxQueue,
+                        FiwareEntityIntegrationService fiwareEntityIntegrationService,
+                        Executor executor,
+                        InstanceId instanceId,
+                        CollectorRegistry registry,
+                        boolean enabled,
+                        int batchSize,
+                        Duration initialBackoff,
+                        Duration maxBackoff,
+                        int maxAttempts) {
+        this.fiwareOutboxQueue = fiwareOutboxQueue;
+        this.fiwareEntityIntegrationService = fiwareEntityIntegrationService;
+        this.executor = executor;
+        this.instanceId = instanceId.getValue();
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.maxAttempts = maxAttempts;
+        this.deadEntries = Counter.build(Metrics.FIWARE_OUTBOX_PREFIX + "dead_entries",
+                        "Number of outbox entries given up after the maximum number of attempts")
+                .labelNames("tenant")
+                .register(registry);
+    }
+
+    /**
+     * Returns whether requests should be stored in the outbox instead of being sent directly.
+     *
+     * @return true if the outbox is enabled
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Stores a batch update request within the outbox.
+     *
+     * @param tenantId         the id of the tenant, used as FIWARE service
+     * @param servicePath      the FIWARE service path
+     * @param requestJson      the serialized request
+     * @param numberOfEntities the number of entities within the request
+     */
+    public void append(String tenantId, String servicePath, FiwareJsonWriter requestJson, int numberOfEntities) {
+        fiwareOutboxQueue.enqueue(tenantId, servicePath, requestJson.toByteArray(), numberOfEntities);
+        log.debug("Stored batch of {} entities for tenant {} and service path {} within the outbox.", numberOfEntities, tenantId, servicePath);
+    }
+
+    /**
+     * Leases the entries that are due and hands them to the executor for delivery, without waiting for the deliveries.
+     * At most the batch size of entries is in flight, so the next run does not lease more entries than can be
+     * delivered.
+     */
+    @Scheduled(initialDelayString = "${app.fiware.outbox.drain-delay}", fixedDelayString = "${app.fiware.outbox.drain-delay}")
+    public void drain() {
+        if (!enabled) {
+            return;
+        }
+        if (!fiwareEntityIntegrationService.isContextBrokerAvailable()) {
+            log.debug("Context broker is unavailable, not delivering entries from the outbox.");
+            return;
+        }
+        // While the circuit breaker is not closed, only the probe request is let through, all other deliveries would
+        // be rejected and count as failed attempts.
+        var inFlight = deliveriesInFlight.get();
+        var limit = fiwareEntityIntegrationService.isContextBrokerHealthy() ? batchSize - inFlight : 1 - inFlight;
+        if (limit <= 0) {
+            log.debug("{} deliveries from the outbox are still in flight.", inFlight);
+            return;
+        }
+        var entries = fiwareOutboxQueue.lease(instanceId, limit);
+        if (entries.isEmpty()) {
+            return;
+        }
+        log.debug("Delivering {} entries from the outbox.", entries.size());
+        for (var entry : entries) {
+            deliveriesInFlight.incrementAndGet();
+            try {
+                executor.execute(() -> deliver(entry));
+            } catch (RejectedExecutionException e) {
+                log.warn("Could not hand outbox entry {} to the executor.", entry.getId(), e);
+                release(entry);
+            }
+        }
+    }
+
+    private void deliver(FiwareOutboxEntry entry) {
+        try {
+            var delivery = fiwareEntityIntegrationService.trySendAsync(entry.getTenantId(), entry.getServicePath(), FiwareJsonWriter.wrap(entry.getPayload()));
+            if (null == delivery) {
+                log.debug("No request slot free for outbox entry {}, delivering it with the next run.", entry.getId());
+                release(entry);
+                return;
+            }
+            delivery.whenComplete((result, throwable) -> {
+                try {
+                    if (null == throwable) {
+                        if (!fiwareOutboxQueue.complete(entry.getId(), instanceId)) {
+                            log.warn("The lease on outbox entry {} expired before it was delivered.", entry.getId());
+                        }
+                    } else {
+                        onFailure(entry, throwable);
+                    }
+                } finally {
+                    deliveriesInFlight.decrementAndGet();
+                }
+            });
+        } catch (RuntimeException e) {
+            try {
+                onFailure(entry, e);
+            } finally {
+                deliveriesInFlight.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Puts the entry back into the queue without counting the attempt.
+     */
+    private void release(FiwareOutboxEntry entry) {
+        try {
+            fiwareOutboxQueue.retry(entry.getId(), instanceId, entry.getAttempts(), Instant.now(), entry.getLastError());
+        } finally {
+            deliveriesInFlight.decrementAndGet();
+        }
+    }
+
+    private void onFailure(FiwareOutboxEntry entry, Throwable throwable) {
+        var attempts = entry.getAttempts() + 1;
+        var lastError = StringUtils.abbreviate(String.valueOf(throwable.getMessage()), MAX_ERROR_LENGTH);
+        boolean updated;
+        if (attempts >= maxAttempts) {
+            log.error("Giving up batch of {} entities for tenant {} and service path {} after {} failed attempts, keeping it as dead entry {}.",
+                    entry.getNumberOfEntities(), entry.getTenantId(), entry.getServicePath(), attempts, entry.getId(), throwable);
+            updated = fiwareOutboxQueue.markDead(entry.getId(), instanceId, attempts, lastError);
+            if (updated) {
+                deadEntries.labels(entry.getTenantId()).inc();
+            }
+        } else {
+            var backoff = backoff(attempts);
+            log.warn("Could not deliver batch of {} entities for tenant {}, retrying in {}.", entry.getNumberOfEntities(), entry.getTenantId(), backoff);
+            updated = fiwareOutboxQueue.retry(entry.getId(), instanceId, attempts, Instant.now().plus(backoff), lastError);
+        }
+        if (!updated) {
+            log.warn("The lease on outbox entry {} expired before the delivery failed.", entry.getId());
+        }
+    }
+
+    private Duration backoff(int attempts) {
+        var factor = 1L << Math.min(attempts - 1, 30);
+        var backoff = initialBackoff.multipliedBy(factor);
+        return backoff.compareTo(maxBackoff) > 0 ? maxBackoff : backoff;
+    }
+
+}
@@ -8,18 +8,17 @@ import de.app.fivegla.integration.fiware.model.Version;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.IOException;
-import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
+import java.time.Duration;
 
 @Slf4j
 @SuppressWarnings("unused")
 public class StatusIntegrationService extends AbstractIntegrationService {
     private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
 
-    public StatusIntegrationService(String contextBrokerUrl) {
-        super(contextBrokerUrl);
+    public StatusIntegrationService(String contextBrokerUrl, HttpClient httpClient, ContextBrokerLimiter contextBrokerLimiter, Duration requestTimeout) {
+        super(contextBrokerUrl, httpClient, contextBrokerLimiter, requestTimeout);
     }
 
     /**
@@ -30,13 +29,11 @@ public class StatusIntegrationService extends AbstractIntegrationService {
      * @return the version of the context broker
      */
     public Version getVersion() {
-        var httpClient = HttpClient.newHttpClient();
-        var httpRequest = HttpRequest.newBuilder()
-                .uri(URI.create(contextBrokerUrl() + "/version"))
+        var httpRequest = newRequestBuilder(contextBrokerUrl() + "/version")
                 .header("Accept", "application/json")
                 .GET().build();
         try {
-            var response = httpClient.send(httpRequest, HttpResponse.BodyHandlers.ofString());
+            var response = execute(httpRequest);
             if (response.statusCode() != 200) {
                 log.error("Could not fetch version. Response: {}", response.body());
                 log.debug("Response: {}", response.body());
@@ -12,13 +12,14 @@ import de.app.fivegla.persistence.entity.Tenant;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.IOException;
-import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 
 /**
@@ -34,118 +35,142 @@ public class SubscriptionIntegrationService extends AbstractIntegrationService {
 
     private final List<String> notificationUrls;
 
-    public SubscriptionIntegrationService(String contextBrokerUrl, List<String> notificationUrls) {
-        super(contextBrokerUrl);
+    public SubscriptionIntegrationService(String contextBrokerUrl, HttpClient httpClient, ContextBrokerLimiter contextBrokerLimiter, Duration requestTimeout, List<String> notificationUrls) {
+        super(contextBrokerUrl, httpClient, contextBrokerLimiter, requestTimeout);
         this.notificationUrls = notificationUrls;
     }
 
     /**
-     * Creates or updates subscriptions for the specified types.
+     * Creates or updates subscriptions for the specified types. Only sends the differences between the existing
+     * subscriptions of the tenant and the desired ones: subscriptions with the same entities are left untouched,
+     * subscriptions with other entities are updated and missing subscriptions for the notification URLs are created.
      *
      * @param entityTypes The types of entities to subscribe to.
      *                    Accepts multiple arguments of type String,
      *                    each representing a different type.
      */
     public void subscribe(Tenant tenant, EntityType... entityTypes) {
-        List<Subscription> allExistingSubscriptions = findAll(tenant);
-        if (!allExistingSubscriptions.isEmpty()) {
-            updateExistingSubscriptions(tenant, allExistingSubscriptions, entityTypes);
-        } else {
-            var httpClient = HttpClient.newHttpClient();
-            var subscriptions = createSubscriptions(entityTypes);
-            for (var subscription : subscriptions) {
-                String json = toJson(subscription);
-                log.debug("Creating subscription: {}", json);
-                var httpRequest = HttpRequest.newBuilder()
-                        .uri(URI.create(contextBrokerUrlForCommands() + "/subscriptions"))
-                        .header("Content-Type", "application/json")
-                        .header(CustomHeader.FIWARE_SERVICE, tenant.getTenantId())
-                        .POST(HttpRequest.BodyPublishers.ofString(json)).build();
-                try {
-                    var response = httpClient.send(httpRequest, HttpResponse.BodyHandlers.ofString());
-                    if (response.statusCode() != 201) {
-                        log.error("Could not create subscription. Response: {}", response.body());
-                        throw new BusinessException(ErrorMessage.builder()
-                                .message("Could not create subscription, there was an error from FIWARE.")
-                                .error(Error.FIWARE_INTEGRATION_LAYER_ERROR)
-                                .build());
-                    } else {
-                        log.info("Subscription created/updated successfully.");
-                    }
-                } catch (Exception e) {
-                    log.error("Could not create subscription.", e);
-                    throw new BusinessException(ErrorMessage.builder()
-                            .message("Could not create subscription.")
-                            .error(Error.FIWARE_INTEGRATION_LAYER_ERROR)
-                            .build());
-                }
+        var allExistingSubscriptions = findAll(tenant);
+        var desiredEntities = createSubscriptionEntities(entityTypes);
+        var subscribedNotificationUrls = new HashSet<String>();
+        var unchanged = 0;
+        for (var subscription : allExistingSubscriptions) {
+            subscribedNotificationUrls.add(notificationUrl(subscription));
+            if (hasSameEntities(subscription, desiredEntities)) {
+                unchanged++;
+            } else {
+                updateExistingSubscription(tenant, subscription, desiredEntities);
             }
         }
+        for (var notificationUrl : notificationUrls) {
+            if (!subscribedNotificationUrls.contains(notificationUrl)) {
+                createSubscription(tenant, notificationUrl, entityTypes);
+            }
+        }
+        log.info("Reconciled subscriptions for tenant {}, {} of {} existing subscriptions were already up to date.",
+                tenant.getTenantId(), unchanged, allExistingSubscriptions.size());
     }
 
-    private void updateExistingSubscriptions(Tenant tenant, List<Subscription> allExistingSubscriptions, EntityType[] newEntityTypes) {
-        allExistingSubscriptions.forEach(subscription -> {
-            var newSubscription = Subscription.builder()
-                    .id(subscription.getId())
-                    .description(subscription.getDescription())
-                    .subject(Subject.builder()
-                            .entities(createSubscriptionEntities(newEntityTypes))
-                            .build())
-                    .notification(Notification.builder()
-                            .http(Http.builder()
-                                    .url(subscription.getNotification().getHttp().getUrl())
-                                    .build())
-                            .build())
-                    .expires(subscription.getExpires())
-                    .status(subscription.getStatus())
-                    .build();
-            var httpClient = HttpClient.newHttpClient();
-            String json = toJson(newSubscription);
-            log.debug("Updating subscription: {}", json);
-            var httpRequest = HttpRequest.newBuilder()
-                    .uri(URI.create(contextBrokerUrlForCommands() + "/subscriptions/" + subscription.getId()))
-                    .header("Content-Type", "application/json")
-                    .header(CustomHeader.FIWARE_SERVICE, tenant.getTenantId())
-                    .PUT(HttpRequest.BodyPublishers.ofString(json)).build();
-            try {
-                var response = httpClient.send(httpRequest, HttpResponse.BodyHandlers.ofString());
-                if (response.statusCode() != 201) {
-                    log.error("Could not update subscription. Response: {}", response.body());
-                    throw new BusinessException(ErrorMessage.builder()
-                            .message("Could not update subscription, there was an error from FIWARE.")
-                            .error(Error.FIWARE_INTEGRATION_LAYER_ERROR)
-                            .build());
-                } else {
-                    log.info("Subscription updated successfully.");
-                }
-            } catch (Exception e) {
-                log.error("Could not update subscription.", e);
+    private void createSubscription(Tenant tenant, String notificationUrl, EntityType... entityTypes) {
+        log.debug("Creating subscription for entityTypes: " + Arrays.toString(entityTypes));
+        var subscription = Subscription.builder()
+                .description("Subscription for " + Arrays.toString(entityTypes) + " type")
+                .subject(Subject.builder()
+                        .entities(createSubscriptionEntities(entityTypes))
+                        .build())
+                .notification(Notification.builder()
+                        .http(Http.builder()
+                                .url(notificationUrl)
+                                .build())
+                        .build())
+                .build();
+        String json = toJson(subscription);
+        log.debug("Creating subscription: {}", json);
+        var httpRequest = newRequestBuilder(contextBrokerUrlForCommands() + "/subscriptions")
+                .header("Content-Type", "application/json")
+                .header(CustomHeader.FIWARE_SERVICE, tenant.getTenantId())
+                .POST(HttpRequest.BodyPublishers.ofString(json)).build();
+        try {
+            var response = execute(httpRequest);
+            if (response.statusCode() != 201) {
+                log.error("Could not create subscription. Response: {}", response.body());
                 throw new BusinessException(ErrorMessage.builder()
-                        .message("Could not update subscription.")
+                        .message("Could not create subscription, there was an error from FIWARE.")
                         .error(Error.FIWARE_INTEGRATION_LAYER_ERROR)
                         .build());
+            } else {
+                log.info("Subscription created/updated successfully.");
             }
-        });
+        } catch (Exception e) {
+            log.error("Could not create subscription.", e);
+            throw new BusinessException(ErrorMessage.builder()
+                    .message("Could not create subscription.")
+                    .error(Error.FIWARE_INTEGRATION_LAYER_ERROR)
+                    .build());
+        }
     }
 
-    private List<Subscription> createSubscriptions(EntityType... entityTypes) {
-        log.debug("Creating subscriptions for entityTypes: " + Arrays.toString(entityTypes));
-        var subscriptions = new ArrayList<Subscription>();
-        for (var notificationUrl : notificationUrls) {
-            var subscription = Subscription.builder()
-                    .description("Subscription for " + Arrays.toString(entityTypes) + " type")
-                    .subject(Subject.builder()
-                            .entities(createSubscriptionEntities(entityTypes))
-                            .build())
-                    .notification(Notification.builder()
-                            .http(Http.builder()
-                                    .url(notificationUrl)
-                                    .build())
-                            .build())
-                    .build();
-            subscriptions.add(subscription);
+    private void updateExistingSubscription(Tenant tenant, Subscription subscription, List<Entity> newEntities) {
+        var newSubscription = Subscription.builder()
+                .id(subscription.getId())
+                .description(subscription.getDescription())
+                .subject(Subject.builder()
+                        .entities(newEntities)
+                        .build())
+                .notification(Notification.builder()
+                        .http(Http.builder()
+                                .url(notificationUrl(subscription))
+                                .build())
+                        .build())
+                .expires(subscription.getExpires())
+                .status(subscription.getStatus())
+                .build();
+        String json = toJson(newSubscription);
+        log.debug("Updating subscription: {}", json);
+        var httpRequest = newRequestBuilder(contextBrokerUrlForCommands() + "/subscriptions/" + subscription.getId())
+                .header("Content-Type", "application/json")
+                .header(CustomHeader.FIWARE_SERVICE, tenant.getTenantId())
+                .PUT(HttpRequest.BodyPublishers.ofString(json)).build();
+        try {
+            var response = execute(httpRequest);
+            if (response.statusCode() != 201) {
+                log.error("Could not update subscription. Response: {}", response.body());
+                throw new BusinessException(ErrorMessage.builder()
+                        .message("Could not update subscription, there was an error from FIWARE.")
+                        .error(Error.FIWARE_INTEGRATION_LAYER_ERROR)
+                        .build());
+            } else {
+                log.info("Subscription updated successfully.");
+            }
+        } catch (Exception e) {
+            log.error("Could not update subscription.", e);
+            throw new BusinessException(ErrorMessage.builder()
+                    .message("Could not update subscription.")
+                    .error(Error.FIWARE_INTEGRATION_LAYER_ERROR)
+                    .build());
+        }
+    }
+
+    private String notificationUrl(Subscription subscription) {
+        if (null == subscription.getNotification() || null == subscription.getNotification().getHttp()) {
+            return null;
+        }
+        return subscription.getNotification().getHttp().getUrl();
+    }
+
+    private boolean hasSameEntities(Subscription subscription, List<Entity> desiredEntities) {
+        if (null == subscription.getSubject() || null == subscription.getSubject().getEntities()) {
+            return false;
+        }
+        return entityKeys(subscription.getSubject().getEntities()).equals(entityKeys(desiredEntities));
+    }
+
+    private Set<List<String>> entityKeys(List<Entity> entities) {
+        var keys = new HashSet<List<String>>();
+        for (var entity : entities) {
+            keys.add(Arrays.asList(entity.getId(), entity.getIdPattern(), entity.getType(), entity.getTypePattern()));
         }
-        return subscriptions;
+        return keys;
     }
 
     private List<Entity> createSubscriptionEntities(EntityType... entityTypes) {
@@ -169,13 +194,11 @@ public class SubscriptionIntegrationService extends AbstractIntegrationService {
     }
 
     private void removeSubscription(Tenant tenant, Subscription subscription) {
-        var httpClient = HttpClient.newHttpClient();
-        var httpRequest = HttpRequest.newBuilder()
+        var httpRequest = newRequestBuilder(contextBrokerUrlForCommands() + "/subscriptions/" + subscription.getId())
                 .header(CustomHeader.FIWARE_SERVICE, tenant.getTenantId())
-                .uri(URI.create(contextBrokerUrlForCommands() + "/subscriptions/" + subscription.getId()))
                 .DELETE().build();
         try {
-            var response = httpClient.send(httpRequest, HttpResponse.BodyHandlers.ofString());
+            var response = execute(httpRequest);
             if (response.statusCode() != 204) {
                 log.error("Could not remove subscription. Response: {}", response.body());
                 log.debug("Response: {}", response.body());
@@ -215,13 +238,11 @@ public class SubscriptionIntegrationService extends AbstractIntegrationService {
      * @return A list of Subscription objects matching the given entityType.
      */
     public List<Subscription> findAll(Tenant tenant) {
-        var httpClient = HttpClient.newHttpClient();
-        var httpRequest = HttpRequest.newBuilder()
+        var httpRequest = newRequestBuilder(contextBrokerUrlForCommands() + "/subscriptions")
                 .header(CustomHeader.FIWARE_SERVICE, tenant.getTenantId())
-                .uri(URI.create(contextBrokerUrlForCommands() + "/subscriptions"))
                 .GET().build();
         try {
-            var response = httpClient.send(httpRequest, HttpResponse.BodyHandlers.ofString());
+            var response = execute(httpRequest);
             if (response.statusCode() != 200) {
                 log.error("Could not find subscriptions. Response: {}", response.body());
                 log.debug("Response: {}", response.body());
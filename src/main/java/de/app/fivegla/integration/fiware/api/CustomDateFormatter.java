@@ -28,6 +28,16 @@ public final class CustomDateFormatter {
         return FMT.format(instant);
     }
 
+    /**
+     * Formats the given Instant object using a custom date format and appends the result to the given target.
+     *
+     * @param instant The Instant object to be formatted.
+     * @param target  The target to append the formatted date to.
+     */
+    public static void formatTo(Instant instant, Appendable target) {
+        FMT.formatTo(instant, target);
+    }
+
     /**
      * Formats the given Date object using a custom date format.
      *
@@ -0,0 +1,346 @@
+package de.app.fivegla.integration.fiware.api;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+
+/**
+ * Growable UTF-8 byte buffer used to write the JSON for the context broker without creating intermediate strings.
+ * The buffer can be reset and reused, it is not thread-safe.
+ */
+public final class FiwareJsonWriter implements Appendable {
+
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+    /**
+     * Decimals with up to 15 significant digits are distinct as double, so such a decimal is the shortest one.
+     */
+    private static final long MAX_SHORT_DECIMAL = 1_000_000_000_000_000L;
+    private static final long[] POWERS_OF_TEN = new long[19];
+
+    static {
+        POWERS_OF_TEN[0] = 1L;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10L;
+        }
+    }
+
+    private byte[] buffer;
+    private int size;
+
+    public FiwareJsonWriter() {
+        this(4096);
+    }
+
+    public FiwareJsonWriter(int initialCapacity) {
+        this.buffer = new byte[initialCapacity];
+    }
+
+    /**
+     * Creates a writer that contains the given, already serialized content.
+     *
+     * @param content the content
+     * @return the writer
+     */
+    public static FiwareJsonWriter wrap(byte[] content) {
+        var writer = new FiwareJsonWriter(0);
+        writer.buffer = content;
+        writer.size = content.length;
+        return writer;
+    }
+
+    /**
+     * Writes the given characters without escaping, used for JSON syntax and already valid JSON.
+     *
+     * @param value the characters to write
+     * @return this writer
+     */
+    public FiwareJsonWriter raw(CharSequence value) {
+        for (int i = 0; i < value.length(); i++) {
+            i = writeChar(value, i);
+        }
+        return this;
+    }
+
+    /**
+     * Writes a single character without escaping.
+     *
+     * @param value the character to write
+     * @return this writer
+     */
+    public FiwareJsonWriter raw(char value) {
+        if (value < 0x80) {
+            ensureCapacity(1);
+            buffer[size++] = (byte) value;
+        } else {
+            raw(String.valueOf(value));
+        }
+        return this;
+    }
+
+    /**
+     * Writes the given value as quoted and escaped JSON string.
+     *
+     * @param value the value to write
+     * @return this writer
+     */
+    public FiwareJsonWriter string(CharSequence value) {
+        raw('"');
+        escaped(value);
+        return raw('"');
+    }
+
+    /**
+     * Writes the given value as escaped JSON string content, without the surrounding quotes.
+     *
+     * @param value the value to write
+     * @return this writer
+     */
+    public FiwareJsonWriter escaped(CharSequence value) {
+        for (int i = 0; i < value.length(); i++) {
+            var c = value.charAt(i);
+            switch (c) {
+                case '"' -> raw("\\\"");
+                case '\\' -> raw("\\\\");
+                case '\n' -> raw("\\n");
+                case '\r' -> raw("\\r");
+                case '\t' -> raw("\\t");
+                case '\b' -> raw("\\b");
+                case '\f' -> raw("\\f");
+                default -> {
+                    if (c < 0x20) {
+                        ensureCapacity(6);
+                        buffer[size++] = '\\';
+                        buffer[size++] = 'u';
+                        buffer[size++] = '0';
+                        buffer[size++] = '0';
+                        buffer[size++] = HEX[c >> 4];
+                        buffer[size++] = HEX[c & 0xF];
+                    } else {
+                        i = writeChar(value, i);
+                    }
+                }
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Writes the given number the same way string concatenation does. Measurements usually have only a few decimal
+     * digits, their digits are written straight into the buffer. All other numbers, e.g. numbers written in
+     * scientific notation, are written using {@link Double#toString(double)}.
+     *
+     * @param value the number to write
+     * @return this writer
+     */
+    public FiwareJsonWriter number(double value) {
+        if (!shortDecimal(value)) {
+            raw(Double.toString(value));
+        }
+        return this;
+    }
+
+    /**
+     * Writes the given instant as quoted date string, using the {@link CustomDateFormatter}.
+     *
+     * @param value the instant to write
+     * @return this writer
+     */
+    public FiwareJsonWriter dateTime(Instant value) {
+        raw('"');
+        CustomDateFormatter.formatTo(value, this);
+        return raw('"');
+    }
+
+    /**
+     * Copies a range of another writer into this writer.
+     *
+     * @param source the writer to copy from
+     * @param from   the start index, inclusive
+     * @param to     the end index, exclusive
+     * @return this writer
+     */
+    public FiwareJsonWriter copy(FiwareJsonWriter source, int from, int to) {
+        var length = to - from;
+        ensureCapacity(length);
+        System.arraycopy(source.buffer, from, buffer, size, length);
+        size += length;
+        return this;
+    }
+
+    /**
+     * Copies the whole content of another writer into this writer.
+     *
+     * @param source the writer to copy from
+     * @return this writer
+     */
+    public FiwareJsonWriter copy(FiwareJsonWriter source) {
+        return copy(source, 0, source.size);
+    }
+
+    /**
+     * Returns the number of bytes written so far, can be used as mark for {@link #copy(FiwareJsonWriter, int, int)}
+     * and {@link #truncate(int)}.
+     *
+     * @return the number of bytes
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Discards everything written after the given mark.
+     *
+     * @param mark the mark
+     */
+    public void truncate(int mark) {
+        size = mark;
+    }
+
+    /**
+     * Discards the content, the allocated buffer is kept for reuse.
+     */
+    public void reset() {
+        size = 0;
+    }
+
+    /**
+     * Returns the internal buffer, only the first {@link #size()} bytes are valid.
+     *
+     * @return the internal buffer
+     */
+    public byte[] buffer() {
+        return buffer;
+    }
+
+    /**
+     * Returns a copy of the content.
+     *
+     * @return the content
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, size);
+    }
+
+    /**
+     * Writes the content to the given stream.
+     *
+     * @param outputStream the stream
+     * @throws IOException if the stream could not be written
+     */
+    public void writeTo(OutputStream outputStream) throws IOException {
+        outputStream.write(buffer, 0, size);
+    }
+
+    @Override
+    public FiwareJsonWriter append(CharSequence csq) {
+        return raw(csq);
+    }
+
+    @Override
+    public FiwareJsonWriter append(CharSequence csq, int start, int end) {
+        return raw(csq.subSequence(start, end));
+    }
+
+    @Override
+    public FiwareJsonWriter append(char c) {
+        return raw(c);
+    }
+
+    @Override
+    public String toString() {
+        return new String(buffer, 0, size, StandardCharsets.UTF_8);
+    }
+
+    private int writeChar(CharSequence value, int index) {
+        var c = value.charAt(index);
+        if (c < 0x80) {
+            ensureCapacity(1);
+            buffer[size++] = (byte) c;
+        } else if (c < 0x800) {
+            ensureCapacity(2);
+            buffer[size++] = (byte) (0xC0 | (c >> 6));
+            buffer[size++] = (byte) (0x80 | (c & 0x3F));
+        } else if (Character.isHighSurrogate(c) && index + 1 < value.length() && Character.isLowSurrogate(value.charAt(index + 1))) {
+            var codePoint = Character.toCodePoint(c, value.charAt(index + 1));
+            ensureCapacity(4);
+            buffer[size++] = (byte) (0xF0 | (codePoint >> 18));
+            buffer[size++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+            buffer[size++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+            buffer[size++] = (byte) (0x80 | (codePoint & 0x3F));
+            return index + 1;
+        } else if (Character.isSurrogate(c)) {
+            ensureCapacity(1);
+            buffer[size++] = '?';
+        } else {
+            ensureCapacity(3);
+            buffer[size++] = (byte) (0xE0 | (c >> 12));
+            buffer[size++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+            buffer[size++] = (byte) (0x80 | (c & 0x3F));
+        }
+        return index;
+    }
+
+    /**
+     * Writes the number if it is written without exponent and the shortest decimal has at most 15 significant digits.
+     * The decimal is only written if it is parsed to exactly the same number.
+     */
+    private boolean shortDecimal(double value) {
+        if (value == 0.0) {
+            raw(Double.doubleToRawLongBits(value) < 0 ? "-0.0" : "0.0");
+            return true;
+        }
+        var magnitude = Math.abs(value);
+        if (!(magnitude >= 1.0E-3 && magnitude < 1.0E7)) {
+            return false;
+        }
+        for (int fractionDigits = 0; fractionDigits < POWERS_OF_TEN.length; fractionDigits++) {
+            var scaled = magnitude * POWERS_OF_TEN[fractionDigits];
+            if (scaled >= MAX_SHORT_DECIMAL) {
+                return false;
+            }
+            var unscaled = Math.round(scaled);
+            if ((double) unscaled / POWERS_OF_TEN[fractionDigits] == magnitude) {
+                if (value < 0) {
+                    raw('-');
+                }
+                writeDecimal(unscaled, fractionDigits);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void writeDecimal(long unscaled, int fractionDigits) {
+        var integer = unscaled / POWERS_OF_TEN[fractionDigits];
+        var fraction = unscaled % POWERS_OF_TEN[fractionDigits];
+        while (fractionDigits > 0 && fraction % 10 == 0) {
+            fraction /= 10;
+            fractionDigits--;
+        }
+        writeDigits(integer, 1);
+        raw('.');
+        writeDigits(fraction, Math.max(fractionDigits, 1));
+    }
+
+    private void writeDigits(long value, int minDigits) {
+        var digits = 1;
+        while (digits < POWERS_OF_TEN.length && value >= POWERS_OF_TEN[digits]) {
+            digits++;
+        }
+        digits = Math.max(digits, minDigits);
+        ensureCapacity(digits);
+        for (int i = size + digits - 1; i >= size; i--) {
+            buffer[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        size += digits;
+    }
+
+    private void ensureCapacity(int additionalBytes) {
+        if (size + additionalBytes > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length << 1, size + additionalBytes));
+        }
+    }
+}
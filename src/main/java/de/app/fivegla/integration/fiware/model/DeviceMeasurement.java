@@ -1,6 +1,7 @@
 package de.app.fivegla.integration.fiware.model;
 
 import de.app.fivegla.api.enums.SmartModelEntityType;
+import de.app.fivegla.integration.fiware.api.FiwareJsonWriter;
 import de.app.fivegla.integration.fiware.model.api.FiwareEntity;
 import de.app.fivegla.integration.fiware.model.api.Validatable;
 import de.app.fivegla.integration.fiware.model.internal.Attribute;
@@ -57,6 +58,56 @@ public record DeviceMeasurement(
         return json;
     }
 
+    @Override
+    public void writeJson(FiwareJsonWriter json, FiwareJsonWriter smartModelJson) {
+        validate();
+        writeJson(this, json, smartModelJson, group, name, controlledProperty, dateCreated, externalDataReference, latitude, longitude);
+    }
+
+    /**
+     * Writes a device measurement, shared with {@link MeasurementSeries.Cursor} so both produce the same output as
+     * {@link #asJson()} and {@link #asSmartModelJson()}.
+     *
+     * @param entity         the entity providing the id and the type
+     * @param json           the writer of the entity
+     * @param smartModelJson the writer of the smart model entity, <code>null</code> if it is not needed
+     */
+    static void writeJson(FiwareEntity entity,
+                          FiwareJsonWriter json,
+                          FiwareJsonWriter smartModelJson,
+                          Attribute group,
+                          Attribute name,
+                          Attribute controlledProperty,
+                          Attribute dateCreated,
+                          Attribute externalDataReference,
+                          double latitude,
+                          double longitude) {
+        var start = json.size();
+        json.raw("{  \"id\":").string(entity.getId().trim()).raw(",  \"type\":\"");
+        var typeStart = json.size();
+        json.escaped(entity.getType().trim());
+        var typeEnd = json.size();
+        json.raw("\",  \"customGroup\":");
+        group.writeJson(json);
+        json.raw(",  \"name\":");
+        name.writeJson(json);
+        json.raw(",  \"controlledProperty\":");
+        controlledProperty.writeJson(json);
+        json.raw(",  \"externalDataReference\":");
+        externalDataReference.writeJson(json);
+        json.raw(",  \"dateCreated\":");
+        dateCreated.writeJson(json);
+        json.raw(",  \"location\":");
+        entity.writeLocationJson(json, latitude, longitude);
+        json.raw('}');
+        if (null != smartModelJson) {
+            // The smart model entity only differs in the type, so the rest is copied instead of serialized again.
+            smartModelJson.copy(json, start, typeStart)
+                    .escaped(SmartModelEntityType.DEVICE_MEASUREMENT.getKey())
+                    .copy(json, typeEnd, json.size());
+        }
+    }
+
     @Override
     public void validate() {
         if (StringUtils.isBlank(id)) {
@@ -0,0 +1,319 @@
+package de.app.fivegla.integration.fiware.model;
+
+import de.app.fivegla.integration.fiware.api.FiwareJsonWriter;
+import de.app.fivegla.integration.fiware.model.api.FiwareEntity;
+import de.app.fivegla.integration.fiware.model.api.Validatable;
+import de.app.fivegla.integration.fiware.model.internal.Attribute;
+import de.app.fivegla.integration.fiware.model.internal.EmptyAttribute;
+import de.app.fivegla.integration.fiware.model.internal.InstantAttribute;
+import de.app.fivegla.integration.fiware.model.internal.NumberAttribute;
+import de.app.fivegla.integration.fiware.model.internal.TextAttribute;
+import org.apache.commons.lang3.StringUtils;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Columnar buffer for the measurements of a single device, one column of primitive values per measured property and
+ * a shared column of timestamps. Missing values are stored as {@link Double#NaN} and are not delivered.
+ * <p>
+ * The measurements are delivered as {@link DeviceMeasurement}s, see {@link #forEach(String, String, String, double, double, Consumer)}.
+ * A single cursor is moved over the buffer instead of creating objects per value, the output is the same.
+ * The buffer is not thread-safe.
+ * </p>
+ */
+public final class MeasurementSeries {
+
+    private static final int INITIAL_CAPACITY = 64;
+    private static final Attribute EXTERNAL_DATA_REFERENCE = new EmptyAttribute();
+
+    private final String[] properties;
+    private long[] timestamps;
+    private double[][] values;
+    private double[] latitudes;
+    private double[] longitudes;
+    private int rows;
+
+    /**
+     * Creates an empty series.
+     *
+     * @param properties the names of the measured properties, one column per property
+     */
+    public MeasurementSeries(String... properties) {
+        this.properties = properties.clone();
+        this.timestamps = new long[INITIAL_CAPACITY];
+        this.values = new double[properties.length][INITIAL_CAPACITY];
+    }
+
+    /**
+     * Adds a row, all values of the row are missing until they are set.
+     *
+     * @param timestamp the time of the measurements in milliseconds since the epoch
+     * @return the index of the row
+     */
+    public int addRow(long timestamp) {
+        if (rows == timestamps.length) {
+            grow();
+        }
+        timestamps[rows] = timestamp;
+        for (var column : values) {
+            column[rows] = Double.NaN;
+        }
+        if (null != latitudes) {
+            latitudes[rows] = Double.NaN;
+            longitudes[rows] = Double.NaN;
+        }
+        return rows++;
+    }
+
+    /**
+     * Adds a row with its own location, used if the location of the device changes between the measurements.
+     *
+     * @param timestamp the time of the measurements in milliseconds since the epoch
+     * @param latitude  the latitude of the device
+     * @param longitude the longitude of the device
+     * @return the index of the row
+     */
+    public int addRow(long timestamp, double latitude, double longitude) {
+        var row = addRow(timestamp);
+        if (null == latitudes) {
+            latitudes = new double[timestamps.length];
+            longitudes = new double[timestamps.length];
+            Arrays.fill(latitudes, Double.NaN);
+            Arrays.fill(longitudes, Double.NaN);
+        }
+        latitudes[row] = latitude;
+        longitudes[row] = longitude;
+        return row;
+    }
+
+    /**
+     * Sets a value.
+     *
+     * @param row    the index of the row
+     * @param column the index of the property
+     * @param value  the value
+     */
+    public void set(int row, int column, double value) {
+        values[column][checkRow(row)] = value;
+    }
+
+    /**
+     * Sets a value, null is stored as missing value.
+     *
+     * @param row    the index of the row
+     * @param column the index of the property
+     * @param value  the value, may be null
+     */
+    public void set(int row, int column, Double value) {
+        set(row, column, null != value ? value : Double.NaN);
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    public int columns() {
+        return properties.length;
+    }
+
+    public String property(int column) {
+        return properties[column];
+    }
+
+    public long timestamp(int row) {
+        return timestamps[checkRow(row)];
+    }
+
+    public double value(int row, int column) {
+        return values[column][checkRow(row)];
+    }
+
+    /**
+     * Passes every value that is not missing as measurement of the device to the consumer, row by row.
+     * The measurement passed is a cursor that is moved to the next value afterward, it must not be kept.
+     *
+     * @param id        the id of the entity
+     * @param type      the type of the entity
+     * @param group     the id of the group of the device
+     * @param latitude  the latitude of the device, used for rows without own location
+     * @param longitude the longitude of the device, used for rows without own location
+     * @param consumer  the consumer of the measurements
+     */
+    public void forEach(String id, String type, String group, double latitude, double longitude, Consumer<? super Cursor> consumer) {
+        var cursor = new Cursor(id, type, group, latitude, longitude);
+        for (var row = 0; row < rows; row++) {
+            for (var column = 0; column < properties.length; column++) {
+                if (!Double.isNaN(values[column][row])) {
+                    cursor.moveTo(row, column);
+                    consumer.accept(cursor);
+                }
+            }
+        }
+    }
+
+    private int checkRow(int row) {
+        if (row < 0 || row >= rows) {
+            throw new IndexOutOfBoundsException("Row " + row + " is out of bounds for " + rows + " rows.");
+        }
+        return row;
+    }
+
+    private void grow() {
+        var capacity = timestamps.length << 1;
+        timestamps = Arrays.copyOf(timestamps, capacity);
+        for (var column = 0; column < values.length; column++) {
+            values[column] = Arrays.copyOf(values[column], capacity);
+        }
+        if (null != latitudes) {
+            latitudes = Arrays.copyOf(latitudes, capacity);
+            longitudes = Arrays.copyOf(longitudes, capacity);
+        }
+    }
+
+    /**
+     * A single value of the series as device measurement.
+     */
+    public final class Cursor implements FiwareEntity, Validatable {
+
+        private final String id;
+        private final String type;
+        private final Attribute group;
+        private final Attribute[] names;
+        private final double defaultLatitude;
+        private final double defaultLongitude;
+        private final Attribute controlledProperty = new ValueAttribute();
+        private final Attribute dateCreated = new TimestampAttribute();
+        private int row;
+        private int column;
+
+        private Cursor(String id, String type, String group, double latitude, double longitude) {
+            this.id = id;
+            this.type = type;
+            this.group = new TextAttribute(group);
+            this.names = new Attribute[properties.length];
+            for (var index = 0; index < properties.length; index++) {
+                names[index] = new TextAttribute(properties[index]);
+            }
+            this.defaultLatitude = latitude;
+            this.defaultLongitude = longitude;
+        }
+
+        private void moveTo(int row, int column) {
+            this.row = row;
+            this.column = column;
+        }
+
+        public Attribute group() {
+            return group;
+        }
+
+        public Attribute name() {
+            return names[column];
+        }
+
+        public double value() {
+            return values[column][row];
+        }
+
+        public long timestamp() {
+            return timestamps[row];
+        }
+
+        public double latitude() {
+            return null != latitudes && !Double.isNaN(latitudes[row]) ? latitudes[row] : defaultLatitude;
+        }
+
+        public double longitude() {
+            return null != longitudes && !Double.isNaN(longitudes[row]) ? longitudes[row] : defaultLongitude;
+        }
+
+        /**
+         * Creates the device measurement the cursor currently points to.
+         *
+         * @return the device measurement
+         */
+        public DeviceMeasurement toDeviceMeasurement() {
+            return new DeviceMeasurement(id, type, group, name(),
+                    new NumberAttribute(value()),
+                    new InstantAttribute(Instant.ofEpochMilli(timestamp())),
+                    EXTERNAL_DATA_REFERENCE,
+                    latitude(),
+                    longitude());
+        }
+
+        @Override
+        public String asJson() {
+            return toDeviceMeasurement().asJson();
+        }
+
+        @Override
+        public String asSmartModelJson() {
+            return toDeviceMeasurement().asSmartModelJson();
+        }
+
+        @Override
+        public void writeJson(FiwareJsonWriter json, FiwareJsonWriter smartModelJson) {
+            validate();
+            DeviceMeasurement.writeJson(this, json, smartModelJson, group, name(), controlledProperty, dateCreated, EXTERNAL_DATA_REFERENCE, latitude(), longitude());
+        }
+
+        @Override
+        public void validate() {
+            if (StringUtils.isBlank(id)) {
+                throw new IllegalArgumentException("The id of the device measurement must not be null or blank.");
+            }
+            if (StringUtils.isBlank(type)) {
+                throw new IllegalArgumentException("The type of the device measurement must not be null or blank.");
+            }
+        }
+
+        @Override
+        public String getId() {
+            return id;
+        }
+
+        @Override
+        public String getType() {
+            return type;
+        }
+
+        @Override
+        public boolean shouldCreateSmartModelEntity() {
+            return true;
+        }
+
+        /**
+         * The value the cursor points to as attribute, written without creating an attribute per value.
+         */
+        private final class ValueAttribute implements Attribute {
+
+            @Override
+            public String asJson() {
+                return new NumberAttribute(value()).asJson();
+            }
+
+            @Override
+            public void writeJson(FiwareJsonWriter json) {
+                NumberAttribute.writeJson(json, value());
+            }
+        }
+
+        /**
+         * The timestamp the cursor points to as attribute, written without creating an attribute per value.
+         */
+        private final class TimestampAttribute implements Attribute {
+
+            @Override
+            public String asJson() {
+                return new InstantAttribute(Instant.ofEpochMilli(timestamp())).asJson();
+            }
+
+            @Override
+            public void writeJson(FiwareJsonWriter json) {
+                InstantAttribute.writeJson(json, Instant.ofEpochMilli(timestamp()));
+            }
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package de.app.fivegla.integration.fiware.model.api;
 
 import de.app.fivegla.business.agricrop.GpsCoordinate;
+import de.app.fivegla.integration.fiware.api.FiwareJsonWriter;
 import de.app.fivegla.integration.fiware.api.FiwareType;
 
 import java.util.List;
@@ -25,6 +26,21 @@ public interface FiwareEntity {
      */
     String asSmartModelJson();
 
+    /**
+     * Writes the JSON of the entity and, if requested, the JSON of the smart model entity in one pass.
+     * The output is the same as the output of {@link #asJson()} and {@link #asSmartModelJson()}.
+     * Implementations should override this method to avoid creating intermediate strings.
+     *
+     * @param json           the writer for the entity
+     * @param smartModelJson the writer for the smart model entity, null if no smart model entity should be written
+     */
+    default void writeJson(FiwareJsonWriter json, FiwareJsonWriter smartModelJson) {
+        json.raw(asJson());
+        if (null != smartModelJson) {
+            smartModelJson.raw(asSmartModelJson());
+        }
+    }
+
     /**
      * Returns the JSON representation of the location coordinates.
      *
@@ -46,6 +62,24 @@ public interface FiwareEntity {
         }
     }
 
+    /**
+     * Writes the JSON representation of the location coordinates, produces the same output as
+     * {@link #locationAsJson(double, double)}.
+     *
+     * @param json      the writer
+     * @param latitude  the latitude coordinate
+     * @param longitude the longitude coordinate
+     */
+    default void writeLocationJson(FiwareJsonWriter json, double latitude, double longitude) {
+        if (latitude == 0.0 && longitude == 0.0) {
+            json.raw("{}");
+        } else {
+            json.raw("{  \"type\":\"").raw(FiwareType.GEO_PROPERTY.getKey()).raw("\",  \"value\": {    \"type\":\"Point\",    \"coordinates\": [")
+                    .number(longitude).raw(',').number(latitude)
+                    .raw("]  }}");
+        }
+    }
+
     /**
      * Converts a list of GpsCoordinate objects to a JSON string representing a Polygon in GeoJSON format.
      *
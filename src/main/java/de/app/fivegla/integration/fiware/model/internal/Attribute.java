@@ -1,5 +1,7 @@
 package de.app.fivegla.integration.fiware.model.internal;
 
+import de.app.fivegla.integration.fiware.api.FiwareJsonWriter;
+
 /**
  * The Attribute interface represents an attribute.
  */
@@ -10,4 +12,13 @@ public interface Attribute {
      * @return the JSON representation of this object
      */
     String asJson();
+
+    /**
+     * Writes the JSON representation of this object to the given writer, produces the same output as {@link #asJson()}.
+     *
+     * @param json the writer
+     */
+    default void writeJson(FiwareJsonWriter json) {
+        json.raw(asJson().trim());
+    }
 }
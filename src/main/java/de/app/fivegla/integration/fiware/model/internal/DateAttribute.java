@@ -1,6 +1,7 @@
 package de.app.fivegla.integration.fiware.model.internal;
 
 import de.app.fivegla.integration.fiware.api.CustomDateFormatter;
+import de.app.fivegla.integration.fiware.api.FiwareJsonWriter;
 import de.app.fivegla.integration.fiware.api.FiwareType;
 
 import java.util.Date;
@@ -23,4 +24,11 @@ public record DateAttribute(Date value) implements Attribute {
                 "}";
     }
 
+    @Override
+    public void writeJson(FiwareJsonWriter json) {
+        json.raw("{  \"type\":\"").raw(FiwareType.DATE_TIME.getKey()).raw("\",  \"value\":")
+                .dateTime(value.toInstant())
+                .raw('}');
+    }
+
 }
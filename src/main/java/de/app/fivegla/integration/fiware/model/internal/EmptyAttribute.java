@@ -1,5 +1,7 @@
 package de.app.fivegla.integration.fiware.model.internal;
 
+import de.app.fivegla.integration.fiware.api.FiwareJsonWriter;
+
 /**
  * Represents an attribute.
  */
@@ -16,4 +18,9 @@ public record EmptyAttribute() implements Attribute {
                 "}";
     }
 
+    @Override
+    public void writeJson(FiwareJsonWriter json) {
+        json.raw("{}");
+    }
+
 }
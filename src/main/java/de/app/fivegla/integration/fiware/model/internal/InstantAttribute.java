@@ -1,6 +1,7 @@
 package de.app.fivegla.integration.fiware.model.internal;
 
 import de.app.fivegla.integration.fiware.api.CustomDateFormatter;
+import de.app.fivegla.integration.fiware.api.FiwareJsonWriter;
 import de.app.fivegla.integration.fiware.api.FiwareType;
 
 import java.time.Instant;
@@ -23,4 +24,21 @@ public record InstantAttribute(Instant value) implements Attribute {
                 "}";
     }
 
+    @Override
+    public void writeJson(FiwareJsonWriter json) {
+        writeJson(json, value);
+    }
+
+    /**
+     * Writes a date time attribute without creating it, produces the same output as {@link #writeJson(FiwareJsonWriter)}.
+     *
+     * @param json  the writer
+     * @param value the value of the attribute
+     */
+    public static void writeJson(FiwareJsonWriter json, Instant value) {
+        json.raw("{  \"type\":\"").raw(FiwareType.DATE_TIME.getKey()).raw("\",  \"value\":")
+                .dateTime(value)
+                .raw('}');
+    }
+
 }
@@ -1,5 +1,6 @@
 package de.app.fivegla.integration.fiware.model.internal;
 
+import de.app.fivegla.integration.fiware.api.FiwareJsonWriter;
 import de.app.fivegla.integration.fiware.api.FiwareType;
 
 /**
@@ -20,4 +21,21 @@ public record NumberAttribute(double value) implements Attribute {
                 "}";
     }
 
+    @Override
+    public void writeJson(FiwareJsonWriter json) {
+        writeJson(json, value);
+    }
+
+    /**
+     * Writes a number attribute without creating it, produces the same output as {@link #writeJson(FiwareJsonWriter)}.
+     *
+     * @param json  the writer
+     * @param value the value of the attribute
+     */
+    public static void writeJson(FiwareJsonWriter json, double value) {
+        json.raw("{  \"type\":\"").raw(FiwareType.NUMBER.getKey()).raw("\",  \"value\":")
+                .number(value)
+                .raw('}');
+    }
+
 }
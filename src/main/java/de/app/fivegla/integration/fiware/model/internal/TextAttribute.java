@@ -1,5 +1,6 @@
 package de.app.fivegla.integration.fiware.model.internal;
 
+import de.app.fivegla.integration.fiware.api.FiwareJsonWriter;
 import de.app.fivegla.integration.fiware.api.FiwareType;
 
 /**
@@ -20,4 +21,11 @@ public record TextAttribute(String value) implements Attribute {
                 "}";
     }
 
+    @Override
+    public void writeJson(FiwareJsonWriter json) {
+        json.raw("{  \"type\":\"").raw(FiwareType.TEXT.getKey()).raw("\",  \"value\":")
+                .string(String.valueOf(value))
+                .raw('}');
+    }
+
 }
@@ -1,5 +1,6 @@
 package de.app.fivegla.integration.fiware.request;
 
+import de.app.fivegla.integration.fiware.api.FiwareJsonWriter;
 import de.app.fivegla.integration.fiware.model.api.FiwareEntity;
 import de.app.fivegla.integration.fiware.request.enums.ActionType;
 import lombok.Builder;
@@ -28,7 +29,57 @@ public class UpdateOrCreateFiwareEntitiesRequest {
     private List<FiwareEntity> entities;
 
     public String asJson() {
-        return "{\"actionType\":\"" + actionType + "\",\"entities\":[" + entitiesAsJson() + "," + entitiesAsSmartModelJson() + "]}";
+        var entitiesAsSmartModelJson = entitiesAsSmartModelJson();
+        return "{\"actionType\":\"" + actionType + "\",\"entities\":[" + entitiesAsJson()
+                + (entitiesAsSmartModelJson.isEmpty() ? "" : "," + entitiesAsSmartModelJson) + "]}";
+    }
+
+    /**
+     * Writes the request to the given writer, produces the same output as {@link #asJson()}.
+     *
+     * @param json the writer
+     */
+    public void writeJson(FiwareJsonWriter json) {
+        writeStart(json);
+        var smartModelJson = new FiwareJsonWriter();
+        var smartModelEntities = 0;
+        for (int i = 0; i < entities.size(); i++) {
+            var entity = entities.get(i);
+            if (i > 0) {
+                json.raw(',');
+            }
+            if (entity.shouldCreateSmartModelEntity()) {
+                if (smartModelEntities++ > 0) {
+                    smartModelJson.raw(',');
+                }
+                entity.writeJson(json, smartModelJson);
+            } else {
+                entity.writeJson(json, null);
+            }
+        }
+        writeEnd(json, smartModelJson);
+    }
+
+    /**
+     * Writes the start of the request, everything in front of the first entity.
+     *
+     * @param json the writer
+     */
+    public static void writeStart(FiwareJsonWriter json) {
+        json.raw("{\"actionType\":\"").raw(ActionType.APPEND.getKey()).raw("\",\"entities\":[");
+    }
+
+    /**
+     * Writes the end of the request, the smart model entities are appended after the entities.
+     *
+     * @param json           the writer
+     * @param smartModelJson the comma separated smart model entities, may be empty
+     */
+    public static void writeEnd(FiwareJsonWriter json, FiwareJsonWriter smartModelJson) {
+        if (smartModelJson.size() > 0) {
+            json.raw(',').copy(smartModelJson);
+        }
+        json.raw("]}");
     }
 
     private String entitiesAsSmartModelJson() {
@@ -16,6 +16,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.util.Map;
 import java.util.Optional;
 
 @Slf4j
@@ -44,9 +45,9 @@ public class OrthophotoIntegrationService {
             var headers = new HttpHeaders();
             headers.set("X-API-KEY", orthophotoProcessingApiKey);
             var httpEntity = new HttpEntity<>(headers);
-            var uri = UriComponentsBuilder.fromHttpUrl(orthophotoProcessingApi + "/calculate_orthophoto/" + transactionId)
+            var uri = UriComponentsBuilder.fromHttpUrl(orthophotoProcessingApi + "/calculate_orthophoto/{transactionId}")
                     .toUriString();
-            var response = restTemplate.exchange(uri, HttpMethod.GET, httpEntity, TriggerOrthophotoProcessingResponse.class);
+            var response = restTemplate.exchange(uri, HttpMethod.GET, httpEntity, TriggerOrthophotoProcessingResponse.class, Map.of("transactionId", transactionId));
 
             if (response.getStatusCode() != HttpStatus.OK) {
                 log.error("Error while starting the image calculation using the API. Status code: {}", response.getStatusCode());
@@ -7,6 +7,8 @@ import de.app.fivegla.api.enums.EntityType;
 import de.app.fivegla.api.exceptions.BusinessException;
 import de.app.fivegla.business.RegisteredDevicesService;
 import de.app.fivegla.business.ThirdPartyApiConfigurationService;
+import de.app.fivegla.config.ImportExecutorConfiguration;
+import de.app.fivegla.integration.DeviceFetchExecutor;
 import de.app.fivegla.integration.fiware.FiwareEntityIntegrationService;
 import de.app.fivegla.integration.fiware.model.WeatherData;
 import de.app.fivegla.integration.fiware.model.internal.DateAttribute;
@@ -16,6 +18,7 @@ import de.app.fivegla.integration.openweather.dto.OpenWeatherData;
 import de.app.fivegla.integration.openweather.dto.OpenWeatherDataFromThePast;
 import de.app.fivegla.persistence.entity.Group;
 import de.app.fivegla.persistence.entity.Tenant;
+import de.app.fivegla.persistence.entity.ThirdPartyApiConfiguration;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Async;
@@ -26,6 +29,7 @@ import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.util.Date;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -34,13 +38,14 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class OpenWeatherIntegrationService {
 
-    private static final String OPENWEATHERMAP_API_URL = "https://api.openweathermap.org/data/3.0/onecall?units=metric&exclude=minutely,hourly,daily,alerts";
-    private static final String OPENWEATHERMAP_API_TIMEMACHINE_URL = "https://api.openweathermap.org/data/3.0/onecall/timemachine?units=metric";
+    private static final String OPENWEATHERMAP_API_URL = "https://api.openweathermap.org/data/3.0/onecall?units=metric&exclude=minutely,hourly,daily,alerts&lat={lat}&lon={lon}&appid={apiToken}";
+    private static final String OPENWEATHERMAP_API_TIMEMACHINE_URL = "https://api.openweathermap.org/data/3.0/onecall/timemachine?units=metric&lat={lat}&lon={lon}&dt={dt}&appid={apiToken}";
 
     private final RestTemplate restTemplate;
     private final RegisteredDevicesService registeredDevicesService;
     private final ThirdPartyApiConfigurationService thirdPartyApiConfigurationService;
     private final FiwareEntityIntegrationService fiwareEntityIntegrationService;
+    private final DeviceFetchExecutor deviceFetchExecutor;
 
     /**
      * Fetches weather data from the OpenWeather API for the given longitude and latitude.
@@ -53,11 +58,11 @@ public class OpenWeatherIntegrationService {
     public OpenWeatherData fetchWeatherData(String apiToken, double latitude, double longitude) {
         try {
             log.info("Importing weather data from OpenWeather for longitude {} and latitude {}.", longitude, latitude);
-            var concattedApiUrl = OPENWEATHERMAP_API_URL
-                    .concat("&lat=").concat(String.valueOf(latitude))
-                    .concat("&lon=").concat(String.valueOf(longitude))
-                    .concat("&appid=").concat(apiToken);
-            var openWeatherData = restTemplate.getForObject(concattedApiUrl, OpenWeatherData.class);
+            var uriVariables = Map.of(
+                    "lat", String.valueOf(latitude),
+                    "lon", String.valueOf(longitude),
+                    "apiToken", apiToken);
+            var openWeatherData = restTemplate.getForObject(OPENWEATHERMAP_API_URL, OpenWeatherData.class, uriVariables);
             if (openWeatherData == null) {
                 log.error("Failed to import weather data from OpenWeather for longitude {} and latitude {}.", longitude, latitude);
                 throw new BusinessException(ErrorMessage.builder()
@@ -84,68 +89,69 @@ public class OpenWeatherIntegrationService {
      * @param sensorId           the ID of the sensor for which to import weather data
      * @param startDateInThePast the start date from which to import weather data
      */
-    @Async
+    @Async(ImportExecutorConfiguration.OPEN_WEATHER)
     public void importWeatherDataFromThePast(Tenant tenant, String sensorId, LocalDate startDateInThePast) {
         thirdPartyApiConfigurationService.findByManufacturer(tenant, Manufacturer.OPEN_WEATHER).ifPresent(thirdPartyApiConfiguration -> {
-            var apiToken = thirdPartyApiConfiguration.getApiToken();
             registeredDevicesService.findByTenantAndSensorId(tenant, sensorId).ifPresent(registeredDevice -> {
                 var longitude = registeredDevice.getLongitude();
                 var latitude = registeredDevice.getLatitude();
-                fetchWeatherData(apiToken, latitude, longitude, registeredDevice.getGroup(), registeredDevice.getTenant(), startDateInThePast);
+                fetchWeatherData(thirdPartyApiConfiguration, latitude, longitude, registeredDevice.getGroup(), registeredDevice.getTenant(), startDateInThePast);
                 log.info("Imported weather data from OpenWeather for sensor '{}'.", sensorId);
             });
         });
     }
 
-    private void fetchWeatherData(String apiToken, double latitude, double longitude, Group group, Tenant tenant, LocalDate startDateInThePast) {
+    /**
+     * Fetches the weather data of every day since the start date, the days are fetched concurrently. Days without
+     * weather data are skipped.
+     */
+    private void fetchWeatherData(ThirdPartyApiConfiguration thirdPartyApiConfiguration, double latitude, double longitude, Group group, Tenant tenant, LocalDate startDateInThePast) {
         try {
-            log.info("Iterating form the start date in the past, which is: {}", startDateInThePast);
-            var currentIterationDate = startDateInThePast;
-            while (currentIterationDate.isBefore(LocalDate.now())) {
-                log.info("Fetching weather data from OpenWeather for longitude {}, latitude {} and timestamp {}.", longitude, latitude, currentIterationDate);
-                var openWeatherDataFromThePast = fetchWeatherDataFromThePast(apiToken, latitude, longitude, currentIterationDate);
-                if (openWeatherDataFromThePast.isEmpty()) {
-                    break;
-                } else {
-                    OpenWeatherDataFromThePast historicalWeatherData = openWeatherDataFromThePast.get();
-                    var weatherData = new WeatherData(
-                            UUID.randomUUID().toString(),
-                            EntityType.OPEN_WEATHER_MAP.getKey(),
-                            new TextAttribute(group.getOid()),
-                            new DateAttribute(Date.from(Instant.ofEpochSecond(historicalWeatherData.getData().getTimestamp()))),
-                            historicalWeatherData.getLatitude(),
-                            historicalWeatherData.getLongitude(),
-                            new NumberAttribute(historicalWeatherData.getData().getTemp()),
-                            new NumberAttribute(historicalWeatherData.getData().getPressure()),
-                            new NumberAttribute(historicalWeatherData.getData().getHumidity()),
-                            new NumberAttribute(historicalWeatherData.getData().getDewPoint()),
-                            new NumberAttribute(historicalWeatherData.getData().getUvi()),
-                            new NumberAttribute(historicalWeatherData.getData().getClouds()),
-                            new NumberAttribute(historicalWeatherData.getData().getVisibility()),
-                            new NumberAttribute(historicalWeatherData.getData().getWindSpeed()),
-                            new NumberAttribute(historicalWeatherData.getData().getWindDeg()),
-                            new NumberAttribute(historicalWeatherData.getData().getWindGust()),
-                            new NumberAttribute(historicalWeatherData.getData().getRain() != null ? historicalWeatherData.getData().getRain().getOneHour() : 0),
-                            new NumberAttribute(historicalWeatherData.getData().getSnow() != null ? historicalWeatherData.getData().getSnow().getOneHour() : 0)
-                    );
-                    log.info("Persisting weather data from OpenWeather to FIWARE for longitude {}, latitude {} and timestamp {}.", longitude, latitude, currentIterationDate);
-                    fiwareEntityIntegrationService.persist(tenant, group, weatherData);
-                    currentIterationDate = currentIterationDate.plusDays(1);
-                }
-            }
+            log.info("Fetching weather data from OpenWeather for every day since the start date in the past, which is: {}", startDateInThePast);
+            var days = startDateInThePast.datesUntil(LocalDate.now()).toList();
+            var nrOfDays = deviceFetchExecutor.fetchAll(Manufacturer.OPEN_WEATHER, thirdPartyApiConfiguration, days,
+                    day -> fetchWeatherDataFromThePast(thirdPartyApiConfiguration.getApiToken(), latitude, longitude, day).orElse(null),
+                    (day, historicalWeatherData) -> {
+                        log.info("Persisting weather data from OpenWeather to FIWARE for longitude {}, latitude {} and timestamp {}.", longitude, latitude, day);
+                        fiwareEntityIntegrationService.persist(tenant, group, toWeatherData(group, historicalWeatherData));
+                    });
+            log.info("Imported weather data of {} out of {} days from OpenWeather for longitude {} and latitude {}.", nrOfDays, days.size(), longitude, latitude);
         } catch (Exception e) {
             log.error("Failed to import weather data from OpenWeather for longitude {} and latitude {}.", longitude, latitude, e);
         }
     }
 
+    private WeatherData toWeatherData(Group group, OpenWeatherDataFromThePast historicalWeatherData) {
+        return new WeatherData(
+                UUID.randomUUID().toString(),
+                EntityType.OPEN_WEATHER_MAP.getKey(),
+                new TextAttribute(group.getOid()),
+                new DateAttribute(Date.from(Instant.ofEpochSecond(historicalWeatherData.getData().getTimestamp()))),
+                historicalWeatherData.getLatitude(),
+                historicalWeatherData.getLongitude(),
+                new NumberAttribute(historicalWeatherData.getData().getTemp()),
+                new NumberAttribute(historicalWeatherData.getData().getPressure()),
+                new NumberAttribute(historicalWeatherData.getData().getHumidity()),
+                new NumberAttribute(historicalWeatherData.getData().getDewPoint()),
+                new NumberAttribute(historicalWeatherData.getData().getUvi()),
+                new NumberAttribute(historicalWeatherData.getData().getClouds()),
+                new NumberAttribute(historicalWeatherData.getData().getVisibility()),
+                new NumberAttribute(historicalWeatherData.getData().getWindSpeed()),
+                new NumberAttribute(historicalWeatherData.getData().getWindDeg()),
+                new NumberAttribute(historicalWeatherData.getData().getWindGust()),
+                new NumberAttribute(historicalWeatherData.getData().getRain() != null ? historicalWeatherData.getData().getRain().getOneHour() : 0),
+                new NumberAttribute(historicalWeatherData.getData().getSnow() != null ? historicalWeatherData.getData().getSnow().getOneHour() : 0)
+        );
+    }
+
     private Optional<OpenWeatherDataFromThePast> fetchWeatherDataFromThePast(String apiToken, double latitude, double longitude, LocalDate startDateInThePast) {
         try {
-            var concattedApiUrl = OPENWEATHERMAP_API_TIMEMACHINE_URL
-                    .concat("&lat=").concat(String.valueOf(latitude))
-                    .concat("&lon=").concat(String.valueOf(longitude))
-                    .concat("&dt=").concat(String.valueOf(startDateInThePast.atStartOfDay(ZoneId.systemDefault()).toEpochSecond()))
-                    .concat("&appid=").concat(apiToken);
-            var openWeatherDataFromThePast = restTemplate.getForObject(concattedApiUrl, OpenWeatherDataFromThePast.class);
+            var uriVariables = Map.of(
+                    "lat", String.valueOf(latitude),
+                    "lon", String.valueOf(longitude),
+                    "dt", String.valueOf(startDateInThePast.atStartOfDay(ZoneId.systemDefault()).toEpochSecond()),
+                    "apiToken", apiToken);
+            var openWeatherDataFromThePast = restTemplate.getForObject(OPENWEATHERMAP_API_TIMEMACHINE_URL, OpenWeatherDataFromThePast.class, uriVariables);
             if (openWeatherDataFromThePast == null) {
                 log.error("Failed to import weather data from OpenWeather for longitude {}, latitude {} and timestamp {}.", longitude, latitude, startDateInThePast);
                 return Optional.empty();
@@ -3,6 +3,7 @@ package de.app.fivegla.integration.sensoterra;
 import de.app.fivegla.api.Error;
 import de.app.fivegla.api.ErrorMessage;
 import de.app.fivegla.api.exceptions.BusinessException;
+import de.app.fivegla.integration.VendorTopologyCache;
 import de.app.fivegla.integration.sensoterra.model.Location;
 import de.app.fivegla.persistence.entity.ThirdPartyApiConfiguration;
 import lombok.RequiredArgsConstructor;
@@ -24,38 +25,44 @@ public class LocationIntegrationService {
 
     private final RestTemplate restTemplate;
     private final ApiKeyIntegrationService apiKeyIntegrationService;
+    private final VendorTopologyCache vendorTopologyCache;
 
     /**
-     * Fetches all locations from the API.
+     * Fetches all locations from the API, the locations are cached by the {@link VendorTopologyCache}.
      *
      * @return List of locations.
      */
     public List<Location> fetchAll(ThirdPartyApiConfiguration thirdPartyApiConfiguration) {
         try {
-            var headers = new HttpHeaders();
-            headers.setAccept(Collections.singletonList(MediaType.APPLICATION_JSON));
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            headers.add("api_key", apiKeyIntegrationService.fetchApiKey(thirdPartyApiConfiguration));
-            var httpEntity = new HttpEntity<>(headers);
-            var response = restTemplate.exchange(thirdPartyApiConfiguration + "/location", HttpMethod.GET, httpEntity, Location[].class);
-            if (response.getStatusCode() != HttpStatus.OK) {
-                log.error("Error while fetching the locations from the API. Status code: {}", response.getStatusCode());
-                throw new BusinessException(ErrorMessage.builder()
-                        .error(Error.SENSOTERRA_COULD_NOT_FETCH_LOCATIONS)
-                        .message("Could not fetch locations from the API.")
-                        .build());
-            } else {
-                log.info("Successfully fetched locations from the API.");
-                var locations = response.getBody();
-                if (null == locations) {
+            return vendorTopologyCache.get(thirdPartyApiConfiguration, "locations", conditionalHeaders -> {
+                var headers = new HttpHeaders();
+                headers.setAccept(Collections.singletonList(MediaType.APPLICATION_JSON));
+                headers.setContentType(MediaType.APPLICATION_JSON);
+                headers.add("api_key", apiKeyIntegrationService.fetchApiKey(thirdPartyApiConfiguration));
+                headers.addAll(conditionalHeaders);
+                var httpEntity = new HttpEntity<>(headers);
+                var response = restTemplate.exchange(thirdPartyApiConfiguration.getUrl() + "/location", HttpMethod.GET, httpEntity, Location[].class);
+                if (response.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+                    return VendorTopologyCache.Topology.notModified();
+                } else if (response.getStatusCode() != HttpStatus.OK) {
+                    log.error("Error while fetching the locations from the API. Status code: {}", response.getStatusCode());
                     throw new BusinessException(ErrorMessage.builder()
                             .error(Error.SENSOTERRA_COULD_NOT_FETCH_LOCATIONS)
-                            .message("Could not fetch locations from the API. Response was empty.")
+                            .message("Could not fetch locations from the API.")
                             .build());
                 } else {
-                    return List.of(locations);
+                    log.info("Successfully fetched locations from the API.");
+                    var locations = response.getBody();
+                    if (null == locations) {
+                        throw new BusinessException(ErrorMessage.builder()
+                                .error(Error.SENSOTERRA_COULD_NOT_FETCH_LOCATIONS)
+                                .message("Could not fetch locations from the API. Response was empty.")
+                                .build());
+                    } else {
+                        return VendorTopologyCache.Topology.of(List.of(locations), response.getHeaders());
+                    }
                 }
-            }
+            });
         } catch (Exception e) {
             log.error("Error while fetching the locations from API.", e);
             throw new BusinessException(ErrorMessage.builder()
@@ -3,7 +3,9 @@ package de.app.fivegla.integration.sensoterra;
 import de.app.fivegla.api.Error;
 import de.app.fivegla.api.ErrorMessage;
 import de.app.fivegla.api.Format;
+import de.app.fivegla.api.Manufacturer;
 import de.app.fivegla.api.exceptions.BusinessException;
+import de.app.fivegla.integration.DeviceFetchExecutor;
 import de.app.fivegla.integration.sensoterra.model.Probe;
 import de.app.fivegla.integration.sensoterra.model.ProbeData;
 import de.app.fivegla.persistence.entity.ThirdPartyApiConfiguration;
@@ -16,9 +18,10 @@ import org.springframework.web.util.UriComponentsBuilder;
 
 import java.time.Instant;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 
 /**
  * Integration service for the Sensoterra API.
@@ -32,60 +35,69 @@ public class ProbeDataIntegrationService {
     private final ProbeIntegrationService probeIntegrationService;
     private final RestTemplate restTemplate;
     private final ApiKeyIntegrationService apiKeyIntegrationService;
+    private final DeviceFetchExecutor deviceFetchExecutor;
 
     /**
-     * Fetches all probes from the Sensoterra API.
+     * Fetches all probes from the Sensoterra API. The data of each probe is passed to the consumer as soon as it is
+     * fetched, while the data of the next probes is still being fetched.
      *
-     * @param begin The beginning date to fetch the data for.
-     * @return Map of probes.
+     * @param begin    The beginning date to fetch the data for, per probe.
+     * @param end      The end date to fetch the data for.
+     * @param consumer The consumer for the probe and its data.
+     * @return Number of probes passed to the consumer.
      */
-    public Map<Probe, List<ProbeData>> fetchAll(ThirdPartyApiConfiguration thirdPartyApiConfiguration, Instant begin) {
-        var probeData = new HashMap<Probe, List<ProbeData>>();
+    public int fetchAll(ThirdPartyApiConfiguration thirdPartyApiConfiguration, Function<Probe, Instant> begin, Instant end, BiConsumer<Probe, List<ProbeData>> consumer) {
         var locations = locationIntegrationService.fetchAll(thirdPartyApiConfiguration);
-        locations.forEach(location -> probeIntegrationService.fetchAll(thirdPartyApiConfiguration, location).forEach(probe -> {
-            try {
-                var headers = new HttpHeaders();
-                headers.setAccept(Collections.singletonList(MediaType.APPLICATION_JSON));
-                headers.setContentType(MediaType.APPLICATION_JSON);
-                headers.add("api_key", apiKeyIntegrationService.fetchApiKey(thirdPartyApiConfiguration));
-                var httpEntity = new HttpEntity<>(headers);
-                var uri = UriComponentsBuilder.fromHttpUrl(thirdPartyApiConfiguration.getUrl() + "/probe/{probeId}/{from}/{to}")
-                        .encode()
-                        .toUriString();
-                var uriVariables = Map.of(
-                        "probeId",
-                        probe.getId(),
-                        "from",
-                        Format.format(begin),
-                        "to",
-                        Format.format(Instant.now()));
-                var response = restTemplate.exchange(uri, HttpMethod.GET, httpEntity, ProbeData[].class, uriVariables);
-                if (response.getStatusCode() != HttpStatus.OK) {
-                    log.error("Error while fetching the probes from the API. Status code: {}", response.getStatusCode());
+        var probes = locations.stream()
+                .flatMap(location -> probeIntegrationService.fetchAll(thirdPartyApiConfiguration, location).stream())
+                .toList();
+        var apiKey = apiKeyIntegrationService.fetchApiKey(thirdPartyApiConfiguration);
+        return deviceFetchExecutor.fetchAll(Manufacturer.SENSOTERRA, thirdPartyApiConfiguration, probes,
+                probe -> fetchAll(thirdPartyApiConfiguration, apiKey, probe, begin.apply(probe), end), consumer);
+    }
+
+    private List<ProbeData> fetchAll(ThirdPartyApiConfiguration thirdPartyApiConfiguration, String apiKey, Probe probe, Instant begin, Instant end) {
+        try {
+            var headers = new HttpHeaders();
+            headers.setAccept(Collections.singletonList(MediaType.APPLICATION_JSON));
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            headers.add("api_key", apiKey);
+            var httpEntity = new HttpEntity<>(headers);
+            var uri = UriComponentsBuilder.fromHttpUrl(thirdPartyApiConfiguration.getUrl() + "/probe/{probeId}/{from}/{to}")
+                    .encode()
+                    .toUriString();
+            var uriVariables = Map.of(
+                    "probeId",
+                    probe.getId(),
+                    "from",
+                    Format.format(begin),
+                    "to",
+                    Format.format(end));
+            var response = restTemplate.exchange(uri, HttpMethod.GET, httpEntity, ProbeData[].class, uriVariables);
+            if (response.getStatusCode() != HttpStatus.OK) {
+                log.error("Error while fetching the probes from the API. Status code: {}", response.getStatusCode());
+                throw new BusinessException(ErrorMessage.builder()
+                        .error(Error.SENSOTERRA_COULD_NOT_FETCH_PROBES)
+                        .message("Could not fetch probes from the API.")
+                        .build());
+            } else {
+                log.info("Successfully fetched probes from the API.");
+                var probeData = response.getBody();
+                if (null == probeData) {
                     throw new BusinessException(ErrorMessage.builder()
                             .error(Error.SENSOTERRA_COULD_NOT_FETCH_PROBES)
-                            .message("Could not fetch probes from the API.")
+                            .message("Could not fetch probes from the API. Response was empty.")
                             .build());
                 } else {
-                    log.info("Successfully fetched probes from the API.");
-                    var probes = response.getBody();
-                    if (null == probes) {
-                        throw new BusinessException(ErrorMessage.builder()
-                                .error(Error.SENSOTERRA_COULD_NOT_FETCH_PROBES)
-                                .message("Could not fetch probes from the API. Response was empty.")
-                                .build());
-                    } else {
-                        probeData.put(probe, List.of(probes));
-                    }
+                    return List.of(probeData);
                 }
-            } catch (Exception e) {
-                log.error("Error while fetching the probes from API.", e);
-                throw new BusinessException(ErrorMessage.builder()
-                        .error(Error.SENSOTERRA_COULD_NOT_FETCH_PROBES)
-                        .message("Could not fetch probes from the API.")
-                        .build());
             }
-        }));
-        return probeData;
+        } catch (Exception e) {
+            log.error("Error while fetching the probes from API.", e);
+            throw new BusinessException(ErrorMessage.builder()
+                    .error(Error.SENSOTERRA_COULD_NOT_FETCH_PROBES)
+                    .message("Could not fetch probes from the API.")
+                    .build());
+        }
     }
 }
@@ -3,6 +3,7 @@ package de.app.fivegla.integration.sensoterra;
 import de.app.fivegla.api.Error;
 import de.app.fivegla.api.ErrorMessage;
 import de.app.fivegla.api.exceptions.BusinessException;
+import de.app.fivegla.integration.VendorTopologyCache;
 import de.app.fivegla.integration.sensoterra.model.Location;
 import de.app.fivegla.integration.sensoterra.model.Probe;
 import de.app.fivegla.persistence.entity.ThirdPartyApiConfiguration;
@@ -27,45 +28,51 @@ public class ProbeIntegrationService {
 
     private final RestTemplate restTemplate;
     private final ApiKeyIntegrationService apiKeyIntegrationService;
+    private final VendorTopologyCache vendorTopologyCache;
 
     /**
-     * Fetches all probes from the Sensoterra API.
+     * Fetches all probes from the Sensoterra API, the probes are cached by the {@link VendorTopologyCache}.
      *
      * @param location The location to fetch the probes for.
      * @return List of probes.
      */
     public List<Probe> fetchAll(ThirdPartyApiConfiguration thirdPartyApiConfiguration, Location location) {
         try {
-            var headers = new HttpHeaders();
-            headers.setAccept(Collections.singletonList(MediaType.APPLICATION_JSON));
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            headers.add("api_key", apiKeyIntegrationService.fetchApiKey(thirdPartyApiConfiguration));
-            var httpEntity = new HttpEntity<>(headers);
-            var uri = UriComponentsBuilder.fromHttpUrl(thirdPartyApiConfiguration.getUrl() + "/probe/{locationId}")
-                    .encode()
-                    .toUriString();
-            var uriVariables = Map.of(
-                    "locationId",
-                    location.getId());
-            var response = restTemplate.exchange(uri, HttpMethod.GET, httpEntity, Probe[].class, uriVariables);
-            if (response.getStatusCode() != HttpStatus.OK) {
-                log.error("Error while fetching the probes from the API. Status code: {}", response.getStatusCode());
-                throw new BusinessException(ErrorMessage.builder()
-                        .error(Error.SENSOTERRA_COULD_NOT_FETCH_PROBES)
-                        .message("Could not fetch probes from the API.")
-                        .build());
-            } else {
-                log.info("Successfully fetched probes from the API.");
-                var probes = response.getBody();
-                if (null == probes) {
+            return vendorTopologyCache.get(thirdPartyApiConfiguration, "probes/" + location.getId(), conditionalHeaders -> {
+                var headers = new HttpHeaders();
+                headers.setAccept(Collections.singletonList(MediaType.APPLICATION_JSON));
+                headers.setContentType(MediaType.APPLICATION_JSON);
+                headers.add("api_key", apiKeyIntegrationService.fetchApiKey(thirdPartyApiConfiguration));
+                headers.addAll(conditionalHeaders);
+                var httpEntity = new HttpEntity<>(headers);
+                var uri = UriComponentsBuilder.fromHttpUrl(thirdPartyApiConfiguration.getUrl() + "/probe/{locationId}")
+                        .encode()
+                        .toUriString();
+                var uriVariables = Map.of(
+                        "locationId",
+                        location.getId());
+                var response = restTemplate.exchange(uri, HttpMethod.GET, httpEntity, Probe[].class, uriVariables);
+                if (response.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+                    return VendorTopologyCache.Topology.notModified();
+                } else if (response.getStatusCode() != HttpStatus.OK) {
+                    log.error("Error while fetching the probes from the API. Status code: {}", response.getStatusCode());
                     throw new BusinessException(ErrorMessage.builder()
                             .error(Error.SENSOTERRA_COULD_NOT_FETCH_PROBES)
-                            .message("Could not fetch probes from the API. Response was empty.")
+                            .message("Could not fetch probes from the API.")
                             .build());
                 } else {
-                    return List.of(probes);
+                    log.info("Successfully fetched probes from the API.");
+                    var probes = response.getBody();
+                    if (null == probes) {
+                        throw new BusinessException(ErrorMessage.builder()
+                                .error(Error.SENSOTERRA_COULD_NOT_FETCH_PROBES)
+                                .message("Could not fetch probes from the API. Response was empty.")
+                                .build());
+                    } else {
+                        return VendorTopologyCache.Topology.of(List.of(probes), response.getHeaders());
+                    }
                 }
-            }
+            });
         } catch (Exception e) {
             log.error("Error while fetching the probes from API.", e);
             throw new BusinessException(ErrorMessage.builder()
@@ -3,7 +3,7 @@ package de.app.fivegla.integration.sensoterra;
 
 import de.app.fivegla.api.enums.EntityType;
 import de.app.fivegla.business.GroupService;
-import de.app.fivegla.integration.fiware.FiwareEntityIntegrationService;
+import de.app.fivegla.integration.fiware.FiwareEntityBatchWriter;
 import de.app.fivegla.integration.fiware.model.DeviceMeasurement;
 import de.app.fivegla.integration.fiware.model.internal.EmptyAttribute;
 import de.app.fivegla.integration.fiware.model.internal.InstantAttribute;
@@ -28,9 +28,10 @@ import java.util.List;
 public class SensoterraFiwareIntegrationServiceWrapper {
 
     private final GroupService groupService;
-    private final FiwareEntityIntegrationService fiwareEntityIntegrationService;
+    private final FiwareEntityBatchWriter fiwareEntityBatchWriter;
 
-    public void persist(Tenant tenant, Probe probe, List<ProbeData> probeData) {
+    public void persist(FiwareEntityBatchWriter.Scope scope, Probe probe, List<ProbeData> probeData) {
+        var tenant = scope.getTenant();
         var group = groupService.findGroupByTenantAndSensorId(tenant, String.valueOf(probe.getId()));
         if (group.isDefaultGroupForTenant()) {
             log.warn("Looks like the group for the sensor with id {} is not set. We are using the default group for the tenant.", probe.getId());
@@ -38,7 +39,7 @@ public class SensoterraFiwareIntegrationServiceWrapper {
         probeData.forEach(probeDataEntry -> {
             log.info("Persisting measurement for probe: {}", probe);
             var deviceMeasurement = createDeviceMeasurement(tenant, group, probe, probeDataEntry);
-            fiwareEntityIntegrationService.persist(tenant, group, deviceMeasurement);
+            fiwareEntityBatchWriter.add(scope, group, deviceMeasurement);
         });
     }
 
@@ -1,6 +1,9 @@
 package de.app.fivegla.integration.sensoterra;
 
 import de.app.fivegla.api.Manufacturer;
+import de.app.fivegla.business.ImportCheckpoint;
+import de.app.fivegla.business.ImportWatermarkService;
+import de.app.fivegla.config.ImportExecutorConfiguration;
 import de.app.fivegla.integration.sensoterra.model.Probe;
 import de.app.fivegla.integration.sensoterra.model.ProbeData;
 import de.app.fivegla.monitoring.JobMonitor;
@@ -15,7 +18,8 @@ import org.springframework.stereotype.Service;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Scheduled data import from Agvolution API.
@@ -27,36 +31,35 @@ public class SensoterraMeasurementImport {
 
     private final ProbeDataIntegrationService probeDataIntegrationService;
     private final SensoterraFiwareIntegrationServiceWrapper sensoterraFiwareIntegrationServiceWrapper;
+    private final ImportWatermarkService importWatermarkService;
     private final JobMonitor jobMonitor;
 
     @Value("${app.scheduled.daysInThePastForInitialImport}")
     private int daysInThePastForInitialImport;
 
     /**
-     * Run scheduled data import.
+     * Run scheduled data import. Every device is imported starting at its watermark.
+     *
+     * @return a future completed with the number of measurements received, completed exceptionally if the import failed
      */
-    @Async
-    public void run(Tenant tenant, ThirdPartyApiConfiguration thirdPartyApiConfiguration) {
+    @Async(ImportExecutorConfiguration.SENSOTERRA)
+    public CompletableFuture<Integer> run(Tenant tenant, ThirdPartyApiConfiguration thirdPartyApiConfiguration) {
         var begin = Instant.now();
         try {
+            Instant fallback;
             if (null != thirdPartyApiConfiguration.getLastRun()) {
                 log.info("Running scheduled data import from Sensoterra API");
-                var seriesEntries = probeDataIntegrationService.fetchAll(thirdPartyApiConfiguration, thirdPartyApiConfiguration.getLastRun().toInstant());
-                jobMonitor.logNrOfEntitiesFetched(Manufacturer.SENSOTERRA, seriesEntries.size());
-                log.info("Found {} seriesEntries", seriesEntries.size());
-                log.info("Persisting {} seriesEntries", seriesEntries.size());
-                seriesEntries.entrySet().forEach(probeListEntry -> persistDataWithinFiware(tenant, probeListEntry));
+                fallback = thirdPartyApiConfiguration.getLastRun().toInstant();
             } else {
                 log.info("Running initial data import from Sensoterra API, this may take a while");
-                var seriesEntries = probeDataIntegrationService.fetchAll(thirdPartyApiConfiguration, Instant.now().minus(daysInThePastForInitialImport, ChronoUnit.DAYS));
-                log.info("Found {} seriesEntries", seriesEntries.size());
-                log.info("Persisting {} seriesEntries", seriesEntries.size());
-                jobMonitor.logNrOfEntitiesFetched(Manufacturer.SENSOTERRA, seriesEntries.size());
-                seriesEntries.entrySet().forEach(probeListEntry -> persistDataWithinFiware(tenant, probeListEntry));
+                fallback = Instant.now().minus(daysInThePastForInitialImport, ChronoUnit.DAYS);
             }
+            var nrOfMeasurements = runImport(thirdPartyApiConfiguration, importWatermarkService.resume(tenant, thirdPartyApiConfiguration, fallback), Instant.now());
+            return CompletableFuture.completedFuture(nrOfMeasurements);
         } catch (Exception e) {
             log.error("Error while running scheduled data import from Sensoterra API", e);
             jobMonitor.logErrorDuringExecution(Manufacturer.SENSOTERRA);
+            return CompletableFuture.failedFuture(e);
         } finally {
             log.info("Finished scheduled data import from Sensoterra API");
             var end = Instant.now();
@@ -65,33 +68,44 @@ public class SensoterraMeasurementImport {
     }
 
     /**
-     * Run historical data import.
+     * Run historical data import for a single chunk of the time range, the watermarks and the last run are not changed.
+     *
+     * @return a future completed once the data has been delivered, completed exceptionally if the import failed
      */
-    @Async
-    public void run(Tenant tenant, ThirdPartyApiConfiguration thirdPartyApiConfiguration, Instant start) {
+    @Async(ImportExecutorConfiguration.SENSOTERRA)
+    public CompletableFuture<Void> run(Tenant tenant, ThirdPartyApiConfiguration thirdPartyApiConfiguration, Instant start, Instant end) {
         var begin = Instant.now();
         try {
-            log.info("Running historical data import from Sensoterra API, this may take a while");
-            var seriesEntries = probeDataIntegrationService.fetchAll(thirdPartyApiConfiguration, start);
-            log.info("Found {} seriesEntries", seriesEntries.size());
-            log.info("Persisting {} seriesEntries", seriesEntries.size());
-            jobMonitor.logNrOfEntitiesFetched(Manufacturer.SENSOTERRA, seriesEntries.size());
-            seriesEntries.entrySet().forEach(probeListEntry -> persistDataWithinFiware(tenant, probeListEntry));
+            log.info("Running historical data import from Sensoterra API from {} to {}", start, end);
+            runImport(thirdPartyApiConfiguration, importWatermarkService.startAt(tenant, thirdPartyApiConfiguration, start), end);
+            return CompletableFuture.completedFuture(null);
         } catch (Exception e) {
-            log.error("Error while running scheduled data import from Sensoterra API", e);
+            log.error("Error while running historical data import from Sensoterra API", e);
             jobMonitor.logErrorDuringExecution(Manufacturer.SENSOTERRA);
+            return CompletableFuture.failedFuture(e);
         } finally {
-            log.info("Finished scheduled data import from Sensoterra API");
-            var end = Instant.now();
-            jobMonitor.logJobExecutionTime(Manufacturer.SENSOTERRA, begin.until(end, ChronoUnit.SECONDS));
+            log.info("Finished historical data import from Sensoterra API");
+            jobMonitor.logJobExecutionTime(Manufacturer.SENSOTERRA, begin.until(Instant.now(), ChronoUnit.SECONDS));
         }
     }
 
-    private void persistDataWithinFiware(Tenant tenant, Map.Entry<Probe, List<ProbeData>> entry) {
+    private int runImport(ThirdPartyApiConfiguration thirdPartyApiConfiguration, ImportCheckpoint importCheckpoint, Instant end) {
+        var nrOfMeasurements = new AtomicInteger();
+        var nrOfProbes = probeDataIntegrationService.fetchAll(thirdPartyApiConfiguration, probe -> importCheckpoint.from(probe.getId()), end,
+                (probe, probeData) -> {
+                    nrOfMeasurements.addAndGet(probeData.size());
+                    persistDataWithinFiware(importCheckpoint, probe, probeData);
+                });
+        jobMonitor.logNrOfEntitiesFetched(Manufacturer.SENSOTERRA, nrOfProbes);
+        log.info("Persisted the data of {} probes", nrOfProbes);
+        importCheckpoint.finish();
+        return nrOfMeasurements.get();
+    }
+
+    private void persistDataWithinFiware(ImportCheckpoint importCheckpoint, Probe probe, List<ProbeData> probeData) {
         try {
-            Probe key = entry.getKey();
-            List<ProbeData> value = entry.getValue();
-            sensoterraFiwareIntegrationServiceWrapper.persist(tenant, key, value);
+            sensoterraFiwareIntegrationServiceWrapper.persist(importCheckpoint.getScope(), probe, probeData);
+            importCheckpoint.delivered(probe.getId());
         } catch (Exception e) {
             log.error("Error while running scheduled data import from Sensoterra API", e);
             jobMonitor.logErrorDuringExecution(Manufacturer.SENSOTERRA);
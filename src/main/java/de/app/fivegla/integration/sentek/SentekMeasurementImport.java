@@ -1,7 +1,10 @@
 package de.app.fivegla.integration.sentek;
 
 import de.app.fivegla.api.Manufacturer;
-import de.app.fivegla.integration.sentek.model.csv.Reading;
+import de.app.fivegla.business.ImportCheckpoint;
+import de.app.fivegla.business.ImportWatermarkService;
+import de.app.fivegla.config.ImportExecutorConfiguration;
+import de.app.fivegla.integration.fiware.model.MeasurementSeries;
 import de.app.fivegla.integration.sentek.model.xml.Logger;
 import de.app.fivegla.monitoring.JobMonitor;
 import de.app.fivegla.persistence.entity.Tenant;
@@ -14,8 +17,8 @@ import org.springframework.stereotype.Service;
 
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
-import java.util.List;
-import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Scheduled data import from Sentek API.
@@ -27,36 +30,35 @@ public class SentekMeasurementImport {
 
     private final SentekSensorDataIntegrationService sentekSensorDataIntegrationService;
     private final SentekFiwareIntegrationServiceWrapper sentekFiwareIntegrationServiceWrapper;
+    private final ImportWatermarkService importWatermarkService;
     private final JobMonitor jobMonitor;
 
     @Value("${app.scheduled.daysInThePastForInitialImport}")
     private int daysInThePastForInitialImport;
 
     /**
-     * Run scheduled data import.
+     * Run scheduled data import. Every device is imported starting at its watermark.
+     *
+     * @return a future completed with the number of measurements received, completed exceptionally if the import failed
      */
-    @Async
-    public void run(Tenant tenant, ThirdPartyApiConfiguration thirdPartyApiConfiguration) {
+    @Async(ImportExecutorConfiguration.SENTEK)
+    public CompletableFuture<Integer> run(Tenant tenant, ThirdPartyApiConfiguration thirdPartyApiConfiguration) {
         var begin = Instant.now();
         try {
+            Instant fallback;
             if (null != thirdPartyApiConfiguration.getLastRun()) {
                 log.info("Running scheduled data import from Sentek API");
-                var measurements = sentekSensorDataIntegrationService.fetchAll(thirdPartyApiConfiguration, thirdPartyApiConfiguration.getLastRun().toInstant());
-                jobMonitor.logNrOfEntitiesFetched(Manufacturer.SENTEK, measurements.size());
-                log.info("Found {} measurements", measurements.size());
-                log.info("Persisting {} measurements", measurements.size());
-                measurements.entrySet().forEach(loggerListEntry -> persistDataWithinFiware(tenant, loggerListEntry));
+                fallback = thirdPartyApiConfiguration.getLastRun().toInstant();
             } else {
                 log.info("Running initial data import from Sentek API, this may take a while");
-                var measurements = sentekSensorDataIntegrationService.fetchAll(thirdPartyApiConfiguration, Instant.now().minus(daysInThePastForInitialImport, ChronoUnit.DAYS));
-                log.info("Found {} measurements", measurements.size());
-                log.info("Persisting {} measurements", measurements.size());
-                jobMonitor.logNrOfEntitiesFetched(Manufacturer.SENTEK, measurements.size());
-                measurements.entrySet().forEach(loggerListEntry -> persistDataWithinFiware(tenant, loggerListEntry));
+                fallback = Instant.now().minus(daysInThePastForInitialImport, ChronoUnit.DAYS);
             }
+            var nrOfMeasurements = runImport(thirdPartyApiConfiguration, importWatermarkService.resume(tenant, thirdPartyApiConfiguration, fallback), Instant.now());
+            return CompletableFuture.completedFuture(nrOfMeasurements);
         } catch (Exception e) {
             log.error("Error while running scheduled data import from Sentek API", e);
             jobMonitor.logErrorDuringExecution(Manufacturer.SENTEK);
+            return CompletableFuture.failedFuture(e);
         } finally {
             log.info("Finished scheduled data import from Sentek API");
             var end = Instant.now();
@@ -65,33 +67,44 @@ public class SentekMeasurementImport {
     }
 
     /**
-     * Run historical data import.
+     * Run historical data import for a single chunk of the time range, the watermarks and the last run are not changed.
+     *
+     * @return a future completed once the data has been delivered, completed exceptionally if the import failed
      */
-    @Async
-    public void run(Tenant tenant, ThirdPartyApiConfiguration thirdPartyApiConfiguration, Instant start) {
+    @Async(ImportExecutorConfiguration.SENTEK)
+    public CompletableFuture<Void> run(Tenant tenant, ThirdPartyApiConfiguration thirdPartyApiConfiguration, Instant start, Instant end) {
         var begin = Instant.now();
         try {
-            log.info("Running historical data import from Sentek API, this may take a while");
-            var measurements = sentekSensorDataIntegrationService.fetchAll(thirdPartyApiConfiguration, start);
-            log.info("Found {} measurements", measurements.size());
-            log.info("Persisting {} measurements", measurements.size());
-            jobMonitor.logNrOfEntitiesFetched(Manufacturer.SENTEK, measurements.size());
-            measurements.entrySet().forEach(loggerListEntry -> persistDataWithinFiware(tenant, loggerListEntry));
+            log.info("Running historical data import from Sentek API from {} to {}", start, end);
+            runImport(thirdPartyApiConfiguration, importWatermarkService.startAt(tenant, thirdPartyApiConfiguration, start), end);
+            return CompletableFuture.completedFuture(null);
         } catch (Exception e) {
-            log.error("Error while running scheduled data import from Sentek API", e);
+            log.error("Error while running historical data import from Sentek API", e);
             jobMonitor.logErrorDuringExecution(Manufacturer.SENTEK);
+            return CompletableFuture.failedFuture(e);
         } finally {
-            log.info("Finished scheduled data import from Sentek API");
-            var end = Instant.now();
-            jobMonitor.logJobExecutionTime(Manufacturer.SENTEK, begin.until(end, ChronoUnit.SECONDS));
+            log.info("Finished historical data import from Sentek API");
+            jobMonitor.logJobExecutionTime(Manufacturer.SENTEK, begin.until(Instant.now(), ChronoUnit.SECONDS));
         }
     }
 
-    private void persistDataWithinFiware(Tenant tenant, Map.Entry<Logger, List<Reading>> entry) {
+    private int runImport(ThirdPartyApiConfiguration thirdPartyApiConfiguration, ImportCheckpoint importCheckpoint, Instant end) {
+        var nrOfMeasurements = new AtomicInteger();
+        var nrOfSensors = sentekSensorDataIntegrationService.fetchAll(thirdPartyApiConfiguration, logger -> importCheckpoint.from(logger.getId()), end,
+                (logger, readings) -> {
+                    nrOfMeasurements.addAndGet(readings.rows());
+                    persistDataWithinFiware(importCheckpoint, logger, readings);
+                });
+        jobMonitor.logNrOfEntitiesFetched(Manufacturer.SENTEK, nrOfSensors);
+        log.info("Persisted the data of {} sensors", nrOfSensors);
+        importCheckpoint.finish();
+        return nrOfMeasurements.get();
+    }
+
+    private void persistDataWithinFiware(ImportCheckpoint importCheckpoint, Logger logger, MeasurementSeries readings) {
         try {
-            Logger key = entry.getKey();
-            List<Reading> value = entry.getValue();
-            sentekFiwareIntegrationServiceWrapper.persist(tenant, key, value);
+            sentekFiwareIntegrationServiceWrapper.persist(importCheckpoint.getScope(), logger, readings);
+            importCheckpoint.delivered(logger.getId());
         } catch (Exception e) {
             log.error("Error while running scheduled data import from Sentek API", e);
             jobMonitor.logErrorDuringExecution(Manufacturer.SENTEK);
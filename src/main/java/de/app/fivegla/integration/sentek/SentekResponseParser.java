@@ -0,0 +1,154 @@
+package de.app.fivegla.integration.sentek;
+
+import com.opencsv.bean.CsvToBeanBuilder;
+import de.app.fivegla.api.Error;
+import de.app.fivegla.api.ErrorMessage;
+import de.app.fivegla.api.exceptions.BusinessException;
+import de.app.fivegla.integration.fiware.model.MeasurementSeries;
+import de.app.fivegla.integration.sentek.model.csv.Reading;
+import de.app.fivegla.integration.sentek.model.xml.Logger;
+import de.app.fivegla.integration.sentek.model.xml.User;
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.JAXBException;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Parses the responses of the Sentek API incrementally, straight from the stream of the response.
+ * <p>
+ * The JAXB context and the StAX factory are expensive to create, both are thread-safe and therefore created once.
+ * Unmarshallers are not thread-safe, they are created per response.
+ * </p>
+ */
+@Slf4j
+final class SentekResponseParser {
+
+    private static final String LOGGER_ELEMENT = "Logger";
+
+    /**
+     * The properties of a reading, in the order of the columns of the {@link MeasurementSeries}.
+     */
+    static final String[] READING_PROPERTIES = {"V1", "V2",
+            "A1", "T1", "A2", "T2", "A3", "T3", "A4", "T4", "A5", "T5", "A6", "T6", "A7", "T7", "A8", "T8", "A9", "T9"};
+    private static final JAXBContext JAXB_CONTEXT = createJaxbContext();
+    private static final XMLInputFactory XML_INPUT_FACTORY = createXmlInputFactory();
+
+    private SentekResponseParser() {
+        // private constructor to prevent instantiation
+    }
+
+    /**
+     * Parses the loggers of the XML returned by the <code>getloggers</code> command, one logger after the other.
+     *
+     * @param inputStream the XML
+     * @return the loggers
+     * @throws BusinessException If there is an error during XML parsing.
+     */
+    static List<Logger> parseLoggers(InputStream inputStream) {
+        try {
+            var reader = XML_INPUT_FACTORY.createXMLStreamReader(inputStream);
+            try {
+                var unmarshaller = JAXB_CONTEXT.createUnmarshaller();
+                var loggers = new ArrayList<Logger>();
+                while (reader.hasNext()) {
+                    if (reader.isStartElement() && LOGGER_ELEMENT.equals(reader.getLocalName())) {
+                        // Moves the reader behind the end of the logger.
+                        loggers.add(unmarshaller.unmarshal(reader, Logger.class).getValue());
+                    } else {
+                        reader.next();
+                    }
+                }
+                log.debug("Parsed {} loggers.", loggers.size());
+                return loggers;
+            } finally {
+                reader.close();
+            }
+        } catch (JAXBException | XMLStreamException e) {
+            log.error("Could not parse the loggers.", e);
+            throw new BusinessException(ErrorMessage.builder()
+                    .error(Error.SENTEK_XML_PARSING_ERROR)
+                    .message("Could not parse sensor data.")
+                    .build());
+        }
+    }
+
+    /**
+     * Parses the CSV returned by the <code>getreadings</code> command line by line, every reading is passed to the
+     * consumer as soon as it is parsed.
+     *
+     * @param reader   the CSV
+     * @param consumer the consumer of the readings
+     * @return the number of readings
+     */
+    static int parseReadings(Reader reader, Consumer<Reading> consumer) {
+        var csvToBean = new CsvToBeanBuilder<Reading>(reader)
+                .withType(Reading.class)
+                .build();
+        var count = 0;
+        for (var reading : csvToBean) {
+            consumer.accept(reading);
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Parses the CSV returned by the <code>getreadings</code> command straight into a series, the reading of a line
+     * is only used to fill the row and can be collected right away.
+     *
+     * @param reader the CSV
+     * @return the series of the readings, one column per {@link #READING_PROPERTIES property}
+     */
+    static MeasurementSeries parseReadings(Reader reader) {
+        var series = new MeasurementSeries(READING_PROPERTIES);
+        parseReadings(reader, reading -> append(series, reading));
+        return series;
+    }
+
+    private static void append(MeasurementSeries series, Reading reading) {
+        var row = series.addRow(reading.getDateTime().getTime());
+        series.set(row, 0, reading.getV1());
+        series.set(row, 1, reading.getV2());
+        series.set(row, 2, reading.getA1());
+        series.set(row, 3, reading.getT1());
+        series.set(row, 4, reading.getA2());
+        series.set(row, 5, reading.getT2());
+        series.set(row, 6, reading.getA3());
+        series.set(row, 7, reading.getT3());
+        series.set(row, 8, reading.getA4());
+        series.set(row, 9, reading.getT4());
+        series.set(row, 10, reading.getA5());
+        series.set(row, 11, reading.getT5());
+        series.set(row, 12, reading.getA6());
+        series.set(row, 13, reading.getT6());
+        series.set(row, 14, reading.getA7());
+        series.set(row, 15, reading.getT7());
+        series.set(row, 16, reading.getA8());
+        series.set(row, 17, reading.getT8());
+        series.set(row, 18, reading.getA9());
+        series.set(row, 19, reading.getT9());
+    }
+
+    private static JAXBContext createJaxbContext() {
+        try {
+            return JAXBContext.newInstance(User.class);
+        } catch (JAXBException e) {
+            throw new IllegalStateException("Could not create the JAXB context for the Sentek API.", e);
+        }
+    }
+
+    private static XMLInputFactory createXmlInputFactory() {
+        var xmlInputFactory = XMLInputFactory.newFactory();
+        // The responses do not use DTDs, disabled to prevent XXE attacks.
+        xmlInputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        xmlInputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return xmlInputFactory;
+    }
+}
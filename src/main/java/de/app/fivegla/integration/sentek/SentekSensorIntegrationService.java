@@ -3,22 +3,20 @@ package de.app.fivegla.integration.sentek;
 import de.app.fivegla.api.Error;
 import de.app.fivegla.api.ErrorMessage;
 import de.app.fivegla.api.exceptions.BusinessException;
+import de.app.fivegla.integration.VendorTopologyCache;
 import de.app.fivegla.integration.sentek.model.xml.Logger;
-import de.app.fivegla.integration.sentek.model.xml.User;
 import de.app.fivegla.persistence.entity.ThirdPartyApiConfiguration;
-import jakarta.xml.bind.JAXBContext;
-import jakarta.xml.bind.JAXBException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.RequestCallback;
+import org.springframework.web.client.ResponseExtractor;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
-import java.io.StringReader;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -32,55 +30,41 @@ import java.util.Map;
 public class SentekSensorIntegrationService {
 
     private final RestTemplate restTemplate;
+    private final VendorTopologyCache vendorTopologyCache;
 
     /**
-     * Fetches all logger data from the Sentek API.
+     * Fetches all logger data from the Sentek API, the loggers are cached by the {@link VendorTopologyCache}.
      *
      * @return A list of Logger objects representing the fetched data.
      * @throws BusinessException If there was an error fetching the data from the Sentek API.
      */
     public List<Logger> fetchAll(ThirdPartyApiConfiguration thirdPartyApiConfiguration) {
-        var headers = new HttpHeaders();
-        headers.setAccept(Collections.singletonList(MediaType.TEXT_PLAIN));
-        var httpEntity = new HttpEntity<String>(headers);
-        var uri = UriComponentsBuilder.fromHttpUrl(thirdPartyApiConfiguration.getUrl() + "/?cmd=getloggers&key={apiToken}")
-                .encode()
-                .toUriString();
-        log.debug("Fetching sensor data from URI: {}", uri);
-        var uriVariables = Map.of("apiToken", thirdPartyApiConfiguration.getApiToken());
-        var response = restTemplate.exchange(uri, HttpMethod.GET, httpEntity, String.class, uriVariables);
-        if (response.getStatusCode().is2xxSuccessful()) {
-            return parse(response.getBody()).getLoggers();
-        } else {
-            var errorMessage = ErrorMessage.builder()
-                    .error(Error.SENTEK_COULD_NOT_FETCH_SENSORS)
-                    .message("Could not fetch sensors from Sentek API.")
-                    .build();
-            throw new BusinessException(errorMessage);
-        }
-    }
-
-    /**
-     * Parses the given XML string and returns a User object.
-     *
-     * @param xml The XML string to be parsed.
-     * @return The User object parsed from the XML string.
-     * @throws BusinessException If there is an error during XML parsing.
-     */
-    protected User parse(String xml) {
-        log.info("Parsing xml: {}", xml);
-        try {
-            var jaxbContext = JAXBContext.newInstance(User.class);
-            var unmarshaller = jaxbContext.createUnmarshaller();
-            var unmarshalled = unmarshaller.unmarshal(new StringReader(xml));
-            return (User) unmarshalled;
-        } catch (JAXBException e) {
-            log.error("Could not parse xml: {}", xml, e);
-            throw new BusinessException(ErrorMessage.builder()
-                    .error(Error.SENTEK_XML_PARSING_ERROR)
-                    .message("Could not parse sensor data.")
-                    .build());
-        }
+        return vendorTopologyCache.get(thirdPartyApiConfiguration, "loggers", conditionalHeaders -> {
+            var uri = UriComponentsBuilder.fromHttpUrl(thirdPartyApiConfiguration.getUrl() + "/?cmd=getloggers&key={apiToken}")
+                    .encode()
+                    .toUriString();
+            log.debug("Fetching sensor data from URI: {}", uri);
+            var uriVariables = Map.of("apiToken", thirdPartyApiConfiguration.getApiToken());
+            RequestCallback requestCallback = request -> {
+                request.getHeaders().setAccept(Collections.singletonList(MediaType.TEXT_PLAIN));
+                request.getHeaders().addAll(conditionalHeaders);
+            };
+            ResponseExtractor<VendorTopologyCache.Topology<List<Logger>>> responseExtractor = response -> {
+                if (response.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+                    return VendorTopologyCache.Topology.notModified();
+                } else if (response.getStatusCode().is2xxSuccessful()) {
+                    // Parsed straight from the response, the XML is never held in memory as a whole.
+                    return VendorTopologyCache.Topology.of(SentekResponseParser.parseLoggers(response.getBody()), response.getHeaders());
+                } else {
+                    var errorMessage = ErrorMessage.builder()
+                            .error(Error.SENTEK_COULD_NOT_FETCH_SENSORS)
+                            .message("Could not fetch sensors from Sentek API.")
+                            .build();
+                    throw new BusinessException(errorMessage);
+                }
+            };
+            return restTemplate.execute(uri, HttpMethod.GET, requestCallback, responseExtractor, uriVariables);
+        });
     }
 
 }
@@ -3,7 +3,7 @@ package de.app.fivegla.integration.soilscout;
 import de.app.fivegla.api.Error;
 import de.app.fivegla.api.ErrorMessage;
 import de.app.fivegla.api.exceptions.BusinessException;
-import de.app.fivegla.integration.soilscout.cache.SoilScoutAccessTokenCache;
+import de.app.fivegla.integration.VendorTokenCache;
 import de.app.fivegla.integration.soilscout.dto.request.SsoRequest;
 import de.app.fivegla.integration.soilscout.dto.request.TokenRefreshRequest;
 import de.app.fivegla.integration.soilscout.dto.request.TokenRequest;
@@ -18,6 +18,8 @@ import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Collections;
 import java.util.Objects;
 
@@ -27,33 +29,39 @@ import java.util.Objects;
 @Slf4j
 abstract class AbstractIntegrationService {
 
+    /**
+     * The access token is valid for 10 minutes. This is not the maximum time the access token is valid, we just assume that the access token is valid for this time. The maximum time defined by the API is 15 minutes.
+     */
+    private static final Duration ACCESS_TOKEN_VALIDITY = Duration.ofMinutes(10);
+
+    /**
+     * The refresh token is valid for 6 days and 12 hours. This is not the maximum time the refresh token is valid, we just assume that the refresh token is valid for this time. The maximum time defined by the API is 7 days.
+     */
+    private static final Duration REFRESH_TOKEN_VALIDITY = Duration.ofHours((6 * 24) + 12);
+
     @Autowired
-    protected SoilScoutAccessTokenCache soilScoutAccessTokenCache;
+    protected VendorTokenCache vendorTokenCache;
 
     @Autowired
     protected RestTemplate restTemplate;
 
     protected String getAccessToken(ThirdPartyApiConfiguration thirdPartyApiConfiguration) {
-        if (soilScoutAccessTokenCache.isAccessTokenValid()) {
-            log.debug("Access token is still valid. Using the access token from cache.");
-        } else {
-            getBearerToken(thirdPartyApiConfiguration.getUsername(), thirdPartyApiConfiguration.getPassword(), thirdPartyApiConfiguration.getUrl());
-        }
-        return soilScoutAccessTokenCache.getAccessAndRefreshTokenResponse().getAccess();
+        return vendorTokenCache.get(thirdPartyApiConfiguration, previous -> getBearerToken(previous,
+                thirdPartyApiConfiguration.getUsername(), thirdPartyApiConfiguration.getPassword(), thirdPartyApiConfiguration.getUrl())).getAccess();
     }
 
-    private void getBearerToken(String username, String password, String url) {
-        if (soilScoutAccessTokenCache.isRefreshTokenValid()) {
+    private VendorTokenCache.Token<AccessAndRefreshTokenResponse> getBearerToken(VendorTokenCache.Token<AccessAndRefreshTokenResponse> previous, String username, String password, String url) {
+        if (null != previous && previous.issuedAt().plus(REFRESH_TOKEN_VALIDITY).isAfter(Instant.now())) {
             log.debug("Refresh token is still valid. Fetching a new access / refresh token.");
             var soilScoutTokenRefreshRequest = TokenRefreshRequest.builder()
-                    .refreshToken(soilScoutAccessTokenCache.getAccessAndRefreshTokenResponse().getRefresh())
+                    .refreshToken(previous.value().getRefresh())
                     .build();
             var headers = new HttpHeaders();
             headers.setAccept(Collections.singletonList(MediaType.APPLICATION_JSON));
             var httpEntity = new HttpEntity<>(soilScoutTokenRefreshRequest, headers);
             var response = restTemplate.exchange(url + "/auth/token/refresh/", HttpMethod.POST, httpEntity, AccessAndRefreshTokenResponse.class);
             if (response.getStatusCode().is2xxSuccessful()) {
-                soilScoutAccessTokenCache.updateAccessToken(response.getBody());
+                return VendorTokenCache.Token.of(Objects.requireNonNull(response.getBody()), ACCESS_TOKEN_VALIDITY);
             } else {
                 var errorMessage = ErrorMessage.builder().error(Error.SOIL_SCOUT_COULD_NOT_AUTHENTICATE).message("Could not fetch bearer token for SoilScout API.").build();
                 throw new BusinessException(errorMessage);
@@ -69,7 +77,7 @@ abstract class AbstractIntegrationService {
             var httpEntity = new HttpEntity<>(soilScoutTokenRequest, headers);
             var response = restTemplate.exchange(url + "/auth/token/sso/", HttpMethod.POST, httpEntity, AccessAndRefreshTokenResponse.class);
             if (response.getStatusCode().is2xxSuccessful()) {
-                soilScoutAccessTokenCache.updateAccessToken(response.getBody());
+                return VendorTokenCache.Token.of(Objects.requireNonNull(response.getBody()), ACCESS_TOKEN_VALIDITY);
             } else {
                 var errorMessage = ErrorMessage.builder().error(Error.SOIL_SCOUT_COULD_NOT_AUTHENTICATE).message("Could not fetch bearer token for SoilScout API.").build();
                 throw new BusinessException(errorMessage);
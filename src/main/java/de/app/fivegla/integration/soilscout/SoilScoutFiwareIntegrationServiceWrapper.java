@@ -3,14 +3,13 @@ package de.app.fivegla.integration.soilscout;
 
 import de.app.fivegla.api.enums.EntityType;
 import de.app.fivegla.business.GroupService;
-import de.app.fivegla.integration.fiware.FiwareEntityIntegrationService;
+import de.app.fivegla.integration.fiware.FiwareEntityBatchWriter;
 import de.app.fivegla.integration.fiware.model.DeviceMeasurement;
 import de.app.fivegla.integration.fiware.model.internal.EmptyAttribute;
 import de.app.fivegla.integration.fiware.model.internal.InstantAttribute;
 import de.app.fivegla.integration.fiware.model.internal.NumberAttribute;
 import de.app.fivegla.integration.fiware.model.internal.TextAttribute;
 import de.app.fivegla.integration.soilscout.model.SensorData;
-import de.app.fivegla.persistence.entity.Tenant;
 import de.app.fivegla.persistence.entity.ThirdPartyApiConfiguration;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -25,7 +24,7 @@ import org.springframework.stereotype.Service;
 public class SoilScoutFiwareIntegrationServiceWrapper {
 
     private final SoilScoutSensorIntegrationService soilScoutSensorIntegrationService;
-    private final FiwareEntityIntegrationService fiwareEntityIntegrationService;
+    private final FiwareEntityBatchWriter fiwareEntityBatchWriter;
     private final GroupService groupService;
 
     /**
@@ -33,7 +32,8 @@ public class SoilScoutFiwareIntegrationServiceWrapper {
      *
      * @param sensorData the sensor data to create
      */
-    public void persist(Tenant tenant, ThirdPartyApiConfiguration thirdPartyApiConfiguration, SensorData sensorData) {
+    public void persist(FiwareEntityBatchWriter.Scope scope, ThirdPartyApiConfiguration thirdPartyApiConfiguration, SensorData sensorData) {
+        var tenant = scope.getTenant();
         var soilScoutSensor = soilScoutSensorIntegrationService.fetch(thirdPartyApiConfiguration, sensorData.getDevice());
         var group = groupService.findGroupByTenantAndSensorId(tenant, String.valueOf(sensorData.getDevice()));
         if (group.isDefaultGroupForTenant()) {
@@ -50,7 +50,7 @@ public class SoilScoutFiwareIntegrationServiceWrapper {
                 new EmptyAttribute(),
                 soilScoutSensor.getLocation().getLatitude(),
                 soilScoutSensor.getLocation().getLongitude());
-        fiwareEntityIntegrationService.persist(tenant, group, temperature);
+        fiwareEntityBatchWriter.add(scope, group, temperature);
 
         var moisture = new DeviceMeasurement(
                 tenant.getFiwarePrefix() + soilScoutSensor.getId(),
@@ -62,7 +62,7 @@ public class SoilScoutFiwareIntegrationServiceWrapper {
                 new EmptyAttribute(),
                 soilScoutSensor.getLocation().getLatitude(),
                 soilScoutSensor.getLocation().getLongitude());
-        fiwareEntityIntegrationService.persist(tenant, group, moisture);
+        fiwareEntityBatchWriter.add(scope, group, moisture);
 
         var conductivity = new DeviceMeasurement(
                 tenant.getFiwarePrefix() + soilScoutSensor.getId(),
@@ -74,7 +74,7 @@ public class SoilScoutFiwareIntegrationServiceWrapper {
                 new EmptyAttribute(),
                 soilScoutSensor.getLocation().getLatitude(),
                 soilScoutSensor.getLocation().getLongitude());
-        fiwareEntityIntegrationService.persist(tenant, group, conductivity);
+        fiwareEntityBatchWriter.add(scope, group, conductivity);
 
         var salinity = new DeviceMeasurement(
                 tenant.getFiwarePrefix() + soilScoutSensor.getId(),
@@ -86,7 +86,7 @@ public class SoilScoutFiwareIntegrationServiceWrapper {
                 new EmptyAttribute(),
                 soilScoutSensor.getLocation().getLatitude(),
                 soilScoutSensor.getLocation().getLongitude());
-        fiwareEntityIntegrationService.persist(tenant, group, salinity);
+        fiwareEntityBatchWriter.add(scope, group, salinity);
 
         var waterBalance = new DeviceMeasurement(
                 tenant.getFiwarePrefix() + soilScoutSensor.getId(),
@@ -98,7 +98,7 @@ public class SoilScoutFiwareIntegrationServiceWrapper {
                 new EmptyAttribute(),
                 soilScoutSensor.getLocation().getLatitude(),
                 soilScoutSensor.getLocation().getLongitude());
-        fiwareEntityIntegrationService.persist(tenant, group, waterBalance);
+        fiwareEntityBatchWriter.add(scope, group, waterBalance);
     }
 
 }
@@ -1,7 +1,10 @@
 package de.app.fivegla.integration.soilscout;
 
 import de.app.fivegla.api.Manufacturer;
+import de.app.fivegla.business.ThirdPartyApiConfigurationService;
+import de.app.fivegla.config.ImportExecutorConfiguration;
 import de.app.fivegla.integration.soilscout.model.SensorData;
+import de.app.fivegla.integration.fiware.FiwareEntityBatchWriter;
 import de.app.fivegla.monitoring.JobMonitor;
 import de.app.fivegla.persistence.entity.Tenant;
 import de.app.fivegla.persistence.entity.ThirdPartyApiConfiguration;
@@ -13,6 +16,7 @@ import org.springframework.stereotype.Service;
 
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Scheduled data import from Soil Scout API.
@@ -24,6 +28,8 @@ public class SoilScoutMeasurementImport {
 
     private final SoilScoutMeasurementIntegrationService soilScoutMeasurementIntegrationService;
     private final SoilScoutFiwareIntegrationServiceWrapper fiwareIntegrationServiceWrapper;
+    private final FiwareEntityBatchWriter fiwareEntityBatchWriter;
+    private final ThirdPartyApiConfigurationService thirdPartyApiConfigurationService;
     private final JobMonitor jobMonitor;
 
     @Value("${app.scheduled.daysInThePastForInitialImport}")
@@ -31,29 +37,39 @@ public class SoilScoutMeasurementImport {
 
     /**
      * Run scheduled data import.
+     *
+     * @return a future completed with the number of measurements received, completed exceptionally if the import failed
      */
-    @Async
-    public void run(Tenant tenant, ThirdPartyApiConfiguration thirdPartyApiConfiguration) {
+    @Async(ImportExecutorConfiguration.SOILSCOUT)
+    public CompletableFuture<Integer> run(Tenant tenant, ThirdPartyApiConfiguration thirdPartyApiConfiguration) {
         var begin = Instant.now();
+        var scope = fiwareEntityBatchWriter.openScope(tenant);
         try {
+            int nrOfMeasurements;
             if (null != thirdPartyApiConfiguration.getLastRun()) {
                 log.info("Running scheduled data import from Soil Scout API");
                 var measurements = soilScoutMeasurementIntegrationService.fetchAll(thirdPartyApiConfiguration, thirdPartyApiConfiguration.getLastRun().toInstant(), Instant.now());
                 jobMonitor.logNrOfEntitiesFetched(Manufacturer.SOILSCOUT, measurements.size());
                 log.info("Found {} measurements", measurements.size());
                 log.info("Persisting {} measurements", measurements.size());
-                measurements.forEach(measurement -> persistDataWithinFiware(tenant, thirdPartyApiConfiguration, measurement));
+                measurements.forEach(measurement -> persistDataWithinFiware(scope, thirdPartyApiConfiguration, measurement));
+                nrOfMeasurements = measurements.size();
             } else {
                 log.info("Running initial data import from Soil Scout API, this may take a while");
                 var measurements = soilScoutMeasurementIntegrationService.fetchAll(thirdPartyApiConfiguration, Instant.now().minus(daysInThePastForInitialImport, ChronoUnit.DAYS), Instant.now());
                 jobMonitor.logNrOfEntitiesFetched(Manufacturer.SOILSCOUT, measurements.size());
                 log.info("Found {} measurements", measurements.size());
                 log.info("Persisting {} measurements", measurements.size());
-                measurements.forEach(measurement -> persistDataWithinFiware(tenant, thirdPartyApiConfiguration, measurement));
+                measurements.forEach(measurement -> persistDataWithinFiware(scope, thirdPartyApiConfiguration, measurement));
+                nrOfMeasurements = measurements.size();
             }
+            fiwareEntityBatchWriter.flush(scope).join();
+            thirdPartyApiConfigurationService.updateLastRun(thirdPartyApiConfiguration, begin);
+            return CompletableFuture.completedFuture(nrOfMeasurements);
         } catch (Exception e) {
             log.error("Error while running scheduled data import from Soil Scout API", e);
             jobMonitor.logErrorDuringExecution(Manufacturer.SOILSCOUT);
+            return CompletableFuture.failedFuture(e);
         } finally {
             log.info("Finished scheduled data import from Soil Scout API");
             var end = Instant.now();
@@ -62,30 +78,35 @@ public class SoilScoutMeasurementImport {
     }
 
     /**
-     * Run scheduled data import.
+     * Run historical data import for a single chunk of the time range, the last run is not changed.
+     *
+     * @return a future completed once the data has been delivered, completed exceptionally if the import failed
      */
-    @Async
-    public void run(Tenant tenant, ThirdPartyApiConfiguration thirdPartyApiConfiguration, Instant start) {
+    @Async(ImportExecutorConfiguration.SOILSCOUT)
+    public CompletableFuture<Void> run(Tenant tenant, ThirdPartyApiConfiguration thirdPartyApiConfiguration, Instant start, Instant end) {
         var begin = Instant.now();
+        var scope = fiwareEntityBatchWriter.openScope(tenant);
         try {
-            log.info("Running historical data import from Soil Scout API, this may take a while");
-            var measurements = soilScoutMeasurementIntegrationService.fetchAll(thirdPartyApiConfiguration, start, Instant.now());
+            log.info("Running historical data import from Soil Scout API from {} to {}", start, end);
+            var measurements = soilScoutMeasurementIntegrationService.fetchAll(thirdPartyApiConfiguration, start, end);
             jobMonitor.logNrOfEntitiesFetched(Manufacturer.SOILSCOUT, measurements.size());
             log.info("Found {} measurements", measurements.size());
             log.info("Persisting {} measurements", measurements.size());
-            measurements.forEach(measurement -> persistDataWithinFiware(tenant, thirdPartyApiConfiguration, measurement));
+            measurements.forEach(measurement -> persistDataWithinFiware(scope, thirdPartyApiConfiguration, measurement));
+            fiwareEntityBatchWriter.flush(scope).join();
+            return CompletableFuture.completedFuture(null);
         } catch (Exception e) {
-            log.error("Error while running scheduled data import from Soil Scout API", e);
+            log.error("Error while running historical data import from Soil Scout API", e);
             jobMonitor.logErrorDuringExecution(Manufacturer.SOILSCOUT);
+            return CompletableFuture.failedFuture(e);
         } finally {
-            log.info("Finished scheduled data import from Soil Scout API");
-            var end = Instant.now();
-            jobMonitor.logJobExecutionTime(Manufacturer.SOILSCOUT, begin.until(end, ChronoUnit.SECONDS));
+            log.info("Finished historical data import from Soil Scout API");
+            jobMonitor.logJobExecutionTime(Manufacturer.SOILSCOUT, begin.until(Instant.now(), ChronoUnit.SECONDS));
         }
     }
 
-    private void persistDataWithinFiware(Tenant tenant, ThirdPartyApiConfiguration thirdPartyApiConfiguration, SensorData measurement) {
-        fiwareIntegrationServiceWrapper.persist(tenant, thirdPartyApiConfiguration, measurement);
+    private void persistDataWithinFiware(FiwareEntityBatchWriter.Scope scope, ThirdPartyApiConfiguration thirdPartyApiConfiguration, SensorData measurement) {
+        fiwareIntegrationServiceWrapper.persist(scope, thirdPartyApiConfiguration, measurement);
     }
 
 }
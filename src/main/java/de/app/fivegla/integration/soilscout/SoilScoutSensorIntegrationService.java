@@ -18,6 +18,7 @@ import org.springframework.web.client.HttpClientErrorException;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 /**
@@ -69,7 +70,7 @@ public class SoilScoutSensorIntegrationService extends AbstractIntegrationServic
         headers.setBearerAuth(accessToken);
         var httpEntity = new HttpEntity<String>(headers);
         try {
-            var response = restTemplate.exchange(url + "/devices/" + id, HttpMethod.GET, httpEntity, Sensor.class);
+            var response = restTemplate.exchange(url + "/devices/{id}", HttpMethod.GET, httpEntity, Sensor.class, Map.of("id", id));
             if (response.getStatusCode().is2xxSuccessful()) {
                 var sensor = Objects.requireNonNull(response.getBody());
                 soilScoutSensorCache.put(sensor);
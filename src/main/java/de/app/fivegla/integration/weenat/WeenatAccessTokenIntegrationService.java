@@ -3,7 +3,7 @@ package de.app.fivegla.integration.weenat;
 import de.app.fivegla.api.Error;
 import de.app.fivegla.api.ErrorMessage;
 import de.app.fivegla.api.exceptions.BusinessException;
-import de.app.fivegla.integration.weenat.cache.WeenatUserDataCache;
+import de.app.fivegla.integration.VendorTokenCache;
 import de.app.fivegla.integration.weenat.request.LoginRequest;
 import de.app.fivegla.integration.weenat.response.AccessTokenResponse;
 import de.app.fivegla.persistence.entity.ThirdPartyApiConfiguration;
@@ -14,6 +14,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
+
 /**
  * Service for login against the API.
  */
@@ -22,58 +24,59 @@ import org.springframework.web.client.RestTemplate;
 @RequiredArgsConstructor
 public class WeenatAccessTokenIntegrationService {
 
-    private final WeenatUserDataCache userDataCache;
+    private static final Duration TOKEN_VALIDITY = Duration.ofSeconds(60);
+
+    private final VendorTokenCache vendorTokenCache;
     private final RestTemplate restTemplate;
 
     /**
      * Retrieves the access token from Agranimo API for authentication.
-     * If the access token is expired, it will attempt to log in and fetch a new access token from the API.
+     * The access token is cached per third-party API configuration, see {@link VendorTokenCache}.
      *
      * @return The retrieved access token.
      * @throws BusinessException If there is an error during the login process or if the login response is empty.
      */
     public String fetchAccessToken(ThirdPartyApiConfiguration thirdPartyApiConfiguration) {
+        return vendorTokenCache.get(thirdPartyApiConfiguration, previous -> login(thirdPartyApiConfiguration));
+    }
+
+    private VendorTokenCache.Token<String> login(ThirdPartyApiConfiguration thirdPartyApiConfiguration) {
         var url = thirdPartyApiConfiguration.getUrl();
         var username = thirdPartyApiConfiguration.getUsername();
         var password = thirdPartyApiConfiguration.getPassword();
-        if (userDataCache.isExpired()) {
-            try {
-                if (StringUtils.isAnyBlank(username, password)) {
-                    throw new BusinessException(ErrorMessage.builder()
-                            .error(Error.WEENAT_COULD_NOT_LOGIN_AGAINST_API)
-                            .message("Could not login against the API. Username or password is empty.")
-                            .build());
-                }
-                var response = restTemplate.postForEntity(url + "/api-token-auth", new LoginRequest(username, password), AccessTokenResponse.class);
-                if (response.getStatusCode() != HttpStatus.OK) {
-                    log.error("Error while login against the API. Status code: {}", response.getStatusCode());
+        try {
+            if (StringUtils.isAnyBlank(username, password)) {
+                throw new BusinessException(ErrorMessage.builder()
+                        .error(Error.WEENAT_COULD_NOT_LOGIN_AGAINST_API)
+                        .message("Could not login against the API. Username or password is empty.")
+                        .build());
+            }
+            var response = restTemplate.postForEntity(url + "/api-token-auth", new LoginRequest(username, password), AccessTokenResponse.class);
+            if (response.getStatusCode() != HttpStatus.OK) {
+                log.error("Error while login against the API. Status code: {}", response.getStatusCode());
+                throw new BusinessException(ErrorMessage.builder()
+                        .error(Error.WEENAT_COULD_NOT_LOGIN_AGAINST_API)
+                        .message("Could not login against the API.")
+                        .build());
+            } else {
+                log.info("Successfully logged in against the API.");
+                var accessTokenResponse = response.getBody();
+                if (null == accessTokenResponse) {
                     throw new BusinessException(ErrorMessage.builder()
                             .error(Error.WEENAT_COULD_NOT_LOGIN_AGAINST_API)
-                            .message("Could not login against the API.")
+                            .message("Could not login against the API. Response was empty.")
                             .build());
                 } else {
-                    log.info("Successfully logged in against the API.");
-                    var accessTokenResponse = response.getBody();
-                    if (null == accessTokenResponse) {
-                        throw new BusinessException(ErrorMessage.builder()
-                                .error(Error.WEENAT_COULD_NOT_LOGIN_AGAINST_API)
-                                .message("Could not login against the API. Response was empty.")
-                                .build());
-                    } else {
-                        log.info("Access token found after successful: {}", accessTokenResponse.getToken());
-                        userDataCache.setAccessToken(accessTokenResponse.getToken());
-                        return accessTokenResponse.getToken();
-                    }
+                    log.info("Access token found after successful: {}", accessTokenResponse.getToken());
+                    return VendorTokenCache.Token.of(accessTokenResponse.getToken(), TOKEN_VALIDITY);
                 }
-            } catch (Exception e) {
-                log.error("Error while login against the API.", e);
-                throw new BusinessException(ErrorMessage.builder()
-                        .error(Error.WEENAT_COULD_NOT_LOGIN_AGAINST_API)
-                        .message("Could not login against the API.")
-                        .build());
             }
-        } else {
-            return userDataCache.getAccessToken();
+        } catch (Exception e) {
+            log.error("Error while login against the API.", e);
+            throw new BusinessException(ErrorMessage.builder()
+                    .error(Error.WEENAT_COULD_NOT_LOGIN_AGAINST_API)
+                    .message("Could not login against the API.")
+                    .build());
         }
     }
 
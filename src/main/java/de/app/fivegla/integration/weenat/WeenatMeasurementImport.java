@@ -1,7 +1,10 @@
 package de.app.fivegla.integration.weenat;
 
 import de.app.fivegla.api.Manufacturer;
-import de.app.fivegla.integration.weenat.model.Measurements;
+import de.app.fivegla.business.ImportCheckpoint;
+import de.app.fivegla.business.ImportWatermarkService;
+import de.app.fivegla.config.ImportExecutorConfiguration;
+import de.app.fivegla.integration.fiware.model.MeasurementSeries;
 import de.app.fivegla.integration.weenat.model.Plot;
 import de.app.fivegla.monitoring.JobMonitor;
 import de.app.fivegla.persistence.entity.Tenant;
@@ -14,7 +17,8 @@ import org.springframework.stereotype.Service;
 
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
-import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Scheduled data import from Sentek API.
@@ -26,36 +30,35 @@ public class WeenatMeasurementImport {
 
     private final WeenatMeasuresIntegrationService weenatMeasuresIntegrationService;
     private final WeenatFiwareIntegrationServiceWrapper weenatFiwareIntegrationServiceWrapper;
+    private final ImportWatermarkService importWatermarkService;
     private final JobMonitor jobMonitor;
 
     @Value("${app.scheduled.daysInThePastForInitialImport}")
     private int daysInThePastForInitialImport;
 
     /**
-     * Run scheduled data import.
+     * Run scheduled data import. Every device is imported starting at its watermark.
+     *
+     * @return a future completed with the number of measurements received, completed exceptionally if the import failed
      */
-    @Async
-    public void run(Tenant tenant, ThirdPartyApiConfiguration thirdPartyApiConfiguration) {
+    @Async(ImportExecutorConfiguration.WEENAT)
+    public CompletableFuture<Integer> run(Tenant tenant, ThirdPartyApiConfiguration thirdPartyApiConfiguration) {
         var begin = Instant.now();
         try {
+            Instant fallback;
             if (null != thirdPartyApiConfiguration.getLastRun()) {
                 log.info("Running scheduled data import from Weenat API");
-                var measurements = weenatMeasuresIntegrationService.fetchAll(thirdPartyApiConfiguration, thirdPartyApiConfiguration.getLastRun().toInstant());
-                jobMonitor.logNrOfEntitiesFetched(Manufacturer.WEENAT, measurements.size());
-                log.info("Found {} measurements", measurements.size());
-                log.info("Persisting {} measurements", measurements.size());
-                measurements.entrySet().forEach(plotMeasurementsEntry -> persistDataWithinFiware(tenant, plotMeasurementsEntry));
+                fallback = thirdPartyApiConfiguration.getLastRun().toInstant();
             } else {
                 log.info("Running initial data import from Weenat API, this may take a while");
-                var measurements = weenatMeasuresIntegrationService.fetchAll(thirdPartyApiConfiguration, Instant.now().minus(daysInThePastForInitialImport, ChronoUnit.DAYS));
-                jobMonitor.logNrOfEntitiesFetched(Manufacturer.WEENAT, measurements.size());
-                log.info("Found {} measurements", measurements.size());
-                log.info("Persisting {} measurements", measurements.size());
-                measurements.entrySet().forEach(plotMeasurementsEntry -> persistDataWithinFiware(tenant, plotMeasurementsEntry));
+                fallback = Instant.now().minus(daysInThePastForInitialImport, ChronoUnit.DAYS);
             }
+            var nrOfMeasurements = runImport(thirdPartyApiConfiguration, importWatermarkService.resume(tenant, thirdPartyApiConfiguration, fallback), Instant.now());
+            return CompletableFuture.completedFuture(nrOfMeasurements);
         } catch (Exception e) {
             log.error("Error while running scheduled data import from Weenat API", e);
             jobMonitor.logErrorDuringExecution(Manufacturer.WEENAT);
+            return CompletableFuture.failedFuture(e);
         } finally {
             log.info("Finished scheduled data import from Weenat API");
             var end = Instant.now();
@@ -64,33 +67,44 @@ public class WeenatMeasurementImport {
     }
 
     /**
-     * Run historical data import.
+     * Run historical data import for a single chunk of the time range, the watermarks and the last run are not changed.
+     *
+     * @return a future completed once the data has been delivered, completed exceptionally if the import failed
      */
-    @Async
-    public void run(Tenant tenant, ThirdPartyApiConfiguration thirdPartyApiConfiguration, Instant start) {
+    @Async(ImportExecutorConfiguration.WEENAT)
+    public CompletableFuture<Void> run(Tenant tenant, ThirdPartyApiConfiguration thirdPartyApiConfiguration, Instant start, Instant end) {
         var begin = Instant.now();
         try {
-            log.info("Running historical data import from Weenat API, this may take a while");
-            var measurements = weenatMeasuresIntegrationService.fetchAll(thirdPartyApiConfiguration, start);
-            jobMonitor.logNrOfEntitiesFetched(Manufacturer.WEENAT, measurements.size());
-            log.info("Found {} measurements", measurements.size());
-            log.info("Persisting {} measurements", measurements.size());
-            measurements.entrySet().forEach(plotMeasurementsEntry -> persistDataWithinFiware(tenant, plotMeasurementsEntry));
+            log.info("Running historical data import from Weenat API from {} to {}", start, end);
+            runImport(thirdPartyApiConfiguration, importWatermarkService.startAt(tenant, thirdPartyApiConfiguration, start), end);
+            return CompletableFuture.completedFuture(null);
         } catch (Exception e) {
-            log.error("Error while running scheduled data import from Weenat API", e);
+            log.error("Error while running historical data import from Weenat API", e);
             jobMonitor.logErrorDuringExecution(Manufacturer.WEENAT);
+            return CompletableFuture.failedFuture(e);
         } finally {
-            log.info("Finished scheduled data import from Weenat API");
-            var end = Instant.now();
-            jobMonitor.logJobExecutionTime(Manufacturer.WEENAT, begin.until(end, ChronoUnit.SECONDS));
+            log.info("Finished historical data import from Weenat API");
+            jobMonitor.logJobExecutionTime(Manufacturer.WEENAT, begin.until(Instant.now(), ChronoUnit.SECONDS));
         }
     }
 
-    private void persistDataWithinFiware(Tenant tenant, Map.Entry<Plot, Measurements> entry) {
+    private int runImport(ThirdPartyApiConfiguration thirdPartyApiConfiguration, ImportCheckpoint importCheckpoint, Instant end) {
+        var nrOfMeasurements = new AtomicInteger();
+        var nrOfPlots = weenatMeasuresIntegrationService.fetchAll(thirdPartyApiConfiguration, plot -> importCheckpoint.from(plot.getId()), end,
+                (plot, measurements) -> {
+                    nrOfMeasurements.addAndGet(measurements.rows());
+                    persistDataWithinFiware(importCheckpoint, plot, measurements);
+                });
+        jobMonitor.logNrOfEntitiesFetched(Manufacturer.WEENAT, nrOfPlots);
+        log.info("Persisted the data of {} plots", nrOfPlots);
+        importCheckpoint.finish();
+        return nrOfMeasurements.get();
+    }
+
+    private void persistDataWithinFiware(ImportCheckpoint importCheckpoint, Plot plot, MeasurementSeries measurements) {
         try {
-            Plot key = entry.getKey();
-            Measurements value = entry.getValue();
-            weenatFiwareIntegrationServiceWrapper.persist(tenant, key, value);
+            weenatFiwareIntegrationServiceWrapper.persist(importCheckpoint.getScope(), plot, measurements);
+            importCheckpoint.delivered(plot.getId());
         } catch (Exception e) {
             log.error("Error while running scheduled data import from Weenat API", e);
             jobMonitor.logErrorDuringExecution(Manufacturer.WEENAT);
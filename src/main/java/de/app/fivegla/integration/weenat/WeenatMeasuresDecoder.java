@@ -0,0 +1,128 @@
+package de.app.fivegla.integration.weenat;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import de.app.fivegla.api.Error;
+import de.app.fivegla.api.ErrorMessage;
+import de.app.fivegla.api.exceptions.BusinessException;
+import de.app.fivegla.integration.fiware.model.MeasurementSeries;
+import de.app.fivegla.integration.weenat.model.MeasurementValues;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+
+/**
+ * Decodes the measures of a plot token by token, straight from the stream of the response into a
+ * {@link MeasurementSeries}. The response is an object with the timestamp in seconds since the epoch as key and the
+ * values of the measurement as object, the keys of the values are documented by {@link MeasurementValues}:
+ * <pre>
+ * {"1714557600": {"T": 12.3, "U": 81.0, "RR": 0.0, ...}, ...}
+ * </pre>
+ * Null values are stored as missing values, unknown keys are skipped.
+ */
+@Slf4j
+final class WeenatMeasuresDecoder {
+
+    /**
+     * The properties of a measurement, in the order of the columns of the {@link MeasurementSeries}.
+     */
+    static final String[] MEASUREMENT_PROPERTIES = {"temperature", "relativeHumidity", "cumulativeRainfall", "windSpeed",
+            "windGustSpeed", "soilTemperature", "soilTemperature15", "soilTemperature30", "soilTemperature60",
+            "soilWaterPotential15", "soilWaterPotential30", "soilWaterPotential60", "dryTemperature", "wetTemperature",
+            "leafWetnessDuration", "leafWetnessVoltage", "solarIrridiance", "minimumSolarIrridiance",
+            "maximumSolarIrridiance", "photosyntheticallyActiveRadiation", "minimumPhotosyntheticallyActiveRadiation",
+            "maximumPhotosyntheticallyActiveRadiation", "dewPoint", "potentialEvapotranspiration"};
+
+    private WeenatMeasuresDecoder() {
+        // private constructor to prevent instantiation
+    }
+
+    /**
+     * Decodes the measures, the parser is not closed.
+     *
+     * @param parser the parser positioned before the measures
+     * @return the series of the measures, one column per {@link #MEASUREMENT_PROPERTIES property}
+     * @throws BusinessException If the response is empty or not valid.
+     * @throws IOException       If the response could not be read.
+     */
+    static MeasurementSeries decode(JsonParser parser) throws IOException {
+        try {
+            var token = parser.nextToken();
+            if (null == token) {
+                throw new BusinessException(ErrorMessage.builder()
+                        .error(Error.WEENAT_COULD_NOT_FETCH_MEASURES)
+                        .message("Could not fetch measures from the API. Response was empty.")
+                        .build());
+            }
+            if (token != JsonToken.START_OBJECT) {
+                throw new BusinessException(ErrorMessage.builder()
+                        .error(Error.WEENAT_COULD_NOT_FETCH_MEASURES)
+                        .message("Could not parse measures from the JSON response of the API.")
+                        .build());
+            }
+            var series = new MeasurementSeries(MEASUREMENT_PROPERTIES);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                var timestamp = Long.parseLong(parser.currentName());
+                if (parser.nextToken() != JsonToken.START_OBJECT) {
+                    // No values for the timestamp.
+                    parser.skipChildren();
+                    continue;
+                }
+                var row = series.addRow(timestamp * 1000L);
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    var column = column(parser.currentName());
+                    var value = parser.nextToken();
+                    if (column < 0) {
+                        parser.skipChildren();
+                    } else if (value.isNumeric()) {
+                        series.set(row, column, parser.getDoubleValue());
+                    } else if (value == JsonToken.VALUE_STRING) {
+                        // Same coercion as for the data binding, numbers within strings are accepted.
+                        series.set(row, column, parser.getValueAsDouble(Double.NaN));
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+            }
+            log.debug("Decoded {} measurements.", series.rows());
+            return series;
+        } catch (JsonProcessingException | NumberFormatException e) {
+            log.error("Could not parse the measures.", e);
+            throw new BusinessException(ErrorMessage.builder()
+                    .error(Error.WEENAT_COULD_NOT_FETCH_MEASURES)
+                    .message("Could not parse measures from the JSON response of the API.")
+                    .build());
+        }
+    }
+
+    private static int column(String key) {
+        return switch (key) {
+            case "T" -> 0;
+            case "U" -> 1;
+            case "RR" -> 2;
+            case "FF" -> 3;
+            case "FXY" -> 4;
+            case "T_SOIL" -> 5;
+            case "T_15" -> 6;
+            case "T_30" -> 7;
+            case "T_60" -> 8;
+            case "WHYD_15" -> 9;
+            case "WHYD_30" -> 10;
+            case "WHYD_60" -> 11;
+            case "T_DRY" -> 12;
+            case "T_WET" -> 13;
+            case "LW_DRY" -> 14;
+            case "LW_V" -> 15;
+            case "SSI" -> 16;
+            case "SSI_MIN" -> 17;
+            case "SSI_MAX" -> 18;
+            case "PPFD" -> 19;
+            case "PPFD_MIN" -> 20;
+            case "PPFD_MAX" -> 21;
+            case "T_DEW" -> 22;
+            case "ETP" -> 23;
+            default -> -1;
+        };
+    }
+}
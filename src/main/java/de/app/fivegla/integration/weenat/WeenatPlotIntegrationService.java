@@ -3,6 +3,7 @@ package de.app.fivegla.integration.weenat;
 import de.app.fivegla.api.Error;
 import de.app.fivegla.api.ErrorMessage;
 import de.app.fivegla.api.exceptions.BusinessException;
+import de.app.fivegla.integration.VendorTopologyCache;
 import de.app.fivegla.integration.weenat.model.Plot;
 import de.app.fivegla.persistence.entity.ThirdPartyApiConfiguration;
 import lombok.Getter;
@@ -25,38 +26,45 @@ public class WeenatPlotIntegrationService {
 
     private final WeenatAccessTokenIntegrationService weenatAccessTokenIntegrationService;
     private final RestTemplate restTemplate;
+    private final VendorTopologyCache vendorTopologyCache;
 
     /**
-     * Fetches all metadata from the API.
+     * Fetches all metadata from the API, the plots are cached by the {@link VendorTopologyCache}.
      *
      * @return a list of metadata objects
      * @throws BusinessException if there was an error fetching the metadata
      */
     public List<Plot> fetchAll(ThirdPartyApiConfiguration thirdPartyApiConfiguration) {
-        var headers = new HttpHeaders();
-        headers.setAccept(Collections.singletonList(MediaType.APPLICATION_JSON));
-        headers.setBearerAuth(weenatAccessTokenIntegrationService.fetchAccessToken(thirdPartyApiConfiguration));
-        var httpEntity = new HttpEntity<String>(headers);
-        var response = restTemplate.exchange(thirdPartyApiConfiguration.getUrl() + "/v2/access/plots", HttpMethod.GET, httpEntity, Plot[].class);
-        if (response.getStatusCode() != HttpStatus.OK) {
-            log.error("Could not fetch metadata from the API. Response code was {}.", response.getStatusCode());
-            throw new BusinessException(ErrorMessage.builder()
-                    .error(Error.WEENAT_COULD_NOT_FETCH_PLOTS)
-                    .message("Could not fetch metadata from the API.")
-                    .build());
-        } else {
-            log.info("Successfully fetched metadata from the API.");
-            var metadataResponse = response.getBody();
-            if (null == metadataResponse) {
+        return vendorTopologyCache.get(thirdPartyApiConfiguration, "plots", conditionalHeaders -> {
+            var headers = new HttpHeaders();
+            headers.setAccept(Collections.singletonList(MediaType.APPLICATION_JSON));
+            headers.setBearerAuth(weenatAccessTokenIntegrationService.fetchAccessToken(thirdPartyApiConfiguration));
+            headers.addAll(conditionalHeaders);
+            var httpEntity = new HttpEntity<String>(headers);
+            var response = restTemplate.exchange(thirdPartyApiConfiguration.getUrl() + "/v2/access/plots", HttpMethod.GET, httpEntity, Plot[].class);
+            if (response.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+                log.info("Metadata has not been modified since the last fetch.");
+                return VendorTopologyCache.Topology.notModified();
+            } else if (response.getStatusCode() != HttpStatus.OK) {
+                log.error("Could not fetch metadata from the API. Response code was {}.", response.getStatusCode());
                 throw new BusinessException(ErrorMessage.builder()
                         .error(Error.WEENAT_COULD_NOT_FETCH_PLOTS)
-                        .message("Could not fetch metadata from the API. Response was empty.")
+                        .message("Could not fetch metadata from the API.")
                         .build());
             } else {
                 log.info("Successfully fetched metadata from the API.");
-                return List.of(metadataResponse);
+                var metadataResponse = response.getBody();
+                if (null == metadataResponse) {
+                    throw new BusinessException(ErrorMessage.builder()
+                            .error(Error.WEENAT_COULD_NOT_FETCH_PLOTS)
+                            .message("Could not fetch metadata from the API. Response was empty.")
+                            .build());
+                } else {
+                    log.info("Successfully fetched metadata from the API.");
+                    return VendorTopologyCache.Topology.of(List.of(metadataResponse), response.getHeaders());
+                }
             }
-        }
+        });
     }
 
 }
@@ -51,4 +51,94 @@ public interface Metrics {
      * @see Metrics
      */
     String JOB_EXECUTION_TIME_PREFIX = "app_5gla_job_execution_time_";
+
+    /**
+     * Represents the prefix for the metric keys related to the concurrency limiter and the circuit breaker
+     * in front of the context broker.
+     * <p>
+     * The FIWARE_LIMITER_PREFIX is followed by the name of the value, e.g. the current limit, the number of
+     * requests in flight, the state of the circuit breaker or the number of rejected requests.
+     * </p>
+     *
+     * @see Metrics
+     */
+    String FIWARE_LIMITER_PREFIX = "app_5gla_fiware_limiter_";
+
+    /**
+     * Represents the prefix for the metric keys related to the index of measurements already delivered to the
+     * context broker.
+     * <p>
+     * The FIWARE_DEDUPLICATION_PREFIX is followed by the name of the value, e.g. the number of hits and misses
+     * or the size of the index.
+     * </p>
+     *
+     * @see Metrics
+     */
+    String FIWARE_DEDUPLICATION_PREFIX = "app_5gla_fiware_deduplication_";
+
+    /**
+     * Represents the prefix for the metric keys related to the outbox of the context broker.
+     * <p>
+     * The FIWARE_OUTBOX_PREFIX is followed by the name of the value, e.g. the number of entries given up after the
+     * maximum number of attempts. The tenant is added as label.
+     * </p>
+     *
+     * @see Metrics
+     */
+    String FIWARE_OUTBOX_PREFIX = "app_5gla_fiware_outbox_";
+
+    /**
+     * Represents the prefix for the metric keys related to the executors of the imports.
+     * <p>
+     * The IMPORT_EXECUTOR_PREFIX is followed by the name of the value, e.g. the number of queued, active or
+     * rejected imports. The manufacturer is added as label.
+     * </p>
+     *
+     * @see Metrics
+     */
+    String IMPORT_EXECUTOR_PREFIX = "app_5gla_import_executor_";
+
+    /**
+     * Represents the prefix for the metric keys related to the rate limits of the APIs of the manufacturers.
+     * <p>
+     * The VENDOR_RATE_LIMIT_PREFIX is followed by the name of the value, e.g. the number of requests, throttled
+     * or retried requests or the time spent waiting. The manufacturer is added as label.
+     * </p>
+     *
+     * @see Metrics
+     */
+    String VENDOR_RATE_LIMIT_PREFIX = "app_5gla_vendor_rate_limit_";
+
+    /**
+     * Represents the prefix for the metric keys related to the cached access tokens of the APIs of the manufacturers.
+     * <p>
+     * The VENDOR_TOKEN_CACHE_PREFIX is followed by the name of the value, e.g. the number of hits or refreshes. The
+     * manufacturer is added as label.
+     * </p>
+     *
+     * @see Metrics
+     */
+    String VENDOR_TOKEN_CACHE_PREFIX = "app_5gla_vendor_token_cache_";
+
+    /**
+     * Represents the prefix for the metric keys related to the cached topologies of the manufacturers.
+     * <p>
+     * The VENDOR_TOPOLOGY_CACHE_PREFIX is followed by the name of the value, e.g. the number of hits or refreshes. The
+     * manufacturer is added as label.
+     * </p>
+     *
+     * @see Metrics
+     */
+    String VENDOR_TOPOLOGY_CACHE_PREFIX = "app_5gla_vendor_topology_cache_";
+
+    /**
+     * Represents the name of the timer for the requests sent to the APIs of the manufacturers.
+     * <p>
+     * The timer is recorded using Micrometer, which exports it as <code>app_5gla_vendor_http_requests_seconds</code>.
+     * The manufacturer, the URI template, the method and the status are added as tags.
+     * </p>
+     *
+     * @see Metrics
+     */
+    String VENDOR_HTTP_REQUESTS = "app.5gla.vendor.http.requests";
 }
@@ -0,0 +1,87 @@
+package de.app.fivegla.persistence;
+
+import de.app.fivegla.persistence.entity.FiwareOutboxEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Repository for the FIWARE outbox.
+ */
+@Repository
+public interface FiwareOutboxRepository extends JpaRepository<FiwareOutboxEntry, Long> {
+
+    /**
+     * Locks the oldest entries that are due for delivery and not leased by another instance, or whose lease has
+     * expired. Rows locked by other transactions are skipped, so instances leasing entries at the same time never get
+     * the same entry. Must be called within a transaction, the rows stay locked until the transaction is finished.
+     *
+     * @param now   The current time.
+     * @param limit The maximum number of entries.
+     * @return The locked entries, oldest first.
+     */
+    @Query(value = """
+            select * from fiware_outbox
+            where dead = false and next_attempt <= :now and (leased_until is null or leased_until < :now)
+            order by id
+            limit :limit
+            for update skip locked""", nativeQuery = true)
+    List<FiwareOutboxEntry> lockDeliverableEntries(@Param("now") Date now, @Param("limit") int limit);
+
+    /**
+     * Deletes the delivered entry, unless it has been leased by another instance in the meantime.
+     *
+     * @param id       The id of the entry.
+     * @param leasedBy The instance holding the lease.
+     * @return The number of entries deleted.
+     */
+    @Modifying
+    @Query("delete from FiwareOutboxEntry e where e.id = :id and e.leasedBy = :leasedBy")
+    int deleteLeasedEntry(@Param("id") long id, @Param("leasedBy") String leasedBy);
+
+    /**
+     * Releases the lease of the entry after a failed delivery, so it is delivered again at the next attempt.
+     *
+     * @param id          The id of the entry.
+     * @param leasedBy    The instance holding the lease.
+     * @param attempts    The number of failed attempts.
+     * @param nextAttempt The earliest time for the next attempt.
+     * @param lastError   The error of the failed attempt.
+     * @return The number of entries released.
+     */
+    @Modifying
+    @Query("update FiwareOutboxEntry e set e.leasedBy = null, e.leasedUntil = null, e.attempts = :attempts, e.nextAttempt = :nextAttempt, e.lastError = :lastError where e.id = :id and e.leasedBy = :leasedBy")
+    int releaseLeasedEntry(@Param("id") long id,
+                           @Param("leasedBy") String leasedBy,
+                           @Param("attempts") int attempts,
+                           @Param("nextAttempt") Date nextAttempt,
+                           @Param("lastError") String lastError);
+
+    /**
+     * Marks the entry as dead after the last failed delivery, it is kept but not delivered anymore.
+     *
+     * @param id        The id of the entry.
+     * @param leasedBy  The instance holding the lease.
+     * @param attempts  The number of failed attempts.
+     * @param lastError The error of the failed attempt.
+     * @return The number of entries marked as dead.
+     */
+    @Modifying
+    @Query("update FiwareOutboxEntry e set e.leasedBy = null, e.leasedUntil = null, e.dead = true, e.attempts = :attempts, e.lastError = :lastError where e.id = :id and e.leasedBy = :leasedBy")
+    int markLeasedEntryDead(@Param("id") long id,
+                            @Param("leasedBy") String leasedBy,
+                            @Param("attempts") int attempts,
+                            @Param("lastError") String lastError);
+
+    /**
+     * Deletes all entries of the tenant.
+     *
+     * @param tenantId The tenant id.
+     */
+    void deleteByTenantId(String tenantId);
+}
@@ -0,0 +1,79 @@
+package de.app.fivegla.persistence;
+
+import de.app.fivegla.persistence.entity.HistoricalImportChunk;
+import de.app.fivegla.persistence.entity.enums.HistoricalImportChunkStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Repository for the chunks of the historical imports.
+ */
+@Repository
+public interface HistoricalImportChunkRepository extends JpaRepository<HistoricalImportChunk, Long> {
+
+    /**
+     * Returns all chunks of the historical import.
+     *
+     * @param historicalImportId The id of the historical import.
+     * @return The chunks.
+     */
+    List<HistoricalImportChunk> findAllByHistoricalImportId(long historicalImportId);
+
+    /**
+     * Returns the chunks of the historical import with one of the given states.
+     *
+     * @param historicalImportId The id of the historical import.
+     * @param states             The states.
+     * @return The chunks.
+     */
+    List<HistoricalImportChunk> findAllByHistoricalImportIdAndStatusIn(long historicalImportId, Collection<HistoricalImportChunkStatus> states);
+
+    /**
+     * Extends the leases of the chunks, chunks leased by another instance in the meantime are not changed.
+     *
+     * @param ids         The ids of the chunks.
+     * @param leasedBy    The instance holding the leases.
+     * @param leasedUntil The new end of the leases.
+     * @return The number of leases extended.
+     */
+    @Modifying
+    @Query("update HistoricalImportChunk c set c.leasedUntil = :leasedUntil where c.id in :ids and c.leasedBy = :leasedBy and c.status = 'RUNNING'")
+    int renewLeases(@Param("ids") Collection<Long> ids, @Param("leasedBy") String leasedBy, @Param("leasedUntil") Date leasedUntil);
+
+    /**
+     * Sets the status of the chunk and releases its lease, unless it has been leased by another instance in the
+     * meantime.
+     *
+     * @param id         The id of the chunk.
+     * @param leasedBy   The instance holding the lease.
+     * @param status     The new status of the chunk.
+     * @param finishedAt The point in time the chunk was finished, null if it is imported again.
+     * @return The number of chunks updated.
+     */
+    @Modifying
+    @Query("update HistoricalImportChunk c set c.status = :status, c.finishedAt = :finishedAt, c.leasedBy = null, c.leasedUntil = null where c.id = :id and c.leasedBy = :leasedBy")
+    int finishLeasedChunk(@Param("id") long id,
+                          @Param("leasedBy") String leasedBy,
+                          @Param("status") HistoricalImportChunkStatus status,
+                          @Param("finishedAt") Date finishedAt);
+
+    /**
+     * Puts the chunk back into the queue without counting the attempt, unless it has been leased by another instance in
+     * the meantime.
+     *
+     * @param id       The id of the chunk.
+     * @param leasedBy The instance holding the lease.
+     * @return The number of chunks released.
+     */
+    @Modifying
+    @Query("update HistoricalImportChunk c set c.status = 'PENDING', c.attempts = c.attempts - 1, c.leasedBy = null, c.leasedUntil = null where c.id = :id and c.leasedBy = :leasedBy")
+    int releaseLeasedChunk(@Param("id") long id, @Param("leasedBy") String leasedBy);
+
+}
@@ -0,0 +1,38 @@
+package de.app.fivegla.persistence;
+
+import de.app.fivegla.persistence.entity.HistoricalImport;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository for the historical imports.
+ */
+@Repository
+public interface HistoricalImportRepository extends JpaRepository<HistoricalImport, Long> {
+
+    /**
+     * Returns the historical imports of the third-party API configuration, the latest first.
+     *
+     * @param thirdPartyApiConfigurationId The id of the third-party API configuration.
+     * @return The historical imports.
+     */
+    List<HistoricalImport> findAllByThirdPartyApiConfigurationIdOrderByCreatedAtDesc(long thirdPartyApiConfigurationId);
+
+    /**
+     * Locks the historical imports with pending or running chunks, the oldest first. Rows locked by other transactions
+     * are skipped, so the chunks of a historical import are only dispatched by a single instance at the same time.
+     * Must be called within a transaction, the rows stay locked until the transaction is finished.
+     *
+     * @return The locked historical imports.
+     */
+    @Query(value = """
+            select * from historical_import
+            where id in (select historical_import_id from historical_import_chunk where status in ('PENDING', 'RUNNING'))
+            order by created_at, id
+            for update skip locked""", nativeQuery = true)
+    List<HistoricalImport> lockOpenImports();
+
+}
@@ -0,0 +1,80 @@
+package de.app.fivegla.persistence;
+
+import de.app.fivegla.persistence.entity.ImportJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Repository for the import jobs.
+ */
+@Repository
+public interface ImportJobRepository extends JpaRepository<ImportJob, Long> {
+
+    /**
+     * Returns whether there is an open job with the given key.
+     *
+     * @param jobKey The key of the job.
+     * @return True if there is an open job.
+     */
+    boolean existsByJobKey(String jobKey);
+
+    /**
+     * Locks the oldest jobs that are available and not leased by another instance, or whose lease has expired. Rows
+     * locked by other transactions are skipped, so instances leasing jobs at the same time never get the same job.
+     * Must be called within a transaction, the rows stay locked until the transaction is finished.
+     *
+     * @param now   The current time.
+     * @param limit The maximum number of jobs.
+     * @return The locked jobs, oldest first.
+     */
+    @Query(value = """
+            select * from import_job
+            where available_at <= :now and (leased_until is null or leased_until < :now)
+            order by available_at, id
+            limit :limit
+            for update skip locked""", nativeQuery = true)
+    List<ImportJob> lockLeasableJobs(@Param("now") Date now, @Param("limit") int limit);
+
+    /**
+     * Extends the leases of the jobs, jobs leased by another instance in the meantime are not changed.
+     *
+     * @param ids         The ids of the jobs.
+     * @param leasedBy    The instance holding the leases.
+     * @param leasedUntil The new end of the leases.
+     * @return The number of leases extended.
+     */
+    @Modifying
+    @Query("update ImportJob j set j.leasedUntil = :leasedUntil where j.id in :ids and j.leasedBy = :leasedBy")
+    int renewLeases(@Param("ids") Collection<Long> ids, @Param("leasedBy") String leasedBy, @Param("leasedUntil") Date leasedUntil);
+
+    /**
+     * Releases the lease of the job, so it is leased again once it is available.
+     *
+     * @param id          The id of the job.
+     * @param leasedBy    The instance holding the lease.
+     * @param availableAt The point in time the job may be started again.
+     * @return The number of jobs released.
+     */
+    @Modifying
+    @Query("update ImportJob j set j.leasedBy = null, j.leasedUntil = null, j.attempts = j.attempts - 1, j.availableAt = :availableAt where j.id = :id and j.leasedBy = :leasedBy")
+    int releaseLease(@Param("id") long id, @Param("leasedBy") String leasedBy, @Param("availableAt") Date availableAt);
+
+    /**
+     * Deletes the job, unless it has been leased by another instance in the meantime.
+     *
+     * @param id       The id of the job.
+     * @param leasedBy The instance holding the lease.
+     * @return The number of jobs deleted.
+     */
+    @Modifying
+    @Query("delete from ImportJob j where j.id = :id and j.leasedBy = :leasedBy")
+    int deleteLeasedJob(@Param("id") long id, @Param("leasedBy") String leasedBy);
+
+}
@@ -0,0 +1,23 @@
+package de.app.fivegla.persistence;
+
+import de.app.fivegla.persistence.entity.ImportSchedule;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Repository for the polling schedules of the third-party API configurations.
+ */
+@Repository
+public interface ImportScheduleRepository extends JpaRepository<ImportSchedule, Long> {
+
+    /**
+     * Returns the schedule of the third-party API configuration.
+     *
+     * @param thirdPartyApiConfigurationId The id of the third-party API configuration.
+     * @return The schedule, empty if the configuration has not been scheduled yet.
+     */
+    Optional<ImportSchedule> findByThirdPartyApiConfigurationId(long thirdPartyApiConfigurationId);
+
+}
@@ -0,0 +1,23 @@
+package de.app.fivegla.persistence;
+
+import de.app.fivegla.persistence.entity.ImportWatermark;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository for the import watermarks.
+ */
+@Repository
+public interface ImportWatermarkRepository extends JpaRepository<ImportWatermark, Long> {
+
+    /**
+     * Returns the watermarks of all devices of the third-party API configuration.
+     *
+     * @param thirdPartyApiConfigurationId The id of the third-party API configuration.
+     * @return The watermarks of the devices.
+     */
+    List<ImportWatermark> findAllByThirdPartyApiConfigurationId(long thirdPartyApiConfigurationId);
+
+}
@@ -4,6 +4,9 @@ import de.app.fivegla.api.Manufacturer;
 import de.app.fivegla.persistence.entity.Tenant;
 import de.app.fivegla.persistence.entity.ThirdPartyApiConfiguration;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -56,4 +59,15 @@ public interface ThirdPartyApiConfigurationRepository extends JpaRepository<Thir
      * @return A list of third-party API configurations.
      */
     Optional<ThirdPartyApiConfiguration> findFirstByTenantAndManufacturer(Tenant tenant, Manufacturer manufacturer);
+
+    /**
+     * Increments the topology version of the third-party API configuration, the cached topology is fetched again by
+     * all instances.
+     *
+     * @param id The id of the third-party API configuration.
+     * @return The number of updated third-party API configurations.
+     */
+    @Modifying
+    @Query("update ThirdPartyApiConfiguration c set c.topologyVersion = c.topologyVersion + 1 where c.id = :id")
+    int incrementTopologyVersion(@Param("id") long id);
 }
@@ -0,0 +1,73 @@
+package de.app.fivegla.persistence.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.Date;
+
+/**
+ * Batch update request for the context broker that has not been delivered yet. Entries that could not be delivered
+ * within the maximum number of attempts are kept as dead entries.
+ */
+@Entity
+@Getter
+@Setter
+@Table(name = "fiware_outbox")
+public class FiwareOutboxEntry extends BaseEntity {
+
+    /**
+     * The tenant id, used as FIWARE service.
+     */
+    private String tenantId;
+
+    /**
+     * The FIWARE service path.
+     */
+    private String servicePath;
+
+    /**
+     * The serialized request.
+     */
+    @Lob
+    @Column(columnDefinition = "longblob")
+    private byte[] payload;
+
+    /**
+     * The number of entities within the request.
+     */
+    private int numberOfEntities;
+
+    /**
+     * The number of failed delivery attempts.
+     */
+    private int attempts;
+
+    /**
+     * The earliest time for the next delivery attempt.
+     */
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date nextAttempt;
+
+    /**
+     * The error of the last failed delivery attempt.
+     */
+    private String lastError;
+
+    /**
+     * The instance of the application delivering the entry.
+     */
+    private String leasedBy;
+
+    /**
+     * The point in time the lease expires, the entry is leased again afterwards if it has not been delivered.
+     */
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date leasedUntil;
+
+    /**
+     * Indicator if the delivery has been given up, dead entries are not delivered anymore.
+     */
+    private boolean dead;
+
+}
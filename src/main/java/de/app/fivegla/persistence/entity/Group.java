@@ -44,7 +44,7 @@ public class Group extends BaseEntity {
     /**
      * The tenant of the group.
      */
-    @ManyToOne(fetch = FetchType.LAZY, optional = false, cascade = CascadeType.ALL)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "tenant_id", nullable = false)
     private Tenant tenant;
 
@@ -0,0 +1,45 @@
+package de.app.fivegla.persistence.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.Date;
+
+/**
+ * Import of historical data for a third-party API configuration, split into chunks of the time range.
+ */
+@Entity
+@Getter
+@Setter
+@Table(name = "historical_import")
+public class HistoricalImport extends BaseEntity {
+
+    /**
+     * The id of the third-party API configuration.
+     */
+    @Column(name = "third_party_api_configuration_id", nullable = false)
+    private long thirdPartyApiConfigurationId;
+
+    /**
+     * The start of the time range.
+     */
+    @Column(name = "start_date", nullable = false)
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date startDate;
+
+    /**
+     * The end of the time range.
+     */
+    @Column(name = "end_date", nullable = false)
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date endDate;
+
+    /**
+     * The point in time the import was triggered.
+     */
+    @Column(name = "created_at", nullable = false)
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date createdAt;
+
+}
@@ -0,0 +1,79 @@
+package de.app.fivegla.persistence.entity;
+
+import de.app.fivegla.persistence.entity.enums.HistoricalImportChunkStatus;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.Date;
+
+/**
+ * Chunk of the time range of a historical import, imported independently of the other chunks.
+ */
+@Entity
+@Getter
+@Setter
+@Table(name = "historical_import_chunk")
+public class HistoricalImportChunk extends BaseEntity {
+
+    /**
+     * The id of the historical import.
+     */
+    @Column(name = "historical_import_id", nullable = false)
+    private long historicalImportId;
+
+    /**
+     * The start of the chunk.
+     */
+    @Column(name = "chunk_start", nullable = false)
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date chunkStart;
+
+    /**
+     * The end of the chunk.
+     */
+    @Column(name = "chunk_end", nullable = false)
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date chunkEnd;
+
+    /**
+     * The status of the chunk.
+     */
+    @Column(name = "status", nullable = false)
+    @Enumerated(EnumType.STRING)
+    private HistoricalImportChunkStatus status;
+
+    /**
+     * The number of times the import of the chunk has been started.
+     */
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    /**
+     * The point in time the last attempt was started.
+     */
+    @Column(name = "started_at")
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date startedAt;
+
+    /**
+     * The instance of the application importing the chunk.
+     */
+    @Column(name = "leased_by")
+    private String leasedBy;
+
+    /**
+     * The point in time the lease expires, the chunk is considered lost afterwards if the instance does not renew it.
+     */
+    @Column(name = "leased_until")
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date leasedUntil;
+
+    /**
+     * The point in time the chunk was finished.
+     */
+    @Column(name = "finished_at")
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date finishedAt;
+
+}
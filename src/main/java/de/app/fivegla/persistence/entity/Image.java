@@ -78,7 +78,7 @@ public class Image extends BaseEntity {
     /**
      * The tenant of the image.
      */
-    @ManyToOne(cascade = CascadeType.ALL, fetch = FetchType.EAGER, optional = false)
+    @ManyToOne(fetch = FetchType.EAGER, optional = false)
     @JoinColumn(name = "tenant_id", nullable = false)
     private Tenant tenant;
 
@@ -0,0 +1,78 @@
+package de.app.fivegla.persistence.entity;
+
+import de.app.fivegla.persistence.entity.enums.ImportJobType;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.Date;
+
+/**
+ * Import job waiting to be run or leased by one of the instances of the application. Jobs are removed once they have
+ * been finished.
+ */
+@Entity
+@Getter
+@Setter
+@Table(name = "import_job")
+public class ImportJob extends BaseEntity {
+
+    /**
+     * The key of the job, there is only one open job per key.
+     */
+    @Column(name = "job_key", nullable = false, unique = true)
+    private String jobKey;
+
+    /**
+     * The type of the job.
+     */
+    @Column(name = "job_type", nullable = false)
+    @Enumerated(EnumType.STRING)
+    private ImportJobType jobType;
+
+    /**
+     * The id of the third-party API configuration.
+     */
+    @Column(name = "third_party_api_configuration_id", nullable = false)
+    private long thirdPartyApiConfigurationId;
+
+    /**
+     * The id of the registered device, only set for imports of a single device.
+     */
+    @Column(name = "registered_device_id")
+    private Long registeredDeviceId;
+
+    /**
+     * The point in time the job may be started.
+     */
+    @Column(name = "available_at", nullable = false)
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date availableAt;
+
+    /**
+     * The instance of the application running the job.
+     */
+    @Column(name = "leased_by")
+    private String leasedBy;
+
+    /**
+     * The point in time the lease expires, the job is leased again afterwards if the instance does not renew it.
+     */
+    @Column(name = "leased_until")
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date leasedUntil;
+
+    /**
+     * The number of times the job has been leased.
+     */
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    /**
+     * The point in time the job was created.
+     */
+    @Column(name = "created_at", nullable = false)
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date createdAt;
+
+}
@@ -0,0 +1,56 @@
+package de.app.fivegla.persistence.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.Date;
+
+/**
+ * Polling schedule of a third-party API configuration, adapted to the cadence of the data of the third-party API.
+ */
+@Entity
+@Getter
+@Setter
+@Table(name = "import_schedule")
+public class ImportSchedule extends BaseEntity {
+
+    /**
+     * The id of the third-party API configuration.
+     */
+    @Column(name = "third_party_api_configuration_id", nullable = false, unique = true)
+    private long thirdPartyApiConfigurationId;
+
+    /**
+     * The current polling interval in seconds.
+     */
+    @Column(name = "poll_interval", nullable = false)
+    private long pollInterval;
+
+    /**
+     * The point in time the next import is due.
+     */
+    @Column(name = "next_run", nullable = false)
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date nextRun;
+
+    /**
+     * The point in time the last import received new data.
+     */
+    @Column(name = "last_data_at")
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date lastDataAt;
+
+    /**
+     * The learned time between new data in seconds, null until new data has been received twice.
+     */
+    @Column(name = "data_cadence")
+    private Long dataCadence;
+
+    /**
+     * The number of imports in a row that did not receive any data.
+     */
+    @Column(name = "empty_polls", nullable = false)
+    private int emptyPolls;
+
+}
@@ -0,0 +1,37 @@
+package de.app.fivegla.persistence.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.Date;
+
+/**
+ * Point in time up to which the data of a device has been imported and delivered to the context broker.
+ */
+@Entity
+@Getter
+@Setter
+@Table(name = "import_watermark")
+public class ImportWatermark extends BaseEntity {
+
+    /**
+     * The id of the third-party API configuration.
+     */
+    @Column(name = "third_party_api_configuration_id", nullable = false)
+    private long thirdPartyApiConfigurationId;
+
+    /**
+     * The id of the device within the third-party API.
+     */
+    @Column(name = "device_id", nullable = false)
+    private String deviceId;
+
+    /**
+     * The data up to this point in time has been delivered.
+     */
+    @Column(name = "watermark", nullable = false)
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date watermark;
+
+}
@@ -53,7 +53,7 @@ public class RegisteredDevice extends BaseEntity {
     /**
      * The tenant.
      */
-    @ManyToOne(cascade = CascadeType.ALL, fetch = FetchType.EAGER, optional = false)
+    @ManyToOne(fetch = FetchType.EAGER, optional = false)
     @JoinColumn(name = "tenant_id", nullable = false)
     private Tenant tenant;
 
@@ -22,7 +22,7 @@ public class ThirdPartyApiConfiguration extends BaseEntity {
     /**
      * Represents the tenant.
      */
-    @ManyToOne(fetch = FetchType.EAGER, optional = false, cascade = CascadeType.ALL)
+    @ManyToOne(fetch = FetchType.EAGER, optional = false)
     @JoinColumn(name = "tenant_id", nullable = false)
     private Tenant tenant;
 
@@ -75,4 +75,12 @@ public class ThirdPartyApiConfiguration extends BaseEntity {
     @Column(name = "last_run")
     @Temporal(TemporalType.TIMESTAMP)
     private Date lastRun;
+
+    /**
+     * Version of the topology of the third-party API, incremented to invalidate the cached topology on all instances.
+     * Only changed by {@link de.app.fivegla.persistence.ThirdPartyApiConfigurationRepository#incrementTopologyVersion},
+     * so saving an outdated configuration does not reset it.
+     */
+    @Column(name = "topology_version", nullable = false, insertable = false, updatable = false)
+    private int topologyVersion;
 }
@@ -0,0 +1,9 @@
+package de.app.fivegla.persistence.entity.enums;
+
+/**
+ * Status of a chunk of a historical import.
+ */
+public enum HistoricalImportChunkStatus {
+
+    PENDING, RUNNING, DONE, FAILED
+}
@@ -0,0 +1,9 @@
+package de.app.fivegla.persistence.entity.enums;
+
+/**
+ * Type of an import job.
+ */
+public enum ImportJobType {
+
+    DATA_IMPORT, OPEN_WEATHER_IMPORT
+}
@@ -1,47 +1,70 @@
 package de.app.fivegla.scheduled;
 
+import de.app.fivegla.business.ImportJobQueue;
+import de.app.fivegla.business.ImportScheduleService;
 import de.app.fivegla.business.TenantService;
 import de.app.fivegla.business.ThirdPartyApiConfigurationService;
-import de.app.fivegla.event.events.DataImportEvent;
 import de.app.fivegla.persistence.entity.Tenant;
+import de.app.fivegla.persistence.entity.ThirdPartyApiConfiguration;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
 
 /**
- * Scheduled data import for all manufacturers.
+ * Scheduled data import for all manufacturers. The scheduler runs on every instance of the application, the imports
+ * are added to the {@link ImportJobQueue}, so every import is only run once by one of the instances. Every
+ * third-party API configuration is imported according to its own, adaptive schedule.
  */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class DataImportScheduler {
 
-    private final ApplicationEventPublisher applicationEventPublisher;
+    private final ImportJobQueue importJobQueue;
+    private final ImportScheduleService importScheduleService;
     private final ThirdPartyApiConfigurationService thirdPartyApiConfigurationService;
     private final TenantService tenantService;
 
     /**
-     * Schedule data import for all manufacturer.
+     * Schedule data import for all third-party API configurations whose next import is due, see
+     * {@link ImportScheduleService}.
      */
     @Scheduled(initialDelayString = "${app.scheduled.data-import.initial-delay}", fixedDelayString = "${app.scheduled.data-import.delay}")
     public void scheduleDataImport() {
-        log.info("Scheduled data import started for all third-party APIs.");
+        log.debug("Checking for data imports that are due.");
+        var due = importScheduleService.findDue(enabledConfigurations());
+        if (!due.isEmpty()) {
+            log.info("Scheduled data import started for {} third-party APIs.", due.size());
+            due.forEach(importJobQueue::enqueueDataImport);
+        }
+    }
+
+    /**
+     * Schedule data import for all manufacturer, regardless of their schedule.
+     */
+    public void scheduleDataImportForAll() {
+        log.info("Data import started for all third-party APIs.");
+        enabledConfigurations().forEach(importJobQueue::enqueueDataImport);
+    }
+
+    private List<ThirdPartyApiConfiguration> enabledConfigurations() {
         List<Tenant> tenants = tenantService.findAll();
         if (null == tenants || tenants.isEmpty()) {
-            log.info("No tenants found. Skipping data import.");
-        } else {
-            tenants.forEach(tenant -> thirdPartyApiConfigurationService.getThirdPartyApiConfigurations(tenant.getTenantId()).forEach(configuration -> {
-                if (configuration.isEnabled()) {
-                    applicationEventPublisher.publishEvent(new DataImportEvent(this, configuration.getId()));
-                } else {
-                    log.info("Skipping data import for tenant {} and manufacturer {} because it is disabled.", tenant.getName(), configuration.getManufacturer());
-                }
-            }));
+            log.debug("No tenants found. Skipping data import.");
+            return List.of();
         }
+        return tenants.stream()
+                .flatMap(tenant -> thirdPartyApiConfigurationService.getThirdPartyApiConfigurations(tenant.getTenantId()).stream()
+                        .filter(configuration -> {
+                            if (!configuration.isEnabled()) {
+                                log.debug("Skipping data import for tenant {} and manufacturer {} because it is disabled.", tenant.getName(), configuration.getManufacturer());
+                            }
+                            return configuration.isEnabled();
+                        }))
+                .toList();
     }
 
 }
@@ -0,0 +1,139 @@
+package de.app.fivegla.scheduled;
+
+import de.app.fivegla.business.ImportJobQueue;
+import de.app.fivegla.business.RegisteredDevicesService;
+import de.app.fivegla.business.ThirdPartyApiConfigurationService;
+import de.app.fivegla.config.InstanceId;
+import de.app.fivegla.event.events.DataImportEvent;
+import de.app.fivegla.event.events.OpenWeatherImportEvent;
+import de.app.fivegla.persistence.entity.ImportJob;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Runs the import jobs leased from the {@link ImportJobQueue}. Every instance of the application leases at most
+ * <code>app.imports.jobs.capacity</code> jobs at the same time and renews their leases while they are running, the
+ * outcome of every job is reported by the event handlers once the import is finished.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ImportJobWorker {
+
+    private final ImportJobQueue importJobQueue;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final ThirdPartyApiConfigurationService thirdPartyApiConfigurationService;
+    private final RegisteredDevicesService registeredDevicesService;
+    private final InstanceId instanceId;
+    private final Map<Long, Instant> runningJobs = new ConcurrentHashMap<>();
+
+    @Value("${app.imports.jobs.capacity}")
+    private int capacity;
+
+    @Value("${app.imports.jobs.poll-interval}")
+    private Duration pollInterval;
+
+    @Value("${app.imports.jobs.timeout}")
+    private Duration timeout;
+
+    /**
+     * Leases available jobs as long as the capacity of the instance is not reached and starts them.
+     */
+    @Scheduled(initialDelayString = "${app.imports.jobs.poll-interval}", fixedDelayString = "${app.imports.jobs.poll-interval}")
+    public void poll() {
+        var freeCapacity = capacity - runningJobs.size();
+        if (freeCapacity <= 0) {
+            return;
+        }
+        var importJobs = importJobQueue.lease(instanceId.getValue(), freeCapacity);
+        if (!importJobs.isEmpty()) {
+            log.debug("Leased {} import jobs.", importJobs.size());
+        }
+        importJobs.forEach(this::start);
+    }
+
+    private void start(ImportJob importJob) {
+        runningJobs.put(importJob.getId(), Instant.now());
+        try {
+            log.debug("Starting import job {}, attempt {}.", importJob.getJobKey(), importJob.getAttempts());
+            switch (importJob.getJobType()) {
+                case DATA_IMPORT -> applicationEventPublisher.publishEvent(new DataImportEvent(this, importJob.getThirdPartyApiConfigurationId(), importJob.getId()));
+                case OPEN_WEATHER_IMPORT -> {
+                    var thirdPartyApiConfiguration = thirdPartyApiConfigurationService.findById(importJob.getThirdPartyApiConfigurationId()).orElseThrow();
+                    var registeredDevice = registeredDevicesService.findById(importJob.getRegisteredDeviceId()).orElseThrow();
+                    applicationEventPublisher.publishEvent(new OpenWeatherImportEvent(this, registeredDevice.getGroup(), thirdPartyApiConfiguration,
+                            registeredDevice.getLongitude(), registeredDevice.getLatitude(), importJob.getId()));
+                }
+            }
+        } catch (TaskRejectedException e) {
+            log.warn("The import job {} was rejected, it will be retried.", importJob.getJobKey());
+            jobRejected(importJob.getId());
+        } catch (RuntimeException e) {
+            log.error("Could not start import job {}.", importJob.getJobKey(), e);
+            jobFinished(importJob.getId(), false);
+        }
+    }
+
+    /**
+     * Removes the finished job from the queue. Failed jobs are not retried, the next scheduled import adds them again.
+     *
+     * @param importJobId the id of the job
+     * @param successful  whether the import was successful
+     */
+    public void jobFinished(long importJobId, boolean successful) {
+        if (null == runningJobs.remove(importJobId)) {
+            return;
+        }
+        if (!importJobQueue.complete(importJobId, instanceId.getValue())) {
+            log.warn("The lease on import job {} expired before the job was finished.", importJobId);
+        } else if (!successful) {
+            log.warn("The import job {} failed.", importJobId);
+        }
+    }
+
+    /**
+     * Puts the job back into the queue without counting the attempt, e.g. because the executor of the manufacturer is
+     * busy. The job is leased again after the poll interval, possibly by another instance.
+     *
+     * @param importJobId the id of the job
+     */
+    public void jobRejected(long importJobId) {
+        if (null != runningJobs.remove(importJobId)) {
+            importJobQueue.release(importJobId, instanceId.getValue(), pollInterval);
+        }
+    }
+
+    /**
+     * Renews the leases of the running jobs, so they are not leased by another instance. Jobs running longer than the
+     * timeout are considered lost, e.g. because the import hangs or its outcome was never reported, their
+     * leases are not renewed anymore, so the jobs are leased again once the leases have expired.
+     */
+    @Scheduled(initialDelayString = "${app.imports.jobs.renew-interval}", fixedDelayString = "${app.imports.jobs.renew-interval}")
+    public void renewLeases() {
+        var deadline = Instant.now().minus(timeout);
+        runningJobs.entrySet().removeIf(runningJob -> {
+            if (runningJob.getValue().isBefore(deadline)) {
+                log.warn("The import job {} exceeded the timeout, its lease is not renewed anymore.", runningJob.getKey());
+                return true;
+            }
+            return false;
+        });
+        var jobs = List.copyOf(runningJobs.keySet());
+        var renewed = importJobQueue.renew(jobs, instanceId.getValue());
+        if (renewed < jobs.size()) {
+            log.warn("Could only renew {} of {} leases on import jobs, the other jobs have been finished or leased by another instance.", renewed, jobs.size());
+        }
+    }
+
+}
@@ -1,24 +1,24 @@
 package de.app.fivegla.scheduled;
 
 import de.app.fivegla.api.Manufacturer;
+import de.app.fivegla.business.ImportJobQueue;
 import de.app.fivegla.business.RegisteredDevicesService;
 import de.app.fivegla.business.TenantService;
 import de.app.fivegla.business.ThirdPartyApiConfigurationService;
-import de.app.fivegla.event.events.OpenWeatherImportEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 /**
- * Scheduled import of weather data from OpenWeather.
+ * Scheduled import of weather data from OpenWeather. The imports are added to the {@link ImportJobQueue}, so every
+ * import is only run once by one of the instances of the application.
  */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class OpenWeatherImportScheduler {
-    private final ApplicationEventPublisher applicationEventPublisher;
+    private final ImportJobQueue importJobQueue;
     private final TenantService tenantService;
     private final RegisteredDevicesService registeredDevicesService;
     private final ThirdPartyApiConfigurationService thirdPartyApiConfigurationService;
@@ -29,7 +29,7 @@ public class OpenWeatherImportScheduler {
     @Scheduled(initialDelayString = "${app.scheduled.openweather-import.initial-delay}", fixedDelayString = "${app.scheduled.openweather-import.delay}")
     public void scheduleOpenWeatherImport() {
         log.info("Scheduled OpenWeather import started.");
-        tenantService.findAll().forEach(tenant -> thirdPartyApiConfigurationService.findByManufacturer(tenant, Manufacturer.OPEN_WEATHER).ifPresent(thirdPartyApiConfiguration -> registeredDevicesService.findAll(tenant).forEach(registeredDevice -> applicationEventPublisher.publishEvent(new OpenWeatherImportEvent(this, registeredDevice.getGroup(), thirdPartyApiConfiguration, registeredDevice.getLongitude(), registeredDevice.getLatitude())))));
+        tenantService.findAll().forEach(tenant -> thirdPartyApiConfigurationService.findByManufacturer(tenant, Manufacturer.OPEN_WEATHER).ifPresent(thirdPartyApiConfiguration -> registeredDevicesService.findAll(tenant).forEach(registeredDevice -> importJobQueue.enqueueOpenWeatherImport(thirdPartyApiConfiguration, registeredDevice))));
 
     }
 }
@@ -0,0 +1,12 @@
+-- noinspection SqlDeprecateTypeForFile
+create table if not exists import_watermark
+(
+    id                               int primary key auto_increment,
+    version                          datetime     not null,
+    third_party_api_configuration_id int          not null,
+    device_id                        varchar(255) not null,
+    watermark                        datetime     not null,
+    foreign key (third_party_api_configuration_id) references third_party_api_configuration (id) on delete cascade
+);
+
+create unique index idx_import_watermark_device on import_watermark (third_party_api_configuration_id, device_id);
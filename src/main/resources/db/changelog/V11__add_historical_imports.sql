@@ -0,0 +1,27 @@
+-- noinspection SqlDeprecateTypeForFile
+create table if not exists historical_import
+(
+    id                               int primary key auto_increment,
+    version                          datetime not null,
+    third_party_api_configuration_id int      not null,
+    start_date                       datetime not null,
+    end_date                         datetime not null,
+    created_at                       datetime not null,
+    foreign key (third_party_api_configuration_id) references third_party_api_configuration (id) on delete cascade
+);
+
+create table if not exists historical_import_chunk
+(
+    id                   int primary key auto_increment,
+    version              datetime    not null,
+    historical_import_id int         not null,
+    chunk_start          datetime    not null,
+    chunk_end            datetime    not null,
+    status               varchar(16) not null,
+    attempts             int         not null,
+    started_at           datetime,
+    finished_at          datetime,
+    foreign key (historical_import_id) references historical_import (id) on delete cascade
+);
+
+create index idx_historical_import_chunk_status on historical_import_chunk (status, historical_import_id);
@@ -0,0 +1,19 @@
+-- noinspection SqlDeprecateTypeForFile
+create table if not exists import_job
+(
+    id                               int primary key auto_increment,
+    version                          datetime     not null,
+    job_key                          varchar(255) not null unique,
+    job_type                         varchar(32)  not null,
+    third_party_api_configuration_id int          not null,
+    registered_device_id             int,
+    available_at                     datetime     not null,
+    leased_by                        varchar(255),
+    leased_until                     datetime,
+    attempts                         int          not null,
+    created_at                       datetime     not null,
+    foreign key (third_party_api_configuration_id) references third_party_api_configuration (id) on delete cascade,
+    foreign key (registered_device_id) references registered_device (id) on delete cascade
+);
+
+create index idx_import_job_available_at on import_job (available_at, leased_until);
@@ -0,0 +1,13 @@
+-- noinspection SqlDeprecateTypeForFile
+create table if not exists import_schedule
+(
+    id                               int primary key auto_increment,
+    version                          datetime not null,
+    third_party_api_configuration_id int      not null unique,
+    poll_interval                    bigint   not null,
+    next_run                         datetime not null,
+    last_data_at                     datetime,
+    data_cadence                     bigint,
+    empty_polls                      int      not null,
+    foreign key (third_party_api_configuration_id) references third_party_api_configuration (id) on delete cascade
+);
@@ -0,0 +1,7 @@
+-- noinspection SqlDeprecateTypeForFile
+alter table fiware_outbox add column leased_by varchar(255);
+alter table fiware_outbox add column leased_until datetime;
+alter table fiware_outbox add column dead boolean not null default false;
+
+drop index idx_fiware_outbox_next_attempt on fiware_outbox;
+create index idx_fiware_outbox_next_attempt on fiware_outbox (dead, next_attempt, id);
@@ -0,0 +1,3 @@
+-- noinspection SqlDeprecateTypeForFile
+alter table historical_import_chunk add column leased_by varchar(255);
+alter table historical_import_chunk add column leased_until datetime;
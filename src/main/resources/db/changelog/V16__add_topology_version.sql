@@ -0,0 +1,2 @@
+-- noinspection SqlDeprecateTypeForFile
+alter table third_party_api_configuration add column topology_version int not null default 0;
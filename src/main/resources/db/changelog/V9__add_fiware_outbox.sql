@@ -0,0 +1,15 @@
+-- noinspection SqlDeprecateTypeForFile
+create table if not exists fiware_outbox
+(
+    id                   int primary key auto_increment,
+    version              datetime       not null,
+    tenant_id            varchar(255)   not null,
+    service_path         varchar(255)   not null,
+    payload              longblob       not null,
+    number_of_entities   int            not null,
+    attempts             int            not null,
+    next_attempt         datetime       not null,
+    last_error           varchar(1024)
+);
+
+create index idx_fiware_outbox_next_attempt on fiware_outbox (next_attempt, id);
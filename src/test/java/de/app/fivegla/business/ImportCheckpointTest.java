@@ -0,0 +1,198 @@
+package de.app.fivegla.business;
+
+import de.app.fivegla.api.Error;
+import de.app.fivegla.api.Manufacturer;
+import de.app.fivegla.api.exceptions.BusinessException;
+import de.app.fivegla.config.InstanceId;
+import de.app.fivegla.integration.fiware.ContextBrokerLimiter;
+import de.app.fivegla.integration.fiware.DeliveredMeasurementIndex;
+import de.app.fivegla.integration.fiware.FiwareEntityBatchWriter;
+import de.app.fivegla.integration.fiware.FiwareEntityIntegrationService;
+import de.app.fivegla.integration.fiware.FiwareOutbox;
+import de.app.fivegla.integration.fiware.model.DeviceMeasurement;
+import de.app.fivegla.integration.fiware.model.internal.EmptyAttribute;
+import de.app.fivegla.integration.fiware.model.internal.InstantAttribute;
+import de.app.fivegla.integration.fiware.model.internal.NumberAttribute;
+import de.app.fivegla.integration.fiware.model.internal.TextAttribute;
+import de.app.fivegla.persistence.ImportWatermarkRepository;
+import de.app.fivegla.persistence.entity.ImportWatermark;
+import de.app.fivegla.persistence.entity.Group;
+import de.app.fivegla.persistence.entity.Tenant;
+import de.app.fivegla.persistence.entity.ThirdPartyApiConfiguration;
+import io.prometheus.client.CollectorRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+
+class ImportCheckpointTest {
+
+    private static final Instant FALLBACK = Instant.parse("2024-05-01T00:00:00Z");
+
+    private final CollectorRegistry registry = new CollectorRegistry();
+    private final Tenant tenant = new Tenant();
+    private final Group group = new Group();
+    private final ThirdPartyApiConfiguration configuration = new ThirdPartyApiConfiguration();
+
+    private AutoCloseable openMocks;
+
+    @Mock
+    private ImportWatermarkRepository importWatermarkRepository;
+
+    @Mock
+    private ThirdPartyApiConfigurationService thirdPartyApiConfigurationService;
+
+    @Mock
+    private FiwareOutboxQueue fiwareOutboxQueue;
+
+    @Captor
+    private ArgumentCaptor<List<ImportWatermark>> watermarks;
+
+    @BeforeEach
+    public void setup() {
+        openMocks = MockitoAnnotations.openMocks(this);
+        tenant.setTenantId("tenant");
+        group.setName("group");
+        group.setOid("group");
+        configuration.setId(1);
+        configuration.setManufacturer(Manufacturer.SENTEK);
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        openMocks.close();
+    }
+
+    @Test
+    void givenLimiterRejectingAFullBatchWhenFinishingThenTheImportShouldFailWithoutUpdatingTheLastRun() {
+        var limiter = new ContextBrokerLimiter(registry, 8, 1, 64, 0.7, 2.0, Duration.ofMillis(10), 4, 0.5, Duration.ofHours(1));
+        for (int i = 0; i < 4; i++) {
+            limiter.acquire().onError();
+        }
+        var fiwareEntityIntegrationService = new FiwareEntityIntegrationService("http://localhost:1026", HttpClient.newHttpClient(), limiter, Duration.ofSeconds(1), 4);
+        var fiwareEntityBatchWriter = fiwareEntityBatchWriter(fiwareEntityIntegrationService, false);
+        var checkpoint = importWatermarkService(fiwareEntityBatchWriter, 1).resume(tenant, configuration, FALLBACK);
+
+        fiwareEntityBatchWriter.add(checkpoint.getScope(), group, measurement("device-1"));
+        Assertions.assertThrows(CompletionException.class, () -> checkpoint.delivered("device-1"));
+        var exception = Assertions.assertThrows(BusinessException.class, checkpoint::finish);
+
+        Assertions.assertEquals(Error.IMPORT_NOT_DELIVERED, exception.getErrorMessage().getError());
+        Mockito.verify(importWatermarkRepository, Mockito.never()).saveAll(Mockito.any());
+        Mockito.verify(thirdPartyApiConfigurationService, Mockito.never()).updateLastRun(Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    void givenCheckpointIntervalWhenDevicesAreDeliveredThenTheWatermarksShouldBeAdvancedAtEveryCheckpoint() {
+        var fiwareEntityBatchWriter = fiwareEntityBatchWriter(null, true);
+        var checkpoint = importWatermarkService(fiwareEntityBatchWriter, 2).resume(tenant, configuration, FALLBACK);
+
+        fiwareEntityBatchWriter.add(checkpoint.getScope(), group, measurement("device-1"));
+        checkpoint.delivered("device-1");
+        Mockito.verify(importWatermarkRepository, Mockito.never()).saveAll(Mockito.any());
+
+        fiwareEntityBatchWriter.add(checkpoint.getScope(), group, measurement("device-2"));
+        checkpoint.delivered("device-2");
+        Mockito.verify(importWatermarkRepository).saveAll(watermarks.capture());
+        Assertions.assertEquals(List.of("device-1", "device-2"), watermarks.getValue().stream().map(ImportWatermark::getDeviceId).toList());
+
+        fiwareEntityBatchWriter.add(checkpoint.getScope(), group, measurement("device-3"));
+        checkpoint.delivered("device-3");
+        checkpoint.finish();
+        Mockito.verify(importWatermarkRepository, Mockito.times(2)).saveAll(watermarks.capture());
+        Assertions.assertEquals(List.of("device-3"), watermarks.getValue().stream().map(ImportWatermark::getDeviceId).toList());
+        Mockito.verify(thirdPartyApiConfigurationService).updateLastRun(Mockito.eq(configuration), Mockito.any());
+    }
+
+    @Test
+    void givenFailedFlushWhenCommittingThenTheWatermarksOfTheDevicesShouldNotBeAdvanced() {
+        Mockito.doThrow(new IllegalStateException("The outbox is not available."))
+                .doNothing()
+                .when(fiwareOutboxQueue).enqueue(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyInt());
+        var fiwareEntityBatchWriter = fiwareEntityBatchWriter(null, true);
+        var checkpoint = importWatermarkService(fiwareEntityBatchWriter, 1).resume(tenant, configuration, FALLBACK);
+
+        fiwareEntityBatchWriter.add(checkpoint.getScope(), group, measurement("device-1"));
+        Assertions.assertThrows(CompletionException.class, () -> checkpoint.delivered("device-1"));
+        Mockito.verify(importWatermarkRepository, Mockito.never()).saveAll(Mockito.any());
+
+        fiwareEntityBatchWriter.add(checkpoint.getScope(), group, measurement("device-2"));
+        checkpoint.delivered("device-2");
+        Mockito.verify(importWatermarkRepository).saveAll(watermarks.capture());
+        Assertions.assertEquals(List.of("device-2"), watermarks.getValue().stream().map(ImportWatermark::getDeviceId).toList());
+    }
+
+    @Test
+    void givenUndeliveredDevicesWhenFinishingThenTheLastRunShouldNotBeUpdated() {
+        Mockito.doThrow(new IllegalStateException("The outbox is not available."))
+                .doNothing()
+                .when(fiwareOutboxQueue).enqueue(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyInt());
+        var fiwareEntityBatchWriter = fiwareEntityBatchWriter(null, true);
+        var checkpoint = importWatermarkService(fiwareEntityBatchWriter, 1).resume(tenant, configuration, FALLBACK);
+
+        fiwareEntityBatchWriter.add(checkpoint.getScope(), group, measurement("device-1"));
+        Assertions.assertThrows(CompletionException.class, () -> checkpoint.delivered("device-1"));
+        fiwareEntityBatchWriter.add(checkpoint.getScope(), group, measurement("device-2"));
+        checkpoint.delivered("device-2");
+        var exception = Assertions.assertThrows(BusinessException.class, checkpoint::finish);
+
+        Assertions.assertEquals(Error.IMPORT_NOT_DELIVERED, exception.getErrorMessage().getError());
+        Mockito.verify(thirdPartyApiConfigurationService, Mockito.never()).updateLastRun(Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    void givenHistoricalImportWhenDevicesAreDeliveredThenNoWatermarksShouldBeWritten() {
+        var fiwareEntityBatchWriter = fiwareEntityBatchWriter(null, true);
+        var checkpoint = importWatermarkService(fiwareEntityBatchWriter, 1).startAt(tenant, configuration, FALLBACK);
+
+        for (var deviceId : List.of("device-1", "device-2", "device-3")) {
+            Assertions.assertEquals(FALLBACK, checkpoint.from(deviceId));
+            fiwareEntityBatchWriter.add(checkpoint.getScope(), group, measurement(deviceId));
+            checkpoint.delivered(deviceId);
+        }
+        checkpoint.finish();
+
+        Mockito.verify(fiwareOutboxQueue, Mockito.times(3)).enqueue(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyInt());
+        Mockito.verify(importWatermarkRepository, Mockito.never()).saveAll(Mockito.any());
+        Mockito.verify(thirdPartyApiConfigurationService, Mockito.never()).updateLastRun(Mockito.any(), Mockito.any());
+    }
+
+    private FiwareEntityBatchWriter fiwareEntityBatchWriter(FiwareEntityIntegrationService fiwareEntityIntegrationService, boolean outboxEnabled) {
+        var fiwareOutbox = new FiwareOutbox(fiwareOutboxQueue, fiwareEntityIntegrationService, Runnable::run, new InstanceId(), registry, outboxEnabled, 20, Duration.ofSeconds(1), Duration.ofMinutes(1), 3);
+        var deliveredMeasurementIndex = new DeliveredMeasurementIndex(registry, false, 16);
+        // Every entity fills a batch, so it is sent right away.
+        return new FiwareEntityBatchWriter(fiwareEntityIntegrationService, fiwareOutbox, deliveredMeasurementIndex, 1, 1024 * 1024, Duration.ofHours(1));
+    }
+
+    private ImportWatermarkService importWatermarkService(FiwareEntityBatchWriter fiwareEntityBatchWriter, int checkpointInterval) {
+        var importWatermarkService = new ImportWatermarkService(importWatermarkRepository, thirdPartyApiConfigurationService, fiwareEntityBatchWriter);
+        ReflectionTestUtils.setField(importWatermarkService, "checkpointInterval", checkpointInterval);
+        return importWatermarkService;
+    }
+
+    private static DeviceMeasurement measurement(String deviceId) {
+        return new DeviceMeasurement(
+                deviceId,
+                "TestSensor",
+                new TextAttribute("group"),
+                new TextAttribute("temperature"),
+                new NumberAttribute(21.5),
+                new InstantAttribute(FALLBACK),
+                new EmptyAttribute(),
+                52.5,
+                13.4);
+    }
+
+}
@@ -0,0 +1,149 @@
+package de.app.fivegla.business;
+
+import de.app.fivegla.SpringBootIntegrationTestBase;
+import de.app.fivegla.api.Manufacturer;
+import de.app.fivegla.persistence.TenantRepository;
+import de.app.fivegla.persistence.ThirdPartyApiConfigurationRepository;
+import de.app.fivegla.persistence.entity.ImportJob;
+import de.app.fivegla.persistence.entity.Tenant;
+import de.app.fivegla.persistence.entity.ThirdPartyApiConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs several workers against the same database, every worker represents an instance of the application.
+ */
+@SpringBootTest(properties = {
+        "app.scheduled.data-import.initial-delay=PT1H",
+        "app.scheduled.openweather-import.initial-delay=PT1H",
+        "app.imports.jobs.poll-interval=PT1H",
+        "app.imports.jobs.lease-duration=PT3S"
+})
+class ImportJobQueueIT extends SpringBootIntegrationTestBase {
+
+    private static final int NR_OF_JOBS = 20;
+    private static final int NR_OF_WORKERS = 4;
+
+    @Autowired
+    private ImportJobQueue importJobQueue;
+
+    @Autowired
+    private TenantRepository tenantRepository;
+
+    @Autowired
+    private ThirdPartyApiConfigurationRepository thirdPartyApiConfigurationRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Tenant tenant;
+    private List<ThirdPartyApiConfiguration> thirdPartyApiConfigurations;
+
+    @BeforeEach
+    void setUp() {
+        var suffix = UUID.randomUUID().toString().substring(0, 8);
+        tenant = new Tenant();
+        tenant.setTenantId("import_job_queue_" + suffix);
+        tenant.setName("Import job queue");
+        tenant.setAccessToken(suffix);
+        tenant = tenantRepository.save(tenant);
+        thirdPartyApiConfigurations = new ArrayList<>();
+        for (var i = 0; i < NR_OF_JOBS; i++) {
+            var thirdPartyApiConfiguration = new ThirdPartyApiConfiguration();
+            thirdPartyApiConfiguration.setUuid(suffix + "-" + i);
+            thirdPartyApiConfiguration.setTenant(tenant);
+            thirdPartyApiConfiguration.setManufacturer(Manufacturer.SENTEK);
+            thirdPartyApiConfiguration.setFiwarePrefix("");
+            thirdPartyApiConfiguration.setUrl("https://localhost");
+            thirdPartyApiConfiguration.setUsername("");
+            thirdPartyApiConfiguration.setPassword("");
+            thirdPartyApiConfiguration.setApiToken("");
+            thirdPartyApiConfiguration.setLastRun(new Date());
+            thirdPartyApiConfigurations.add(thirdPartyApiConfigurationRepository.save(thirdPartyApiConfiguration));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        // The jobs are removed by the database together with the third-party API configurations.
+        jdbcTemplate.update("delete from third_party_api_configuration where tenant_id = ?", tenant.getId());
+        jdbcTemplate.update("delete from tenant where id = ?", tenant.getId());
+    }
+
+    @Test
+    void givenSeveralWorkersWhenLeasingConcurrentlyThenEveryJobShouldBeLeasedOnce() throws Exception {
+        thirdPartyApiConfigurations.forEach(importJobQueue::enqueueDataImport);
+        var leasedBy = new ConcurrentHashMap<Long, List<String>>();
+        var start = new CountDownLatch(1);
+        var executorService = Executors.newFixedThreadPool(NR_OF_WORKERS);
+        try {
+            for (var i = 0; i < NR_OF_WORKERS; i++) {
+                var workerId = "worker-" + i;
+                executorService.submit(() -> {
+                    start.await();
+                    List<ImportJob> importJobs;
+                    while (!(importJobs = ownJobs(importJobQueue.lease(workerId, 3))).isEmpty()) {
+                        importJobs.forEach(importJob -> leasedBy.computeIfAbsent(importJob.getThirdPartyApiConfigurationId(), key -> Collections.synchronizedList(new ArrayList<>())).add(workerId));
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+            executorService.shutdown();
+            Assertions.assertTrue(executorService.awaitTermination(30, TimeUnit.SECONDS));
+        } finally {
+            executorService.shutdownNow();
+        }
+        Assertions.assertEquals(NR_OF_JOBS, leasedBy.size());
+        leasedBy.values().forEach(workers -> Assertions.assertEquals(1, workers.size()));
+    }
+
+    @Test
+    void givenExpiredLeaseWhenLeasingThenTheJobShouldBeLeasedByAnotherWorker() throws Exception {
+        Assertions.assertTrue(importJobQueue.enqueueDataImport(thirdPartyApiConfigurations.get(0)));
+        var importJob = ownJobs(importJobQueue.lease("crashed-worker", NR_OF_JOBS)).get(0);
+        Assertions.assertTrue(ownJobs(importJobQueue.lease("worker", NR_OF_JOBS)).isEmpty());
+
+        TimeUnit.SECONDS.sleep(4);
+        var leasedAgain = ownJobs(importJobQueue.lease("worker", NR_OF_JOBS));
+        Assertions.assertEquals(1, leasedAgain.size());
+        Assertions.assertEquals(importJob.getId(), leasedAgain.get(0).getId());
+        Assertions.assertEquals(2, leasedAgain.get(0).getAttempts());
+
+        Assertions.assertFalse(importJobQueue.complete(importJob.getId(), "crashed-worker"));
+        Assertions.assertTrue(importJobQueue.complete(importJob.getId(), "worker"));
+    }
+
+    @Test
+    void givenOpenJobWhenEnqueuingAgainThenTheJobShouldNotBeAddedTwice() {
+        var thirdPartyApiConfiguration = thirdPartyApiConfigurations.get(0);
+        Assertions.assertTrue(importJobQueue.enqueueDataImport(thirdPartyApiConfiguration));
+        Assertions.assertFalse(importJobQueue.enqueueDataImport(thirdPartyApiConfiguration));
+        var importJob = ownJobs(importJobQueue.lease("worker", NR_OF_JOBS)).get(0);
+        Assertions.assertFalse(importJobQueue.enqueueDataImport(thirdPartyApiConfiguration));
+        Assertions.assertTrue(importJobQueue.complete(importJob.getId(), "worker"));
+        Assertions.assertTrue(importJobQueue.enqueueDataImport(thirdPartyApiConfiguration));
+    }
+
+    /**
+     * Ignores the jobs of other third-party API configurations within the database.
+     */
+    private List<ImportJob> ownJobs(List<ImportJob> importJobs) {
+        var ids = thirdPartyApiConfigurations.stream().map(ThirdPartyApiConfiguration::getId).toList();
+        return importJobs.stream()
+                .filter(importJob -> ids.contains(importJob.getThirdPartyApiConfigurationId()))
+                .toList();
+    }
+
+}
@@ -0,0 +1,75 @@
+package de.app.fivegla.business.cache;
+
+import de.app.fivegla.persistence.entity.Group;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class SensorGroupCacheTest {
+
+    @Test
+    void givenCachedGroupsWhenResolvingSeveralSensorsThenTheGroupsShouldBeLoadedOnce() {
+        var sensorGroupCache = new SensorGroupCache(Duration.ofMinutes(5));
+        var loads = new AtomicInteger();
+        for (var i = 0; i < 100; i++) {
+            var sensorGroups = sensorGroupCache.get("tenant", () -> {
+                loads.incrementAndGet();
+                return groups();
+            });
+            Assertions.assertEquals("group", sensorGroups.findBySensorId("sensor-1").orElseThrow().getOid());
+            Assertions.assertTrue(sensorGroups.findBySensorId("unknown").isEmpty());
+            Assertions.assertEquals("default", sensorGroups.getDefaultGroup().orElseThrow().getOid());
+        }
+        Assertions.assertEquals(1, loads.get());
+    }
+
+    @Test
+    void givenInvalidatedTenantWhenResolvingThenTheGroupsShouldBeLoadedAgain() {
+        var sensorGroupCache = new SensorGroupCache(Duration.ofMinutes(5));
+        var loads = new AtomicInteger();
+        sensorGroupCache.get("tenant", () -> {
+            loads.incrementAndGet();
+            return groups();
+        });
+        sensorGroupCache.invalidate("tenant");
+        var sensorGroups = sensorGroupCache.get("tenant", () -> {
+            loads.incrementAndGet();
+            return List.of(group("default", true));
+        });
+        Assertions.assertEquals(2, loads.get());
+        Assertions.assertTrue(sensorGroups.findBySensorId("sensor-1").isEmpty());
+    }
+
+    @Test
+    void givenInvalidationWhileLoadingWhenResolvingThenTheGroupsShouldNotBeCached() {
+        var sensorGroupCache = new SensorGroupCache(Duration.ofMinutes(5));
+        var loads = new AtomicInteger();
+        sensorGroupCache.get("tenant", () -> {
+            loads.incrementAndGet();
+            sensorGroupCache.invalidate("tenant");
+            return groups();
+        });
+        sensorGroupCache.get("tenant", () -> {
+            loads.incrementAndGet();
+            return groups();
+        });
+        Assertions.assertEquals(2, loads.get());
+    }
+
+    private static List<Group> groups() {
+        var group = group("group", false);
+        group.setSensorIdsAssignedToGroup(List.of("sensor-1", "sensor-2"));
+        return List.of(group("default", true), group);
+    }
+
+    private static Group group(String oid, boolean defaultGroupForTenant) {
+        var group = new Group();
+        group.setOid(oid);
+        group.setDefaultGroupForTenant(defaultGroupForTenant);
+        return group;
+    }
+
+}
@@ -0,0 +1,31 @@
+package de.app.fivegla.config;
+
+import de.app.fivegla.api.Manufacturer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+class ManufacturerSettingsTest {
+
+    private static final String PREFIX = "app.imports.fetch.";
+
+    @Test
+    void givenOverrideOfTheManufacturerWhenReadingTheSettingThenTheOverrideShouldBeUsed() {
+        var environment = new MockEnvironment()
+                .withProperty("app.imports.fetch.parallelism", "4")
+                .withProperty("app.imports.fetch.open-weather.parallelism", "1");
+        var manufacturerSettings = new ManufacturerSettings(environment);
+
+        Assertions.assertEquals(1, manufacturerSettings.get(PREFIX, Manufacturer.OPEN_WEATHER, "parallelism", Integer.class));
+        Assertions.assertEquals(4, manufacturerSettings.get(PREFIX, Manufacturer.SENTEK, "parallelism", Integer.class));
+        Assertions.assertEquals(4, manufacturerSettings.get(PREFIX, null, "parallelism", Integer.class));
+    }
+
+    @Test
+    void givenMissingGlobalSettingWhenReadingTheSettingThenAnExceptionShouldBeThrown() {
+        var manufacturerSettings = new ManufacturerSettings(new MockEnvironment());
+
+        Assertions.assertThrows(IllegalStateException.class, () -> manufacturerSettings.get(PREFIX, Manufacturer.SENTEK, "parallelism", Integer.class));
+    }
+
+}
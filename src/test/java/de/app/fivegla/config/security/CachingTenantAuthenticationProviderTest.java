@@ -0,0 +1,74 @@
+package de.app.fivegla.config.security;
+
+import de.app.fivegla.persistence.entity.Tenant;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class CachingTenantAuthenticationProviderTest {
+
+    private static final String TENANT_ID = "tenant";
+    private static final String ACCESS_TOKEN = "access-token";
+
+    private final AtomicInteger verifications = new AtomicInteger();
+
+    @Test
+    void givenVerifiedCredentialsWhenAuthenticatingAgainThenTheCredentialsShouldNotBeVerifiedAgain() {
+        var provider = new CachingTenantAuthenticationProvider(delegate(), new TenantCredentialsCache(Duration.ofMinutes(1)));
+        for (var i = 0; i < 10; i++) {
+            var result = provider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated(TENANT_ID, ACCESS_TOKEN));
+            Assertions.assertTrue(result.isAuthenticated());
+            Assertions.assertEquals(TENANT_ID, result.getName());
+        }
+        Assertions.assertEquals(1, verifications.get());
+    }
+
+    @Test
+    void givenWrongAccessTokenWhenAuthenticatingThenTheCredentialsShouldBeVerifiedEveryTime() {
+        var provider = new CachingTenantAuthenticationProvider(delegate(), new TenantCredentialsCache(Duration.ofMinutes(1)));
+        provider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated(TENANT_ID, ACCESS_TOKEN));
+        for (var i = 0; i < 3; i++) {
+            Assertions.assertThrows(BadCredentialsException.class,
+                    () -> provider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated(TENANT_ID, "wrong")));
+        }
+        Assertions.assertEquals(4, verifications.get());
+    }
+
+    @Test
+    void givenInvalidatedTenantWhenAuthenticatingThenTheCredentialsShouldBeVerifiedAgain() {
+        var tenantCredentialsCache = new TenantCredentialsCache(Duration.ofMinutes(1));
+        var provider = new CachingTenantAuthenticationProvider(delegate(), tenantCredentialsCache);
+        provider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated(TENANT_ID, ACCESS_TOKEN));
+        tenantCredentialsCache.invalidate(TENANT_ID);
+        provider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated(TENANT_ID, ACCESS_TOKEN));
+        Assertions.assertEquals(2, verifications.get());
+    }
+
+    private AuthenticationProvider delegate() {
+        return new AuthenticationProvider() {
+            @Override
+            public Authentication authenticate(Authentication authentication) {
+                verifications.incrementAndGet();
+                if (!ACCESS_TOKEN.equals(authentication.getCredentials())) {
+                    throw new BadCredentialsException("Bad credentials");
+                }
+                var tenant = new Tenant();
+                tenant.setTenantId(authentication.getName());
+                var tenantCredentials = new TenantCredentials(tenant);
+                return UsernamePasswordAuthenticationToken.authenticated(tenantCredentials, null, tenantCredentials.getAuthorities());
+            }
+
+            @Override
+            public boolean supports(Class<?> authentication) {
+                return true;
+            }
+        };
+    }
+
+}
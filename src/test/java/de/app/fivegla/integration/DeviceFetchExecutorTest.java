@@ -0,0 +1,129 @@
+package de.app.fivegla.integration;
+
+import de.app.fivegla.api.Manufacturer;
+import de.app.fivegla.config.ManufacturerSettings;
+import de.app.fivegla.persistence.entity.ThirdPartyApiConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+class DeviceFetchExecutorTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private DeviceFetchExecutor deviceFetchExecutor;
+
+    @AfterEach
+    public void tearDown() {
+        if (null != deviceFetchExecutor) {
+            deviceFetchExecutor.shutdown();
+        }
+    }
+
+    @Test
+    void givenFailingFetchWhenFetchingThenTheFirstExceptionShouldBeThrownAndNoFurtherDevicesShouldBeStarted() {
+        deviceFetchExecutor = deviceFetchExecutor(1, 2);
+        var failure = new IllegalStateException("The API is not available.");
+        var started = new ConcurrentLinkedQueue<Integer>();
+        var thrown = Assertions.assertThrows(IllegalStateException.class, () -> Assertions.assertTimeoutPreemptively(TIMEOUT,
+                () -> deviceFetchExecutor.fetchAll(Manufacturer.SENTEK, configuration(1), devices(10), device -> {
+                    started.add(device);
+                    if (device == 3) {
+                        throw failure;
+                    }
+                    return "data-" + device;
+                })));
+        Assertions.assertSame(failure, thrown);
+        Assertions.assertEquals(List.of(1, 2, 3), List.copyOf(started));
+    }
+
+    @Test
+    void givenFailingConsumerWhenFetchingThenAllPermitsShouldBeReleased() {
+        deviceFetchExecutor = deviceFetchExecutor(2, 1);
+        var configuration = configuration(1);
+        var failure = new IllegalStateException("The data could not be persisted.");
+        var thrown = Assertions.assertThrows(IllegalStateException.class, () -> Assertions.assertTimeoutPreemptively(TIMEOUT,
+                () -> deviceFetchExecutor.fetchAll(Manufacturer.SENTEK, configuration, devices(10), device -> "data-" + device,
+                        (device, data) -> {
+                            throw failure;
+                        })));
+        Assertions.assertSame(failure, thrown);
+
+        // Both requests only finish if they run at the same time, so both permits must have been released.
+        var running = new CountDownLatch(2);
+        var results = Assertions.assertTimeoutPreemptively(TIMEOUT,
+                () -> deviceFetchExecutor.fetchAll(Manufacturer.SENTEK, configuration, devices(2), device -> {
+                    running.countDown();
+                    try {
+                        return running.await(TIMEOUT.toSeconds(), TimeUnit.SECONDS) ? "data-" + device : null;
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return null;
+                    }
+                }));
+        Assertions.assertEquals(Map.of(1, "data-1", 2, "data-2"), results);
+    }
+
+    @Test
+    void givenSlowConsumerWhenFetchingThenTheDataOfAtMostParallelismPlusQueueCapacityDevicesShouldBeHeld() {
+        var parallelism = 2;
+        var queueCapacity = 3;
+        deviceFetchExecutor = deviceFetchExecutor(parallelism, queueCapacity);
+        var held = new AtomicInteger();
+        var maxHeld = new AtomicInteger();
+        var consumed = Assertions.assertTimeoutPreemptively(TIMEOUT,
+                () -> deviceFetchExecutor.fetchAll(Manufacturer.SENTEK, configuration(1), devices(30), device -> {
+                    maxHeld.accumulateAndGet(held.incrementAndGet(), Math::max);
+                    return "data-" + device;
+                }, (device, data) -> {
+                    held.decrementAndGet();
+                    try {
+                        Thread.sleep(10);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }));
+        Assertions.assertEquals(30, consumed);
+        // The data within the queue, of the requests waiting for space in the queue and of the device just taken from
+        // the queue by the consumer.
+        Assertions.assertTrue(maxHeld.get() <= parallelism + queueCapacity + 1, "Held the data of " + maxHeld.get() + " devices.");
+    }
+
+    @Test
+    void givenDevicesWithoutDataWhenFetchingThenTheyShouldBeSkipped() {
+        deviceFetchExecutor = deviceFetchExecutor(2, 2);
+        var results = Assertions.assertTimeoutPreemptively(TIMEOUT,
+                () -> deviceFetchExecutor.fetchAll(Manufacturer.SENTEK, configuration(1), devices(10), device -> device % 2 == 0 ? "data-" + device : null));
+        Assertions.assertEquals(Map.of(2, "data-2", 4, "data-4", 6, "data-6", 8, "data-8", 10, "data-10"), results);
+    }
+
+    private static DeviceFetchExecutor deviceFetchExecutor(int parallelism, int queueCapacity) {
+        var environment = new MockEnvironment()
+                .withProperty("app.imports.virtual-threads", "false")
+                .withProperty("app.imports.fetch.parallelism", String.valueOf(parallelism))
+                .withProperty("app.imports.fetch.queue-capacity", String.valueOf(queueCapacity));
+        return new DeviceFetchExecutor(environment, new ManufacturerSettings(environment));
+    }
+
+    private static List<Integer> devices(int count) {
+        return IntStream.rangeClosed(1, count).boxed().toList();
+    }
+
+    private static ThirdPartyApiConfiguration configuration(long id) {
+        var configuration = new ThirdPartyApiConfiguration();
+        configuration.setId(id);
+        configuration.setManufacturer(Manufacturer.SENTEK);
+        return configuration;
+    }
+
+}
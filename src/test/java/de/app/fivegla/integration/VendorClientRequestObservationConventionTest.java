@@ -0,0 +1,51 @@
+package de.app.fivegla.integration;
+
+import de.app.fivegla.api.Manufacturer;
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.observation.ClientRequestObservationContext;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import java.net.URI;
+
+class VendorClientRequestObservationConventionTest {
+
+    @Test
+    void givenRequestOfManufacturerWhenObservingThenTheManufacturerTemplateAndStatusShouldBeTagged() {
+        var convention = new VendorClientRequestObservationConvention(Manufacturer.WEENAT);
+        var context = new ClientRequestObservationContext(new MockClientHttpRequest(HttpMethod.GET,
+                URI.create("https://api.example.com/v2/access/plots/42/measures?start=1&end=2")));
+        context.setUriTemplate("https://api.example.com/v2/access/plots/{plotId}/measures?start={start}&end={end}");
+        context.setResponse(new MockClientHttpResponse(new byte[0], HttpStatus.OK));
+        var keyValues = convention.getLowCardinalityKeyValues(context);
+        Assertions.assertEquals("WEENAT", value(keyValues, "manufacturer"));
+        Assertions.assertEquals("/v2/access/plots/{plotId}/measures?start={start}&end={end}", value(keyValues, "uri"));
+        Assertions.assertEquals("200", value(keyValues, "status"));
+        Assertions.assertEquals("app.5gla.vendor.http.requests", convention.getName());
+    }
+
+    @Test
+    void givenRequestWithoutManufacturerWhenObservingThenTheManufacturerShouldBeNone() {
+        var convention = new VendorClientRequestObservationConvention(null);
+        var context = new ClientRequestObservationContext(new MockClientHttpRequest(HttpMethod.GET,
+                URI.create("https://api.example.com/calculate_orthophoto/42")));
+        context.setResponse(new MockClientHttpResponse(new byte[0], HttpStatus.NOT_FOUND));
+        var keyValues = convention.getLowCardinalityKeyValues(context);
+        Assertions.assertEquals(KeyValue.NONE_VALUE, value(keyValues, "manufacturer"));
+        Assertions.assertEquals("404", value(keyValues, "status"));
+    }
+
+    private static String value(KeyValues keyValues, String key) {
+        return keyValues.stream()
+                .filter(keyValue -> keyValue.getKey().equals(key))
+                .map(KeyValue::getValue)
+                .findFirst()
+                .orElseThrow();
+    }
+
+}
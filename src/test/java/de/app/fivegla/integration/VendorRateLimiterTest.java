@@ -0,0 +1,80 @@
+package de.app.fivegla.integration;
+
+import de.app.fivegla.api.Manufacturer;
+import de.app.fivegla.config.ManufacturerSettings;
+import de.app.fivegla.integration.soilscout.SoilScoutSensorIntegrationService;
+import de.app.fivegla.integration.weenat.WeenatPlotIntegrationService;
+import io.prometheus.client.CollectorRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class VendorRateLimiterTest {
+
+    @Test
+    void givenIntegrationServiceWhenDeterminingTheManufacturerThenThePackageShouldBeUsed() {
+        Assertions.assertEquals(Manufacturer.WEENAT, VendorRateLimiter.manufacturerOf(WeenatPlotIntegrationService.class).orElseThrow());
+        Assertions.assertEquals(Manufacturer.SOILSCOUT, VendorRateLimiter.manufacturerOf(SoilScoutSensorIntegrationService.class).orElseThrow());
+        Assertions.assertTrue(VendorRateLimiter.manufacturerOf(VendorRateLimiter.class).isEmpty());
+    }
+
+    @Test
+    void givenTooManyRequestsWhenSendingGetRequestThenTheRequestShouldBeRetried() throws Exception {
+        var calls = new AtomicInteger();
+        var response = limiter().interceptor(Manufacturer.WEENAT)
+                .intercept(new MockClientHttpRequest(HttpMethod.GET, URI.create("https://api.example.com/measures?token=secret")), new byte[0], throttledOnce(calls));
+        Assertions.assertEquals(HttpStatus.OK, response.getStatusCode());
+        Assertions.assertEquals(2, calls.get());
+    }
+
+    @Test
+    void givenTooManyRequestsWhenSendingPostRequestThenTheRequestShouldNotBeRetried() throws Exception {
+        var calls = new AtomicInteger();
+        var response = limiter().interceptor(Manufacturer.WEENAT)
+                .intercept(new MockClientHttpRequest(HttpMethod.POST, URI.create("https://api.example.com/login")), new byte[0], throttledOnce(calls));
+        Assertions.assertEquals(HttpStatus.TOO_MANY_REQUESTS, response.getStatusCode());
+        Assertions.assertEquals(1, calls.get());
+    }
+
+    @Test
+    void givenRetryAfterInSecondsWhenReadingTheHeaderThenTheDurationShouldBeReturned() {
+        var headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "120");
+        Assertions.assertEquals(Duration.ofMinutes(2), VendorRateLimiter.retryAfter(headers).orElseThrow());
+        Assertions.assertTrue(VendorRateLimiter.retryAfter(new HttpHeaders()).isEmpty());
+    }
+
+    private static ClientHttpRequestExecution throttledOnce(AtomicInteger calls) {
+        return (request, body) -> {
+            if (calls.getAndIncrement() == 0) {
+                var response = new MockClientHttpResponse(new byte[0], HttpStatus.TOO_MANY_REQUESTS);
+                response.getHeaders().set(HttpHeaders.RETRY_AFTER, "0");
+                return response;
+            }
+            return new MockClientHttpResponse(new byte[0], HttpStatus.OK);
+        };
+    }
+
+    private static VendorRateLimiter limiter() {
+        var environment = new MockEnvironment()
+                .withProperty("app.imports.rate-limit.requests-per-second", "100")
+                .withProperty("app.imports.rate-limit.burst", "10")
+                .withProperty("app.imports.rate-limit.max-retries", "3")
+                .withProperty("app.imports.rate-limit.initial-backoff", "PT0.01S")
+                .withProperty("app.imports.rate-limit.max-backoff", "PT1S");
+        environment.setConversionService(ApplicationConversionService.getSharedInstance());
+        return new VendorRateLimiter(new ManufacturerSettings(environment), new CollectorRegistry());
+    }
+
+}
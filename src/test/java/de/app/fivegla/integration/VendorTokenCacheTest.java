@@ -0,0 +1,113 @@
+package de.app.fivegla.integration;
+
+import de.app.fivegla.api.Manufacturer;
+import de.app.fivegla.persistence.entity.ThirdPartyApiConfiguration;
+import io.prometheus.client.CollectorRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class VendorTokenCacheTest {
+
+    private final AtomicInteger logins = new AtomicInteger();
+
+    @Test
+    void givenSeveralConfigurationsWhenFetchingTokensThenEveryConfigurationShouldKeepItsToken() {
+        var vendorTokenCache = new VendorTokenCache(Duration.ofSeconds(30), new CollectorRegistry());
+        var first = configuration(1, "first");
+        var second = configuration(2, "second");
+        for (var i = 0; i < 10; i++) {
+            Assertions.assertEquals("first", vendorTokenCache.get(first, previous -> login(first)));
+            Assertions.assertEquals("second", vendorTokenCache.get(second, previous -> login(second)));
+        }
+        Assertions.assertEquals(2, logins.get());
+    }
+
+    @Test
+    void givenConcurrentCallersWhenFetchingTheTokenThenOnlyOneLoginShouldBeSent() throws Exception {
+        var vendorTokenCache = new VendorTokenCache(Duration.ofSeconds(30), new CollectorRegistry());
+        var configuration = configuration(1, "user");
+        var start = new CountDownLatch(1);
+        var executorService = Executors.newFixedThreadPool(8);
+        try {
+            var results = new ArrayList<Future<String>>();
+            for (var i = 0; i < 8; i++) {
+                results.add(executorService.submit(() -> {
+                    start.await();
+                    return vendorTokenCache.get(configuration, previous -> {
+                        sleep();
+                        return login(configuration);
+                    });
+                }));
+            }
+            start.countDown();
+            for (var result : results) {
+                Assertions.assertEquals("user", result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+        Assertions.assertEquals(1, logins.get());
+    }
+
+    @Test
+    void givenTokenAboutToExpireWhenFetchingTheTokenThenTheTokenShouldBeRefreshed() {
+        var vendorTokenCache = new VendorTokenCache(Duration.ofSeconds(30), new CollectorRegistry());
+        var configuration = configuration(1, "user");
+        vendorTokenCache.get(configuration, previous -> {
+            logins.incrementAndGet();
+            var now = Instant.now();
+            return new VendorTokenCache.Token<>("old", now.minus(Duration.ofMinutes(10)), now.plusSeconds(10));
+        });
+        Assertions.assertEquals("user", vendorTokenCache.get(configuration, previous -> {
+            Assertions.assertEquals("old", previous.value());
+            return login(configuration);
+        }));
+        Assertions.assertEquals(2, logins.get());
+    }
+
+    @Test
+    void givenChangedCredentialsWhenFetchingTheTokenThenTheTokenShouldBeFetchedAgain() {
+        var vendorTokenCache = new VendorTokenCache(Duration.ofSeconds(30), new CollectorRegistry());
+        var configuration = configuration(1, "user");
+        vendorTokenCache.get(configuration, previous -> login(configuration));
+        configuration.setPassword("changed");
+        vendorTokenCache.get(configuration, previous -> {
+            Assertions.assertNull(previous);
+            return login(configuration);
+        });
+        Assertions.assertEquals(2, logins.get());
+    }
+
+    private VendorTokenCache.Token<String> login(ThirdPartyApiConfiguration configuration) {
+        logins.incrementAndGet();
+        return VendorTokenCache.Token.of(configuration.getUsername(), Duration.ofMinutes(10));
+    }
+
+    private static ThirdPartyApiConfiguration configuration(long id, String username) {
+        var configuration = new ThirdPartyApiConfiguration();
+        configuration.setId(id);
+        configuration.setManufacturer(Manufacturer.WEENAT);
+        configuration.setUrl("https://api.example.com");
+        configuration.setUsername(username);
+        configuration.setPassword("secret");
+        return configuration;
+    }
+
+    private static void sleep() {
+        try {
+            TimeUnit.MILLISECONDS.sleep(200);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
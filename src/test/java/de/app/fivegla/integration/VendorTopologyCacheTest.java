@@ -0,0 +1,94 @@
+package de.app.fivegla.integration;
+
+import de.app.fivegla.api.Manufacturer;
+import de.app.fivegla.config.ManufacturerSettings;
+import de.app.fivegla.persistence.entity.ThirdPartyApiConfiguration;
+import io.prometheus.client.CollectorRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class VendorTopologyCacheTest {
+
+    private final AtomicInteger requests = new AtomicInteger();
+
+    @Test
+    void givenCachedTopologyWhenFetchingTheTopologyAgainThenNoRequestShouldBeSent() {
+        var vendorTopologyCache = vendorTopologyCache("PT1H");
+        var configuration = configuration(1);
+        for (var i = 0; i < 10; i++) {
+            Assertions.assertEquals(List.of("plot"), vendorTopologyCache.get(configuration, "plots", conditionalHeaders -> {
+                requests.incrementAndGet();
+                return VendorTopologyCache.Topology.of(List.of("plot"));
+            }));
+        }
+        Assertions.assertEquals(1, requests.get());
+    }
+
+    @Test
+    void givenExpiredTopologyWithETagWhenTheApiAnswersNotModifiedThenTheCachedTopologyShouldBeKept() {
+        var vendorTopologyCache = vendorTopologyCache("PT0S");
+        var configuration = configuration(1);
+        var headers = new HttpHeaders();
+        headers.setETag("\"v1\"");
+        vendorTopologyCache.get(configuration, "plots", conditionalHeaders -> {
+            Assertions.assertTrue(conditionalHeaders.isEmpty());
+            return VendorTopologyCache.Topology.of(List.of("plot"), headers);
+        });
+        var topology = vendorTopologyCache.get(configuration, "plots", conditionalHeaders -> {
+            Assertions.assertEquals(List.of("\"v1\""), conditionalHeaders.getIfNoneMatch());
+            return VendorTopologyCache.Topology.<List<String>>notModified();
+        });
+        Assertions.assertEquals(List.of("plot"), topology);
+    }
+
+    @Test
+    void givenInvalidatedConfigurationWhenFetchingTheTopologyThenTheTopologyShouldBeFetchedAgain() {
+        var vendorTopologyCache = vendorTopologyCache("PT1H");
+        var first = configuration(1);
+        var second = configuration(2);
+        vendorTopologyCache.get(first, "plots", conditionalHeaders -> load("first"));
+        vendorTopologyCache.get(second, "plots", conditionalHeaders -> load("second"));
+        vendorTopologyCache.invalidate(first.getId());
+        Assertions.assertEquals(List.of("changed"), vendorTopologyCache.get(first, "plots", conditionalHeaders -> load("changed")));
+        Assertions.assertEquals(List.of("second"), vendorTopologyCache.get(second, "plots", conditionalHeaders -> load("changed")));
+        Assertions.assertEquals(3, requests.get());
+    }
+
+    @Test
+    void givenIncrementedTopologyVersionWhenFetchingTheTopologyThenTheTopologyShouldBeFetchedAgain() {
+        var vendorTopologyCache = vendorTopologyCache("PT1H");
+        var configuration = configuration(1);
+        vendorTopologyCache.get(configuration, "plots", conditionalHeaders -> load("first"));
+        configuration.setTopologyVersion(configuration.getTopologyVersion() + 1);
+        Assertions.assertEquals(List.of("changed"), vendorTopologyCache.get(configuration, "plots", conditionalHeaders -> load("changed")));
+        Assertions.assertEquals(List.of("changed"), vendorTopologyCache.get(configuration, "plots", conditionalHeaders -> load("again")));
+        Assertions.assertEquals(2, requests.get());
+    }
+
+    private VendorTopologyCache.Topology<List<String>> load(String value) {
+        requests.incrementAndGet();
+        return VendorTopologyCache.Topology.of(List.of(value));
+    }
+
+    private static VendorTopologyCache vendorTopologyCache(String timeToLive) {
+        var environment = new MockEnvironment()
+                .withProperty("app.imports.topology.time-to-live", timeToLive);
+        return new VendorTopologyCache(new ManufacturerSettings(environment), new CollectorRegistry());
+    }
+
+    private static ThirdPartyApiConfiguration configuration(long id) {
+        var configuration = new ThirdPartyApiConfiguration();
+        configuration.setId(id);
+        configuration.setManufacturer(Manufacturer.WEENAT);
+        configuration.setUrl("https://api.example.com");
+        configuration.setUsername("user");
+        configuration.setPassword("secret");
+        return configuration;
+    }
+
+}
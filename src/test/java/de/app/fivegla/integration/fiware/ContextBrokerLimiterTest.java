@@ -0,0 +1,108 @@
+package de.app.fivegla.integration.fiware;
+
+import de.app.fivegla.api.exceptions.BusinessException;
+import io.prometheus.client.CollectorRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+class ContextBrokerLimiterTest {
+
+    @Test
+    void givenServerErrorsWhenReleasingPermitsThenTheLimitShouldShrink() {
+        var limiter = limiter(Duration.ofMinutes(1));
+        limiter.acquire().onResponse(503);
+        Assertions.assertEquals(5, limiter.getLimit());
+        limiter.acquire().onResponse(500);
+        Assertions.assertEquals(3, limiter.getLimit());
+    }
+
+    @Test
+    void givenClientErrorsWhenReleasingPermitsThenTheCircuitShouldStayClosed() {
+        var limiter = limiter(Duration.ofMinutes(1));
+        for (int i = 0; i < 10; i++) {
+            limiter.acquire().onResponse(400);
+        }
+        Assertions.assertTrue(limiter.isCallPermitted());
+    }
+
+    @Test
+    void givenFullLimitWhenAcquiringThenTheRequestShouldBeRejectedAfterTheMaximumWaitTime() {
+        var limiter = limiter(Duration.ofMinutes(1));
+        for (int i = 0; i < 8; i++) {
+            limiter.acquire();
+        }
+        Assertions.assertThrows(BusinessException.class, limiter::acquire);
+    }
+
+    @Test
+    void givenFullLimitWhenTryingToAcquireThenNoPermitShouldBeReturned() {
+        var limiter = limiter(Duration.ofMinutes(1));
+        for (int i = 0; i < 7; i++) {
+            limiter.acquire();
+        }
+        var permit = limiter.tryAcquire();
+        Assertions.assertNotNull(permit);
+        Assertions.assertNull(limiter.tryAcquire());
+        permit.onResponse(204);
+        Assertions.assertNotNull(limiter.tryAcquire());
+    }
+
+    @Test
+    void givenTooManyFailuresWhenReleasingPermitsThenTheCircuitShouldOpen() {
+        var limiter = limiter(Duration.ofMinutes(1));
+        for (int i = 0; i < 4; i++) {
+            limiter.acquire().onError();
+        }
+        Assertions.assertFalse(limiter.isCallPermitted());
+        Assertions.assertThrows(BusinessException.class, limiter::acquire);
+    }
+
+    @Test
+    void givenOpenCircuitWhenTheProbeSucceedsThenTheCircuitShouldClose() {
+        var limiter = limiter(Duration.ZERO);
+        for (int i = 0; i < 4; i++) {
+            limiter.acquire().onError();
+        }
+        var probe = limiter.acquire();
+        Assertions.assertFalse(limiter.isCallPermitted());
+        probe.onResponse(204);
+        Assertions.assertTrue(limiter.isCallPermitted());
+        limiter.acquire().onResponse(204);
+    }
+
+    @Test
+    void givenElapsedOpenDurationWhenCheckingThenTheStateShouldNotChange() {
+        var limiter = limiter(Duration.ZERO);
+        for (int i = 0; i < 4; i++) {
+            limiter.acquire().onError();
+        }
+        Assertions.assertTrue(limiter.isCallPermitted());
+        Assertions.assertTrue(limiter.isCallPermitted());
+        Assertions.assertFalse(limiter.isClosed());
+        var probe = limiter.acquire();
+        Assertions.assertThrows(BusinessException.class, limiter::acquire);
+        probe.onError();
+        Assertions.assertFalse(limiter.isClosed());
+    }
+
+    @Test
+    void givenRequestInFlightBeforeOpeningWhenItSucceedsThenOnlyTheProbeShouldCloseTheCircuit() {
+        var limiter = limiter(Duration.ZERO);
+        var slowRequest = limiter.acquire();
+        for (int i = 0; i < 4; i++) {
+            limiter.acquire().onError();
+        }
+        var probe = limiter.acquire();
+        slowRequest.onResponse(204);
+        Assertions.assertFalse(limiter.isClosed());
+        Assertions.assertFalse(limiter.isCallPermitted());
+        probe.onResponse(204);
+        Assertions.assertTrue(limiter.isClosed());
+    }
+
+    private ContextBrokerLimiter limiter(Duration openDuration) {
+        return new ContextBrokerLimiter(new CollectorRegistry(), 8, 1, 64, 0.7, 2.0, Duration.ofMillis(10), 4, 0.5, openDuration);
+    }
+}
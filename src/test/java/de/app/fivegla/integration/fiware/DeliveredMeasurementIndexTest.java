@@ -0,0 +1,96 @@
+package de.app.fivegla.integration.fiware;
+
+import de.app.fivegla.integration.fiware.model.DeviceMeasurement;
+import de.app.fivegla.integration.fiware.model.MeasurementSeries;
+import de.app.fivegla.integration.fiware.model.internal.EmptyAttribute;
+import de.app.fivegla.integration.fiware.model.internal.InstantAttribute;
+import de.app.fivegla.integration.fiware.model.internal.NumberAttribute;
+import de.app.fivegla.integration.fiware.model.internal.TextAttribute;
+import io.prometheus.client.CollectorRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+
+class DeliveredMeasurementIndexTest {
+
+    private static final String TYPE = "TestSensor";
+
+    @Test
+    void givenCursorWhenFingerprintingThenTheFingerprintShouldEqualTheOneOfTheDeviceMeasurement() {
+        var index = new DeliveredMeasurementIndex(new CollectorRegistry(), true, 16);
+        var timestamps = new long[]{Instant.parse("2024-05-01T10:00:00.123Z").toEpochMilli(), 0L, -1500L};
+        var series = new MeasurementSeries("temperature", "relativeHumidity");
+        for (var timestamp : timestamps) {
+            var row = series.addRow(timestamp);
+            series.set(row, 0, -3.25);
+            series.set(row, 1, 64.0);
+        }
+
+        var fingerprints = new ArrayList<Long>();
+        series.forEach("prefix:42", TYPE, "group", 52.5, 13.4, cursor -> fingerprints.add(index.fingerprint("tenant", cursor)));
+
+        var expected = new ArrayList<Long>();
+        for (var timestamp : timestamps) {
+            expected.add(index.fingerprint("tenant", deviceMeasurement("temperature", -3.25, timestamp)));
+            expected.add(index.fingerprint("tenant", deviceMeasurement("relativeHumidity", 64.0, timestamp)));
+        }
+        Assertions.assertEquals(expected, fingerprints);
+        Assertions.assertEquals(expected.size(), expected.stream().distinct().count());
+    }
+
+    @Test
+    void givenFullGenerationWhenMarkingAsDeliveredThenOnlyTheOldestGenerationShouldBeDropped() {
+        var index = new DeliveredMeasurementIndex(new CollectorRegistry(), true, 4);
+        long[] oldest = {11L, 12L, 13L, 14L};
+        long[] previous = {21L, 22L, 23L, 24L};
+        long[] current = {31L, 32L};
+
+        index.markDelivered(oldest, oldest.length);
+        index.markDelivered(previous, previous.length);
+        for (var fingerprint : oldest) {
+            Assertions.assertTrue(index.isDelivered(fingerprint));
+        }
+
+        index.markDelivered(current, current.length);
+        for (var fingerprint : oldest) {
+            Assertions.assertFalse(index.isDelivered(fingerprint));
+        }
+        for (var fingerprint : previous) {
+            Assertions.assertTrue(index.isDelivered(fingerprint));
+        }
+        for (var fingerprint : current) {
+            Assertions.assertTrue(index.isDelivered(fingerprint));
+        }
+    }
+
+    @Test
+    void givenCollidingFingerprintsAtTheEndOfTheTableWhenMarkingAsDeliveredThenTheProbeShouldWrapAround() {
+        // A capacity of 4 results in 8 slots, all fingerprints below start probing at the last slot.
+        var index = new DeliveredMeasurementIndex(new CollectorRegistry(), true, 4);
+        long[] fingerprints = {7L, 15L, 23L};
+
+        index.markDelivered(fingerprints, fingerprints.length);
+
+        for (var fingerprint : fingerprints) {
+            Assertions.assertTrue(index.isDelivered(fingerprint));
+        }
+        Assertions.assertFalse(index.isDelivered(31L));
+        Assertions.assertFalse(index.isDelivered(8L));
+    }
+
+    private static DeviceMeasurement deviceMeasurement(String name, double value, long timestamp) {
+        return new DeviceMeasurement(
+                "prefix:42",
+                TYPE,
+                new TextAttribute("group"),
+                new TextAttribute(name),
+                new NumberAttribute(value),
+                new InstantAttribute(Instant.ofEpochMilli(timestamp)),
+                new EmptyAttribute(),
+                52.5,
+                13.4);
+    }
+
+}
@@ -0,0 +1,35 @@
+package de.app.fivegla.integration.fiware.api;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+class FiwareJsonWriterTest {
+
+    @Test
+    void givenSpecialNumbersWhenWritingThenTheOutputShouldMatchStringConcatenation() {
+        double[] values = {0.0, -0.0, 1.0, -1.0, 0.001, 0.0001, 0.1 + 0.2, 12.5, -12.05, 100.5, 9999999.0, 1.0E7,
+                123456.789, Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.MIN_VALUE,
+                Double.MAX_VALUE};
+        var writer = new FiwareJsonWriter();
+        for (var value : values) {
+            writer.reset();
+            Assertions.assertEquals("" + value, writer.number(value).toString());
+        }
+    }
+
+    @Test
+    void givenRandomNumbersWhenWritingThenTheOutputShouldMatchStringConcatenation() {
+        var random = new SplittableRandom(42);
+        var writer = new FiwareJsonWriter();
+        for (int i = 0; i < 100_000; i++) {
+            var value = i % 2 == 0
+                    ? Math.round(random.nextDouble(-1000.0, 5000.0) * 1000.0) / Math.pow(10, random.nextInt(0, 6))
+                    : Double.longBitsToDouble(random.nextLong());
+            writer.reset();
+            Assertions.assertEquals("" + value, writer.number(value).toString());
+        }
+    }
+
+}
@@ -0,0 +1,91 @@
+package de.app.fivegla.integration.fiware.model;
+
+import de.app.fivegla.integration.fiware.DeliveredMeasurementIndex;
+import de.app.fivegla.integration.fiware.api.FiwareJsonWriter;
+import de.app.fivegla.integration.fiware.model.internal.EmptyAttribute;
+import de.app.fivegla.integration.fiware.model.internal.InstantAttribute;
+import de.app.fivegla.integration.fiware.model.internal.NumberAttribute;
+import de.app.fivegla.integration.fiware.model.internal.TextAttribute;
+import io.prometheus.client.CollectorRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+
+class MeasurementSeriesTest {
+
+    private static final String TYPE = "TestSensor";
+    private static final long TIMESTAMP = Instant.parse("2024-05-01T10:00:00.123Z").toEpochMilli();
+
+    @Test
+    void givenSeriesWhenWritingThenTheOutputShouldBeTheSameAsForDeviceMeasurements() {
+        var series = new MeasurementSeries("temperature", "relativeHumidity");
+        var row = series.addRow(TIMESTAMP);
+        series.set(row, 0, 21.5);
+        series.set(row, 1, 64.0);
+
+        var json = new FiwareJsonWriter();
+        var smartModelJson = new FiwareJsonWriter();
+        series.forEach("prefix:42", TYPE, "group", 52.5, 13.4, measurement -> measurement.writeJson(json, smartModelJson));
+
+        var expectedJson = new FiwareJsonWriter();
+        var expectedSmartModelJson = new FiwareJsonWriter();
+        deviceMeasurement("temperature", 21.5, TIMESTAMP, 52.5, 13.4).writeJson(expectedJson, expectedSmartModelJson);
+        deviceMeasurement("relativeHumidity", 64.0, TIMESTAMP, 52.5, 13.4).writeJson(expectedJson, expectedSmartModelJson);
+        Assertions.assertEquals(expectedJson.toString(), json.toString());
+        Assertions.assertEquals(expectedSmartModelJson.toString(), smartModelJson.toString());
+    }
+
+    @Test
+    void givenMissingValuesWhenIteratingThenOnlyTheValuesPresentShouldBePassed() {
+        var series = new MeasurementSeries("V1", "V2");
+        series.set(series.addRow(TIMESTAMP), 0, (Double) null);
+        series.set(series.addRow(TIMESTAMP + 1000), 1, 3.3);
+        for (var index = 0; index < 100; index++) {
+            series.addRow(TIMESTAMP + 2000 + index);
+        }
+        series.set(101, 0, 12.5);
+
+        var measurements = new ArrayList<DeviceMeasurement>();
+        series.forEach("prefix:42", TYPE, "group", 0.0, 0.0, measurement -> measurements.add(measurement.toDeviceMeasurement()));
+        Assertions.assertEquals(102, series.rows());
+        Assertions.assertEquals(2, measurements.size());
+        Assertions.assertEquals(deviceMeasurement("V2", 3.3, TIMESTAMP + 1000, 0.0, 0.0), measurements.get(0));
+        Assertions.assertEquals(deviceMeasurement("V1", 12.5, TIMESTAMP + 2099, 0.0, 0.0), measurements.get(1));
+    }
+
+    @Test
+    void givenRowsWithLocationWhenFingerprintingThenTheFingerprintShouldBeTheSameAsForDeviceMeasurements() {
+        var index = new DeliveredMeasurementIndex(new CollectorRegistry(), true, 16);
+        var series = new MeasurementSeries("battery");
+        series.set(series.addRow(TIMESTAMP), 0, 98.0);
+        series.set(series.addRow(TIMESTAMP + 1000, 51.0, 12.0), 0, 97.0);
+
+        var fingerprints = new ArrayList<Long>();
+        var measurements = new ArrayList<DeviceMeasurement>();
+        series.forEach("prefix:42", TYPE, "group", 52.5, 13.4, measurement -> {
+            fingerprints.add(index.fingerprint("tenant", measurement));
+            measurements.add(measurement.toDeviceMeasurement());
+        });
+        Assertions.assertEquals(deviceMeasurement("battery", 98.0, TIMESTAMP, 52.5, 13.4), measurements.get(0));
+        Assertions.assertEquals(deviceMeasurement("battery", 97.0, TIMESTAMP + 1000, 51.0, 12.0), measurements.get(1));
+        Assertions.assertEquals(index.fingerprint("tenant", measurements.get(0)), fingerprints.get(0));
+        Assertions.assertEquals(index.fingerprint("tenant", measurements.get(1)), fingerprints.get(1));
+        Assertions.assertNotEquals(fingerprints.get(0), fingerprints.get(1));
+    }
+
+    private static DeviceMeasurement deviceMeasurement(String name, double value, long timestamp, double latitude, double longitude) {
+        return new DeviceMeasurement(
+                "prefix:42",
+                TYPE,
+                new TextAttribute("group"),
+                new TextAttribute(name),
+                new NumberAttribute(value),
+                new InstantAttribute(Instant.ofEpochMilli(timestamp)),
+                new EmptyAttribute(),
+                latitude,
+                longitude);
+    }
+
+}
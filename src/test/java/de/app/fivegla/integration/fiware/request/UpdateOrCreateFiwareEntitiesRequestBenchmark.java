@@ -0,0 +1,94 @@
+package de.app.fivegla.integration.fiware.request;
+
+import de.app.fivegla.integration.fiware.api.FiwareJsonWriter;
+import de.app.fivegla.integration.fiware.model.DeviceMeasurement;
+import de.app.fivegla.integration.fiware.model.api.FiwareEntity;
+import de.app.fivegla.integration.fiware.model.internal.EmptyAttribute;
+import de.app.fivegla.integration.fiware.model.internal.InstantAttribute;
+import de.app.fivegla.integration.fiware.model.internal.NumberAttribute;
+import de.app.fivegla.integration.fiware.model.internal.TextAttribute;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the string based serialization of a batch request with the streaming serialization.
+ * Not executed during the build, run the main method from the IDE or with the test classpath.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UpdateOrCreateFiwareEntitiesRequestBenchmark {
+
+    private static final String[] CONTROLLED_PROPERTIES = {"V1", "V2", "A1", "T1", "A2", "T2", "A3", "T3"};
+
+    @Param({"20", "500"})
+    private int entities;
+
+    private UpdateOrCreateFiwareEntitiesRequest request;
+    private FiwareJsonWriter json;
+
+    @Setup
+    public void setup() {
+        var measurements = new ArrayList<FiwareEntity>(entities);
+        var timestamp = Instant.parse("2024-04-01T00:00:00Z");
+        for (int i = 0; i < entities; i++) {
+            measurements.add(new DeviceMeasurement(
+                    "urn:ngsi-ld:benchmark:" + (i / CONTROLLED_PROPERTIES.length),
+                    "SENTEK_SENSOR",
+                    new TextAttribute("b8f1e6f0-7ad3-4d2b-9a32-0c3e5a1b2c3d"),
+                    new TextAttribute(CONTROLLED_PROPERTIES[i % CONTROLLED_PROPERTIES.length]),
+                    new NumberAttribute(12.345 + i),
+                    new InstantAttribute(timestamp.plusSeconds(900L * i)),
+                    new EmptyAttribute(),
+                    52.1234,
+                    7.5678));
+        }
+        request = UpdateOrCreateFiwareEntitiesRequest.builder()
+                .entities(measurements)
+                .build();
+        json = new FiwareJsonWriter();
+        request.writeJson(json);
+        if (!Arrays.equals(request.asJson().getBytes(StandardCharsets.UTF_8), json.toByteArray())) {
+            throw new IllegalStateException("The streaming serialization does not produce the same output.");
+        }
+    }
+
+    @Benchmark
+    public byte[] stringConcatenation() {
+        return request.asJson().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public int streaming() {
+        json.reset();
+        request.writeJson(json);
+        return json.size();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(UpdateOrCreateFiwareEntitiesRequestBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
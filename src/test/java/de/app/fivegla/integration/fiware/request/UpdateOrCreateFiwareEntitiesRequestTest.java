@@ -0,0 +1,87 @@
+package de.app.fivegla.integration.fiware.request;
+
+import de.app.fivegla.integration.fiware.api.FiwareJsonWriter;
+import de.app.fivegla.integration.fiware.model.DeviceMeasurement;
+import de.app.fivegla.integration.fiware.model.DevicePosition;
+import de.app.fivegla.integration.fiware.model.api.FiwareEntity;
+import de.app.fivegla.integration.fiware.model.internal.DateAttribute;
+import de.app.fivegla.integration.fiware.model.internal.EmptyAttribute;
+import de.app.fivegla.integration.fiware.model.internal.InstantAttribute;
+import de.app.fivegla.integration.fiware.model.internal.NumberAttribute;
+import de.app.fivegla.integration.fiware.model.internal.TextAttribute;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+
+class UpdateOrCreateFiwareEntitiesRequestTest {
+
+    @Test
+    void givenDeviceMeasurementsWhenWritingJsonThenTheOutputShouldBeTheSameAsTheStringBasedOutput() {
+        var request = UpdateOrCreateFiwareEntitiesRequest.builder()
+                .entities(List.of(
+                        deviceMeasurement("V1", 12.5, 52.1, 7.3),
+                        deviceMeasurement("Grüne Wiese", 1.0E-9, 0.0, 0.0)))
+                .build();
+        assertSameOutput(request);
+    }
+
+    @Test
+    void givenEntitiesWithoutSmartModelWhenWritingJsonThenTheOutputShouldBeTheSameAsTheStringBasedOutput() {
+        var request = UpdateOrCreateFiwareEntitiesRequest.builder()
+                .entities(List.of(devicePosition(), deviceMeasurement("T1", 21.0, 52.1, 7.3), devicePosition()))
+                .build();
+        assertSameOutput(request);
+    }
+
+    @Test
+    void givenEntitiesWithoutSmartModelWhenCreatingJsonThenThereShouldBeNoDanglingComma() {
+        var request = UpdateOrCreateFiwareEntitiesRequest.builder()
+                .entities(List.of(devicePosition()))
+                .build();
+        Assertions.assertTrue(request.asJson().endsWith("}]}"));
+        assertSameOutput(request);
+    }
+
+    @Test
+    void givenSpecialCharactersWhenWritingStringsThenTheyShouldBeEscaped() {
+        var json = new FiwareJsonWriter(4);
+        json.string("a\"b\\c\nd\u0001");
+        Assertions.assertEquals("\"a\\\"b\\\\c\\nd\\u0001\"", json.toString());
+    }
+
+    private static void assertSameOutput(UpdateOrCreateFiwareEntitiesRequest request) {
+        var json = new FiwareJsonWriter(16);
+        request.writeJson(json);
+        Assertions.assertArrayEquals(request.asJson().getBytes(StandardCharsets.UTF_8), json.toByteArray());
+    }
+
+    private static FiwareEntity deviceMeasurement(String controlledProperty, double value, double latitude, double longitude) {
+        return new DeviceMeasurement(
+                "urn:ngsi-ld:test:4711",
+                "SENTEK_SENSOR",
+                new TextAttribute("b8f1e6f0"),
+                new TextAttribute(controlledProperty),
+                new NumberAttribute(value),
+                new InstantAttribute(Instant.ofEpochMilli(1700000000123L)),
+                new EmptyAttribute(),
+                latitude,
+                longitude);
+    }
+
+    private static FiwareEntity devicePosition() {
+        return new DevicePosition(
+                "urn:ngsi-ld:test:device",
+                "DevicePosition",
+                new TextAttribute("b8f1e6f0"),
+                new TextAttribute("transaction"),
+                new TextAttribute("device"),
+                new DateAttribute(new Date(1700000000123L)),
+                52.1,
+                7.3);
+    }
+
+}
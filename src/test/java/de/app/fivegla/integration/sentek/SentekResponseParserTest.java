@@ -0,0 +1,61 @@
+package de.app.fivegla.integration.sentek;
+
+import de.app.fivegla.api.exceptions.BusinessException;
+import de.app.fivegla.integration.sentek.model.csv.Reading;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+
+class SentekResponseParserTest {
+
+    private static final String LOGGERS = """
+            <?xml version="1.0" encoding="UTF-8"?>
+            <User>
+              <Logger id="1" name="first" logger_id="L1" latitude="52.5" longitude="13.4">
+                <Site name="Field">
+                  <Probe name="P1">
+                    <Sensor name="A1" depth_cm="5" type="Moisture" unit="%" minimum="0" maximum="100" invalid="0"/>
+                  </Probe>
+                </Site>
+              </Logger>
+              <Logger id="2" name="second" logger_id="L2" latitude="51.0" longitude="12.0"/>
+            </User>
+            """;
+
+    private static final String READINGS = """
+            Date Time,V1,V2,A1(5),T1(5)
+            2024/05/01 10:00:00,12.5,3.3,21.4,15.2
+            2024/05/01 10:30:00,12.4,3.3,21.1,15.6
+            """;
+
+    @Test
+    void givenLoggersWhenParsingThenAllLoggersShouldBeParsed() {
+        var loggers = SentekResponseParser.parseLoggers(new ByteArrayInputStream(LOGGERS.getBytes(StandardCharsets.UTF_8)));
+        Assertions.assertEquals(2, loggers.size());
+        Assertions.assertEquals("first", loggers.get(0).getName());
+        Assertions.assertEquals(52.5, loggers.get(0).getLatitude());
+        Assertions.assertEquals("A1", loggers.get(0).getSite().getProbe().getSensors().get(0).getName());
+        Assertions.assertEquals("L2", loggers.get(1).getLoggerId());
+    }
+
+    @Test
+    void givenInvalidXmlWhenParsingThenABusinessExceptionShouldBeThrown() {
+        var inputStream = new ByteArrayInputStream("<User><Logger id=".getBytes(StandardCharsets.UTF_8));
+        Assertions.assertThrows(BusinessException.class, () -> SentekResponseParser.parseLoggers(inputStream));
+    }
+
+    @Test
+    void givenReadingsWhenParsingThenEveryReadingShouldBePassedToTheConsumer() {
+        var readings = new ArrayList<Reading>();
+        var count = SentekResponseParser.parseReadings(new StringReader(READINGS), readings::add);
+        Assertions.assertEquals(2, count);
+        Assertions.assertEquals(21.4, readings.get(0).getA1());
+        Assertions.assertEquals(15.6, readings.get(1).getT1());
+        Assertions.assertNull(readings.get(1).getA2());
+    }
+
+}
@@ -0,0 +1,130 @@
+package de.app.fivegla.integration.weenat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.app.fivegla.integration.fiware.model.MeasurementSeries;
+import de.app.fivegla.integration.weenat.model.MeasurementValues;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the data binding of the measures of a plot into maps of boxed values with the streaming decoder, for the
+ * response of 30 days. Not executed during the build, run the main method from the IDE or with the test classpath.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WeenatMeasuresDecoderBenchmark {
+
+    private static final String[] KEYS = {"T", "U", "RR", "FF", "FXY", "T_SOIL", "T_15", "T_30", "T_60", "WHYD_15",
+            "WHYD_30", "WHYD_60", "T_DRY", "T_WET", "LW_DRY", "LW_V", "SSI", "SSI_MIN", "SSI_MAX", "PPFD", "PPFD_MIN",
+            "PPFD_MAX", "T_DEW", "ETP"};
+    private static final int DAYS = 30;
+
+    @Param({"60", "15"})
+    private int intervalInMinutes;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private byte[] response;
+
+    @Setup
+    public void setup() throws IOException {
+        var json = new StringBuilder(1024 * 1024).append('{');
+        var start = Instant.parse("2024-04-01T00:00:00Z").getEpochSecond();
+        var measurements = DAYS * 24 * 60 / intervalInMinutes;
+        for (int i = 0; i < measurements; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append('"').append(start + 60L * intervalInMinutes * i).append("\":{");
+            for (int k = 0; k < KEYS.length; k++) {
+                if (k > 0) {
+                    json.append(',');
+                }
+                json.append('"').append(KEYS[k]).append("\":");
+                // Stations do not report every value, e.g. without leaf wetness sensor.
+                if (k == 14 || k == 15) {
+                    json.append("null");
+                } else {
+                    json.append(String.format(Locale.ROOT, "%.2f", 10.0 + k + (i % 97) * 0.13));
+                }
+            }
+            json.append('}');
+        }
+        response = json.append('}').toString().getBytes(StandardCharsets.UTF_8);
+        if (dataBinding().rows() != streaming().rows()) {
+            throw new IllegalStateException("The streaming decoder does not decode the same number of measurements.");
+        }
+    }
+
+    @Benchmark
+    public MeasurementSeries dataBinding() throws IOException {
+        var type = objectMapper.getTypeFactory().constructMapType(HashMap.class, Long.class, MeasurementValues.class);
+        Map<Long, MeasurementValues> measures = objectMapper.readValue(new String(response, StandardCharsets.UTF_8), type);
+        var series = new MeasurementSeries(WeenatMeasuresDecoder.MEASUREMENT_PROPERTIES);
+        measures.forEach((timestamp, values) -> {
+            var row = series.addRow(timestamp * 1000L);
+            series.set(row, 0, values.getTemperature());
+            series.set(row, 1, values.getRelativeHumidity());
+            series.set(row, 2, values.getCumulativeRainfall());
+            series.set(row, 3, values.getWindSpeed());
+            series.set(row, 4, values.getWindGustSpeed());
+            series.set(row, 5, values.getSoilTemperature());
+            series.set(row, 6, values.getSoilTemperature15());
+            series.set(row, 7, values.getSoilTemperature30());
+            series.set(row, 8, values.getSoilTemperature60());
+            series.set(row, 9, values.getSoilWaterPotential15());
+            series.set(row, 10, values.getSoilWaterPotential30());
+            series.set(row, 11, values.getSoilWaterPotential60());
+            series.set(row, 12, values.getDryTemperature());
+            series.set(row, 13, values.getWetTemperature());
+            series.set(row, 14, values.getLeafWetnessDuration());
+            series.set(row, 15, values.getLeafWetnessVoltage());
+            series.set(row, 16, values.getSolarIrradiance());
+            series.set(row, 17, values.getMinSolarIrradiance());
+            series.set(row, 18, values.getMaxSolarIrradiance());
+            series.set(row, 19, values.getPhotosyntheticallyActiveRadiation());
+            series.set(row, 20, values.getMinimumPhotosyntheticallyActiveRadiation());
+            series.set(row, 21, values.getMaximumPhotosyntheticallyActiveRadiation());
+            series.set(row, 22, values.getDewPoint());
+            series.set(row, 23, values.getPotentialEvapotranspiration());
+        });
+        return series;
+    }
+
+    @Benchmark
+    public MeasurementSeries streaming() throws IOException {
+        try (var parser = objectMapper.createParser(new ByteArrayInputStream(response))) {
+            return WeenatMeasuresDecoder.decode(parser);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(WeenatMeasuresDecoderBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,54 @@
+package de.app.fivegla.integration.weenat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.app.fivegla.api.exceptions.BusinessException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+class WeenatMeasuresDecoderTest {
+
+    private static final String MEASURES = """
+            {
+              "1714557600": {"T": 12.5, "U": 81, "RR": null, "T_SOIL": "10.25", "UNKNOWN": {"nested": [1, 2]}, "ETP": 0.1},
+              "1714561200": null,
+              "1714564800": {"T": 13.0, "PPFD_MAX": 1200.5}
+            }
+            """;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void givenMeasuresWhenDecodingThenEveryTimestampWithValuesShouldBeARow() throws IOException {
+        try (var parser = objectMapper.createParser(MEASURES)) {
+            var series = WeenatMeasuresDecoder.decode(parser);
+            Assertions.assertEquals(2, series.rows());
+            Assertions.assertEquals(1714557600000L, series.timestamp(0));
+            Assertions.assertEquals(12.5, series.value(0, 0));
+            Assertions.assertEquals(81.0, series.value(0, 1));
+            Assertions.assertTrue(Double.isNaN(series.value(0, 2)));
+            Assertions.assertEquals("soilTemperature", series.property(5));
+            Assertions.assertEquals(10.25, series.value(0, 5));
+            Assertions.assertEquals(0.1, series.value(0, 23));
+            Assertions.assertEquals(1714564800000L, series.timestamp(1));
+            Assertions.assertEquals(1200.5, series.value(1, 21));
+            Assertions.assertTrue(Double.isNaN(series.value(1, 1)));
+        }
+    }
+
+    @Test
+    void givenEmptyResponseWhenDecodingThenABusinessExceptionShouldBeThrown() throws IOException {
+        try (var parser = objectMapper.createParser("")) {
+            Assertions.assertThrows(BusinessException.class, () -> WeenatMeasuresDecoder.decode(parser));
+        }
+    }
+
+    @Test
+    void givenInvalidTimestampWhenDecodingThenABusinessExceptionShouldBeThrown() throws IOException {
+        try (var parser = objectMapper.createParser("{\"yesterday\": {\"T\": 12.5}}")) {
+            Assertions.assertThrows(BusinessException.class, () -> WeenatMeasuresDecoder.decode(parser));
+        }
+    }
+
+}